@@ -7,6 +7,7 @@ import org.babyfish.jimmer.apt.dto.DtoProcessor;
 import org.babyfish.jimmer.apt.entry.EntryProcessor;
 import org.babyfish.jimmer.apt.error.ErrorProcessor;
 import org.babyfish.jimmer.apt.immutable.ImmutableProcessor;
+import org.babyfish.jimmer.apt.repository.RepositoryProcessor;
 import org.babyfish.jimmer.apt.transactional.TxProcessor;
 import org.babyfish.jimmer.apt.tuple.TypedTupleProcessor;
 import org.babyfish.jimmer.client.EnableImplicitApi;
@@ -220,6 +221,7 @@ public class JimmerProcessor extends AbstractProcessor {
             if (!toolGenerated && !context.isBuddyIgnoreResourceGeneration()) {
                 toolGenerated = true;
                 new TypedTupleProcessor(context, delayedTupleTypeNames).process(roundEnv);
+                new RepositoryProcessor(context, delayedClientTypeNames).process(roundEnv);
                 new ClientProcessor(context, clientExplicitApi, delayedClientTypeNames).process(roundEnv);
                 delayedClientTypeNames = null;
             }
@@ -0,0 +1,250 @@
+package org.babyfish.jimmer.apt.immutable.generator;
+
+import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.NonSharedList;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotation;
+
+/**
+ * Generates the implementation of `ImmutableAssembler`
+ * which writes the fields of `Impl` directly,
+ * the SQL runtime uses it to read JDBC rows without draft.
+ */
+public class AssemblerGenerator {
+
+    private static final TypeKind[] PRIMITIVE_KINDS = {
+            TypeKind.BOOLEAN,
+            TypeKind.BYTE,
+            TypeKind.SHORT,
+            TypeKind.INT,
+            TypeKind.LONG,
+            TypeKind.FLOAT,
+            TypeKind.DOUBLE
+    };
+
+    private final ImmutableType type;
+
+    private TypeSpec.Builder typeBuilder;
+
+    AssemblerGenerator(ImmutableType type) {
+        this.type = type;
+    }
+
+    /**
+     * Assembler skips the draft, so it cannot be used
+     * when any validation rule must be executed by draft
+     */
+    public static boolean isSupported(ImmutableType type) {
+        if (!type.isEntity() || !type.getValidationMessageMap().isEmpty()) {
+            return false;
+        }
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (!prop.getValidationMessageMap().isEmpty() ||
+                    !Annotations.validateAnnotationMirrorMultiMap(prop).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void generate(TypeSpec.Builder parentBuilder) {
+        typeBuilder = TypeSpec.classBuilder("Assembler")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addAnnotation(generatedAnnotation(type))
+                .addSuperinterface(Constants.IMMUTABLE_ASSEMBLER_CLASS_NAME);
+        addCreate();
+        addSet();
+        for (TypeKind kind : PRIMITIVE_KINDS) {
+            addPrimitiveSet(kind);
+        }
+        addShow();
+        parentBuilder.addType(typeBuilder.build());
+    }
+
+    private void addCreate() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("create")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(Object.class)
+                .addStatement("return new $T()", type.getImplClassName());
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private void addSet() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(suppressUncheckedAnnotation())
+                .addAnnotation(Override.class)
+                .addParameter(Object.class, "immutable")
+                .addParameter(TypeName.INT, "propIndex")
+                .addParameter(Object.class, "value")
+                .addStatement("$T __impl = ($T)immutable", type.getImplClassName(), type.getImplClassName())
+                .beginControlFlow("switch (propIndex)");
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            ImmutableProp baseProp = prop.getIdViewBaseProp();
+            if (baseProp != null) {
+                builder.addCode("case $L:\n$>", prop.getSlotName());
+                addIdViewAssignment(builder, baseProp);
+                builder.addStatement("break$<");
+            } else if (prop.isValueRequired()) {
+                builder.addCode("case $L:\n$>", prop.getSlotName());
+                addNullCheck(builder, prop);
+                Object castTo = prop.getBoxType();
+                if (castTo == null) {
+                    castTo = prop.getTypeName();
+                }
+                if (prop.isList()) {
+                    builder.addStatement(
+                            "__impl.$L = $T.of(__impl.$L, ($T)value)",
+                            prop.getValueName(),
+                            NonSharedList.class,
+                            prop.getValueName(),
+                            castTo
+                    );
+                } else {
+                    builder.addStatement("__impl.$L = ($T)value", prop.getValueName(), castTo);
+                }
+                if (prop.isLoadedStateRequired()) {
+                    builder.addStatement("__impl.$L = true", prop.getLoadedStateName());
+                }
+                builder.addStatement("break$<");
+            }
+        }
+        addDefault(builder);
+        builder.endControlFlow();
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private void addIdViewAssignment(MethodSpec.Builder builder, ImmutableProp baseProp) {
+        if (baseProp.isList()) {
+            builder.addStatement(
+                    "$T<$T> __targets = new $T<>()",
+                    Constants.LIST_CLASS_NAME,
+                    baseProp.getElementTypeName(),
+                    ArrayList.class
+            );
+            builder.beginControlFlow("if (value != null)");
+            builder.beginControlFlow("for (Object __id : ($T<?>)value)", List.class);
+            builder.addStatement(
+                    "__targets.add($T.makeIdOnly($T.class, __id))",
+                    Constants.IMMUTABLE_OBJECTS_CLASS_NAME,
+                    baseProp.getElementTypeName()
+            );
+            builder.endControlFlow();
+            builder.endControlFlow();
+            builder.addStatement(
+                    "__impl.$L = $T.of(__impl.$L, __targets)",
+                    baseProp.getValueName(),
+                    NonSharedList.class,
+                    baseProp.getValueName()
+            );
+        } else {
+            addNullCheck(builder, baseProp);
+            builder.addStatement(
+                    "__impl.$L = value != null ? $T.makeIdOnly($T.class, value) : null",
+                    baseProp.getValueName(),
+                    Constants.IMMUTABLE_OBJECTS_CLASS_NAME,
+                    baseProp.getElementTypeName()
+            );
+        }
+        if (baseProp.isLoadedStateRequired()) {
+            builder.addStatement("__impl.$L = true", baseProp.getLoadedStateName());
+        }
+    }
+
+    private void addPrimitiveSet(TypeKind kind) {
+        List<ImmutableProp> props = new ArrayList<>();
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            if (prop.isValueRequired() && prop.getReturnType().getKind() == kind) {
+                props.add(prop);
+            }
+        }
+        if (props.isEmpty()) {
+            return;
+        }
+        String kindName = kind.name().charAt(0) + kind.name().substring(1).toLowerCase();
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("set" + kindName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(Object.class, "immutable")
+                .addParameter(TypeName.INT, "propIndex")
+                .addParameter(TypeName.get(props.get(0).getReturnType()), "value")
+                .addStatement("$T __impl = ($T)immutable", type.getImplClassName(), type.getImplClassName())
+                .beginControlFlow("switch (propIndex)");
+        for (ImmutableProp prop : props) {
+            builder.addCode("case $L:\n$>", prop.getSlotName());
+            builder.addStatement("__impl.$L = value", prop.getValueName());
+            builder.addStatement("__impl.$L = true", prop.getLoadedStateName());
+            builder.addStatement("break$<");
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("set(immutable, propIndex, value)$<");
+        builder.endControlFlow();
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private void addShow() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("show")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(Object.class, "immutable")
+                .addParameter(TypeName.INT, "propIndex")
+                .addParameter(TypeName.BOOLEAN, "visible")
+                .addStatement("$T __impl = ($T)immutable", type.getImplClassName(), type.getImplClassName())
+                .addStatement("$T __visibility = __impl.__visibility", Constants.VISIBILITY_CLASS_NAME)
+                .beginControlFlow("if (__visibility == null)")
+                .beginControlFlow("if (visible)")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement(
+                        "__impl.__visibility = __visibility = $T.of($L)",
+                        Constants.VISIBILITY_CLASS_NAME,
+                        type.getProps().size()
+                )
+                .endControlFlow()
+                .addStatement("__visibility.show(propIndex, visible)");
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private static void addNullCheck(MethodSpec.Builder builder, ImmutableProp prop) {
+        if (prop.isNullable()) {
+            return;
+        }
+        builder
+                .beginControlFlow("if (value == null)")
+                .addStatement(
+                        "throw new $T($S)",
+                        IllegalArgumentException.class,
+                        "'" + prop.getName() + "' cannot be null, if you want to set null, " +
+                                "please use any annotation whose simple name is \"Nullable\" to decorate the property"
+                )
+                .endControlFlow();
+    }
+
+    private void addDefault(MethodSpec.Builder builder) {
+        builder.addCode("default:\n$>");
+        builder.addStatement(
+                "throw new IllegalArgumentException($S + propIndex + $S)$<",
+                "Illegal property id for \"" + type + "\": \"",
+                "\", it cannot be assembled"
+        );
+    }
+
+    private static AnnotationSpec suppressUncheckedAnnotation() {
+        return AnnotationSpec
+                .builder(SuppressWarnings.class)
+                .addMember("value", "$S", "unchecked")
+                .build();
+    }
+}
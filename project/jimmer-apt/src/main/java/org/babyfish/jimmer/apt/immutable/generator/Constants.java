@@ -12,6 +12,7 @@ import org.babyfish.jimmer.internal.GeneratedBy;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
 import org.babyfish.jimmer.runtime.Visibility;
 import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.impl.validation.Validator;
@@ -124,6 +125,9 @@ public class Constants {
     public static final ClassName VISIBILITY_CLASS_NAME =
             ClassName.get(Visibility.class);
 
+    public static final ClassName IMMUTABLE_ASSEMBLER_CLASS_NAME =
+            ClassName.get(ImmutableAssembler.class);
+
     public static final ClassName PROP_ID_CLASS_NAME =
             ClassName.get(PropId.class);
 
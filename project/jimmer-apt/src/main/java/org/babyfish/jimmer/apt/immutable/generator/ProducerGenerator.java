@@ -50,6 +50,9 @@ public class ProducerGenerator {
             new ImplementorGenerator(ctx, type).generate(typeBuilder);
             new ImplGenerator(ctx, type).generate(typeBuilder);
             new DraftImplGenerator(ctx, type).generate(typeBuilder);
+            if (AssemblerGenerator.isSupported(type)) {
+                new AssemblerGenerator(type).generate(typeBuilder);
+            }
         }
         parentBuilder.addType(typeBuilder.build());
     }
@@ -259,6 +262,9 @@ public class ProducerGenerator {
                 );
             }
         }
+        if (!type.isMappedSuperClass() && AssemblerGenerator.isSupported(type)) {
+            builder.add(".assembler(new Assembler())\n");
+        }
         builder.add(".build()")
                 .unindent();
         typeBuilder.addField(
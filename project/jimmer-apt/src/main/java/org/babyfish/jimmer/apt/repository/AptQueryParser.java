@@ -0,0 +1,54 @@
+package org.babyfish.jimmer.apt.repository;
+
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.impl.repository.QueryParser;
+
+import java.util.Map;
+
+public class AptQueryParser extends QueryParser<ImmutableType, ImmutableProp> {
+
+    @Override
+    protected Map<String, ImmutableProp> getProps(ImmutableType type) {
+        return type.getProps();
+    }
+
+    @Override
+    protected String getName(ImmutableProp prop) {
+        return prop.getName();
+    }
+
+    @Override
+    protected boolean isQueryable(ImmutableProp prop) {
+        if (prop.isList() && !prop.isAssociation(false)) {
+            return false;
+        }
+        if (prop.isTransient() || prop.isJavaFormula() || prop.isRemote()) {
+            return false;
+        }
+        if (prop.getManyToManyViewBaseProp() != null) {
+            return false;
+        }
+        return prop.getIdViewBaseProp() == null || !prop.isList();
+    }
+
+    @Override
+    protected boolean isReferenceList(ImmutableProp prop) {
+        return prop.isList() && prop.isAssociation(true);
+    }
+
+    @Override
+    protected boolean isScalar(ImmutableProp prop) {
+        return !prop.isAssociation(true);
+    }
+
+    @Override
+    protected ImmutableType getTargetType(ImmutableProp prop) {
+        return prop.isAssociation(false) ? prop.getTargetType() : null;
+    }
+
+    @Override
+    protected String getTypeName(ImmutableType type) {
+        return type.getQualifiedName();
+    }
+}
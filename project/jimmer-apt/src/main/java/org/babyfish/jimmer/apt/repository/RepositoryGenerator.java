@@ -0,0 +1,903 @@
+package org.babyfish.jimmer.apt.repository;
+
+import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.Context;
+import org.babyfish.jimmer.apt.GeneratorException;
+import org.babyfish.jimmer.apt.MetaException;
+import org.babyfish.jimmer.apt.immutable.generator.Constants;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.apt.util.GeneratedAnnotation;
+import org.babyfish.jimmer.impl.repository.*;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Types;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the implementation class of a repository interface extending `JRepository`,
+ * the abstract methods whose names are spring-data derived queries are
+ * implemented by typed DSL so that nothing is parsed or interpreted at runtime.
+ */
+public class RepositoryGenerator {
+
+    public static final String SUFFIX = "DslImpl";
+
+    private static final ClassName J_REPOSITORY_IMPL_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.spring.repository.support", "JRepositoryImpl");
+
+    private static final ClassName SPRING_ORDERS_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.spring.repository", "SpringOrders");
+
+    private static final ClassName SPRING_PAGE_FACTORY_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.spring.repository.support", "SpringPageFactory");
+
+    private static final ClassName J_SQL_CLIENT_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.sql", "JSqlClient");
+
+    private static final ClassName MUTABLE_ROOT_QUERY_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.sql.ast.query", "MutableRootQuery");
+
+    private static final ClassName CONFIGURABLE_ROOT_QUERY_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.sql.ast.query", "ConfigurableRootQuery");
+
+    private static final ClassName LIKE_MODE_CLASS_NAME =
+            ClassName.get("org.babyfish.jimmer.sql.ast", "LikeMode");
+
+    private static final String DYNAMIC_PARAM = "org.babyfish.jimmer.spring.repository.DynamicParam";
+
+    private static final String PAGEABLE = "org.springframework.data.domain.Pageable";
+
+    private static final String SORT = "org.springframework.data.domain.Sort";
+
+    private static final String SPRING_PAGE = "org.springframework.data.domain.Page";
+
+    private static final String JIMMER_PAGE = "org.babyfish.jimmer.Page";
+
+    private static final String SPECIFICATION = "org.babyfish.jimmer.Specification";
+
+    private static final String FETCHER = "org.babyfish.jimmer.sql.fetcher.Fetcher";
+
+    private final Context ctx;
+
+    private final Types types;
+
+    private final AptQueryParser parser;
+
+    private final TypeElement typeElement;
+
+    private final TypeElement repositoryElement;
+
+    private final ImmutableType type;
+
+    private final TypeMirror idType;
+
+    private final ClassName className;
+
+    public RepositoryGenerator(
+            Context ctx,
+            AptQueryParser parser,
+            TypeElement typeElement,
+            TypeElement repositoryElement,
+            ImmutableType type,
+            TypeMirror idType
+    ) {
+        this.ctx = ctx;
+        this.types = ctx.getTypes();
+        this.parser = parser;
+        this.typeElement = typeElement;
+        this.repositoryElement = repositoryElement;
+        this.type = type;
+        this.idType = idType;
+        this.className = ClassName.get(
+                ((PackageElement) typeElement.getEnclosingElement()).getQualifiedName().toString(),
+                typeElement.getSimpleName().toString() + SUFFIX
+        );
+    }
+
+    public void generate() {
+        TypeSpec.Builder typeBuilder = TypeSpec
+                .classBuilder(className)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(GeneratedAnnotation.generatedAnnotation(ClassName.get(typeElement)))
+                .superclass(
+                        ParameterizedTypeName.get(
+                                J_REPOSITORY_IMPL_CLASS_NAME,
+                                type.getClassName(),
+                                TypeName.get(idType)
+                        )
+                )
+                .addSuperinterface(ClassName.get(typeElement));
+        typeBuilder.addMethod(
+                MethodSpec
+                        .constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(J_SQL_CLIENT_CLASS_NAME, "sqlClient")
+                        .addStatement("super(sqlClient, $T.class)", type.getClassName())
+                        .build()
+        );
+        for (Element element : ctx.getElements().getAllMembers(typeElement)) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) element;
+            if (!method.getModifiers().contains(Modifier.ABSTRACT) || isInheritedFromRepository(method)) {
+                continue;
+            }
+            typeBuilder.addMethod(new MethodGenerator(method).generate());
+        }
+        try {
+            JavaFile
+                    .builder(className.packageName(), typeBuilder.build())
+                    .indent("    ")
+                    .build()
+                    .writeTo(ctx.getFiler());
+        } catch (IOException ex) {
+            throw new GeneratorException(
+                    String.format(
+                            "Cannot generate repository implementation class for '%s'",
+                            typeElement.getQualifiedName().toString()
+                    ),
+                    ex
+            );
+        }
+    }
+
+    private boolean isInheritedFromRepository(ExecutableElement method) {
+        TypeMirror declaringType = types.erasure(method.getEnclosingElement().asType());
+        return types.isSubtype(types.erasure(repositoryElement.asType()), declaringType);
+    }
+
+    private boolean isType(TypeMirror typeMirror, String qualifiedName) {
+        TypeElement element = ctx.getElements().getTypeElement(qualifiedName);
+        return element != null && types.isSameType(types.erasure(typeMirror), types.erasure(element.asType()));
+    }
+
+    private boolean isSubType(TypeMirror typeMirror, String qualifiedName) {
+        TypeElement element = ctx.getElements().getTypeElement(qualifiedName);
+        return element != null && types.isSubtype(types.erasure(typeMirror), types.erasure(element.asType()));
+    }
+
+    private TypeMirror box(TypeMirror typeMirror) {
+        if (typeMirror.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) typeMirror).asType();
+        }
+        return typeMirror;
+    }
+
+    private boolean isSameBoxedType(TypeMirror typeMirror1, TypeMirror typeMirror2) {
+        return types.isSameType(box(typeMirror1), box(typeMirror2));
+    }
+
+    private static TypeMirror valueType(ImmutableProp prop) {
+        return prop.isAssociation(true) ? prop.getElementType() : prop.getReturnType();
+    }
+
+    private static boolean isDynamicParam(VariableElement element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annoElement = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annoElement.getQualifiedName().contentEquals(DYNAMIC_PARAM)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CodeBlock join(List<CodeBlock> codeBlocks) {
+        return CodeBlock.join(codeBlocks, ", ");
+    }
+
+    private class MethodGenerator {
+
+        private final ExecutableElement method;
+
+        private final ExecutableType methodType;
+
+        private final List<? extends VariableElement> parameters;
+
+        private final List<? extends TypeMirror> parameterTypes;
+
+        private final TypeMirror returnType;
+
+        private final int pageableParamIndex;
+
+        private final int sortParamIndex;
+
+        private final int specificationParamIndex;
+
+        private final int fetcherParamIndex;
+
+        private final int viewTypeParamIndex;
+
+        private final CodeBlock.Builder nullChecks = CodeBlock.builder();
+
+        private int paramIndex = -1;
+
+        MethodGenerator(ExecutableElement method) {
+            this.method = method;
+            this.methodType = (ExecutableType) types.asMemberOf((DeclaredType) typeElement.asType(), method);
+            this.parameters = method.getParameters();
+            this.parameterTypes = methodType.getParameterTypes();
+            this.returnType = methodType.getReturnType();
+            this.pageableParamIndex = implicitParameterIndex(PAGEABLE);
+            this.sortParamIndex = implicitParameterIndex(SORT);
+            this.specificationParamIndex = implicitParameterIndex(SPECIFICATION);
+            this.fetcherParamIndex = implicitParameterIndex(FETCHER);
+            this.viewTypeParamIndex = implicitParameterIndex("java.lang.Class");
+            if (pageableParamIndex != -1 && sortParamIndex != -1) {
+                throw error(
+                        "Cannot have parameters of type \"" +
+                                PAGEABLE +
+                                "\" and \"" +
+                                SORT +
+                                "\" at the same time"
+                );
+            }
+        }
+
+        MethodSpec generate() {
+            TypeMirror elementType = returnType;
+            if (returnType.getKind() == TypeKind.DECLARED && !((DeclaredType) returnType).getTypeArguments().isEmpty()) {
+                elementType = ((DeclaredType) returnType).getTypeArguments().get(0);
+            }
+            boolean isObjectQuery = types.isSameType(elementType, type.getTypeElement().asType());
+            Query<ImmutableProp> query;
+            try {
+                query = parser.parse(method.getSimpleName().toString(), type, !isObjectQuery);
+            } catch (IllegalArgumentException ex) {
+                throw error(ex.getMessage());
+            }
+            CodeBlock predicate = query.getPredicate() != null ? predicate(query.getPredicate()) : null;
+            while (++paramIndex < parameters.size()) {
+                if (!isImplicitParameterType(parameterTypes.get(paramIndex))) {
+                    throw error("Too many parameters");
+                }
+            }
+            validateImplicitParameters(query);
+            MethodSpec.Builder builder = MethodSpec.overriding(
+                    method,
+                    (DeclaredType) typeElement.asType(),
+                    types
+            );
+            builder.addCode(nullChecks.build());
+            builder.addStatement("$T __table = $T.$$", type.getTableClassName(), type.getTableClassName());
+            if (query.getAction() == Query.Action.DELETE) {
+                addDelete(builder, predicate);
+            } else {
+                addQuery(builder, query, predicate, elementType);
+            }
+            return builder.build();
+        }
+
+        private void addDelete(MethodSpec.Builder builder, CodeBlock predicate) {
+            if (returnType.getKind() != TypeKind.INT && returnType.getKind() != TypeKind.VOID) {
+                throw error("The return type must be int or void");
+            }
+            CodeBlock.Builder cb = CodeBlock.builder().add("sqlClient.createDelete(__table)");
+            if (predicate != null) {
+                cb.add(".where($L)", predicate);
+            }
+            cb.add(".execute()");
+            if (returnType.getKind() == TypeKind.INT) {
+                builder.addStatement("return $L", cb.build());
+            } else {
+                builder.addStatement("$L", cb.build());
+            }
+        }
+
+        private void addQuery(
+                MethodSpec.Builder builder,
+                Query<ImmutableProp> query,
+                CodeBlock predicate,
+                TypeMirror elementType
+        ) {
+            builder.addStatement(
+                    "$T<$T> __query = sqlClient.createQuery(__table)",
+                    MUTABLE_ROOT_QUERY_CLASS_NAME,
+                    type.getTableClassName()
+            );
+            if (predicate != null) {
+                builder.addStatement("__query.where($L)", predicate);
+            }
+            if (specificationParamIndex != -1) {
+                builder.addStatement("__query.where($N)", parameters.get(specificationParamIndex).getSimpleName());
+            }
+            if (!query.getOrders().isEmpty()) {
+                List<CodeBlock> orders = new ArrayList<>();
+                for (Query.Order<ImmutableProp> order : query.getOrders()) {
+                    orders.add(
+                            CodeBlock.of(
+                                    "$L.$L()",
+                                    path(order.getPath(), true),
+                                    order.isDesc() ? "desc" : "asc"
+                            )
+                    );
+                }
+                builder.addStatement("__query.orderBy($L)", join(orders));
+            }
+            if (pageableParamIndex != -1) {
+                String pageable = parameters.get(pageableParamIndex).getSimpleName().toString();
+                builder.addStatement(
+                        "__query.orderBy($T.toOrders(__table, $N != null ? $N.getSort() : null))",
+                        SPRING_ORDERS_CLASS_NAME,
+                        pageable,
+                        pageable
+                );
+            } else if (sortParamIndex != -1) {
+                builder.addStatement(
+                        "__query.orderBy($T.toOrders(__table, $N))",
+                        SPRING_ORDERS_CLASS_NAME,
+                        parameters.get(sortParamIndex).getSimpleName()
+                );
+            }
+            switch (query.getAction()) {
+                case COUNT:
+                    if (returnType.getKind() != TypeKind.INT && returnType.getKind() != TypeKind.LONG) {
+                        throw error("The return type must be int or long");
+                    }
+                    builder.addStatement("long __rowCount = __query.select(__table.count()).execute().get(0)");
+                    if (returnType.getKind() == TypeKind.INT) {
+                        builder.addStatement("return (int) __rowCount");
+                    } else {
+                        builder.addStatement("return __rowCount");
+                    }
+                    break;
+                case EXISTS:
+                    if (returnType.getKind() != TypeKind.BOOLEAN) {
+                        throw error("The return type must be boolean");
+                    }
+                    builder.addStatement(
+                            "return __query.select(__table.$L()).limit(1, 0).fetchOneOrNull() != null",
+                            type.getIdProp().getName()
+                    );
+                    break;
+                default:
+                    addFind(builder, query, elementType);
+                    break;
+            }
+        }
+
+        private void addFind(MethodSpec.Builder builder, Query<ImmutableProp> query, TypeMirror elementType) {
+            boolean isPage = isType(returnType, SPRING_PAGE) || isType(returnType, JIMMER_PAGE);
+            if (isPage && pageableParamIndex == -1) {
+                throw error(
+                        "Return type \"" +
+                                returnType +
+                                "\" requires parameter whose type is \"" +
+                                PAGEABLE +
+                                "\""
+                );
+            }
+            if (!isPage && pageableParamIndex != -1) {
+                throw error(
+                        "The parameter whose type is \"" +
+                                PAGEABLE +
+                                "\" requires the return type \"" +
+                                SPRING_PAGE +
+                                "\" or \"" +
+                                JIMMER_PAGE +
+                                "\""
+                );
+            }
+            boolean isList = types.isAssignable(
+                    types.erasure(ctx.getElements().getTypeElement("java.util.List").asType()),
+                    types.erasure(returnType)
+            );
+            boolean isOptional = isType(returnType, Optional.class.getName());
+            if ((isList || isPage || isOptional) &&
+                    ((DeclaredType) returnType).getTypeArguments().isEmpty()) {
+                throw error(
+                        "Return type must be parameterized type when raw return type is " +
+                                "\"java.util.List\", \"java.util.Collection\", \"java.lang.Iterable\", \"" +
+                                SPRING_PAGE +
+                                "\", \"" +
+                                JIMMER_PAGE +
+                                "\" or \"java.util.Optional\""
+                );
+            }
+            if (!isList && !isPage && isSubType(returnType, "java.lang.Iterable")) {
+                throw error("The collection return type must be super type of \"java.util.List\"");
+            }
+            CodeBlock selection = selection(query, elementType);
+            builder.addStatement(
+                    "$T<$T, $T> __typedQuery = __query.select($L)",
+                    CONFIGURABLE_ROOT_QUERY_CLASS_NAME,
+                    type.getTableClassName(),
+                    TypeName.get(box(elementType)),
+                    selection
+            );
+            if (isPage) {
+                String pageable = parameters.get(pageableParamIndex).getSimpleName().toString();
+                if (isType(returnType, SPRING_PAGE)) {
+                    builder.addStatement(
+                            "return __typedQuery.fetchPage($N.getPageNumber(), $N.getPageSize(), $T.getInstance())",
+                            pageable,
+                            pageable,
+                            SPRING_PAGE_FACTORY_CLASS_NAME
+                    );
+                } else {
+                    builder.addStatement(
+                            "return __typedQuery.fetchPage($N.getPageNumber(), $N.getPageSize())",
+                            pageable,
+                            pageable
+                    );
+                }
+                return;
+            }
+            if (query.getLimit() != Integer.MAX_VALUE) {
+                builder.addStatement("__typedQuery = __typedQuery.limit($L, 0)", query.getLimit());
+            }
+            if (query.isDistinct()) {
+                builder.addStatement("__typedQuery = __typedQuery.distinct()");
+            }
+            if (isList) {
+                builder.addStatement("return __typedQuery.execute()");
+            } else if (isOptional) {
+                builder.addStatement("return $T.ofNullable(__typedQuery.fetchOneOrNull())", Optional.class);
+            } else {
+                builder.addStatement("return __typedQuery.fetchOneOrNull()");
+            }
+        }
+
+        private CodeBlock selection(Query<ImmutableProp> query, TypeMirror elementType) {
+            TypeMirror entityType = type.getTypeElement().asType();
+            if (query.getSelectedPath() != null) {
+                if (fetcherParamIndex != -1) {
+                    throw error("Cannot explicitly select columns when there is a fetcher parameter");
+                }
+                if (viewTypeParamIndex != -1) {
+                    throw error("The parameters[" + viewTypeParamIndex + "] is illegal");
+                }
+                TypeMirror selectedType = valueType(query.getSelectedPath().getLastProp());
+                if (!isSameBoxedType(elementType, selectedType)) {
+                    throw error("The returned element type must be \"" + selectedType + "\"");
+                }
+                return path(query.getSelectedPath(), false);
+            }
+            if (types.isSameType(elementType, entityType)) {
+                if (viewTypeParamIndex != -1) {
+                    throw error("The parameters[" + viewTypeParamIndex + "] is illegal");
+                }
+                if (fetcherParamIndex != -1) {
+                    return CodeBlock.of(
+                            "__table.fetch($N)",
+                            parameters.get(fetcherParamIndex).getSimpleName()
+                    );
+                }
+                return CodeBlock.of("__table");
+            }
+            if (fetcherParamIndex != -1) {
+                throw error(
+                        "The returned element type must be \"" +
+                                entityType +
+                                "\" when there is a fetcher parameter"
+                );
+            }
+            TypeMirror viewType = types.getDeclaredType(
+                    ctx.getElements().getTypeElement(Constants.VIEW_CLASS_NAME.canonicalName()),
+                    entityType
+            );
+            if (elementType.getKind() == TypeKind.TYPEVAR) {
+                TypeVariable typeVariable = (TypeVariable) elementType;
+                if (!method.getTypeParameters().contains((TypeParameterElement) typeVariable.asElement()) ||
+                        !types.isSameType(typeVariable.getUpperBound(), viewType)) {
+                    throw viewTypeError(entityType);
+                }
+                if (viewTypeParamIndex == -1) {
+                    throw error(
+                            "A parameter whose type is \"Class<" +
+                                    typeVariable +
+                                    ">\" is required"
+                    );
+                }
+                TypeMirror classType = parameterTypes.get(viewTypeParamIndex);
+                List<? extends TypeMirror> typeArguments = ((DeclaredType) classType).getTypeArguments();
+                if (typeArguments.isEmpty() || !types.isSameType(typeArguments.get(0), typeVariable)) {
+                    throw error(
+                            "The type argument of parameters[" +
+                                    viewTypeParamIndex +
+                                    "] must be the type variable \"" +
+                                    typeVariable +
+                                    "\""
+                    );
+                }
+                return CodeBlock.of("__table.fetch($N)", parameters.get(viewTypeParamIndex).getSimpleName());
+            }
+            if (viewTypeParamIndex != -1) {
+                throw error("The parameters[" + viewTypeParamIndex + "] is illegal");
+            }
+            if (elementType.getKind() != TypeKind.DECLARED || !types.isAssignable(elementType, viewType)) {
+                throw viewTypeError(entityType);
+            }
+            return CodeBlock.of("__table.fetch($T.class)", types.erasure(elementType));
+        }
+
+        private MetaException viewTypeError(TypeMirror entityType) {
+            return error(
+                    "The returned element type must be \"" +
+                            entityType +
+                            "\", a class implements \"" +
+                            Constants.VIEW_CLASS_NAME +
+                            "<" +
+                            entityType +
+                            ">\" or a method level type variable extends \"" +
+                            Constants.VIEW_CLASS_NAME +
+                            "<" +
+                            entityType +
+                            ">\""
+            );
+        }
+
+        private void validateImplicitParameters(Query<ImmutableProp> query) {
+            Query.Action action = query.getAction();
+            TypeMirror entityType = type.getTypeElement().asType();
+            if (specificationParamIndex != -1) {
+                if (action == Query.Action.DELETE) {
+                    throw error("The method must be query method when there is a specification parameter");
+                }
+                validateTypeArgument(specificationParamIndex, entityType, "specification");
+            }
+            if (fetcherParamIndex != -1) {
+                if (action != Query.Action.FIND) {
+                    throw error("The method must be object finding method when there is a fetcher parameter");
+                }
+                validateTypeArgument(fetcherParamIndex, entityType, "fetcher");
+            }
+            if (viewTypeParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("The method must be query method when there is a view type parameter");
+            }
+            if (pageableParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("The method must be query method when there is a pageable parameter");
+            }
+            if (sortParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("The method must be query method when there is a sort parameter");
+            }
+        }
+
+        private void validateTypeArgument(int index, TypeMirror entityType, String parameterKind) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) parameterTypes.get(index)).getTypeArguments();
+            if (typeArguments.isEmpty() || !types.isSameType(typeArguments.get(0), entityType)) {
+                throw error(
+                        "The type argument of " +
+                                parameterKind +
+                                " parameter must be \"" +
+                                entityType +
+                                "\""
+                );
+            }
+        }
+
+        private CodeBlock predicate(Predicate predicate) {
+            if (predicate instanceof AndPredicate) {
+                return CodeBlock.of(
+                        "$T.and($L)",
+                        Constants.PREDICATE_CLASS_NAME,
+                        join(
+                                ((AndPredicate) predicate)
+                                        .getPredicates()
+                                        .stream()
+                                        .map(this::predicate)
+                                        .collect(Collectors.toList())
+                        )
+                );
+            }
+            if (predicate instanceof OrPredicate) {
+                return CodeBlock.of(
+                        "$T.or($L)",
+                        Constants.PREDICATE_CLASS_NAME,
+                        join(
+                                ((OrPredicate) predicate)
+                                        .getPredicates()
+                                        .stream()
+                                        .map(this::predicate)
+                                        .collect(Collectors.toList())
+                        )
+                );
+            }
+            @SuppressWarnings("unchecked")
+            PropPredicate<ImmutableProp> propPredicate = (PropPredicate<ImmutableProp>) predicate;
+            return propPredicate(propPredicate);
+        }
+
+        private CodeBlock propPredicate(PropPredicate<ImmutableProp> predicate) {
+            Path<ImmutableProp> path = predicate.getPath();
+            if (!path.isScalar() &&
+                    predicate.getOp() != PropPredicate.Op.NULL &&
+                    predicate.getOp() != PropPredicate.Op.NOT_NULL) {
+                throw error(
+                        "Illegal property \"" +
+                                path +
+                                "\" of \"" +
+                                path.getSource() +
+                                "\", it cannot be reference property when the predicate is nether `IsNull` nor `IsNotNull`"
+                );
+            }
+            TypeMirror propType = valueType(path.getLastProp());
+            switch (predicate.getOp()) {
+                case TRUE:
+                case FALSE:
+                    if (propType.getKind() != TypeKind.BOOLEAN && !isType(propType, Boolean.class.getName())) {
+                        throw error(
+                                "Illegal property \"" +
+                                        path +
+                                        "\", its type must be boolean when the predicate is `IsTrue` or `IsFalse`"
+                        );
+                    }
+                    return CodeBlock.of("$L.eq($L)", path(path, false), predicate.getOp() == PropPredicate.Op.TRUE);
+                case NULL:
+                    return CodeBlock.of("$L.isNull()", path(path, true));
+                case NOT_NULL:
+                    return CodeBlock.of("$L.isNotNull()", path(path, true));
+                case IN:
+                case NOT_IN: {
+                    Param param = nextParam(predicate);
+                    CodeBlock expr = CodeBlock.of(
+                            "$L.$L($N)",
+                            path(path, predicate.getOp() == PropPredicate.Op.NOT_IN),
+                            predicate.getOp() == PropPredicate.Op.IN ? "in" : "notIn",
+                            param.name
+                    );
+                    return param.nullable ? CodeBlock.of("$N != null ? $L : null", param.name, expr) : expr;
+                }
+                case LIKE:
+                case NOT_LIKE: {
+                    validateString(predicate);
+                    Param param = nextParam(predicate);
+                    CodeBlock expr = CodeBlock.of(
+                            "$L.$L($N, $T.$L)",
+                            path(path, false),
+                            predicate.isInsensitive() ? "ilike" : "like",
+                            param.name,
+                            LIKE_MODE_CLASS_NAME,
+                            predicate.getLikeMode().name()
+                    );
+                    if (predicate.getOp() == PropPredicate.Op.NOT_LIKE) {
+                        expr = CodeBlock.of("$T.not($L)", Constants.PREDICATE_CLASS_NAME, expr);
+                    }
+                    return CodeBlock.of(
+                            param.nullable ? "$N != null && !$N.isEmpty() ? $L : null" : "!$N.isEmpty() ? $L : null",
+                            param.nullable ?
+                                    new Object[] { param.name, param.name, expr } :
+                                    new Object[] { param.name, expr }
+                    );
+                }
+                case BETWEEN:
+                case NOT_BETWEEN: {
+                    CodeBlock target = target(predicate);
+                    Param min = nextParam(predicate);
+                    Param max = nextParam(predicate);
+                    boolean between = predicate.getOp() == PropPredicate.Op.BETWEEN;
+                    CodeBlock both = CodeBlock.of(
+                            "$L.$L($L, $L)",
+                            target,
+                            between ? "between" : "notBetween",
+                            value(predicate, min),
+                            value(predicate, max)
+                    );
+                    CodeBlock minOnly = CodeBlock.of("$L.$L($L)", target, between ? "ge" : "lt", value(predicate, min));
+                    CodeBlock maxOnly = CodeBlock.of("$L.$L($L)", target, between ? "le" : "gt", value(predicate, max));
+                    if (min.nullable && max.nullable) {
+                        return CodeBlock.of(
+                                "$N != null && $N != null ? $L : $N != null ? $L : $N != null ? $L : null",
+                                min.name,
+                                max.name,
+                                both,
+                                min.name,
+                                minOnly,
+                                max.name,
+                                maxOnly
+                        );
+                    }
+                    if (min.nullable) {
+                        return CodeBlock.of("$N != null ? $L : $L", min.name, both, maxOnly);
+                    }
+                    if (max.nullable) {
+                        return CodeBlock.of("$N != null ? $L : $L", max.name, both, minOnly);
+                    }
+                    return both;
+                }
+                default: {
+                    CodeBlock target = target(predicate);
+                    Param param = nextParam(predicate);
+                    CodeBlock expr = CodeBlock.of(
+                            "$L.$L($L)",
+                            target,
+                            predicate.getOp().name().toLowerCase(),
+                            value(predicate, param)
+                    );
+                    return param.nullable ? CodeBlock.of("$N != null ? $L : null", param.name, expr) : expr;
+                }
+            }
+        }
+
+        private CodeBlock target(PropPredicate<ImmutableProp> predicate) {
+            CodeBlock expr = path(predicate.getPath(), false);
+            if (predicate.isInsensitive()) {
+                validateString(predicate);
+                return CodeBlock.of("$L.lower()", expr);
+            }
+            return expr;
+        }
+
+        private CodeBlock value(PropPredicate<ImmutableProp> predicate, Param param) {
+            if (predicate.isInsensitive()) {
+                return CodeBlock.of("$N.toLowerCase()", param.name);
+            }
+            return CodeBlock.of("$N", param.name);
+        }
+
+        private void validateString(PropPredicate<ImmutableProp> predicate) {
+            if (!isType(valueType(predicate.getPath().getLastProp()), String.class.getName())) {
+                throw error(
+                        "Illegal property \"" +
+                                predicate.getPath() +
+                                "\", its type must be string when the predicate is " +
+                                "`Like`, `NotLike` or ignores case"
+                );
+            }
+        }
+
+        private CodeBlock path(Path<ImmutableProp> path, boolean outerJoin) {
+            CodeBlock.Builder builder = CodeBlock.builder().add("__table");
+            for (ImmutableProp prop : path.getProps()) {
+                if (prop.isList() && prop.isAssociation(true)) {
+                    builder.add(".asTableEx()");
+                    break;
+                }
+            }
+            for (ImmutableProp prop : path.getProps()) {
+                if (prop.isAssociation(true) && outerJoin) {
+                    builder.add(".$L($T.LEFT)", prop.getName(), Constants.JOIN_TYPE_CLASS_NAME);
+                } else {
+                    builder.add(".$L()", prop.getName());
+                }
+            }
+            return builder.build();
+        }
+
+        private Param nextParam(PropPredicate<ImmutableProp> predicate) {
+            paramIndex++;
+            while (paramIndex < parameters.size() && isImplicitParameterType(parameterTypes.get(paramIndex))) {
+                paramIndex++;
+            }
+            if (paramIndex >= parameters.size()) {
+                throw error(
+                        "No enough parameters for the property \"" +
+                                predicate.getPath() +
+                                "\" of \"" +
+                                predicate.getPath().getSource() +
+                                "\""
+                );
+            }
+            TypeMirror parameterType = parameterTypes.get(paramIndex);
+            TypeMirror propType = valueType(predicate.getPath().getLastProp());
+            if (predicate.getOp() == PropPredicate.Op.IN || predicate.getOp() == PropPredicate.Op.NOT_IN) {
+                boolean valid = false;
+                if (isType(parameterType, "java.util.Collection") || isType(parameterType, "java.util.List")) {
+                    List<? extends TypeMirror> typeArguments = ((DeclaredType) parameterType).getTypeArguments();
+                    valid = !typeArguments.isEmpty() && isSameBoxedType(typeArguments.get(0), propType);
+                }
+                if (!valid) {
+                    throw paramTypeError(predicate, "Collection<" + box(propType) + '>', parameterType, true);
+                }
+            } else if (!isSameBoxedType(parameterType, propType)) {
+                throw paramTypeError(predicate, propType.toString(), parameterType, false);
+            }
+            VariableElement parameter = parameters.get(paramIndex);
+            String name = parameter.getSimpleName().toString();
+            boolean nullable = false;
+            if (!parameterType.getKind().isPrimitive()) {
+                if (isDynamicParam(parameter)) {
+                    nullable = true;
+                } else {
+                    nullChecks
+                            .beginControlFlow("if ($N == null)", name)
+                            .addStatement(
+                                    "throw new $T($S)",
+                                    NullPointerException.class,
+                                    "The parameters[" +
+                                            paramIndex +
+                                            "](" +
+                                            name +
+                                            ") of \"" +
+                                            methodSignature() +
+                                            "\" cannot be null. If you want to use dynamic queries, " +
+                                            "that is, ignore this parameter, please annotate this " +
+                                            "parameter with \"@" +
+                                            DYNAMIC_PARAM +
+                                            "\""
+                            )
+                            .endControlFlow();
+                }
+            }
+            return new Param(name, nullable);
+        }
+
+        private MetaException paramTypeError(
+                PropPredicate<ImmutableProp> predicate,
+                String expectedTypeName,
+                TypeMirror actualType,
+                boolean isCollection
+        ) {
+            return error(
+                    "This type of " +
+                            (isCollection ? "the collection whose element is the " : "") +
+                            "property \"" +
+                            predicate.getPath() +
+                            "\" is \"" +
+                            expectedTypeName +
+                            "\", but the type of parameters[" +
+                            paramIndex +
+                            "] of java method is \"" +
+                            actualType +
+                            "\""
+            );
+        }
+
+        private String methodSignature() {
+            return typeElement.getQualifiedName() +
+                    "." +
+                    method.getSimpleName() +
+                    parameterTypes
+                            .stream()
+                            .map(it -> types.erasure(it).toString())
+                            .collect(Collectors.joining(",", "(", ")"));
+        }
+
+        private boolean isImplicitParameterType(TypeMirror parameterType) {
+            return isSubType(parameterType, PAGEABLE) ||
+                    isSubType(parameterType, SORT) ||
+                    isSubType(parameterType, SPECIFICATION) ||
+                    isSubType(parameterType, FETCHER) ||
+                    isSubType(parameterType, "java.lang.Class");
+        }
+
+        private int implicitParameterIndex(String qualifiedName) {
+            int index = -1;
+            for (int i = 0; i < parameterTypes.size(); i++) {
+                if (isSubType(parameterTypes.get(i), qualifiedName)) {
+                    if (index != -1) {
+                        throw error(
+                                "Both parameters[" +
+                                        index +
+                                        "] and parameters[" +
+                                        i +
+                                        "] are of type \"" +
+                                        qualifiedName +
+                                        "\""
+                        );
+                    }
+                    index = i;
+                }
+            }
+            return index;
+        }
+
+        private MetaException error(String message) {
+            return new MetaException(
+                    method,
+                    "Illegal abstract spring-data method \"" +
+                            methodSignature() +
+                            "\": " +
+                            message
+            );
+        }
+    }
+
+    private static class Param {
+
+        final String name;
+
+        final boolean nullable;
+
+        Param(String name, boolean nullable) {
+            this.name = name;
+            this.nullable = nullable;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.babyfish.jimmer.apt.repository;
+
+import org.babyfish.jimmer.apt.Context;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RepositoryProcessor {
+
+    static final String J_REPOSITORY = "org.babyfish.jimmer.spring.repository.JRepository";
+
+    private static final String NO_REPOSITORY_BEAN = "org.springframework.data.repository.NoRepositoryBean";
+
+    private final Context ctx;
+
+    private final Collection<String> delayedTypeNames;
+
+    public RepositoryProcessor(Context ctx, Collection<String> delayedTypeNames) {
+        this.ctx = ctx;
+        this.delayedTypeNames = delayedTypeNames;
+    }
+
+    public void process(RoundEnvironment roundEnv) {
+        if (ctx.isBuddyIgnoreResourceGeneration()) {
+            return;
+        }
+        TypeElement repositoryElement = ctx.getElements().getTypeElement(J_REPOSITORY);
+        if (repositoryElement == null) {
+            return;
+        }
+        TypeMirror repositoryType = ctx.getTypes().erasure(repositoryElement.asType());
+        // Repository interfaces may reference the types generated by the previous round,
+        // such as tables and DTOs, so they are delayed like client types
+        Map<String, TypeElement> typeElementMap = new LinkedHashMap<>();
+        if (delayedTypeNames != null) {
+            for (String typeName : delayedTypeNames) {
+                TypeElement typeElement = ctx.getElements().getTypeElement(typeName);
+                if (typeElement != null) {
+                    typeElementMap.put(typeName, typeElement);
+                }
+            }
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                typeElementMap.putIfAbsent(((TypeElement) element).getQualifiedName().toString(), (TypeElement) element);
+            }
+        }
+        AptQueryParser parser = new AptQueryParser();
+        for (TypeElement typeElement : typeElementMap.values()) {
+            if (typeElement.getKind() != ElementKind.INTERFACE ||
+                    !ctx.include(typeElement) ||
+                    typeElement.equals(repositoryElement) ||
+                    !typeElement.getTypeParameters().isEmpty() ||
+                    isNoRepositoryBean(typeElement) ||
+                    !ctx.getTypes().isSubtype(ctx.getTypes().erasure(typeElement.asType()), repositoryType)) {
+                continue;
+            }
+            DeclaredType superType = repositorySuperType(typeElement.asType(), repositoryElement);
+            if (superType == null || superType.getTypeArguments().size() != 2) {
+                continue;
+            }
+            TypeMirror entityType = superType.getTypeArguments().get(0);
+            if (entityType.getKind() != TypeKind.DECLARED || !ctx.isEntity(entityType)) {
+                continue;
+            }
+            new RepositoryGenerator(
+                    ctx,
+                    parser,
+                    typeElement,
+                    repositoryElement,
+                    ctx.getImmutableType(entityType),
+                    superType.getTypeArguments().get(1)
+            ).generate();
+        }
+    }
+
+    private DeclaredType repositorySuperType(TypeMirror type, TypeElement repositoryElement) {
+        for (TypeMirror superType : ctx.getTypes().directSupertypes(type)) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            DeclaredType declaredType = (DeclaredType) superType;
+            if (declaredType.asElement().equals(repositoryElement)) {
+                return declaredType;
+            }
+            DeclaredType deeperType = repositorySuperType(declaredType, repositoryElement);
+            if (deeperType != null) {
+                return deeperType;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNoRepositoryBean(TypeElement typeElement) {
+        for (AnnotationMirror mirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annoElement = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annoElement.getQualifiedName().contentEquals(NO_REPOSITORY_BEAN)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * JMH micro benchmarks of jimmer internals, never published.
+ *
+ * Run all suites:     ./gradlew :jimmer-benchmark:jmh
+ * Run some suites:    ./gradlew :jimmer-benchmark:jmh --args="StaticCache"
+ * Compare baseline:   ./gradlew :jimmer-benchmark:jmhCompare
+ * Update baseline:    ./gradlew :jimmer-benchmark:jmhBaseline
+ *
+ * The baseline is not committed, scores are only comparable on the same machine,
+ * record it by `jmhBaseline` on the reference machine before `jmhCompare`.
+ */
+plugins {
+    java
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    implementation(projects.jimmerSql)
+    implementation(libs.jetbrains.annotations)
+    implementation(libs.jackson2.databind)
+    implementation(libs.jackson2.datatype.jsr310)
+    implementation(libs.jmh.core)
+    implementation(libs.h2)
+    annotationProcessor(libs.jmh.generator.annprocess)
+    annotationProcessor(projects.jimmerApt)
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.add("-parameters")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH micro benchmarks of jimmer internals"
+    mainClass.set("org.babyfish.jimmer.benchmark.BenchmarkRunner")
+    classpath = sourceSets.main.get().runtimeClasspath
+    workingDir = projectDir
+}
+
+tasks.register<JavaExec>("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the last JMH report with the baseline report"
+    mainClass.set("org.babyfish.jimmer.benchmark.BenchmarkComparator")
+    classpath = sourceSets.main.get().runtimeClasspath
+    workingDir = projectDir
+    args("baseline/benchmark-baseline.json", "benchmark-report.json")
+}
+
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Runs all JMH micro benchmarks and saves the report as baseline"
+    dependsOn("jmh")
+    from("benchmark-report.json")
+    into("baseline")
+    rename { "benchmark-baseline.json" }
+}
@@ -0,0 +1,129 @@
+package org.babyfish.jimmer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compare a JMH JSON report with the baseline report.
+ *
+ * <p>Usage: {@code BenchmarkComparator <baseline> <current> [tolerancePercent]},
+ * the default tolerance is 10 percent. The process exits with 1 if any
+ * benchmark is slower than its baseline beyond the tolerance.
+ * Benchmarks without baseline are reported but never fail the comparison.</p>
+ */
+public class BenchmarkComparator {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10;
+
+    private BenchmarkComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline> <current> [tolerancePercent]");
+            System.exit(2);
+        }
+        double tolerancePercent = args.length > 2 ?
+                Double.parseDouble(args[2]) :
+                DEFAULT_TOLERANCE_PERCENT;
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.err.println(
+                    "The baseline \"" +
+                            baselineFile +
+                            "\" does not exist, " +
+                            "please record it by `jmhBaseline` on the reference machine"
+            );
+            System.exit(2);
+        }
+        Map<String, Score> baselineMap = read(baselineFile);
+        Map<String, Score> currentMap = read(new File(args[1]));
+        int regressionCount = 0;
+        for (Map.Entry<String, Score> e : currentMap.entrySet()) {
+            Score current = e.getValue();
+            Score baseline = baselineMap.get(e.getKey());
+            if (baseline == null || !baseline.unit.equals(current.unit)) {
+                System.out.printf(
+                        "%-80s %14s %14.3f %-10s %s%n",
+                        e.getKey(),
+                        "-",
+                        current.value,
+                        current.unit,
+                        "no baseline"
+                );
+                continue;
+            }
+            double deltaPercent = (current.value - baseline.value) * 100 / baseline.value;
+            double improvementPercent = current.higherIsBetter ? deltaPercent : -deltaPercent;
+            boolean regression = improvementPercent < -tolerancePercent;
+            if (regression) {
+                regressionCount++;
+            }
+            System.out.printf(
+                    "%-80s %14.3f %14.3f %-10s %+7.2f%%%s%n",
+                    e.getKey(),
+                    baseline.value,
+                    current.value,
+                    current.unit,
+                    improvementPercent,
+                    regression ? " REGRESSION" : ""
+            );
+        }
+        if (regressionCount != 0) {
+            System.out.println(regressionCount + " benchmark(s) regressed beyond " + tolerancePercent + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> map = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            StringBuilder builder = new StringBuilder(node.get("benchmark").asText());
+            JsonNode params = node.get("params");
+            if (params != null) {
+                builder.append('(');
+                boolean addComma = false;
+                for (Iterator<Map.Entry<String, JsonNode>> itr = params.fields(); itr.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = itr.next();
+                    if (addComma) {
+                        builder.append(", ");
+                    } else {
+                        addComma = true;
+                    }
+                    builder.append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+                builder.append(')');
+            }
+            JsonNode metric = node.get("primaryMetric");
+            map.put(
+                    builder.toString(),
+                    new Score(
+                            metric.get("score").asDouble(),
+                            metric.get("scoreUnit").asText(),
+                            "thrpt".equals(node.get("mode").asText())
+                    )
+            );
+        }
+        return map;
+    }
+
+    private static class Score {
+
+        final double value;
+
+        final String unit;
+
+        final boolean higherIsBetter;
+
+        Score(double value, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.runtime.Executor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The in-memory H2 database shared by the benchmarks which require JDBC,
+ * its schema is {@code benchmark-database.sql}
+ */
+public class BenchmarkDatabase {
+
+    private static final String URL = "jdbc:h2:mem:jimmer-benchmark;DB_CLOSE_DELAY=-1";
+
+    private BenchmarkDatabase() {}
+
+    public static Connection connect() throws SQLException {
+        Connection con = DriverManager.getConnection(URL);
+        try (Statement stmt = con.createStatement()) {
+            for (String sql : readSchema().split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    stmt.execute(sql);
+                }
+            }
+        } catch (SQLException | RuntimeException | Error ex) {
+            con.close();
+            throw ex;
+        }
+        return con;
+    }
+
+    /**
+     * Opens another connection to the database initialized by {@link #connect()}
+     */
+    public static Connection open() throws SQLException {
+        return DriverManager.getConnection(URL);
+    }
+
+    public static JSqlClient sqlClient() {
+        return sqlClient(null);
+    }
+
+    public static JSqlClient sqlClient(Executor executor) {
+        return JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .setExecutor(executor)
+                .build();
+    }
+
+    private static String readSchema() {
+        try (InputStream in = BenchmarkDatabase.class.getClassLoader().getResourceAsStream("benchmark-database.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("Cannot find \"benchmark-database.sql\"");
+            }
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            StringBuilder builder = new StringBuilder();
+            char[] buf = new char[1024];
+            int len;
+            while ((len = reader.read(buf)) != -1) {
+                builder.append(buf, 0, len);
+            }
+            return builder.toString();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read \"benchmark-database.sql\"", ex);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public class BenchmarkRunner {
+
+    private static final int WARMUP_ITERATIONS = 3;
+
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private BenchmarkRunner() {}
+
+    /**
+     * @param args Optional regular expressions of benchmark class names,
+     *             all benchmarks are executed if nothing is specified.
+     */
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder builder = options("benchmark-report.json");
+        if (args.length == 0) {
+            builder.include("org\\.babyfish\\.jimmer\\.benchmark\\..*");
+        } else {
+            for (String arg : args) {
+                builder.include(arg);
+            }
+        }
+        new Runner(builder.build()).run();
+    }
+
+    public static ChainedOptionsBuilder options(String resultFile) {
+        return new OptionsBuilder()
+                .warmupIterations(WARMUP_ITERATIONS)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .shouldDoGC(true)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .jvmArgs("-server");
+    }
+}
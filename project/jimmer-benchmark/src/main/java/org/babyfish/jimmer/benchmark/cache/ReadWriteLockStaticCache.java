@@ -0,0 +1,45 @@
+package org.babyfish.jimmer.benchmark.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * The previous implementation of {@link org.babyfish.jimmer.impl.util.StaticCache}
+ * which acquires a read lock for each lookup, kept as the baseline.
+ */
+class ReadWriteLockStaticCache<K, V> {
+
+    private final Function<K, V> creator;
+
+    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+
+    private final Map<K, V> positiveMap = new HashMap<>();
+
+    ReadWriteLockStaticCache(Function<K, V> creator) {
+        this.creator = creator;
+    }
+
+    V get(K key) {
+        V value;
+        Lock lock;
+        (lock = cacheLock.readLock()).lock();
+        try {
+            value = positiveMap.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (value == null) {
+            (lock = cacheLock.writeLock()).lock();
+            try {
+                value = positiveMap.computeIfAbsent(key, creator);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+}
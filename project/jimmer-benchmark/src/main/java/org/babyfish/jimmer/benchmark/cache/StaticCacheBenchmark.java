@@ -0,0 +1,89 @@
+package org.babyfish.jimmer.benchmark.cache;
+
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput of {@link StaticCache} compared with
+ * the previous read/write lock implementation.
+ *
+ * <p>Run {@link #main(String[])} to measure how throughput scales
+ * from 1 to 64 threads, JMH reports are written to
+ * {@code static-cache-N.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StaticCacheBenchmark {
+
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    private static final int KEY_COUNT = 64;
+
+    private Class<?>[] keys;
+
+    private StaticCache<Class<?>, String> lockFreeCache;
+
+    private ReadWriteLockStaticCache<Class<?>, String> readWriteLockCache;
+
+    @Setup
+    public void initialize() {
+        keys = new Class<?>[KEY_COUNT];
+        Class<?>[] candidates = {
+                String.class, Integer.class, Long.class, Short.class,
+                Byte.class, Character.class, Boolean.class, Float.class,
+                Double.class, Object.class, Number.class, Enum.class,
+                StringBuilder.class, Thread.class, Runtime.class, Math.class
+        };
+        for (int i = 0; i < KEY_COUNT; i++) {
+            Class<?> type = candidates[i % candidates.length];
+            for (int dimension = i / candidates.length; dimension > 0; --dimension) {
+                type = java.lang.reflect.Array.newInstance(type, 0).getClass();
+            }
+            keys[i] = type;
+        }
+        lockFreeCache = new StaticCache<>(Class::getName);
+        readWriteLockCache = new ReadWriteLockStaticCache<>(Class::getName);
+        for (Class<?> key : keys) {
+            lockFreeCache.get(key);
+            readWriteLockCache.get(key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int index;
+
+        Class<?> next(Class<?>[] keys) {
+            return keys[index++ & (KEY_COUNT - 1)];
+        }
+    }
+
+    @Benchmark
+    public String lockFree(Cursor cursor) {
+        return lockFreeCache.get(cursor.next(keys));
+    }
+
+    @Benchmark
+    public String readWriteLock(Cursor cursor) {
+        return readWriteLockCache.get(cursor.next(keys));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            new Runner(
+                    BenchmarkRunner
+                            .options("static-cache-" + threads + ".json")
+                            .include("\\." + StaticCacheBenchmark.class.getSimpleName() + "\\.")
+                            .threads(threads)
+                            .build()
+            ).run();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.babyfish.jimmer.benchmark.cache;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.BinaryValueSerializer;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialized size and serialization throughput of
+ * {@link BinaryValueSerializer} compared with the JSON based {@link ValueSerializer}.
+ *
+ * <p>Both object cache values (objects with scalar properties and foreign key)
+ * and association cache values (id lists) are measured.
+ * Run {@link #main(String[])} to print the serialized sizes
+ * and write the JMH report to {@code value-serializer.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValueSerializerBenchmark {
+
+    private static final int ID_COUNT = 32;
+
+    private Book book;
+
+    private List<Long> authorIds;
+
+    private ValueSerializer<Book> jsonObjectSerializer;
+
+    private ValueSerializer<Book> binaryObjectSerializer;
+
+    private ValueSerializer<List<Long>> jsonIdListSerializer;
+
+    private ValueSerializer<List<Long>> binaryIdListSerializer;
+
+    private byte[] jsonObjectBytes;
+
+    private byte[] binaryObjectBytes;
+
+    private byte[] jsonIdListBytes;
+
+    private byte[] binaryIdListBytes;
+
+    @Setup
+    public void initialize() {
+        book = BookDraft.$.produce(draft -> {
+            draft.setId(1024L);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(3);
+            draft.setPrice(new BigDecimal("51.00"));
+            draft.setStore(ImmutableObjects.makeIdOnly(BookStore.class, 7L));
+        });
+        authorIds = new ArrayList<>(ID_COUNT);
+        for (int i = 0; i < ID_COUNT; i++) {
+            authorIds.add(100_000L + i * 37L);
+        }
+        ImmutableType type = ImmutableType.get(Book.class);
+        ImmutableProp authorsProp = type.getProp("authors");
+        jsonObjectSerializer = new ValueSerializer<>(type);
+        binaryObjectSerializer = new BinaryValueSerializer<>(type);
+        jsonIdListSerializer = new ValueSerializer<>(authorsProp);
+        binaryIdListSerializer = new BinaryValueSerializer<>(authorsProp);
+        jsonObjectBytes = jsonObjectSerializer.serialize(book);
+        binaryObjectBytes = binaryObjectSerializer.serialize(book);
+        jsonIdListBytes = jsonIdListSerializer.serialize(authorIds);
+        binaryIdListBytes = binaryIdListSerializer.serialize(authorIds);
+    }
+
+    @Benchmark
+    public byte[] jsonSerializeObject() {
+        return jsonObjectSerializer.serialize(book);
+    }
+
+    @Benchmark
+    public byte[] binarySerializeObject() {
+        return binaryObjectSerializer.serialize(book);
+    }
+
+    @Benchmark
+    public Book jsonDeserializeObject() {
+        return jsonObjectSerializer.deserialize(jsonObjectBytes);
+    }
+
+    @Benchmark
+    public Book binaryDeserializeObject() {
+        return binaryObjectSerializer.deserialize(binaryObjectBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonSerializeIdList() {
+        return jsonIdListSerializer.serialize(authorIds);
+    }
+
+    @Benchmark
+    public byte[] binarySerializeIdList() {
+        return binaryIdListSerializer.serialize(authorIds);
+    }
+
+    @Benchmark
+    public List<Long> jsonDeserializeIdList() {
+        return jsonIdListSerializer.deserialize(jsonIdListBytes);
+    }
+
+    @Benchmark
+    public List<Long> binaryDeserializeIdList() {
+        return binaryIdListSerializer.deserialize(binaryIdListBytes);
+    }
+
+    @Benchmark
+    public Book jsonRoundTripObject() {
+        return jsonObjectSerializer.deserialize(jsonObjectSerializer.serialize(book));
+    }
+
+    @Benchmark
+    public Book binaryRoundTripObject() {
+        return binaryObjectSerializer.deserialize(binaryObjectSerializer.serialize(book));
+    }
+
+    @Benchmark
+    public List<Long> jsonRoundTripIdList() {
+        return jsonIdListSerializer.deserialize(jsonIdListSerializer.serialize(authorIds));
+    }
+
+    @Benchmark
+    public List<Long> binaryRoundTripIdList() {
+        return binaryIdListSerializer.deserialize(binaryIdListSerializer.serialize(authorIds));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ValueSerializerBenchmark benchmark = new ValueSerializerBenchmark();
+        benchmark.initialize();
+        System.out.println(
+                "Serialized size of object: json = " +
+                        benchmark.jsonObjectBytes.length +
+                        ", binary = " +
+                        benchmark.binaryObjectBytes.length
+        );
+        System.out.println(
+                "Serialized size of " + ID_COUNT + " ids: json = " +
+                        benchmark.jsonIdListBytes.length +
+                        ", binary = " +
+                        benchmark.binaryIdListBytes.length
+        );
+        new Runner(
+                BenchmarkRunner
+                        .options("value-serializer.json")
+                        .include("\\." + ValueSerializerBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
@@ -0,0 +1,176 @@
+package org.babyfish.jimmer.benchmark.concurrent;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.benchmark.BenchmarkDatabase;
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Throughput of concurrent query workloads on platform threads and virtual threads.
+ *
+ * <p>Each invocation submits {@code tasks} tasks to the executor and waits for all of them,
+ * each task opens its own connection and fetches books with their stores and authors,
+ * so that draft contexts, fetcher contexts and the thread-local state of object fetchers
+ * are exercised by every task.</p>
+ *
+ * <ul>
+ *     <li>{@code PLATFORM}: A fixed pool of {@value #PLATFORM_POOL_SIZE} threads,
+ *     the default size of the request thread pool of common servlet containers</li>
+ *     <li>{@code VIRTUAL}: A new virtual thread per task, requires Java 21,
+ *     falls back to {@code PLATFORM} with a warning on older runtimes
+ *     so that the whole suite can still be executed</li>
+ * </ul>
+ *
+ * <p>Run with {@code -Djdk.tracePinnedThreads=short} to report the carrier pinning
+ * of virtual threads.</p>
+ *
+ * <p>Run {@link #main(String[])} to write the JMH report to {@code virtual-thread.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    private static final int BOOK_COUNT = 100;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"100", "1000"})
+    public int tasks;
+
+    private Connection con;
+
+    private JSqlClient sqlClient;
+
+    private Fetcher<Book> fetcher;
+
+    private ExecutorService executorService;
+
+    @Setup
+    public void initialize() throws SQLException {
+        con = BenchmarkDatabase.connect();
+        sqlClient = BenchmarkDatabase.sqlClient();
+        List<Book> books = new ArrayList<>(BOOK_COUNT);
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            long id = i + 1;
+            books.add(
+                    BookDraft.$.produce(draft -> {
+                        draft.setId(id);
+                        draft.setName("Book-" + id);
+                        draft.setEdition(1);
+                        draft.setPrice(new BigDecimal("49.90"));
+                        draft.setStore(ImmutableObjects.makeIdOnly(BookStore.class, 1L + id % 2));
+                        draft.addIntoAuthors(author -> author.setId(1L + id % 5));
+                        draft.addIntoAuthors(author -> author.setId(1L + (id + 1) % 5));
+                    })
+            );
+        }
+        sqlClient
+                .saveEntitiesCommand(books)
+                .setMode(SaveMode.INSERT_ONLY)
+                .execute(con);
+        fetcher = BookFetcher.$
+                .allScalarFields()
+                .store(
+                        BookStoreFetcher.$
+                                .name()
+                )
+                .authors(
+                        AuthorFetcher.$
+                                .firstName()
+                                .lastName()
+                )
+                .authorFullNames();
+        executorService = threadMode.createExecutorService();
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        executorService.shutdownNow();
+        con.close();
+    }
+
+    @Benchmark
+    public int query() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            futures.add(executorService.submit(this::queryBooks));
+        }
+        int rowCount = 0;
+        for (Future<Integer> future : futures) {
+            rowCount += future.get();
+        }
+        return rowCount;
+    }
+
+    private int queryBooks() throws SQLException {
+        BookTable table = BookTable.$;
+        try (Connection con = BenchmarkDatabase.open()) {
+            return sqlClient
+                    .createQuery(table)
+                    .where(table.store().name().eq("MANNING"))
+                    .orderBy(table.name())
+                    .select(table.fetch(fetcher))
+                    .execute(con)
+                    .size();
+        }
+    }
+
+    public enum ThreadMode {
+
+        PLATFORM {
+            @Override
+            ExecutorService createExecutorService() {
+                return Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+            }
+        },
+
+        VIRTUAL {
+            @Override
+            ExecutorService createExecutorService() {
+                // Reflection is required because this module is compiled for Java 8
+                try {
+                    return (ExecutorService) Executors.class
+                            .getMethod("newVirtualThreadPerTaskExecutor")
+                            .invoke(null);
+                } catch (NoSuchMethodException ex) {
+                    System.err.println(
+                            "Virtual threads require Java 21, " +
+                                    "the platform thread pool is used by the " +
+                                    VirtualThreadBenchmark.class.getSimpleName()
+                    );
+                    return PLATFORM.createExecutorService();
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException("Cannot create the virtual thread executor", ex);
+                }
+            }
+        };
+
+        abstract ExecutorService createExecutorService();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("virtual-thread.json")
+                        .include("\\." + VirtualThreadBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
@@ -0,0 +1,108 @@
+package org.babyfish.jimmer.benchmark.draft;
+
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.runtime.DraftContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of producing immutable objects by drafts
+ * and resolving the modified drafts of {@link DraftContext}.
+ *
+ * <p>Run {@link #main(String[])} to write the JMH report
+ * to {@code draft-context.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DraftContextBenchmark {
+
+    private Book book;
+
+    @Setup
+    public void initialize() {
+        book = produceNew();
+    }
+
+    @Benchmark
+    public Book produceNew() {
+        return BookDraft.$.produce(draft -> {
+            draft.setId(1024L);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(3);
+            draft.setPrice(new BigDecimal("51.00"));
+            draft.applyStore(store -> {
+                store.setId(1L);
+                store.setName("O'REILLY");
+                store.setWebsite(null);
+                store.setVersion(0);
+            });
+            draft.addIntoAuthors(author -> {
+                author.setId(1L);
+                author.setFirstName("Eve");
+                author.setLastName("Procello");
+                author.setGender(Gender.FEMALE);
+            });
+            draft.addIntoAuthors(author -> {
+                author.setId(2L);
+                author.setFirstName("Alex");
+                author.setLastName("Banks");
+                author.setGender(Gender.MALE);
+            });
+        });
+    }
+
+    @Benchmark
+    public Book produceModifiedScalar() {
+        return BookDraft.$.produce(book, draft -> {
+            draft.setPrice(new BigDecimal("59.00"));
+        });
+    }
+
+    @Benchmark
+    public Book produceModifiedAssociations() {
+        return BookDraft.$.produce(book, draft -> {
+            draft.store(false).setWebsite("https://www.oreilly.com");
+            for (AuthorDraft author : draft.authors(false)) {
+                author.setLastName(author.lastName().toUpperCase());
+            }
+        });
+    }
+
+    @Benchmark
+    public Book produceUnmodified() {
+        return BookDraft.$.produce(book, draft -> {
+            draft.store(false).name();
+            for (AuthorDraft author : draft.authors(false)) {
+                author.firstName();
+            }
+        });
+    }
+
+    @Benchmark
+    public Book resolveSharedContext() {
+        DraftContext ctx = new DraftContext(null);
+        try {
+            BookDraft draft = ctx.toDraftObject(book);
+            draft.setEdition(4);
+            draft.store(false).setName("MANNING");
+            return ctx.resolveObject(draft);
+        } finally {
+            ctx.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("draft-context.json")
+                        .include("\\." + DraftContextBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
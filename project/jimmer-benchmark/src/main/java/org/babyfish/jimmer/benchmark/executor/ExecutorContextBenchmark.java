@@ -0,0 +1,47 @@
+package org.babyfish.jimmer.benchmark.executor;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.runtime.ExecutorContext;
+import org.babyfish.jimmer.sql.runtime.ExecutorContextCaptureMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ExecutorContext#create(JSqlClient)} for each
+ * {@link ExecutorContextCaptureMode}.
+ *
+ * <p>{@code frameworkDepth} is the count of infrastructure frames
+ * between the business call site (the benchmark method) and jimmer,
+ * the JMH frames above the business call site are not matched too.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExecutorContextBenchmark {
+
+    @Param({"STACK_TRACE", "STACK_WALKER"})
+    private ExecutorContextCaptureMode mode;
+
+    @Param({"8", "32", "128"})
+    private int frameworkDepth;
+
+    private JSqlClient sqlClient;
+
+    @Setup
+    public void initialize() {
+        sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(
+                        Collections.singletonList(ExecutorContextBenchmark.class.getName())
+                )
+                .setExecutorContextCaptureMode(mode)
+                .build();
+    }
+
+    @Benchmark
+    public ExecutorContext create() {
+        return InfrastructureFrames.create(sqlClient, frameworkDepth);
+    }
+}
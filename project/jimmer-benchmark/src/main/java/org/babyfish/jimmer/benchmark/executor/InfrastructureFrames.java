@@ -0,0 +1,20 @@
+package org.babyfish.jimmer.benchmark.executor;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.runtime.ExecutorContext;
+
+/**
+ * Simulates the frames of proxies, interceptors and jimmer itself,
+ * its class name is not matched by the executor context prefixes.
+ */
+class InfrastructureFrames {
+
+    private InfrastructureFrames() {}
+
+    static ExecutorContext create(JSqlClient sqlClient, int depth) {
+        if (depth == 0) {
+            return ExecutorContext.create(sqlClient);
+        }
+        return create(sqlClient, depth - 1);
+    }
+}
@@ -0,0 +1,100 @@
+package org.babyfish.jimmer.benchmark.fetcher;
+
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.Field;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of constructing fetchers and resolving their field maps.
+ *
+ * <p>{@code mergeFormulaDependencies} fetches a java formula depending on
+ * the properties of associated objects, so that its dependencies are merged
+ * into the child fetcher of the association when the field map is resolved.</p>
+ *
+ * <p>Run {@link #main(String[])} to write the JMH report to {@code fetcher.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FetcherBenchmark {
+
+    private Fetcher<Book> fetcher1;
+
+    private Fetcher<Book> fetcher2;
+
+    @Setup
+    public void initialize() {
+        fetcher1 = createFetcher();
+        fetcher2 = createFetcher();
+        fetcher1.getFieldMap();
+        fetcher2.getFieldMap();
+    }
+
+    @Benchmark
+    public Fetcher<Book> construct() {
+        return createFetcher();
+    }
+
+    @Benchmark
+    public Map<String, Field> constructAndResolve() {
+        return createFetcher().getFieldMap();
+    }
+
+    @Benchmark
+    public Map<String, Field> overrideFields() {
+        return BookFetcher.$
+                .name()
+                .allScalarFields()
+                .store()
+                .store(BookStoreFetcher.$.name())
+                .authors(AuthorFetcher.$.firstName())
+                .authors(AuthorFetcher.$.firstName().lastName())
+                .getFieldMap();
+    }
+
+    @Benchmark
+    public Map<String, Field> mergeFormulaDependencies() {
+        return BookFetcher.$
+                .name()
+                .authors(AuthorFetcher.$.gender())
+                .authorFullNames()
+                .getFieldMap();
+    }
+
+    @Benchmark
+    public boolean equalsAndHashCode() {
+        return fetcher1.hashCode() == fetcher2.hashCode() && fetcher1.equals(fetcher2);
+    }
+
+    private static Fetcher<Book> createFetcher() {
+        return BookFetcher.$
+                .allScalarFields()
+                .store(
+                        BookStoreFetcher.$
+                                .allScalarFields()
+                )
+                .authors(
+                        AuthorFetcher.$
+                                .allScalarFields()
+                                .books(
+                                        BookFetcher.$.name()
+                                )
+                );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("fetcher.json")
+                        .include("\\." + FetcherBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
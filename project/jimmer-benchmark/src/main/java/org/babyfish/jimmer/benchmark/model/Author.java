@@ -0,0 +1,23 @@
+package org.babyfish.jimmer.benchmark.model;
+
+import org.babyfish.jimmer.sql.*;
+
+import java.util.List;
+
+@Entity
+public interface Author {
+
+    @Id
+    long id();
+
+    @Key
+    String firstName();
+
+    @Key
+    String lastName();
+
+    Gender gender();
+
+    @ManyToMany(mappedBy = "authors")
+    List<Book> books();
+}
@@ -0,0 +1,44 @@
+package org.babyfish.jimmer.benchmark.model;
+
+import org.babyfish.jimmer.sql.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+public interface Book {
+
+    @Id
+    long id();
+
+    @Key
+    String name();
+
+    @Key
+    int edition();
+
+    BigDecimal price();
+
+    @Nullable
+    @ManyToOne
+    BookStore store();
+
+    @ManyToMany
+    @JoinTable(
+            name = "BOOK_AUTHOR_MAPPING",
+            joinColumnName = "BOOK_ID",
+            inverseJoinColumnName = "AUTHOR_ID"
+    )
+    List<Author> authors();
+
+    @Formula(dependencies = {"authors.firstName", "authors.lastName"})
+    default List<String> authorFullNames() {
+        List<String> fullNames = new ArrayList<>(authors().size());
+        for (Author author : authors()) {
+            fullNames.add(author.firstName() + ' ' + author.lastName());
+        }
+        return fullNames;
+    }
+}
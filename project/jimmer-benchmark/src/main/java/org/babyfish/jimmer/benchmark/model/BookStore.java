@@ -0,0 +1,25 @@
+package org.babyfish.jimmer.benchmark.model;
+
+import org.babyfish.jimmer.sql.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+@Entity
+public interface BookStore {
+
+    @Id
+    long id();
+
+    @Key
+    String name();
+
+    @Nullable
+    String website();
+
+    @Version
+    int version();
+
+    @OneToMany(mappedBy = "store")
+    List<Book> books();
+}
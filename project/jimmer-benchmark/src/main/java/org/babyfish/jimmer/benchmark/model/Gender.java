@@ -0,0 +1,6 @@
+package org.babyfish.jimmer.benchmark.model;
+
+public enum Gender {
+    MALE,
+    FEMALE
+}
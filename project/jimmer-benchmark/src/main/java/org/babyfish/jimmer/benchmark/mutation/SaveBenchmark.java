@@ -0,0 +1,102 @@
+package org.babyfish.jimmer.benchmark.mutation;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.benchmark.BenchmarkDatabase;
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch saving throughput of the save command against in-memory H2.
+ *
+ * <p>Each invocation saves {@code batchSize} books with their
+ * many-to-one and many-to-many associations, and the transaction
+ * is rolled back after each invocation, so that every invocation
+ * starts from the same database state.</p>
+ *
+ * <p>Run {@link #main(String[])} to write the JMH report to {@code save.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SaveBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private Connection con;
+
+    private JSqlClient sqlClient;
+
+    private List<Book> books;
+
+    @Setup
+    public void initialize() throws SQLException {
+        con = BenchmarkDatabase.connect();
+        con.setAutoCommit(false);
+        sqlClient = BenchmarkDatabase.sqlClient();
+        books = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            long id = i + 1;
+            books.add(
+                    BookDraft.$.produce(draft -> {
+                        draft.setId(id);
+                        draft.setName("Book-" + id);
+                        draft.setEdition(1);
+                        draft.setPrice(new BigDecimal("49.90"));
+                        draft.setStore(ImmutableObjects.makeIdOnly(BookStore.class, 1L + id % 2));
+                        draft.addIntoAuthors(author -> author.setId(1L + id % 5));
+                        draft.addIntoAuthors(author -> author.setId(1L + (id + 1) % 5));
+                    })
+            );
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void rollback() throws SQLException {
+        con.rollback();
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        con.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        return sqlClient
+                .saveEntitiesCommand(books)
+                .setMode(SaveMode.INSERT_ONLY)
+                .execute(con)
+                .getTotalAffectedRowCount();
+    }
+
+    @Benchmark
+    public int upsert() {
+        return sqlClient
+                .saveEntitiesCommand(books)
+                .setMode(SaveMode.UPSERT)
+                .execute(con)
+                .getTotalAffectedRowCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("save.json")
+                        .include("\\." + SaveBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
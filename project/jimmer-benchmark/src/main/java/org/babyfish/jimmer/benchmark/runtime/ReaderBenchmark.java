@@ -0,0 +1,135 @@
+package org.babyfish.jimmer.benchmark.runtime;
+
+import org.babyfish.jimmer.benchmark.BenchmarkDatabase;
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.Book;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.Reader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row reading throughput of the readers created by {@code ReaderManager}.
+ *
+ * <p>The rows are provided by an in-memory {@link ResultSet} which
+ * returns constant values, so that only the cost of readers and
+ * draft resolving is measured. Each invocation reads {@value #ROW_COUNT} rows.
+ * Run {@link #main(String[])} to write the JMH report to {@code reader.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReaderBenchmark {
+
+    private static final int ROW_COUNT = 64;
+
+    private static final BigDecimal PRICE = new BigDecimal("49.90");
+
+    private JSqlClientImplementor sqlClient;
+
+    private ResultSet resultSet;
+
+    private Reader<?> entityReader;
+
+    private Reader<?> longReader;
+
+    private Reader<?> stringReader;
+
+    private Reader<?> decimalReader;
+
+    @Setup
+    public void initialize() {
+        sqlClient = (JSqlClientImplementor) BenchmarkDatabase.sqlClient();
+        resultSet = constantResultSet();
+        entityReader = sqlClient.getReader(ImmutableType.get(Book.class));
+        longReader = sqlClient.getReader(long.class);
+        stringReader = sqlClient.getReader(String.class);
+        decimalReader = sqlClient.getReader(BigDecimal.class);
+    }
+
+    @Benchmark
+    public List<Object> readEntities() throws SQLException {
+        return Internal.usingSqlDraftContext(draftContext -> {
+            Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
+            List<Object> rows = new ArrayList<>(ROW_COUNT);
+            for (int i = 0; i < ROW_COUNT; i++) {
+                rows.add(entityReader.read(resultSet, ctx));
+                ctx.resetCol();
+            }
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public List<Object> readScalars() throws SQLException {
+        Reader.Context ctx = new Reader.Context(null, sqlClient);
+        List<Object> rows = new ArrayList<>(ROW_COUNT * 3);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows.add(longReader.read(resultSet, ctx));
+            rows.add(stringReader.read(resultSet, ctx));
+            rows.add(decimalReader.read(resultSet, ctx));
+            ctx.resetCol();
+        }
+        return rows;
+    }
+
+    private static ResultSet constantResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getLong":
+                            return 1024L;
+                        case "getInt":
+                            return 3;
+                        case "getString":
+                            return "Learning GraphQL";
+                        case "getBigDecimal":
+                            return PRICE;
+                        case "wasNull":
+                            return false;
+                        case "getObject":
+                            return constantObject(args.length > 1 ? (Class<?>) args[1] : Object.class);
+                        default:
+                            throw new UnsupportedOperationException(
+                                    "The method \"" + method.getName() + "\" is not supported by benchmark"
+                            );
+                    }
+                }
+        );
+    }
+
+    private static Object constantObject(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1024L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 3;
+        }
+        if (type == BigDecimal.class) {
+            return PRICE;
+        }
+        return "Learning GraphQL";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("reader.json")
+                        .include("\\." + ReaderBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
@@ -0,0 +1,150 @@
+package org.babyfish.jimmer.benchmark.runtime;
+
+import org.babyfish.jimmer.benchmark.BenchmarkDatabase;
+import org.babyfish.jimmer.benchmark.BenchmarkRunner;
+import org.babyfish.jimmer.benchmark.model.*;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL rendering throughput of {@code SqlBuilder}.
+ *
+ * <p>The queries are executed by an executor which only captures
+ * the rendered SQL and returns empty result, so that the cost of
+ * JDBC is excluded. Run {@link #main(String[])} to write the JMH
+ * report to {@code sql-builder.json}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlBuilderBenchmark {
+
+    private Connection con;
+
+    private JSqlClient sqlClient;
+
+    private final CapturingExecutor executor = new CapturingExecutor();
+
+    @Setup
+    public void initialize() throws SQLException {
+        con = BenchmarkDatabase.connect();
+        sqlClient = BenchmarkDatabase.sqlClient(executor);
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        con.close();
+    }
+
+    @Benchmark
+    public String simpleQuery() {
+        BookTable table = BookTable.$;
+        sqlClient
+                .createQuery(table)
+                .where(table.name().ilike("graphql"))
+                .where(table.price().between(new BigDecimal("40"), new BigDecimal("80")))
+                .orderBy(table.name(), table.edition().desc())
+                .select(table)
+                .limit(10, 20)
+                .execute(con);
+        return executor.sql;
+    }
+
+    @Benchmark
+    public String joinQuery() {
+        BookTable table = BookTable.$;
+        sqlClient
+                .createQuery(table)
+                .where(table.store().name().eq("MANNING"))
+                .where(table.asTableEx().authors().gender().eq(Gender.MALE))
+                .orderBy(table.store().name(), table.name())
+                .select(table.id(), table.name(), table.store().name())
+                .distinct()
+                .execute(con);
+        return executor.sql;
+    }
+
+    @Benchmark
+    public String subQuery() {
+        BookTable table = BookTable.$;
+        AuthorTableEx author = AuthorTableEx.$;
+        sqlClient
+                .createQuery(table)
+                .where(
+                        table.id().in(
+                                sqlClient
+                                        .createSubQuery(author)
+                                        .where(author.firstName().in("Alex", "Eve", "Dan"))
+                                        .select(author.books().id())
+                        )
+                )
+                .groupBy(table.store().id())
+                .select(table.store().id(), table.price().avg())
+                .execute(con);
+        return executor.sql;
+    }
+
+    @Benchmark
+    public String fetcherQuery() {
+        BookTable table = BookTable.$;
+        sqlClient
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .allScalarFields()
+                                        .store(BookStoreFetcher.$.name())
+                        )
+                )
+                .execute(con);
+        return executor.sql;
+    }
+
+    private static class CapturingExecutor implements Executor {
+
+        String sql;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <R> R execute(@NotNull Args<R> args) {
+            sql = args.sql;
+            return (R) new ArrayList<>();
+        }
+
+        @Override
+        public BatchContext executeBatch(
+                @NotNull Connection con,
+                @NotNull String sql,
+                @Nullable ImmutableProp generatedIdProp,
+                @NotNull ExecutionPurpose purpose,
+                @NotNull JSqlClientImplementor sqlClient
+        ) {
+            return DefaultExecutor.INSTANCE.executeBatch(con, sql, generatedIdProp, purpose, sqlClient);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                BenchmarkRunner
+                        .options("sql-builder.json")
+                        .include("\\." + SqlBuilderBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
@@ -0,0 +1,87 @@
+drop table book_author_mapping if exists;
+drop table book if exists;
+drop table author if exists;
+drop table book_store if exists;
+
+create table book_store(
+    id bigint not null,
+    name varchar(50) not null,
+    website varchar(100),
+    version int not null
+);
+alter table book_store
+    add constraint pk_book_store
+        primary key(id)
+;
+alter table book_store
+    add constraint business_key_book_store
+        unique(name)
+;
+
+create table book(
+    id bigint not null,
+    name varchar(50) not null,
+    edition integer not null,
+    price numeric(10, 2) not null,
+    store_id bigint
+);
+alter table book
+    add constraint pk_book
+        primary key(id)
+;
+alter table book
+    add constraint business_key_book
+        unique(name, edition)
+;
+alter table book
+    add constraint fk_book__book_store
+        foreign key(store_id)
+            references book_store(id)
+;
+
+create table author(
+    id bigint not null,
+    first_name varchar(25) not null,
+    last_name varchar(25) not null,
+    gender varchar(6) not null
+);
+alter table author
+    add constraint pk_author
+        primary key(id)
+;
+alter table author
+    add constraint business_key_author
+        unique(first_name, last_name)
+;
+
+create table book_author_mapping(
+    book_id bigint not null,
+    author_id bigint not null
+);
+alter table book_author_mapping
+    add constraint pk_book_author_mapping
+        primary key(book_id, author_id)
+;
+alter table book_author_mapping
+    add constraint fk_book_author_mapping__book
+        foreign key(book_id)
+            references book(id)
+                on delete cascade
+;
+alter table book_author_mapping
+    add constraint fk_book_author_mapping__author
+        foreign key(author_id)
+            references author(id)
+                on delete cascade
+;
+
+insert into book_store(id, name, website, version) values
+    (1, 'O''REILLY', null, 0),
+    (2, 'MANNING', null, 0);
+
+insert into author(id, first_name, last_name, gender) values
+    (1, 'Eve', 'Procello', 'FEMALE'),
+    (2, 'Alex', 'Banks', 'MALE'),
+    (3, 'Dan', 'Vanderkam', 'MALE'),
+    (4, 'Boris', 'Cherny', 'MALE'),
+    (5, 'Samer', 'Buna', 'MALE');
@@ -6,6 +6,8 @@ import org.babyfish.jimmer.client.source.SourceManager;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
@@ -13,6 +15,14 @@ import java.util.zip.ZipOutputStream;
 
 public abstract class Context {
 
+    /**
+     * The modification time of all the entries of the zip file rendered by
+     * {@link #renderAll(OutputStream)}, the zip file only depends on the
+     * metadata so that its digest can be used as ETag
+     */
+    private static final long ZIP_ENTRY_TIME =
+            LocalDateTime.of(1980, 2, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
     private final Metadata metadata;
 
     private final String indent;
@@ -166,18 +176,24 @@ public abstract class Context {
             }
             List<Source> sources = e.getValue();
             if (isIndexRequired) {
-                zipOutputStream.putNextEntry(new ZipEntry(dir + "index" + suffix));
+                zipOutputStream.putNextEntry(zipEntry(dir + "index" + suffix));
                 renderIndex(dir, sources, writer);
                 writer.flush();
             }
             for (Source source : sources) {
-                zipOutputStream.putNextEntry(new ZipEntry(dir + source.getName() + suffix));
+                zipOutputStream.putNextEntry(zipEntry(dir + source.getName() + suffix));
                 render(source, writer);
                 writer.flush();
             }
         }
     }
 
+    private static ZipEntry zipEntry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(ZIP_ENTRY_TIME);
+        return entry;
+    }
+
     public void render(Source source, Appendable writer) {
         init();
         SourceWriter codeWriter = this.createCodeWriter(this, source);
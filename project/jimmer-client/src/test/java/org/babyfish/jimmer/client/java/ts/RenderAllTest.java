@@ -0,0 +1,52 @@
+package org.babyfish.jimmer.client.java.ts;
+
+import org.babyfish.jimmer.client.common.OperationParserImpl;
+import org.babyfish.jimmer.client.common.ParameterParserImpl;
+import org.babyfish.jimmer.client.generator.ts.TypeScriptContext;
+import org.babyfish.jimmer.client.runtime.Metadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class RenderAllTest {
+
+    private static final Metadata METADATA =
+            Metadata
+                    .newBuilder()
+                    .setOperationParser(new OperationParserImpl())
+                    .setParameterParser(new ParameterParserImpl())
+                    .setGroups(Arrays.asList("bookService", "treeService"))
+                    .setGenericSupported(true)
+                    .build();
+
+    @Test
+    public void testRenderTwice() throws IOException {
+        byte[] content1 = renderAll();
+        byte[] content2 = renderAll();
+        Assertions.assertArrayEquals(content1, content2);
+        long expectedTime = LocalDateTime.of(1980, 2, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        int count = 0;
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(content1))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                Assertions.assertEquals(expectedTime, entry.getTime(), entry.getName());
+                count++;
+            }
+        }
+        Assertions.assertTrue(count > 0);
+    }
+
+    private static byte[] renderAll() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TypeScriptContext(METADATA).renderAll(out);
+        return out.toByteArray();
+    }
+}
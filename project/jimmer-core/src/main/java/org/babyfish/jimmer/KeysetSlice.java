@@ -0,0 +1,88 @@
+package org.babyfish.jimmer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The slice fetched by keyset(seek) pagination.
+ *
+ * <p>Unlike {@link Slice} which is located by offset,
+ * the neighbor slices are located by opaque cursors
+ * which record the sort keys of the boundary rows,
+ * so the cost of fetching a slice does not increase
+ * with its depth.</p>
+ *
+ * @param <T> The row type
+ *
+ * @see Slice
+ */
+public class KeysetSlice<T> extends Slice<T> {
+
+    @Nullable
+    private final String previousCursor;
+
+    @Nullable
+    private final String nextCursor;
+
+    public KeysetSlice(
+            @NotNull List<T> rows,
+            boolean isHead,
+            boolean isTail,
+            @Nullable String previousCursor,
+            @Nullable String nextCursor
+    ) {
+        super(rows, isHead, isTail);
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The cursor to fetch the previous slice,
+     * null if the current slice is the head
+     */
+    @Nullable
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    /**
+     * @return The cursor to fetch the next slice,
+     * null if the current slice is the tail
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+
+        KeysetSlice<?> slice = (KeysetSlice<?>) o;
+
+        if (!Objects.equals(previousCursor, slice.previousCursor)) return false;
+        return Objects.equals(nextCursor, slice.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(previousCursor);
+        result = 31 * result + Objects.hashCode(nextCursor);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetSlice{" +
+                "rows=" + getRows() +
+                ", isHead=" + isHead() +
+                ", isTail=" + isTail() +
+                ", previousCursor='" + previousCursor + '\'' +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
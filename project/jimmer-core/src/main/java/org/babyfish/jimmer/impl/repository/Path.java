@@ -0,0 +1,46 @@
+package org.babyfish.jimmer.impl.repository;
+
+import java.util.List;
+
+public class Path<P> {
+
+    private final Source source;
+
+    private final List<P> props;
+
+    private final boolean scalar;
+
+    private final String text;
+
+    Path(Source source, List<P> props, boolean scalar, String text) {
+        this.source = source;
+        this.props = props;
+        this.scalar = scalar;
+        this.text = text;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public List<P> getProps() {
+        return props;
+    }
+
+    public P getLastProp() {
+        return props.get(props.size() - 1);
+    }
+
+    /**
+     * @return Whether the last property is not an association
+     * of entity, embedded property is scalar
+     */
+    public boolean isScalar() {
+        return scalar;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
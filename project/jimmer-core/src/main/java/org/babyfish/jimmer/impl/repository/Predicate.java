@@ -0,0 +1,4 @@
+package org.babyfish.jimmer.impl.repository;
+
+public interface Predicate {
+}
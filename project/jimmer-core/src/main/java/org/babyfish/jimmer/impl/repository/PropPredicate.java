@@ -0,0 +1,93 @@
+package org.babyfish.jimmer.impl.repository;
+
+public class PropPredicate<P> implements Predicate {
+
+    private final Path<P> path;
+
+    private final Op op;
+
+    private final boolean insensitive;
+
+    private final LikeMode likeMode;
+
+    PropPredicate(Path<P> path, Op op, boolean insensitive, LikeMode likeMode) {
+        this.path = path;
+        this.op = op;
+        this.insensitive = insensitive;
+        this.likeMode = likeMode;
+    }
+
+    public Path<P> getPath() {
+        return path;
+    }
+
+    public Op getOp() {
+        return op;
+    }
+
+    public boolean isInsensitive() {
+        return insensitive;
+    }
+
+    public LikeMode getLikeMode() {
+        return likeMode;
+    }
+
+    /**
+     * @return The count of method parameters consumed by this predicate
+     */
+    public int getParamCount() {
+        switch (op) {
+            case TRUE:
+            case FALSE:
+            case NULL:
+            case NOT_NULL:
+                return 0;
+            case BETWEEN:
+            case NOT_BETWEEN:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropPredicate{" +
+                "path=" + path +
+                ", op=" + op +
+                ", insensitive=" + insensitive +
+                ", likeMode=" + likeMode +
+                '}';
+    }
+
+    public enum Op {
+        TRUE,
+        FALSE,
+        EQ,
+        NE,
+        LT,
+        LE,
+        GT,
+        GE,
+        NULL,
+        NOT_NULL,
+        IN,
+        NOT_IN,
+        BETWEEN,
+        NOT_BETWEEN,
+        LIKE,
+        NOT_LIKE
+    }
+
+    /**
+     * The same constants as `org.babyfish.jimmer.sql.ast.LikeMode`,
+     * which is not visible to this module
+     */
+    public enum LikeMode {
+        EXACT,
+        START,
+        END,
+        ANYWHERE
+    }
+}
@@ -0,0 +1,109 @@
+package org.babyfish.jimmer.impl.repository;
+
+import java.util.List;
+
+/**
+ * The query derived from the name of an abstract method
+ * of spring data repository, see {@link QueryParser}.
+ */
+public class Query<P> {
+
+    private final Action action;
+
+    private final int limit;
+
+    private final boolean distinct;
+
+    private final Path<P> selectedPath;
+
+    private final Predicate predicate;
+
+    private final List<Order<P>> orders;
+
+    Query(
+            Action action,
+            int limit,
+            boolean distinct,
+            Path<P> selectedPath,
+            Predicate predicate,
+            List<Order<P>> orders
+    ) {
+        this.action = action;
+        this.limit = limit;
+        this.distinct = distinct;
+        this.selectedPath = selectedPath;
+        this.predicate = predicate;
+        this.orders = orders;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isDistinct() {
+        return distinct;
+    }
+
+    public Path<P> getSelectedPath() {
+        return selectedPath;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public List<Order<P>> getOrders() {
+        return orders;
+    }
+
+    @Override
+    public String toString() {
+        return "Query{" +
+                "action=" + action +
+                ", limit=" + limit +
+                ", distinct=" + distinct +
+                ", selectedPath=" + selectedPath +
+                ", predicate=" + predicate +
+                ", orders=" + orders +
+                '}';
+    }
+
+    public enum Action {
+        FIND,
+        COUNT,
+        EXISTS,
+        DELETE
+    }
+
+    public static class Order<P> {
+
+        private final Path<P> path;
+
+        private final boolean desc;
+
+        Order(Path<P> path, boolean desc) {
+            this.path = path;
+            this.desc = desc;
+        }
+
+        public Path<P> getPath() {
+            return path;
+        }
+
+        public boolean isDesc() {
+            return desc;
+        }
+
+        @Override
+        public String toString() {
+            return "Order{" +
+                    "path=" + path +
+                    ", desc=" + desc +
+                    '}';
+        }
+    }
+}
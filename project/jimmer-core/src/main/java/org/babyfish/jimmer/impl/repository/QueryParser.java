@@ -0,0 +1,498 @@
+package org.babyfish.jimmer.impl.repository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Parser of the derived query methods of spring data repository.
+ *
+ * <p>It is the only implementation of the grammar, it is used by the
+ * runtime of jimmer-spring-boot-starter, the annotation processor and
+ * the kotlin symbol processor. The subclasses only tell how to access
+ * the types and properties of their own metadata.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ *
+ * @param <T> The immutable type
+ * @param <P> The immutable property
+ */
+public abstract class QueryParser<T, P> {
+
+    private final Map<T, List<P>> orderedPropMap = new HashMap<>();
+
+    protected abstract Map<String, P> getProps(T type);
+
+    protected abstract String getName(P prop);
+
+    /**
+     * @return Whether the property can be used by derived query,
+     * the scalar lists and the properties which cannot be used
+     * by the DSL should be excluded
+     */
+    protected abstract boolean isQueryable(P prop);
+
+    /**
+     * @return Whether the property is an association of entity
+     * whose target is a list
+     */
+    protected abstract boolean isReferenceList(P prop);
+
+    /**
+     * @return Whether the property is not an association of entity,
+     * embedded property is scalar
+     */
+    protected abstract boolean isScalar(P prop);
+
+    /**
+     * @return The target type of association or embedded property,
+     * otherwise null
+     */
+    protected abstract T getTargetType(P prop);
+
+    protected abstract String getTypeName(T type);
+
+    public Query<P> parse(String methodName, T type, boolean allowProjection) {
+        return parse(new Source(methodName), type, allowProjection);
+    }
+
+    public Query<P> parse(Source source, T type, boolean allowProjection) {
+        return new Parser(type).parse(source, allowProjection);
+    }
+
+    public Path<P> parsePath(Source source, T type, boolean allowCollection) {
+        List<P> props = new ArrayList<>();
+        if (!parsePath(source, type, allowCollection, props)) {
+            throw new IllegalArgumentException(
+                    "Cannot resolve the property name \"" +
+                            source +
+                            "\" by \"" +
+                            getTypeName(type) +
+                            "\""
+            );
+        }
+        return new Path<>(
+                source,
+                Collections.unmodifiableList(props),
+                isScalar(props.get(props.size() - 1)),
+                props.stream().map(this::getName).collect(Collectors.joining("."))
+        );
+    }
+
+    public PropPredicate<P> parsePropPredicate(
+            Source source,
+            T type,
+            boolean allowCollection,
+            boolean allIgnoreCase
+    ) {
+        Source restSource = source.trimEnd("IgnoringCase", "IgnoreCase");
+        if (restSource != null && allIgnoreCase) {
+            throw new IllegalArgumentException(
+                    "The predicate \"" +
+                            source +
+                            "\" cannot be ignore case when \"AllIgnoreCase\" is already set"
+            );
+        }
+        boolean ignoreCase = allIgnoreCase || restSource != null;
+        if (restSource != null) {
+            source = restSource;
+        }
+        for (OpSuffix opSuffix : OpSuffix.LIST) {
+            restSource = source.trimEnd(opSuffix.suffixes);
+            if (restSource != null) {
+                return new PropPredicate<>(
+                        parsePath(restSource, type, allowCollection),
+                        opSuffix.op,
+                        ignoreCase,
+                        opSuffix.likeMode
+                );
+            }
+        }
+        return new PropPredicate<>(
+                parsePath(source, type, allowCollection),
+                PropPredicate.Op.EQ,
+                ignoreCase,
+                PropPredicate.LikeMode.EXACT
+        );
+    }
+
+    private boolean parsePath(Source source, T type, boolean allowCollection, List<P> props) {
+        for (P prop : getOrderedProps(type)) {
+            if (!allowCollection && isReferenceList(prop)) {
+                continue;
+            }
+            Source restSource = trimByName(source, getName(prop));
+            if (restSource == null) {
+                continue;
+            }
+            props.add(prop);
+            if (restSource.isEmpty()) {
+                return true;
+            }
+            T targetType = getTargetType(prop);
+            if (targetType == null) {
+                throw new IllegalArgumentException(
+                        "Cannot resolve the property name \"" +
+                                source +
+                                "\" by \"" +
+                                getTypeName(type) +
+                                "\""
+                );
+            }
+            if (parsePath(restSource, targetType, allowCollection, props)) {
+                return true;
+            }
+            props.remove(props.size() - 1);
+        }
+        return false;
+    }
+
+    private List<P> getOrderedProps(T type) {
+        List<P> props = orderedPropMap.get(type);
+        if (props == null) {
+            props = getProps(type)
+                    .values()
+                    .stream()
+                    .filter(this::isQueryable)
+                    .sorted(Comparator.comparing((P prop) -> getName(prop).length()).reversed())
+                    .collect(Collectors.toList());
+            orderedPropMap.put(type, props);
+        }
+        return props;
+    }
+
+    private class Parser {
+
+        private final T type;
+
+        private Query.Action action = Query.Action.FIND;
+
+        private int limit = Integer.MAX_VALUE;
+
+        private boolean distinct;
+
+        private Path<P> selectedPath;
+
+        private boolean allIgnoreCase;
+
+        private Predicate predicate;
+
+        private final List<Query.Order<P>> orders = new ArrayList<>();
+
+        Parser(T type) {
+            this.type = type;
+        }
+
+        Query<P> parse(Source source, boolean allowProjection) {
+            int orderByIndex = source.indexOf("OrderBy");
+            Source beforeOrderByCourse;
+            Source orderBySource;
+            if (orderByIndex == -1) {
+                beforeOrderByCourse = source;
+                orderBySource = null;
+            } else {
+                beforeOrderByCourse = source.subSource(0, orderByIndex);
+                orderBySource = source.subSource(orderByIndex + 7);
+            }
+            int byIndex = beforeOrderByCourse.indexOf("By");
+            if (byIndex != -1 || orderByIndex != -1) {
+                Source actionSource;
+                Source predicateSource;
+                if (byIndex == -1) {
+                    actionSource = beforeOrderByCourse;
+                    predicateSource = null;
+                } else {
+                    actionSource = beforeOrderByCourse.subSource(0, byIndex);
+                    predicateSource = beforeOrderByCourse.subSource(byIndex + 2);
+                }
+                Source selectedSource = parseAction(actionSource);
+                if (orderByIndex > 0 && action != Query.Action.FIND) {
+                    throw new IllegalArgumentException("Illegal method name \"" + source.subSource(orderByIndex) + "\"");
+                }
+                if (!selectedSource.isEmpty()) {
+                    if (action != Query.Action.FIND) {
+                        throw new IllegalArgumentException("Illegal method name \"" + selectedSource + "\"");
+                    }
+                    List<Source> selectedSources = parseLimit(selectedSource);
+                    selectedSource = parseDistinct(selectedSources);
+                    if (selectedSource != null && allowProjection) {
+                        selectedPath = parsePath(selectedSource, type, distinct);
+                    }
+                }
+                if (predicateSource != null) {
+                    parsePredicates(predicateSource);
+                }
+                if (orderBySource != null) {
+                    parseOrders(orderBySource);
+                }
+            }
+            return new Query<>(action, limit, distinct, selectedPath, predicate, Collections.unmodifiableList(orders));
+        }
+
+        private Source parseAction(Source source) {
+            Source restSource = source.trimStart("find", "findAll", "read", "get", "query", "search");
+            if (restSource != null) {
+                return restSource;
+            }
+            restSource = source.trimStart("stream");
+            if (restSource != null) {
+                throw new IllegalArgumentException(
+                        "method prefix \"stream\" is not supported temporarily"
+                );
+            }
+            restSource = source.trimStart("exists");
+            if (restSource != null) {
+                action = Query.Action.EXISTS;
+                return restSource;
+            }
+            restSource = source.trimStart("count");
+            if (restSource != null) {
+                action = Query.Action.COUNT;
+                return restSource;
+            }
+            restSource = source.trimStart("delete");
+            if (restSource != null) {
+                action = Query.Action.DELETE;
+                return restSource;
+            }
+            throw new IllegalArgumentException(
+                    "Illegal method prefix \"" + source + "\""
+            );
+        }
+
+        private List<Source> parseLimit(Source source) {
+            int topStartIndex = -1;
+            int numStarIndex = -1;
+            int firstIndex = source.indexOf("First");
+            if (firstIndex != -1) {
+                topStartIndex = firstIndex;
+                numStarIndex = firstIndex + 5;
+            }
+            if (numStarIndex == -1) {
+                int topIndex = source.indexOf("Top");
+                if (topIndex != -1) {
+                    topStartIndex = topIndex;
+                    numStarIndex = topIndex + 3;
+                }
+            }
+            if (numStarIndex == -1) {
+                return source.isEmpty() ? Collections.emptyList() : Collections.singletonList(source);
+            }
+            int len = source.length();
+            Source numSource = null;
+            for (int i = numStarIndex; i < len; i++) {
+                if (!Character.isDigit(source.charAt(i))) {
+                    numSource = source.subSource(numStarIndex, i);
+                    break;
+                }
+            }
+            if (numSource == null) {
+                numSource = source.subSource(numStarIndex);
+            }
+            if (numSource.isEmpty()) {
+                limit = 1;
+            } else {
+                limit = Integer.parseInt(numSource.asString());
+                if (limit < 1) {
+                    throw new IllegalArgumentException(
+                            "limit can not be less than 1"
+                    );
+                }
+            }
+            Source before = source.subSource(0, topStartIndex);
+            Source after = source.subSource(numStarIndex + numSource.length());
+            List<Source> restSources = new ArrayList<>();
+            if (!before.isEmpty()) {
+                restSources.add(before);
+            }
+            if (!after.isEmpty()) {
+                restSources.add(after);
+            }
+            return restSources;
+        }
+
+        private Source parseDistinct(List<Source> sources) {
+            if (sources.isEmpty()) {
+                return null;
+            }
+            if (sources.size() == 1) {
+                Source restSource = sources.get(0).trimStart("Distinct");
+                if (restSource != null) {
+                    distinct = true;
+                    return restSource;
+                }
+                restSource = sources.get(0).trimEnd("Distinct");
+                if (restSource != null) {
+                    distinct = true;
+                    return restSource;
+                }
+            }
+            if (sources.size() == 2) {
+                if (sources.get(0).asString().equals("Distinct")) {
+                    distinct = true;
+                    return sources.get(1);
+                }
+                if (sources.get(1).asString().equals("Distinct")) {
+                    distinct = true;
+                    return sources.get(0);
+                }
+                throw new IllegalArgumentException("Illegal method name " + sources.get(1));
+            }
+            return sources.get(0);
+        }
+
+        private void parsePredicates(Source source) {
+            if (source.isEmpty()) {
+                return;
+            }
+            Source restSource = source.trimEnd("AllIgnoringCase", "AllIgnoreCase");
+            if (restSource != null) {
+                allIgnoreCase = true;
+                predicate = parseOrPredicate(restSource);
+            } else {
+                predicate = parseOrPredicate(source);
+            }
+        }
+
+        private Predicate parseOrPredicate(Source source) {
+            List<Source> subSources = new ArrayList<>();
+            while (!source.isEmpty()) {
+                int orIndex = source.indexOf("Or");
+                if (orIndex > 0 && orIndex + 2 < source.length() && Character.isUpperCase(source.charAt(orIndex + 2))) {
+                    subSources.add(source.subSource(0, orIndex));
+                    source = source.subSource(orIndex + 2);
+                } else {
+                    subSources.add(source);
+                    source = source.subSource(source.length());
+                }
+            }
+            return OrPredicate.of(
+                    subSources
+                            .stream()
+                            .map(this::parseAndPredicate)
+                            .collect(Collectors.toList())
+            );
+        }
+
+        private Predicate parseAndPredicate(Source source) {
+            List<Source> subSources = new ArrayList<>();
+            while (!source.isEmpty()) {
+                int andIndex = source.indexOf("And");
+                if (andIndex > 0 && andIndex + 3 < source.length() && Character.isUpperCase(source.charAt(andIndex + 3))) {
+                    subSources.add(source.subSource(0, andIndex));
+                    source = source.subSource(andIndex + 3);
+                } else {
+                    subSources.add(source);
+                    source = source.subSource(source.length());
+                }
+            }
+            return AndPredicate.of(
+                    subSources
+                            .stream()
+                            .map(this::parsePropPredicate)
+                            .collect(Collectors.toList())
+            );
+        }
+
+        private Predicate parsePropPredicate(Source source) {
+            if (source.isEmpty()) {
+                throw new IllegalArgumentException("Cannot parse predicate from \"" + source + "\"");
+            }
+            return QueryParser.this.parsePropPredicate(source, type, distinct, allIgnoreCase);
+        }
+
+        private void parseOrders(Source source) {
+            while (!source.isEmpty()) {
+                int ascIndex = source.indexOf("Asc");
+                int descIndex = source.indexOf("Desc");
+                if (ascIndex == -1 && descIndex == -1) {
+                    orders.add(new Query.Order<>(parseOrderPath(source, source), false));
+                    break;
+                }
+                if (descIndex == -1 || (ascIndex > 0 && ascIndex < descIndex)) {
+                    orders.add(new Query.Order<>(parseOrderPath(source.subSource(0, ascIndex), source), false));
+                    source = source.subSource(ascIndex + 3);
+                    continue;
+                }
+                if (ascIndex == -1 || (descIndex > 0 && descIndex < ascIndex)) {
+                    orders.add(new Query.Order<>(parseOrderPath(source.subSource(0, descIndex), source), true));
+                    source = source.subSource(descIndex + 4);
+                }
+            }
+        }
+
+        private Path<P> parseOrderPath(Source propSource, Source source) {
+            Path<P> path = parsePath(propSource, type, distinct);
+            if (!path.isScalar()) {
+                throw new IllegalArgumentException("The ordered property of \"" + source + "\" must be scalar");
+            }
+            return path;
+        }
+    }
+
+    private static Source trimByName(Source source, String name) {
+        int len = name.length();
+        if (source.length() < len) {
+            return null;
+        }
+        boolean toLowerCase = true;
+        for (int i = 0; i < len; i++) {
+            char ch = source.charAt(i);
+            char expectedCh = name.charAt(i);
+            boolean matched =
+                    toLowerCase ?
+                            Character.toLowerCase(ch) == expectedCh :
+                            ch == expectedCh;
+            if (!matched) {
+                return null;
+            }
+            if (Character.isLowerCase(ch)) {
+                toLowerCase = false;
+            }
+        }
+        return source.subSource(len, source.length());
+    }
+
+    private static class OpSuffix {
+
+        // The first matched suffix wins
+        static final List<OpSuffix> LIST = Arrays.asList(
+                new OpSuffix(PropPredicate.Op.TRUE, "IsTrue", "True"),
+                new OpSuffix(PropPredicate.Op.FALSE, "IsFalse", "False"),
+                new OpSuffix(PropPredicate.Op.EQ, "Is", "Equals"),
+                new OpSuffix(PropPredicate.Op.NE, "IsNot", "Not"),
+                new OpSuffix(PropPredicate.Op.LT, "IsLessThan", "LessThan"),
+                new OpSuffix(PropPredicate.Op.LE, "IsLessThanEqual", "LessThanEqual"),
+                new OpSuffix(PropPredicate.Op.GT, "IsGreaterThan", "GreaterThan"),
+                new OpSuffix(PropPredicate.Op.GE, "IsGreaterThanEqual", "GreaterThanEqual"),
+                new OpSuffix(PropPredicate.Op.LT, "IsBefore", "Before"),
+                new OpSuffix(PropPredicate.Op.GT, "IsAfter", "After"),
+                new OpSuffix(PropPredicate.Op.NOT_BETWEEN, "IsNotBetween", "NotBetween"),
+                new OpSuffix(PropPredicate.Op.BETWEEN, "IsBetween", "Between"),
+                new OpSuffix(PropPredicate.Op.NOT_LIKE, PropPredicate.LikeMode.ANYWHERE, "IsNotLike", "NotLike"),
+                new OpSuffix(PropPredicate.Op.LIKE, PropPredicate.LikeMode.ANYWHERE, "IsLike", "Like"),
+                new OpSuffix(PropPredicate.Op.LIKE, PropPredicate.LikeMode.ANYWHERE, "IsContaining", "Containing", "Contains"),
+                new OpSuffix(PropPredicate.Op.LIKE, PropPredicate.LikeMode.START, "IsStartingWith", "StartingWith", "StartsWith"),
+                new OpSuffix(PropPredicate.Op.LIKE, PropPredicate.LikeMode.END, "IsEndingWith", "EndingWith", "EndsWith"),
+                new OpSuffix(PropPredicate.Op.NOT_IN, "IsNotIn", "NotIn"),
+                new OpSuffix(PropPredicate.Op.IN, "IsIn", "In"),
+                new OpSuffix(PropPredicate.Op.NOT_NULL, "IsNotNull", "NotNull"),
+                new OpSuffix(PropPredicate.Op.NULL, "IsNull", "Null")
+        );
+
+        final PropPredicate.Op op;
+
+        final PropPredicate.LikeMode likeMode;
+
+        final String[] suffixes;
+
+        OpSuffix(PropPredicate.Op op, String ... suffixes) {
+            this(op, PropPredicate.LikeMode.EXACT, suffixes);
+        }
+
+        OpSuffix(PropPredicate.Op op, PropPredicate.LikeMode likeMode, String ... suffixes) {
+            this.op = op;
+            this.likeMode = likeMode;
+            this.suffixes = suffixes;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package org.babyfish.jimmer.spring.repository.parser;
+package org.babyfish.jimmer.impl.repository;
 
 import java.util.Arrays;
 import java.util.Comparator;
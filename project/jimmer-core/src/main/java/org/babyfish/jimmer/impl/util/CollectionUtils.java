@@ -3,7 +3,9 @@ package org.babyfish.jimmer.impl.util;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -40,4 +42,15 @@ public class CollectionUtils {
         }
         return list;
     }
+
+    /**
+     * Copy-on-write helper for lock-free caches,
+     * the argument map is never modified.
+     */
+    public static <K, V> Map<K, V> copyAndPut(Map<K, V> map, K key, V value) {
+        Map<K, V> newMap = new HashMap<>((map.size() + 1) * 4 / 3 + 1);
+        newMap.putAll(map);
+        newMap.put(key, value);
+        return newMap;
+    }
 }
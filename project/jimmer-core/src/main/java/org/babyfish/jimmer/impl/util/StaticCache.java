@@ -1,28 +1,37 @@
 package org.babyfish.jimmer.impl.util;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /**
  * Internal until class, it should not be used by programmer directly.
  *
+ * <p>Lookups never lock, they only read an immutable snapshot.
+ * Creation is serialized by a reentrant lock and the new value
+ * is published by copy-on-write after {@link #onCreated(Object, Object)}
+ * succeeded, so that other threads never observe half-initialized values.</p>
+ *
  * @param <K> Key Type
  * @param <V> Value Type
  */
 public class StaticCache<K, V> {
 
+    private static final int MAX_NEGATIVE_COUNT = 128;
+
     private final Function<K, V> creator;
 
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-    
-    private final Map<K, V> positiveMap = new HashMap<>();
+    private final Lock creationLock = new ReentrantLock();
+
+    private volatile Map<K, V> positiveMap = Collections.emptyMap();
 
-    private final Map<K, Void> negativeMap;
+    private volatile Map<K, Void> negativeMap;
+
+    // Only accessed by the thread holding `creationLock`
+    private final Map<K, V> creatingMap = new HashMap<>();
 
     public StaticCache(Function<K, V> creator) {
         this(creator, true);
@@ -30,52 +39,54 @@ public class StaticCache<K, V> {
 
     public StaticCache(Function<K, V> creator, boolean nullable) {
         this.creator = creator;
-        this.negativeMap = nullable ? new LRUMap<>() : null;
+        this.negativeMap = nullable ? Collections.emptyMap() : null;
     }
-    
-    public V get(K key) {
 
-        V value;
+    public V get(K key) {
+        V value = positiveMap.get(key);
+        if (value != null) {
+            return value;
+        }
+        Map<K, Void> negMap = negativeMap;
+        if (negMap != null && negMap.containsKey(key)) {
+            return null;
+        }
         Lock lock;
-
-        (lock = cacheLock.readLock()).lock();
+        (lock = creationLock).lock();
         try {
-            if (negativeMap != null && negativeMap.containsKey(key)) {
-                return null;
-            }
-            value = positiveMap.get(key);
+            return getWithoutLock(key);
         } finally {
             lock.unlock();
         }
-
-        if (value == null) {
-            (lock = cacheLock.writeLock()).lock();
-            try {
-                return getWithoutLock(key);
-            } finally {
-                lock.unlock();
-            }
-        }
-        return value;
     }
 
+    /**
+     * Can only be called by the thread which is creating value,
+     * for example, by {@link #onCreated(Object, Object)}
+     */
     protected final V getWithoutLock(K key) {
-        if (negativeMap != null && negativeMap.containsKey(key)) {
+        Map<K, Void> negMap = negativeMap;
+        if (negMap != null && negMap.containsKey(key)) {
             return null;
         }
         V value = positiveMap.get(key);
+        if (value == null) {
+            value = creatingMap.get(key);
+        }
         if (value == null) {
             value = creator.apply(key);
             if (value != null) {
-                positiveMap.put(key, value);
+                creatingMap.put(key, value);
                 try {
                     onCreated(key, value);
-                } catch (RuntimeException | Error ex) {
-                    positiveMap.remove(key);
-                    throw ex;
+                } finally {
+                    creatingMap.remove(key);
                 }
-            } else if (negativeMap != null) {
-                negativeMap.put(key, null);
+                positiveMap = CollectionUtils.copyAndPut(positiveMap, key, value);
+            } else if (negMap != null) {
+                negativeMap = negMap.size() < MAX_NEGATIVE_COUNT ?
+                    CollectionUtils.copyAndPut(negMap, key, null) :
+                    Collections.singletonMap(key, null);
             } else {
                 throw new IllegalStateException(
                         "The creator cannot return null because current static cache does not accept null values"
@@ -1,31 +1,34 @@
 package org.babyfish.jimmer.impl.util;
 
-import org.babyfish.jimmer.impl.org.objectweb.asm.Type;
 import org.babyfish.jimmer.meta.ImmutableType;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /*
  * Fight with spring-dev-tools
+ *
+ * Lookups read immutable snapshots without any lock,
+ * only creation and snapshot replacement are serialized.
  */
 public class TypeCache<V> {
 
+    private static final int MAX_NEGATIVE_COUNT = 128;
+
     private final Function<ImmutableType, V> creator;
 
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+    private final Lock creationLock = new ReentrantLock();
 
-    private final Map<ImmutableType, V> positiveMap = new HashMap<>();
+    private volatile Map<ImmutableType, V> positiveMap = Collections.emptyMap();
 
-    private final Map<String, V> positiveMap2 = new HashMap<>();
+    private volatile Map<String, V> positiveMap2 = Collections.emptyMap();
 
-    private final Map<ImmutableType, Void> negativeMap;
+    private volatile Map<ImmutableType, Void> negativeMap;
 
-    private final Map<String, Void> negativeMap2;
+    private volatile Map<String, Void> negativeMap2;
 
     public TypeCache(Function<ImmutableType, V> creator) {
         this(creator, false);
@@ -33,69 +36,66 @@ public class TypeCache<V> {
 
     public TypeCache(Function<ImmutableType, V> creator, boolean nullable) {
         this.creator = creator;
-        negativeMap = nullable ? new LRUMap<>() : null;
-        negativeMap2 = nullable ? new LRUMap<>() : null;
+        negativeMap = nullable ? Collections.emptyMap() : null;
+        negativeMap2 = nullable ? Collections.emptyMap() : null;
     }
 
     public V get(ImmutableType key) {
 
-        String keyString = key != null ? key.toString() : null;
-        V value;
-        Lock lock;
+        V value = positiveMap.get(key);
+        if (value != null) {
+            return value;
+        }
+        Map<ImmutableType, Void> negMap = negativeMap;
+        if (negMap != null && negMap.containsKey(key)) {
+            return null;
+        }
 
-        (lock = cacheLock.readLock()).lock();
+        Lock lock;
+        (lock = creationLock).lock();
         try {
-            if (negativeMap != null && negativeMap.containsKey(key)) {
-                return null;
-            }
-            if (negativeMap2 != null && negativeMap2.containsKey(keyString)) {
-                negativeMap.put(key, null);
+            String keyString = key != null ? key.toString() : null;
+            negMap = negativeMap;
+            if (negMap != null) {
+                if (negMap.containsKey(key)) {
+                    return null;
+                }
+                if (negativeMap2.containsKey(keyString)) {
+                    negativeMap = addNegative(negMap, key);
+                    return null;
+                }
             }
             value = positiveMap.get(key);
             if (value == null) {
                 value = positiveMap2.get(keyString);
                 if (value != null) {
-                    positiveMap.put(key, value);
-                }
-            }
-        } finally {
-            lock.unlock();
-        }
-
-        if (value == null) {
-            (lock = cacheLock.writeLock()).lock();
-            try {
-                if (negativeMap != null && negativeMap.containsKey(key)) {
-                    return null;
-                }
-                if (negativeMap2 != null && negativeMap2.containsKey(keyString)) {
-                    negativeMap.put(key, null);
-                }
-                value = positiveMap.get(key);
-                if (value == null) {
-                    value = positiveMap2.get(keyString);
+                    positiveMap = CollectionUtils.copyAndPut(positiveMap, key, value);
+                } else {
+                    value = creator.apply(key);
                     if (value != null) {
-                        positiveMap.put(key, value);
+                        positiveMap = CollectionUtils.copyAndPut(positiveMap, key, value);
+                        positiveMap2 = CollectionUtils.copyAndPut(positiveMap2, keyString, value);
+                    } else if (negMap != null) {
+                        negativeMap = addNegative(negMap, key);
+                        negativeMap2 = addNegative(negativeMap2, keyString);
                     } else {
-                        value = creator.apply(key);
-                        if (value != null) {
-                            positiveMap.put(key, value);
-                            positiveMap2.put(keyString, value);
-                        } else if (negativeMap != null) {
-                            negativeMap.put(key, null);
-                            negativeMap2.put(keyString, null);
-                        } else {
-                            throw new IllegalStateException(
-                                    "The creator cannot return null because current type cache does not accept null values"
-                            );
-                        }
+                        throw new IllegalStateException(
+                                "The creator cannot return null because current type cache does not accept null values"
+                        );
                     }
                 }
-            } finally {
-                lock.unlock();
             }
+        } finally {
+            lock.unlock();
         }
 
         return value;
     }
+
+    private static <K> Map<K, Void> addNegative(Map<K, Void> negMap, K key) {
+        if (negMap.size() >= MAX_NEGATIVE_COUNT) {
+            return Collections.singletonMap(key, null);
+        }
+        return CollectionUtils.copyAndPut(negMap, key, null);
+    }
 }
@@ -4,6 +4,7 @@ import kotlin.reflect.KClass;
 import org.babyfish.jimmer.Draft;
 import org.babyfish.jimmer.meta.impl.Metadata;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.LogicalDeletedValueGenerator;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
@@ -73,6 +74,13 @@ public interface ImmutableType {
     @NotNull
     BiFunction<DraftContext, Object, Draft> getDraftFactory();
 
+    /**
+     * @return The generated assembler which can create immutable objects
+     * without draft, or null if it is not generated for this type.
+     */
+    @Nullable
+    ImmutableAssembler getAssembler();
+
     @NotNull
     Map<String, ImmutableProp> getDeclaredProps();
 
@@ -202,6 +210,8 @@ public interface ImmutableType {
                 boolean nullable
         );
 
+        Builder assembler(ImmutableAssembler assembler);
+
         ImmutableType build();
     }
 }
@@ -7,6 +7,7 @@ import org.babyfish.jimmer.Immutable;
 import org.babyfish.jimmer.View;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
 import org.babyfish.jimmer.sql.*;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.LogicalDeletedValueGenerator;
@@ -62,6 +63,8 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
 
     private final BiFunction<DraftContext, Object, Draft> draftFactory;
 
+    private ImmutableAssembler assembler;
+
     private Map<String, ImmutableProp> declaredProps;
 
     private Map<String, ImmutableProp> props;
@@ -248,6 +251,11 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
         return draftFactory;
     }
 
+    @Override
+    public ImmutableAssembler getAssembler() {
+        return assembler;
+    }
+
     @NotNull
     @Override
     public Map<String, ImmutableProp> getDeclaredProps() {
@@ -666,6 +674,8 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
 
         private final BiFunction<DraftContext, Object, Draft> draftFactory;
 
+        private ImmutableAssembler assembler;
+
         private String idPropName;
 
         private String versionPropName;
@@ -1186,12 +1196,19 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
                     ImmutablePropCategory.SCALAR;
         }
 
+        @Override
+        public Builder assembler(ImmutableAssembler assembler) {
+            this.assembler = assembler;
+            return this;
+        }
+
         @Override
         public ImmutableType build() {
 
             ImmutableTypeImpl type = kotlinType != null ?
                     new ImmutableTypeImpl(kotlinType, superTypes, draftFactory) :
                     new ImmutableTypeImpl(javaClass, superTypes, draftFactory);
+            type.assembler = assembler;
 
             Map<String, ImmutableProp> map = new LinkedHashMap<>();
             for (Map.Entry<String, PropBuilder> e : propBuilderMap.entrySet()) {
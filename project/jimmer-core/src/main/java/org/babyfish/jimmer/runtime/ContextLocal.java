@@ -0,0 +1,210 @@
+package org.babyfish.jimmer.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Per-thread context value which can only be changed for the duration of a block.
+ *
+ * <p>On Java 25+, it is based on {@code java.lang.ScopedValue}, which does not
+ * allocate a thread-local map for every virtual thread. The API is found by
+ * reflection when this class is initialized, so the module is still compiled
+ * for Java 8. On older runtimes(including Java 21 to 24, where
+ * {@code ScopedValue} is a preview API), it is based on {@link ThreadLocal}.</p>
+ *
+ * @param <T> The value type
+ */
+public final class ContextLocal<T> {
+
+    private static final ScopedValues SCOPED_VALUES = ScopedValues.load();
+
+    // Either `local` or `scopedValues` and `scopedValue` are null
+    private final ThreadLocal<T> local;
+
+    private final ScopedValues scopedValues;
+
+    private final Object scopedValue;
+
+    public ContextLocal() {
+        this(SCOPED_VALUES);
+    }
+
+    ContextLocal(ScopedValues scopedValues) {
+        if (scopedValues != null) {
+            this.local = null;
+            this.scopedValues = scopedValues;
+            this.scopedValue = scopedValues.newInstance();
+        } else {
+            this.local = new ThreadLocal<>();
+            this.scopedValues = null;
+            this.scopedValue = null;
+        }
+    }
+
+    /**
+     * @return The value bound by the innermost {@link #where(Object, Scope)}
+     * of current thread, or null if there is no binding.
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (scopedValues != null) {
+            return (T) scopedValues.get(scopedValue);
+        }
+        return local.get();
+    }
+
+    /**
+     * Binds the value for the execution of the block,
+     * the previous value is visible again after the block returns.
+     */
+    public <R, X extends Throwable> R where(T value, Scope<R, X> block) throws X {
+        if (scopedValues != null) {
+            return scopedValues.where(scopedValue, value, block);
+        }
+        T oldValue = local.get();
+        if (value != null) {
+            local.set(value);
+        } else {
+            local.remove();
+        }
+        try {
+            return block.call();
+        } finally {
+            if (oldValue != null) {
+                local.set(oldValue);
+            } else {
+                local.remove();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope<R, X extends Throwable> {
+        R call() throws X;
+    }
+
+    static final class ScopedValues {
+
+        private final MethodHandle newInstance;
+
+        private final MethodHandle isBound;
+
+        private final MethodHandle get;
+
+        private final MethodHandle where;
+
+        private final MethodHandle run;
+
+        private ScopedValues(
+                MethodHandle newInstance,
+                MethodHandle isBound,
+                MethodHandle get,
+                MethodHandle where,
+                MethodHandle run
+        ) {
+            this.newInstance = newInstance;
+            this.isBound = isBound;
+            this.get = get;
+            this.where = where;
+            this.run = run;
+        }
+
+        static ScopedValues load() {
+            if (featureVersion() < 25) {
+                return null;
+            }
+            return lookup();
+        }
+
+        static ScopedValues lookup() {
+            try {
+                Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                return new ScopedValues(
+                        lookup
+                                .findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+                                .asType(MethodType.methodType(Object.class)),
+                        lookup
+                                .findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+                                .asType(MethodType.methodType(boolean.class, Object.class)),
+                        lookup
+                                .findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+                                .asType(MethodType.methodType(Object.class, Object.class)),
+                        lookup
+                                .findStatic(
+                                        scopedValueClass,
+                                        "where",
+                                        MethodType.methodType(carrierClass, scopedValueClass, Object.class)
+                                )
+                                .asType(MethodType.methodType(Object.class, Object.class, Object.class)),
+                        lookup
+                                .findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+                                .asType(MethodType.methodType(void.class, Object.class, Runnable.class))
+                );
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+                return null;
+            }
+        }
+
+        private static int featureVersion() {
+            String version = System.getProperty("java.specification.version", "");
+            if (version.startsWith("1.")) {
+                version = version.substring(2);
+            }
+            try {
+                return Integer.parseInt(version);
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+
+        Object newInstance() {
+            try {
+                return newInstance.invokeExact();
+            } catch (Throwable ex) {
+                throw sneakyThrow(ex);
+            }
+        }
+
+        Object get(Object scopedValue) {
+            try {
+                return (boolean) isBound.invokeExact(scopedValue) ?
+                        (Object) get.invokeExact(scopedValue) :
+                        null;
+            } catch (Throwable ex) {
+                throw sneakyThrow(ex);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <R, X extends Throwable> R where(Object scopedValue, Object value, Scope<R, X> block) throws X {
+            Object[] resultBox = new Object[1];
+            try {
+                Object carrier = (Object) where.invokeExact(scopedValue, value);
+                // `Carrier.run` does not accept checked exceptions,
+                // they are thrown through it unchecked
+                run.invokeExact(carrier, (Runnable) () -> {
+                    try {
+                        resultBox[0] = block.call();
+                    } catch (Throwable ex) {
+                        throw sneakyThrow(ex);
+                    }
+                });
+            } catch (Throwable ex) {
+                throw ContextLocal.<X>sneakyThrow0(ex);
+            }
+            return (R) resultBox[0];
+        }
+
+        private static RuntimeException sneakyThrow(Throwable ex) {
+            throw ContextLocal.<RuntimeException>sneakyThrow0(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X extends Throwable> X sneakyThrow0(Throwable ex) throws X {
+        throw (X) ex;
+    }
+}
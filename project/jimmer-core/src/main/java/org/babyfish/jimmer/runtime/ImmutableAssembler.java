@@ -0,0 +1,58 @@
+package org.babyfish.jimmer.runtime;
+
+/**
+ * Assembles immutable objects by writing the fields of the generated
+ * implementation directly, without draft and without resolving.
+ *
+ * <p>It is generated by annotation processor/KSP for entity types
+ * whose properties do not declare any validation rules,
+ * and it is used by the SQL runtime to read JDBC rows.</p>
+ *
+ * <p>Only for framework, should not be used by programmer directly.</p>
+ */
+public interface ImmutableAssembler {
+
+    /**
+     * @return A new immutable object whose properties are all unloaded.
+     * It can only be modified by this assembler before being returned to user.
+     */
+    Object create();
+
+    /**
+     * @param immutable The object created by {@link #create()}
+     * @param propIndex The property index, id view property is supported
+     * @param value The property value
+     * @exception IllegalArgumentException The value is null but the property is not nullable
+     */
+    void set(Object immutable, int propIndex, Object value);
+
+    default void setBoolean(Object immutable, int propIndex, boolean value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setByte(Object immutable, int propIndex, byte value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setShort(Object immutable, int propIndex, short value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setInt(Object immutable, int propIndex, int value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setLong(Object immutable, int propIndex, long value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setFloat(Object immutable, int propIndex, float value) {
+        set(immutable, propIndex, value);
+    }
+
+    default void setDouble(Object immutable, int propIndex, double value) {
+        set(immutable, propIndex, value);
+    }
+
+    void show(Object immutable, int propIndex, boolean visible);
+}
@@ -13,8 +13,8 @@ import java.util.function.Function;
 
 public class Internal {
 
-    private static final ThreadLocal<DraftContext> DRAFT_CONTEXT_LOCAL =
-            new ThreadLocal<>();
+    private static final ContextLocal<DraftContext> DRAFT_CONTEXT_LOCAL =
+            new ContextLocal<>();
 
     private Internal() {}
 
@@ -116,51 +116,30 @@ public class Internal {
         if (ctx != null) {
             return block.apply(ctx, false);
         }
-        ctx = new DraftContext(null);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
-            T result = block.apply(ctx, true);
-            ctx.dispose();
+        DraftContext newCtx = new DraftContext(null);
+        return DRAFT_CONTEXT_LOCAL.where(newCtx, () -> {
+            T result = block.apply(newCtx, true);
+            newCtx.dispose();
             return result;
-        } finally {
-            DRAFT_CONTEXT_LOCAL.remove();
-        }
+        });
     }
 
     public static <T> T usingSqlDraftContext(
             SqlDraftContextFunction<T> block
     ) throws SQLException {
-        DraftContext oldCtx = DRAFT_CONTEXT_LOCAL.get();
         DraftContext ctx = new DraftContext(null);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
+        return DRAFT_CONTEXT_LOCAL.<T, SQLException>where(ctx, () -> {
             T result = block.execute(ctx);
             ctx.dispose();
             return result;
-        } finally {
-            if (oldCtx != null) {
-                DRAFT_CONTEXT_LOCAL.set(oldCtx);
-            } else {
-                DRAFT_CONTEXT_LOCAL.remove();
-            }
-        }
+        });
     }
 
     public static <T> T requiresNewDraftContext(
             Function<DraftContext, T> block
     ) {
-        DraftContext oldCtx = DRAFT_CONTEXT_LOCAL.get();
-        DraftContext ctx = new DraftContext(oldCtx);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
-            return block.apply(ctx);
-        } finally {
-            if (oldCtx != null) {
-                DRAFT_CONTEXT_LOCAL.set(oldCtx);
-            } else {
-                DRAFT_CONTEXT_LOCAL.remove();
-            }
-        }
+        DraftContext ctx = new DraftContext(DRAFT_CONTEXT_LOCAL.get());
+        return DRAFT_CONTEXT_LOCAL.where(ctx, () -> block.apply(ctx));
     }
 
     public static Draft createDraft(
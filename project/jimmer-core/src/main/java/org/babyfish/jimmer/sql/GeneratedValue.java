@@ -33,4 +33,18 @@ public @interface GeneratedValue {
     String generatorRef() default "";
 
     String sequenceName() default "";
+
+    /**
+     * @return The count of ids reserved by one sequence call,
+     * it can only be specified when the strategy is sequence.
+     *
+     * <ul>
+     *     <li>If it is 1(default), each inserted row calls the sequence once</li>
+     *     <li>Otherwise, the sequence must be created with {@code INCREMENT BY allocationSize},
+     *     each sequence value {@code v} reserves the ids {@code [v, v + allocationSize)}
+     *     which are assigned to the inserted objects by client before the statement is executed,
+     *     so that the batch insertion does not need to return generated keys</li>
+     * </ul>
+     */
+    int allocationSize() default 1;
 }
@@ -102,6 +102,25 @@ public class IdGenerators {
             );
         }
 
+        if (generatedValue.allocationSize() < 1) {
+            throw new ModelException(
+                    "Illegal property \"" +
+                            idProp +
+                            "\", the `allocationSize` of the annotation @" +
+                            GeneratedValue.class.getName() +
+                            " cannot be less than 1"
+            );
+        }
+        if (generatedValue.allocationSize() != 1 && strategy != GenerationType.SEQUENCE) {
+            throw new ModelException(
+                    "Illegal property \"" +
+                            idProp +
+                            "\", the `allocationSize` of the annotation @" +
+                            GeneratedValue.class.getName() +
+                            " can only be specified when the strategy is \"SEQUENCE\""
+            );
+        }
+
         if ((strategy == GenerationType.IDENTITY || strategy == GenerationType.SEQUENCE)) {
             Class<?> returnType = idProp.getElementClass();
             if (!returnType.isPrimitive() && !Number.class.isAssignableFrom(returnType)) {
@@ -155,9 +174,11 @@ public class IdGenerators {
             idGenerator = IdentityIdGenerator.INSTANCE;
         } else if (strategy == GenerationType.SEQUENCE) {
             String sequenceName = generatedValue.sequenceName();
-            idGenerator = new SequenceIdGenerator(sequenceName.isEmpty() ?
-                    sqlContext.getMetadataStrategy().getNamingStrategy().sequenceName(idProp.getDeclaringType()) :
-                    Utils.resolveMetaString(sequenceName, sqlContext.getMetadataStrategy().getMetaStringResolver())
+            idGenerator = new SequenceIdGenerator(
+                    sequenceName.isEmpty() ?
+                            sqlContext.getMetadataStrategy().getNamingStrategy().sequenceName(idProp.getDeclaringType()) :
+                            Utils.resolveMetaString(sequenceName, sqlContext.getMetadataStrategy().getMetaStringResolver()),
+                    generatedValue.allocationSize()
             );
         }
         return idGenerator;
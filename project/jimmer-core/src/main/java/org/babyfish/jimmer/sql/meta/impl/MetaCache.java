@@ -1,30 +1,33 @@
 package org.babyfish.jimmer.sql.meta.impl;
 
+import org.babyfish.jimmer.impl.util.CollectionUtils;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /*
  * Often there is only ONE key,
  * so ConcurrentHashMap is not cost-effective.
+ *
+ * Reading is lock-free, `primaryValue` is always assigned
+ * before the volatile `primaryKey` so that it is safely published,
+ * `otherMap` is replaced by copy-on-write.
  */
 public class MetaCache<T> {
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private final Lock creationLock = new ReentrantLock();
 
     private final Function<MetadataStrategy, T> creator;
 
-    private MetadataStrategy primaryKey;
+    private volatile MetadataStrategy primaryKey;
 
     private T primaryValue;
 
-    private Map<MetadataStrategy, T> otherMap;
+    private volatile Map<MetadataStrategy, T> otherMap = Collections.emptyMap();
 
     private final int maxCount;
 
@@ -40,49 +43,30 @@ public class MetaCache<T> {
 
     public T get(MetadataStrategy strategy) {
 
-        Lock lock;
-        T value;
-
-        (lock = readWriteLock.readLock()).lock();
-        try {
-            value = strategy.equals(primaryKey) ?
-                    primaryValue :
-                    otherMap != null ?
-                            otherMap.get(strategy) :
-                            null;
-        } finally {
-            lock.unlock();
-        }
+        T value = getWithoutLock(strategy);
 
         if (value == null) {
-            (lock = readWriteLock.writeLock()).lock();
+            Lock lock;
+            (lock = creationLock).lock();
             try {
-                value = strategy.equals(primaryKey) ?
-                        primaryValue :
-                        otherMap != null ?
-                                otherMap.get(strategy) :
-                                null;
+                value = getWithoutLock(strategy);
                 if (value == null) {
                     value = creator.apply(strategy);
                     if (value == null) {
                         throw new AssertionError("Internal bug: creator of MetaCache cannot return null");
                     }
                     if (primaryKey == null) {
-                        primaryKey = strategy;
                         primaryValue = value;
+                        primaryKey = strategy;
                     } else {
                         Map<MetadataStrategy, T> om = otherMap;
-                        if (om == null) {
-                            otherMap = om = new HashMap<>();
-                        } else {
-                            int maxCount = this.maxCount;
-                            if (maxCount != -1 && om.size() >= maxCount) {
-                                throw new IllegalStateException(
-                                        "Too many root sql clients are created, is it a bug?"
-                                );
-                            }
+                        int maxCount = this.maxCount;
+                        if (maxCount != -1 && !om.isEmpty() && om.size() >= maxCount) {
+                            throw new IllegalStateException(
+                                    "Too many root sql clients are created, is it a bug?"
+                            );
                         }
-                        om.put(strategy, value);
+                        otherMap = CollectionUtils.copyAndPut(om, strategy, value);
                     }
                 }
             } finally {
@@ -92,4 +76,10 @@ public class MetaCache<T> {
 
         return value;
     }
+
+    private T getWithoutLock(MetadataStrategy strategy) {
+        return strategy.equals(primaryKey) ?
+                primaryValue :
+                otherMap.get(strategy);
+    }
 }
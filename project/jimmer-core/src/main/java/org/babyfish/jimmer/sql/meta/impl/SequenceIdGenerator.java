@@ -2,15 +2,40 @@ package org.babyfish.jimmer.sql.meta.impl;
 
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 
+/**
+ * Sequence id generator.
+ *
+ * <p>This object is shared by the sql clients using the same metadata strategy,
+ * so it only describes the sequence, the ids reserved by a pooled sequence
+ * are held by each sql client.</p>
+ */
 public final class SequenceIdGenerator implements IdGenerator {
 
     private final String sequenceName;
 
+    private final int allocationSize;
+
     public SequenceIdGenerator(String sequenceName) {
+        this(sequenceName, 1);
+    }
+
+    public SequenceIdGenerator(String sequenceName, int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("allocationSize cannot be less than 1");
+        }
         this.sequenceName = sequenceName;
+        this.allocationSize = allocationSize;
     }
 
     public String getSequenceName() {
         return sequenceName;
     }
+
+    public int getAllocationSize() {
+        return allocationSize;
+    }
+
+    public boolean isPooled() {
+        return allocationSize > 1;
+    }
 }
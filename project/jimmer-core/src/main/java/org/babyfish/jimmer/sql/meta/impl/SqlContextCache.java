@@ -2,29 +2,36 @@ package org.babyfish.jimmer.sql.meta.impl;
 
 import org.babyfish.jimmer.sql.meta.SqlContext;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /*
  * Often there is only ONE key,
  * so ConcurrentHashMap is not cost-effective.
+ *
+ * Reading is lock-free, `primaryValue` is always assigned
+ * before the volatile `primaryKey` so that it is safely published.
+ * Other keys are weakly referenced by an immutable open-addressing
+ * table keyed by identity, which is replaced by copy-on-write.
+ * Cleared entries are kept until the next copy, they never match.
  */
 public class SqlContextCache<T> {
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private static final int MAX_OTHER_COUNT = 512;
+
+    private final Lock creationLock = new ReentrantLock();
 
     private final Function<SqlContext, T> creator;
 
-    private SqlContext primaryKey;
+    private volatile SqlContext primaryKey;
 
     private T primaryValue;
 
-    private Map<SqlContext, T> otherMap;
+    private volatile OtherEntry<T>[] otherTable;
 
     public SqlContextCache(Function<SqlContext, T> creator) {
         this.creator = creator;
@@ -37,45 +44,23 @@ public class SqlContextCache<T> {
             strategy = unwrapped;
         }
 
-        Lock lock;
-        T value;
-
-        (lock = readWriteLock.readLock()).lock();
-        try {
-            value = strategy.equals(primaryKey) ?
-                    primaryValue :
-                    otherMap != null ?
-                            otherMap.get(strategy) :
-                            null;
-        } finally {
-            lock.unlock();
-        }
+        T value = getWithoutLock(strategy);
 
         if (value == null) {
-            (lock = readWriteLock.writeLock()).lock();
+            Lock lock;
+            (lock = creationLock).lock();
             try {
-                Map<SqlContext, T> om = otherMap;
-                if (om != null && om.size() > 512) {
-                    otherMap = om = null;
-                }
-                value = strategy.equals(primaryKey) ?
-                        primaryValue :
-                        om != null ?
-                                om.get(strategy) :
-                                null;
+                value = getWithoutLock(strategy);
                 if (value == null) {
                     value = creator.apply(strategy);
                     if (value == null) {
                         throw new AssertionError("Internal bug: creator of MetaCache cannot return null");
                     }
                     if (primaryKey == null) {
-                        primaryKey = strategy;
                         primaryValue = value;
+                        primaryKey = strategy;
                     } else {
-                        if (om == null) {
-                            otherMap = om = new WeakHashMap<>();
-                        }
-                        om.put(strategy, value);
+                        otherTable = addEntry(otherTable, strategy, value);
                     }
                 }
             } finally {
@@ -85,4 +70,72 @@ public class SqlContextCache<T> {
 
         return value;
     }
+
+    private T getWithoutLock(SqlContext strategy) {
+        if (strategy == primaryKey) {
+            return primaryValue;
+        }
+        OtherEntry<T>[] table = otherTable;
+        if (table != null) {
+            int mask = table.length - 1;
+            for (int i = hash(strategy) & mask; ; i = (i + 1) & mask) {
+                OtherEntry<T> entry = table[i];
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.get() == strategy) {
+                    return entry.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> OtherEntry<T>[] addEntry(OtherEntry<T>[] table, SqlContext key, T value) {
+        List<OtherEntry<T>> list = new ArrayList<>();
+        if (table != null) {
+            for (OtherEntry<T> entry : table) {
+                if (entry != null && entry.get() != null) {
+                    list.add(entry);
+                }
+            }
+            if (list.size() >= MAX_OTHER_COUNT) {
+                list.clear();
+            }
+        }
+        list.add(new OtherEntry<>(key, value));
+        int capacity = 4;
+        while (capacity < list.size() * 2) {
+            capacity <<= 1;
+        }
+        OtherEntry<T>[] newTable = new OtherEntry[capacity];
+        int mask = capacity - 1;
+        for (OtherEntry<T> entry : list) {
+            int i = entry.hash & mask;
+            while (newTable[i] != null) {
+                i = (i + 1) & mask;
+            }
+            newTable[i] = entry;
+        }
+        return newTable;
+    }
+
+    private static int hash(SqlContext key) {
+        int h = System.identityHashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static class OtherEntry<T> extends WeakReference<SqlContext> {
+
+        final int hash;
+
+        final T value;
+
+        OtherEntry(SqlContext key, T value) {
+            super(key);
+            this.hash = hash(key);
+            this.value = value;
+        }
+    }
 }
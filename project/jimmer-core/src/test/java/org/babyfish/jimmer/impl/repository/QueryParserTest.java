@@ -0,0 +1,257 @@
+package org.babyfish.jimmer.impl.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class QueryParserTest {
+
+    private static final Map<String, TypeImpl> TYPE_MAP = new HashMap<>();
+
+    private static final TypeImpl BOOK_TYPE = new TypeImpl(
+            "org.babyfish.jimmer.sql.model.Book",
+            new PropImpl("id"),
+            new PropImpl("name"),
+            new PropImpl("edition"),
+            new PropImpl("price"),
+            new PropImpl("tags", null, true),
+            new PropImpl("store", () -> TYPE_MAP.get("BookStore"), false),
+            new PropImpl("authors", () -> TYPE_MAP.get("Author"), true)
+    );
+
+    private static final TypeImpl BOOK_STORE_TYPE = new TypeImpl(
+            "org.babyfish.jimmer.sql.model.BookStore",
+            new PropImpl("id"),
+            new PropImpl("name"),
+            new PropImpl("books", () -> TYPE_MAP.get("Book"), true)
+    );
+
+    private static final TypeImpl AUTHOR_TYPE = new TypeImpl(
+            "org.babyfish.jimmer.sql.model.Author",
+            new PropImpl("id"),
+            new PropImpl("firstName"),
+            new PropImpl("lastName")
+    );
+
+    static {
+        TYPE_MAP.put("Book", BOOK_TYPE);
+        TYPE_MAP.put("BookStore", BOOK_STORE_TYPE);
+        TYPE_MAP.put("Author", AUTHOR_TYPE);
+    }
+
+    private static final QueryParser<TypeImpl, PropImpl> PARSER = new QueryParser<TypeImpl, PropImpl>() {
+
+        @Override
+        protected Map<String, PropImpl> getProps(TypeImpl type) {
+            return type.propMap;
+        }
+
+        @Override
+        protected String getName(PropImpl prop) {
+            return prop.name;
+        }
+
+        @Override
+        protected boolean isQueryable(PropImpl prop) {
+            return !prop.isList || prop.targetTypeSupplier != null;
+        }
+
+        @Override
+        protected boolean isReferenceList(PropImpl prop) {
+            return prop.isList;
+        }
+
+        @Override
+        protected boolean isScalar(PropImpl prop) {
+            return prop.targetTypeSupplier == null;
+        }
+
+        @Override
+        protected TypeImpl getTargetType(PropImpl prop) {
+            return prop.targetTypeSupplier != null ? prop.targetTypeSupplier.get() : null;
+        }
+
+        @Override
+        protected String getTypeName(TypeImpl type) {
+            return type.qualifiedName;
+        }
+    };
+
+    @Test
+    public void testPredicatesAndOrders() {
+        Query<PropImpl> query = PARSER.parse(
+                "findByNameLikeIgnoreCaseAndStoreNameOrEditionBetweenOrderByNameAscEditionDesc",
+                BOOK_TYPE,
+                false
+        );
+        Assertions.assertEquals(Query.Action.FIND, query.getAction());
+        Assertions.assertNull(query.getSelectedPath());
+        OrPredicate or = (OrPredicate) query.getPredicate();
+        Assertions.assertEquals(2, or.getPredicates().size());
+        AndPredicate and = (AndPredicate) or.getPredicates().get(0);
+        PropPredicate<?> like = (PropPredicate<?>) and.getPredicates().get(0);
+        Assertions.assertEquals("name", like.getPath().toString());
+        Assertions.assertEquals(PropPredicate.Op.LIKE, like.getOp());
+        Assertions.assertEquals(PropPredicate.LikeMode.ANYWHERE, like.getLikeMode());
+        Assertions.assertTrue(like.isInsensitive());
+        PropPredicate<?> storeName = (PropPredicate<?>) and.getPredicates().get(1);
+        Assertions.assertEquals("store.name", storeName.getPath().toString());
+        Assertions.assertEquals(PropPredicate.Op.EQ, storeName.getOp());
+        PropPredicate<?> between = (PropPredicate<?>) or.getPredicates().get(1);
+        Assertions.assertEquals(PropPredicate.Op.BETWEEN, between.getOp());
+        Assertions.assertEquals(2, between.getParamCount());
+        Assertions.assertEquals(
+                "[Order{path=name, desc=false}, Order{path=edition, desc=true}]",
+                query.getOrders().toString()
+        );
+    }
+
+    @Test
+    public void testProjection() {
+        Query<PropImpl> query = PARSER.parse("findDistinctStoreNameByPriceGreaterThan", BOOK_TYPE, true);
+        Assertions.assertTrue(query.isDistinct());
+        Assertions.assertEquals("store.name", query.getSelectedPath().toString());
+        Assertions.assertEquals(
+                PropPredicate.Op.GT,
+                ((PropPredicate<?>) query.getPredicate()).getOp()
+        );
+    }
+
+    @Test
+    public void testActionsAndLimit() {
+        Assertions.assertEquals(
+                Query.Action.COUNT,
+                PARSER.parse("countByName", BOOK_TYPE, false).getAction()
+        );
+        Assertions.assertEquals(
+                Query.Action.DELETE,
+                PARSER.parse("deleteByStoreIsNull", BOOK_TYPE, false).getAction()
+        );
+        Assertions.assertEquals(
+                3,
+                PARSER.parse("findTop3ByNameOrderByPriceDesc", BOOK_TYPE, false).getLimit()
+        );
+    }
+
+    @Test
+    public void testReferencePath() {
+        Query<PropImpl> query = PARSER.parse("findByStoreIsNull", BOOK_TYPE, false);
+        Path<?> path = ((PropPredicate<?>) query.getPredicate()).getPath();
+        Assertions.assertEquals("store", path.toString());
+        Assertions.assertFalse(path.isScalar());
+        Assertions.assertEquals("findBy[Store]IsNull", path.getSource().toString());
+    }
+
+    @Test
+    public void testListAssociationRequiresDistinct() {
+        Query<PropImpl> query = PARSER.parse("findDistinctByAuthorsFirstName", BOOK_TYPE, false);
+        Assertions.assertEquals(
+                "authors.firstName",
+                ((PropPredicate<?>) query.getPredicate()).getPath().toString()
+        );
+        IllegalArgumentException ex = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PARSER.parse("findByAuthorsFirstName", BOOK_TYPE, false)
+        );
+        Assertions.assertEquals(
+                "Cannot resolve the property name \"findBy[AuthorsFirstName]\" " +
+                        "by \"org.babyfish.jimmer.sql.model.Book\"",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testScalarListIsNotQueryable() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PARSER.parse("findDistinctByTags", BOOK_TYPE, false)
+        );
+    }
+
+    @Test
+    public void testTooLongPath() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PARSER.parsePath(new Source("StoreName2"), BOOK_TYPE, false)
+        );
+        Assertions.assertEquals(
+                "Cannot resolve the property name \"Store[Name2]\" " +
+                        "by \"org.babyfish.jimmer.sql.model.BookStore\"",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testTooShortPath() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PARSER.parsePath(new Source("StoreNam"), BOOK_TYPE, false)
+        );
+        Assertions.assertEquals(
+                "Cannot resolve the property name \"[StoreNam]\" " +
+                        "by \"org.babyfish.jimmer.sql.model.Book\"",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testIllegalProperty() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PARSER.parse("findByTitle", BOOK_TYPE, false)
+        );
+        Assertions.assertTrue(ex.getMessage().contains("Title"), ex.getMessage());
+    }
+
+    private static class TypeImpl {
+
+        final String qualifiedName;
+
+        final Map<String, PropImpl> propMap;
+
+        TypeImpl(String qualifiedName, PropImpl... props) {
+            this.qualifiedName = qualifiedName;
+            this.propMap = Arrays.stream(props).collect(
+                    Collectors.toMap(
+                            it -> it.name,
+                            Function.identity(),
+                            (a, b) -> a,
+                            LinkedHashMap::new
+                    )
+            );
+        }
+
+        @Override
+        public String toString() {
+            return qualifiedName;
+        }
+    }
+
+    private static class PropImpl {
+
+        final String name;
+
+        final Supplier<TypeImpl> targetTypeSupplier;
+
+        final boolean isList;
+
+        PropImpl(String name) {
+            this(name, null, false);
+        }
+
+        PropImpl(String name, Supplier<TypeImpl> targetTypeSupplier, boolean isList) {
+            this.name = name;
+            this.targetTypeSupplier = targetTypeSupplier;
+            this.isList = isList;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.babyfish.jimmer.runtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class ContextLocalTest {
+
+    @Test
+    public void testNestedScopes() {
+        nestedScopes(threadLocal());
+    }
+
+    @Test
+    public void testRestoreAfterException() {
+        restoreAfterException(threadLocal());
+    }
+
+    @Test
+    public void testOtherThread() throws InterruptedException {
+        otherThread(threadLocal());
+    }
+
+    @Test
+    public void testNestedScopesOfScopedValue() {
+        nestedScopes(scopedValue());
+    }
+
+    @Test
+    public void testRestoreAfterExceptionOfScopedValue() {
+        restoreAfterException(scopedValue());
+    }
+
+    @Test
+    public void testOtherThreadOfScopedValue() throws InterruptedException {
+        otherThread(scopedValue());
+    }
+
+    private static void nestedScopes(ContextLocal<String> local) {
+        Assertions.assertNull(local.get());
+        String result = local.where("outer", () -> {
+            Assertions.assertEquals("outer", local.get());
+            local.where("inner", () -> {
+                Assertions.assertEquals("inner", local.get());
+                return local.where(null, () -> {
+                    Assertions.assertNull(local.get());
+                    return null;
+                });
+            });
+            Assertions.assertEquals("outer", local.get());
+            return local.get() + "-done";
+        });
+        Assertions.assertEquals("outer-done", result);
+        Assertions.assertNull(local.get());
+    }
+
+    private static void restoreAfterException(ContextLocal<String> local) {
+        IOException ex = Assertions.assertThrows(IOException.class, () ->
+                local.<Void, IOException>where("value", () -> {
+                    throw new IOException("failed");
+                })
+        );
+        Assertions.assertEquals("failed", ex.getMessage());
+        Assertions.assertNull(local.get());
+    }
+
+    private static void otherThread(ContextLocal<String> local) throws InterruptedException {
+        String[] otherValue = new String[] { "unset" };
+        local.where("value", () -> {
+            Thread thread = new Thread(() -> otherValue[0] = local.get());
+            thread.start();
+            thread.join();
+            return null;
+        });
+        Assertions.assertNull(otherValue[0]);
+    }
+
+    private static ContextLocal<String> threadLocal() {
+        return new ContextLocal<>(null);
+    }
+
+    private static ContextLocal<String> scopedValue() {
+        ContextLocal.ScopedValues scopedValues = ContextLocal.ScopedValues.lookup();
+        Assumptions.assumeTrue(scopedValues != null, "ScopedValue is not available");
+        return new ContextLocal<>(scopedValues);
+    }
+}
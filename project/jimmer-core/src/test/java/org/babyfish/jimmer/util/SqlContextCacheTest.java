@@ -0,0 +1,63 @@
+package org.babyfish.jimmer.util;
+
+import org.babyfish.jimmer.sql.meta.SqlContext;
+import org.babyfish.jimmer.sql.meta.impl.SqlContextCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SqlContextCacheTest {
+
+    @Test
+    public void testManyContexts() {
+        AtomicInteger creationCount = new AtomicInteger();
+        SqlContextCache<String> cache = new SqlContextCache<>(ctx -> {
+            creationCount.incrementAndGet();
+            return "value-" + System.identityHashCode(ctx);
+        });
+        List<SqlContext> contexts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            contexts.add(sqlContext(null));
+        }
+        for (int round = 0; round < 2; round++) {
+            for (SqlContext ctx : contexts) {
+                Assertions.assertEquals("value-" + System.identityHashCode(ctx), cache.get(ctx));
+            }
+        }
+        Assertions.assertEquals(100, creationCount.get());
+    }
+
+    @Test
+    public void testWrapper() {
+        AtomicInteger creationCount = new AtomicInteger();
+        SqlContextCache<String> cache = new SqlContextCache<>(ctx -> "value-" + creationCount.incrementAndGet());
+        SqlContext ctx = sqlContext(null);
+        cache.get(sqlContext(null));
+        Assertions.assertEquals("value-2", cache.get(ctx));
+        Assertions.assertEquals("value-2", cache.get(sqlContext(ctx)));
+        Assertions.assertEquals(2, creationCount.get());
+    }
+
+    private static SqlContext sqlContext(SqlContext unwrapped) {
+        return (SqlContext) Proxy.newProxyInstance(
+                SqlContext.class.getClassLoader(),
+                new Class[] { SqlContext.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "unwrap":
+                            return unwrapped;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+}
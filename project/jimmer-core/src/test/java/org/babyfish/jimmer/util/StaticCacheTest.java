@@ -0,0 +1,82 @@
+package org.babyfish.jimmer.util;
+
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StaticCacheTest {
+
+    @Test
+    public void testPositiveAndNegative() {
+        AtomicInteger creationCount = new AtomicInteger();
+        StaticCache<String, String> cache = new StaticCache<>(key -> {
+            creationCount.incrementAndGet();
+            return key.startsWith("x") ? null : key.toUpperCase();
+        });
+        Assertions.assertEquals("ABC", cache.get("abc"));
+        Assertions.assertEquals("ABC", cache.get("abc"));
+        Assertions.assertNull(cache.get("xyz"));
+        Assertions.assertNull(cache.get("xyz"));
+        Assertions.assertEquals(2, creationCount.get());
+    }
+
+    @Test
+    public void testNonNullable() {
+        StaticCache<String, String> cache = new StaticCache<>(key -> null, false);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("abc"));
+    }
+
+    @Test
+    public void testOnCreated() {
+        List<String> createdKeys = new ArrayList<>();
+        StaticCache<String, String> cache = new StaticCache<String, String>(String::toUpperCase) {
+            @Override
+            protected void onCreated(String key, String value) {
+                Assertions.assertSame(value, getWithoutLock(key));
+                if (key.equals("bad")) {
+                    throw new IllegalArgumentException();
+                }
+                createdKeys.add(key);
+            }
+        };
+        Assertions.assertEquals("A", cache.get("a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.get("bad"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.get("bad"));
+        Assertions.assertEquals("A", cache.get("a"));
+        Assertions.assertEquals("[a]", createdKeys.toString());
+    }
+
+    @Test
+    public void testConcurrentCreation() throws InterruptedException {
+        AtomicInteger creationCount = new AtomicInteger();
+        StaticCache<Integer, String> cache = new StaticCache<>(key -> {
+            creationCount.incrementAndGet();
+            return key.toString();
+        }, false);
+        int threadCount = 8;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                try {
+                    startLatch.await();
+                    for (int key = 0; key < 100; key++) {
+                        Assertions.assertEquals(Integer.toString(key), cache.get(key));
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    endLatch.countDown();
+                }
+            }).start();
+        }
+        startLatch.countDown();
+        endLatch.await();
+        Assertions.assertEquals(100, creationCount.get());
+    }
+}
@@ -14,6 +14,7 @@ import org.babyfish.jimmer.ksp.client.ExportDocProcessor
 import org.babyfish.jimmer.ksp.dto.DtoProcessor
 import org.babyfish.jimmer.ksp.error.ErrorProcessor
 import org.babyfish.jimmer.ksp.immutable.ImmutableProcessor
+import org.babyfish.jimmer.ksp.repository.RepositoryProcessor
 import org.babyfish.jimmer.ksp.transactional.TxProcessor
 import org.babyfish.jimmer.ksp.tuple.TypedTupleProcessor
 import java.util.regex.Pattern
@@ -113,6 +114,7 @@ class JimmerProcessor(
             }
             if (tupleGenerated && !clientGenerated && !ctx.isBuddyIgnoreResourceGeneration) {
                 clientGenerated = true
+                RepositoryProcessor(ctx, delayedClientTypeNames).process()
                 ClientProcessor(
                     ctx,
                     explicitClientApi ?: error("Internal bug: explicitClientApi not resolved"),
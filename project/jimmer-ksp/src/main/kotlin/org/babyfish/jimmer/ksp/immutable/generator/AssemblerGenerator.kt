@@ -0,0 +1,240 @@
+package org.babyfish.jimmer.ksp.immutable.generator
+
+import com.squareup.kotlinpoet.*
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+import org.babyfish.jimmer.ksp.util.generatedAnnotation
+
+/**
+ * Generates the implementation of `ImmutableAssembler`
+ * which writes the fields of `Impl` directly,
+ * the SQL runtime uses it to read JDBC rows without draft.
+ */
+class AssemblerGenerator(
+    private val type: ImmutableType,
+    private val parent: TypeSpec.Builder
+) {
+    private val implClassName = type.draftClassName(PRODUCER, IMPL)
+
+    fun generate() {
+        parent.addType(
+            TypeSpec
+                .classBuilder(ASSEMBLER)
+                .addModifiers(KModifier.PRIVATE)
+                .addAnnotation(generatedAnnotation(type))
+                .addSuperinterface(IMMUTABLE_ASSEMBLER_CLASS_NAME)
+                .apply {
+                    addCreateFun()
+                    addSetFun()
+                    for ((typeName, suffix) in PRIMITIVE_SUFFIXES) {
+                        addPrimitiveSetFun(typeName, suffix)
+                    }
+                    addShowFun()
+                }
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addCreateFun() {
+        addFunction(
+            FunSpec
+                .builder("create")
+                .addModifiers(KModifier.OVERRIDE)
+                .returns(ANY)
+                .addStatement("return %T()", implClassName)
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addSetFun() {
+        addFunction(
+            FunSpec
+                .builder("set")
+                .addModifiers(KModifier.OVERRIDE)
+                .addAnnotation(
+                    AnnotationSpec
+                        .builder(Suppress::class)
+                        .addMember("%S", "UNCHECKED_CAST")
+                        .build()
+                )
+                .addParameter("immutable", ANY)
+                .addParameter("propIndex", INT)
+                .addParameter("value", ANY.copy(nullable = true))
+                .addStatement("val __impl = immutable as %T", implClassName)
+                .beginControlFlow("when (propIndex)")
+                .apply {
+                    for (prop in type.propsOrderById) {
+                        val baseProp = prop.idViewBaseProp
+                        if (baseProp !== null) {
+                            beginControlFlow("%L ->", prop.slotName)
+                            addIdViewAssignment(baseProp)
+                            endControlFlow()
+                        } else if (prop.valueFieldName !== null) {
+                            beginControlFlow("%L ->", prop.slotName)
+                            addValueAssignment(prop)
+                            endControlFlow()
+                        }
+                    }
+                }
+                .addStatement(
+                    "else -> throw IllegalArgumentException(%S + propIndex + %S)",
+                    "Illegal property id for \"$type\": \"",
+                    "\", it cannot be assembled"
+                )
+                .endControlFlow()
+                .build()
+        )
+    }
+
+    private fun FunSpec.Builder.addValueAssignment(prop: ImmutableProp) {
+        if (prop.isList) {
+            addStatement(
+                "__impl.%L = %T.of(__impl.%L, %L)",
+                prop.valueFieldName,
+                NON_SHARED_LIST_CLASS_NAME,
+                prop.valueFieldName,
+                nonNullValue(prop, LIST.parameterizedBy(prop.targetTypeName()))
+            )
+        } else {
+            addStatement(
+                "__impl.%L = %L",
+                prop.valueFieldName,
+                nonNullValue(prop, prop.typeName(overrideNullable = false))
+            )
+        }
+        prop.loadedFieldName?.let {
+            addStatement("__impl.%L = true", it)
+        }
+    }
+
+    private fun FunSpec.Builder.addIdViewAssignment(baseProp: ImmutableProp) {
+        val targetClassName = baseProp.targetType!!.className
+        if (baseProp.isList) {
+            addStatement(
+                "__impl.%L = %T.of(__impl.%L, (value as %T?)?.map { %T.makeIdOnly(%T::class.java, it) } ?: emptyList())",
+                baseProp.valueFieldName,
+                NON_SHARED_LIST_CLASS_NAME,
+                baseProp.valueFieldName,
+                LIST.parameterizedBy(STAR),
+                IMMUTABLE_OBJECTS_CLASS_NAME,
+                targetClassName
+            )
+        } else if (baseProp.isNullable) {
+            addStatement(
+                "__impl.%L = value?.let { %T.makeIdOnly(%T::class.java, it) }",
+                baseProp.valueFieldName,
+                IMMUTABLE_OBJECTS_CLASS_NAME,
+                targetClassName
+            )
+        } else {
+            addStatement(
+                "__impl.%L = %T.makeIdOnly(%T::class.java, %L)",
+                baseProp.valueFieldName,
+                IMMUTABLE_OBJECTS_CLASS_NAME,
+                targetClassName,
+                nonNullValue(baseProp, ANY)
+            )
+        }
+        baseProp.loadedFieldName?.let {
+            addStatement("__impl.%L = true", it)
+        }
+    }
+
+    private fun TypeSpec.Builder.addPrimitiveSetFun(typeName: TypeName, suffix: String) {
+        val props = type.propsOrderById.filter {
+            it.isPrimitive && it.valueFieldName !== null && it.typeName() == typeName
+        }
+        if (props.isEmpty()) {
+            return
+        }
+        addFunction(
+            FunSpec
+                .builder("set$suffix")
+                .addModifiers(KModifier.OVERRIDE)
+                .addParameter("immutable", ANY)
+                .addParameter("propIndex", INT)
+                .addParameter("value", typeName)
+                .addStatement("val __impl = immutable as %T", implClassName)
+                .beginControlFlow("when (propIndex)")
+                .apply {
+                    for (prop in props) {
+                        beginControlFlow("%L ->", prop.slotName)
+                        addStatement("__impl.%L = value", prop.valueFieldName)
+                        addStatement("__impl.%L = true", prop.loadedFieldName)
+                        endControlFlow()
+                    }
+                }
+                .addStatement("else -> set(immutable, propIndex, value)")
+                .endControlFlow()
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addShowFun() {
+        addFunction(
+            FunSpec
+                .builder("show")
+                .addModifiers(KModifier.OVERRIDE)
+                .addParameter("immutable", ANY)
+                .addParameter("propIndex", INT)
+                .addParameter("visible", BOOLEAN)
+                .addStatement("val __impl = immutable as %T", implClassName)
+                .addCode(
+                    CodeBlock
+                        .builder()
+                        .add("val __visibility = __impl.__visibility\n")
+                        .indent()
+                        .add("?: if (visible) {\n")
+                        .indent()
+                        .add("return\n")
+                        .unindent()
+                        .add("} else {\n")
+                        .indent()
+                        .add("%T.of(%L).also { __impl.__visibility = it }\n", VISIBILITY_CLASS_NAME, type.properties.size)
+                        .unindent()
+                        .add("}\n")
+                        .unindent()
+                        .build()
+                )
+                .addStatement("__visibility.show(propIndex, visible)")
+                .build()
+        )
+    }
+
+    private fun nonNullValue(prop: ImmutableProp, typeName: TypeName): CodeBlock =
+        if (prop.isNullable) {
+            CodeBlock.of("value as %T", typeName.copy(nullable = true))
+        } else {
+            CodeBlock.of(
+                "value as %T? ?: throw IllegalArgumentException(%S)",
+                typeName.copy(nullable = false),
+                "'${prop.name} cannot be null"
+            )
+        }
+
+    companion object {
+
+        private val PRIMITIVE_SUFFIXES = listOf(
+            BOOLEAN to "Boolean",
+            BYTE to "Byte",
+            SHORT to "Short",
+            INT to "Int",
+            LONG to "Long",
+            FLOAT to "Float",
+            DOUBLE to "Double"
+        )
+
+        /**
+         * Assembler skips the draft, so it cannot be used
+         * when any validation rule must be executed by draft
+         */
+        fun isSupported(type: ImmutableType): Boolean =
+            type.isEntity &&
+                type.validationMessages.isEmpty() &&
+                type.properties.values.all {
+                    it.validationMessages.isEmpty() &&
+                        it.validationAnnotationMirrorMultiMap.isEmpty()
+                }
+    }
+}
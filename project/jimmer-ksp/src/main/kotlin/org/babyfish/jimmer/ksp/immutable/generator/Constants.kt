@@ -32,6 +32,7 @@ internal const val PRODUCER = "$"
 internal const val IMPLEMENTOR = "Implementor"
 internal const val IMPL = "Impl"
 internal const val DRAFT_IMPL = "DraftImpl"
+internal const val ASSEMBLER = "Assembler"
 internal const val DRAFT_FIELD_EMAIL_PATTERN = "__email_pattern"
 internal const val PROPS = "Props"
 internal const val FETCHER = "Fetcher"
@@ -72,6 +73,7 @@ internal val DRAFT_SPI_CLASS_NAME = DraftSpi::class.asClassName()
 internal val DRAFT_CONTEXT_CLASS_NAME = DraftContext::class.asClassName()
 internal val NON_SHARED_LIST_CLASS_NAME = NonSharedList::class.asClassName()
 internal val VISIBILITY_CLASS_NAME = Visibility::class.asClassName()
+internal val IMMUTABLE_ASSEMBLER_CLASS_NAME = ImmutableAssembler::class.asClassName()
 internal val PROP_ID_CLASS_NAME = PropId::class.asClassName()
 internal val CIRCULAR_REFERENCE_EXCEPTION_CLASS_NAME = CircularReferenceException::class.asClassName()
 internal val IMMUTABLE_CREATOR_CLASS_NAME = ClassName("org.babyfish.jimmer.kt", "ImmutableCreator")
@@ -31,6 +31,9 @@ class ProducerGenerator(
                         ImplementorGenerator(ctx, type, this).generate()
                         ImplGenerator(ctx, type, this).generate()
                         DraftImplGenerator(ctx, type, this).generate()
+                        if (AssemblerGenerator.isSupported(type)) {
+                            AssemblerGenerator(type, this).generate()
+                        }
                     }
                 }
                 .build()
@@ -84,6 +87,9 @@ class ProducerGenerator(
         for (prop in type.declaredProperties.values) {
             addProp(prop)
         }
+        if (!type.isMappedSuperclass && AssemblerGenerator.isSupported(type)) {
+            add(".assembler(%L())\n", ASSEMBLER)
+        }
         add(".build()")
         unindent()
     }
@@ -0,0 +1,34 @@
+package org.babyfish.jimmer.ksp.repository
+
+import org.babyfish.jimmer.impl.repository.QueryParser
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+
+class KspQueryParser : QueryParser<ImmutableType, ImmutableProp>() {
+
+    override fun getProps(type: ImmutableType): Map<String, ImmutableProp> =
+        type.properties
+
+    override fun getName(prop: ImmutableProp): String =
+        prop.name
+
+    override fun isQueryable(prop: ImmutableProp): Boolean =
+        when {
+            prop.isList && !prop.isAssociation(false) -> false
+            prop.isTransient || prop.isKotlinFormula || prop.isRemote -> false
+            prop.manyToManyViewBaseProp !== null -> false
+            else -> prop.idViewBaseProp === null || !prop.isList
+        }
+
+    override fun isReferenceList(prop: ImmutableProp): Boolean =
+        prop.isList && prop.isAssociation(true)
+
+    override fun isScalar(prop: ImmutableProp): Boolean =
+        !prop.isAssociation(true)
+
+    override fun getTargetType(prop: ImmutableProp): ImmutableType? =
+        if (prop.isAssociation(false)) prop.targetType else null
+
+    override fun getTypeName(type: ImmutableType): String =
+        type.qualifiedName
+}
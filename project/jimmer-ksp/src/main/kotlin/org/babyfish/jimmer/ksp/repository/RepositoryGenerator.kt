@@ -0,0 +1,836 @@
+package org.babyfish.jimmer.ksp.repository
+
+import com.google.devtools.ksp.getClassDeclarationByName
+import com.google.devtools.ksp.symbol.*
+import com.squareup.kotlinpoet.*
+import com.squareup.kotlinpoet.ksp.toClassName
+import com.squareup.kotlinpoet.ksp.toTypeName
+import com.squareup.kotlinpoet.ksp.toTypeParameterResolver
+import com.squareup.kotlinpoet.ksp.toTypeVariableName
+import org.babyfish.jimmer.impl.repository.*
+import org.babyfish.jimmer.ksp.Context
+import org.babyfish.jimmer.ksp.MetaException
+import org.babyfish.jimmer.ksp.annotation
+import org.babyfish.jimmer.ksp.fullName
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+import org.babyfish.jimmer.ksp.util.fastResolve
+import org.babyfish.jimmer.ksp.util.generatedAnnotation
+import org.babyfish.jimmer.ksp.util.suppressAllAnnotation
+import com.google.devtools.ksp.processing.Dependencies
+import java.io.OutputStreamWriter
+
+/**
+ * Generates the implementation class of a repository interface extending `KRepository`,
+ * the abstract functions whose names are spring-data derived queries are
+ * implemented by typed kotlin DSL so that nothing is parsed or interpreted at runtime.
+ */
+class RepositoryGenerator(
+    private val ctx: Context,
+    private val parser: KspQueryParser,
+    private val declaration: KSClassDeclaration,
+    private val repositoryDeclaration: KSClassDeclaration,
+    private val type: ImmutableType,
+    private val idTypeReference: KSTypeReference
+) {
+    private val simpleName = declaration.simpleName.asString() + SUFFIX
+
+    private val repositoryType = repositoryDeclaration.asStarProjectedType()
+
+    fun generate(allFiles: List<KSFile>) {
+        ctx.environment.codeGenerator.createNewFile(
+            Dependencies(false, *allFiles.toTypedArray()),
+            declaration.packageName.asString(),
+            simpleName
+        ).use {
+            val fileSpec = FileSpec
+                .builder(
+                    declaration.packageName.asString(),
+                    simpleName
+                ).apply {
+                    indent("    ")
+                    addAnnotation(suppressAllAnnotation())
+                    addType()
+                }.build()
+            val writer = OutputStreamWriter(it, Charsets.UTF_8)
+            fileSpec.writeTo(writer)
+            writer.flush()
+        }
+    }
+
+    private fun FileSpec.Builder.addType() {
+        addType(
+            TypeSpec.classBuilder(simpleName)
+                .apply {
+                    if (declaration.modifiers.contains(Modifier.INTERNAL)) {
+                        addModifiers(KModifier.INTERNAL)
+                    }
+                    addAnnotation(generatedAnnotation(declaration.toClassName()))
+                    primaryConstructor(
+                        FunSpec
+                            .constructorBuilder()
+                            .addParameter("sql", K_SQL_CLIENT_CLASS_NAME)
+                            .build()
+                    )
+                    superclass(
+                        K_REPOSITORY_IMPL_CLASS_NAME.parameterizedBy(
+                            type.className,
+                            idTypeReference.toTypeName()
+                        )
+                    )
+                    addSuperclassConstructorParameter("sql")
+                    addSuperclassConstructorParameter("%T::class", type.className)
+                    addSuperinterface(declaration.toClassName())
+                    for (function in declaration.getAllFunctions()) {
+                        if (function.isAbstract && !isInheritedFromRepository(function)) {
+                            addFunction(FunctionGenerator(function).generate())
+                        }
+                    }
+                }
+                .build()
+        )
+    }
+
+    private fun isInheritedFromRepository(function: KSFunctionDeclaration): Boolean {
+        val parentDeclaration = function.parentDeclaration as? KSClassDeclaration ?: return false
+        if (parentDeclaration.asStarProjectedType().isAssignableFrom(repositoryType)) {
+            return true
+        }
+        val overridee = function.findOverridee() as? KSFunctionDeclaration ?: return false
+        return isInheritedFromRepository(overridee)
+    }
+
+    private fun isSubType(type: KSType, qualifiedName: String): Boolean =
+        ctx.resolver.getClassDeclarationByName(qualifiedName)
+            ?.asStarProjectedType()
+            ?.isAssignableFrom(type.makeNotNullable().starProjection())
+            ?: false
+
+    private fun valueTypeName(prop: ImmutableProp): TypeName =
+        if (prop.isAssociation(true)) {
+            prop.targetTypeName(overrideNullable = false)
+        } else {
+            prop.typeName(overrideNullable = false)
+        }
+
+    private inner class FunctionGenerator(
+        private val function: KSFunctionDeclaration
+    ) {
+        private val typeParameterResolver = function.typeParameters.toTypeParameterResolver()
+
+        private val parameters = function.parameters
+
+        private val parameterTypes = parameters.map { it.type.fastResolve() }
+
+        private val returnType = function.returnType!!.fastResolve()
+
+        private val returnTypeName = function.returnType!!.toTypeName(typeParameterResolver)
+
+        private val pageableParamIndex = implicitParameterIndex(PAGEABLE)
+
+        private val sortParamIndex = implicitParameterIndex(SORT)
+
+        private val specificationParamIndex = implicitParameterIndex(SPECIFICATION)
+
+        private val fetcherParamIndex = implicitParameterIndex(FETCHER)
+
+        private val viewTypeParamIndex = implicitParameterIndex(KCLASS).let {
+            if (it != -1) {
+                it
+            } else {
+                implicitParameterIndex(JAVA_CLASS)
+            }
+        }
+
+        private val nullChecks = CodeBlock.builder()
+
+        private var paramIndex = -1
+
+        init {
+            if (pageableParamIndex != -1 && sortParamIndex != -1) {
+                throw error("cannot have parameters of type \"$PAGEABLE\" and \"$SORT\" at the same time")
+            }
+        }
+
+        fun generate(): FunSpec {
+            val returnQualifiedName = returnType.declaration.qualifiedName?.asString()
+            val isList = returnQualifiedName in LIST_TYPES
+            val isPage = returnQualifiedName == SPRING_PAGE || returnQualifiedName == JIMMER_PAGE
+            val isOptional = returnQualifiedName == OPTIONAL
+            val elementType: KSType
+            val elementTypeName: TypeName
+            if (isList || isPage || isOptional) {
+                elementType = returnType.arguments.firstOrNull()?.type?.fastResolve()
+                    ?: throw error(
+                        "the return type must be parameterized type when raw return type is " +
+                            "\"kotlin.collections.List\", \"kotlin.collections.Collection\", " +
+                            "\"kotlin.collections.Iterable\", \"$SPRING_PAGE\", \"$JIMMER_PAGE\" or \"$OPTIONAL\""
+                    )
+                elementTypeName = (returnTypeName as ParameterizedTypeName).typeArguments[0]
+            } else {
+                elementType = returnType
+                elementTypeName = returnTypeName
+            }
+            val isObjectQuery = elementType.declaration.qualifiedName?.asString() == type.qualifiedName
+            val query = try {
+                parser.parse(function.simpleName.asString(), type, !isObjectQuery)
+            } catch (ex: IllegalArgumentException) {
+                throw error(ex.message!!)
+            }
+            val predicate = query.predicate?.let { predicate(it) }
+            while (++paramIndex < parameters.size) {
+                if (!isImplicitParameterType(parameterTypes[paramIndex])) {
+                    throw error("too many parameters")
+                }
+            }
+            validateImplicitParameters(query)
+            return FunSpec
+                .builder(function.simpleName.asString())
+                .apply {
+                    addModifiers(KModifier.OVERRIDE)
+                    for (typeParameter in function.typeParameters) {
+                        addTypeVariable(typeParameter.toTypeVariableName(typeParameterResolver))
+                    }
+                    for (parameter in parameters) {
+                        addParameter(
+                            parameter.name!!.asString(),
+                            parameter.type.toTypeName(typeParameterResolver)
+                        )
+                    }
+                    returns(returnTypeName)
+                    addCode(nullChecks.build())
+                    if (query.action == Query.Action.DELETE) {
+                        addDelete(predicate)
+                    } else {
+                        addQuery(query, predicate, isList, isPage, isOptional, elementType, elementTypeName)
+                    }
+                }
+                .build()
+        }
+
+        private fun FunSpec.Builder.addDelete(predicate: CodeBlock?) {
+            val returnQualifiedName = returnType.declaration.qualifiedName?.asString()
+            if (returnQualifiedName != "kotlin.Int" && returnQualifiedName != "kotlin.Unit") {
+                throw error("the return type must be Int or Unit")
+            }
+            addCode(if (returnQualifiedName == "kotlin.Int") "return sql\n" else "sql\n")
+            addCode(
+                CodeBlock.builder()
+                    .indent()
+                    .beginControlFlow(".createDelete(%T::class)", type.className)
+                    .apply {
+                        predicate?.let { addStatement("where(%L)", it) }
+                    }
+                    .endControlFlow()
+                    .addStatement(".execute()")
+                    .unindent()
+                    .build()
+            )
+        }
+
+        private fun FunSpec.Builder.addQuery(
+            query: Query<ImmutableProp>,
+            predicate: CodeBlock?,
+            isList: Boolean,
+            isPage: Boolean,
+            isOptional: Boolean,
+            elementType: KSType,
+            elementTypeName: TypeName
+        ) {
+            val returnQualifiedName = returnType.declaration.qualifiedName?.asString()
+            val selection = when (query.action) {
+                Query.Action.COUNT -> {
+                    if (returnQualifiedName != "kotlin.Int" && returnQualifiedName != "kotlin.Long") {
+                        throw error("the return type must be Int or Long")
+                    }
+                    CodeBlock.of("%M(table)", COUNT)
+                }
+                Query.Action.EXISTS -> {
+                    if (returnQualifiedName != "kotlin.Boolean") {
+                        throw error("the return type must be Boolean")
+                    }
+                    CodeBlock.of("table.%N", type.idProp!!.name)
+                }
+                else -> {
+                    validateFindReturnType(isList, isPage, isOptional)
+                    selection(query, elementType, elementTypeName)
+                }
+            }
+            addCode("return sql\n")
+            addCode(
+                CodeBlock.builder()
+                    .indent()
+                    .beginControlFlow(".createQuery(%T::class)", type.className)
+                    .apply {
+                        predicate?.let { addStatement("where(%L)", it) }
+                        if (specificationParamIndex != -1) {
+                            addStatement("where(%N)", parameters[specificationParamIndex].name!!.asString())
+                        }
+                        if (query.orders.isNotEmpty()) {
+                            addStatement(
+                                "orderBy(%L)",
+                                query.orders.map {
+                                    CodeBlock.of("%L.%M()", path(it.path, true), if (it.isDesc) DESC else ASC)
+                                }.joinToCode()
+                            )
+                        }
+                        if (pageableParamIndex != -1) {
+                            addStatement(
+                                "%M(%N%L.sort)",
+                                SPRING_ORDER_BY,
+                                parameters[pageableParamIndex].name!!.asString(),
+                                if (parameterTypes[pageableParamIndex].isMarkedNullable) "?" else ""
+                            )
+                        } else if (sortParamIndex != -1) {
+                            addStatement("%M(%N)", SPRING_ORDER_BY, parameters[sortParamIndex].name!!.asString())
+                        }
+                        addStatement("select(%L)", selection)
+                    }
+                    .endControlFlow()
+                    .apply {
+                        when (query.action) {
+                            Query.Action.COUNT ->
+                                if (returnQualifiedName == "kotlin.Int") {
+                                    addStatement(".fetchOne()")
+                                    addStatement(".toInt()")
+                                } else {
+                                    addStatement(".fetchOne()")
+                                }
+                            Query.Action.EXISTS -> {
+                                addStatement(".limit(1)")
+                                addStatement(".fetchOneOrNull() != null")
+                            }
+                            else -> addFindTerminal(query, isList, isPage, isOptional)
+                        }
+                    }
+                    .unindent()
+                    .build()
+            )
+        }
+
+        private fun CodeBlock.Builder.addFindTerminal(
+            query: Query<ImmutableProp>,
+            isList: Boolean,
+            isPage: Boolean,
+            isOptional: Boolean
+        ) {
+            if (isPage) {
+                val pageable = parameters[pageableParamIndex].name!!.asString()
+                if (returnType.declaration.qualifiedName?.asString() == SPRING_PAGE) {
+                    addStatement(".%M(%N)", FETCH_SPRING_PAGE, pageable)
+                } else {
+                    addStatement(".fetchPage(%N.pageNumber, %N.pageSize)", pageable, pageable)
+                }
+                return
+            }
+            if (query.limit != Int.MAX_VALUE) {
+                addStatement(".limit(%L)", query.limit)
+            }
+            if (query.isDistinct) {
+                addStatement(".distinct()")
+            }
+            when {
+                isList -> addStatement(".execute()")
+                isOptional -> addStatement(".fetchOneOrNull()")
+                returnType.isMarkedNullable -> addStatement(".fetchOneOrNull()")
+                else -> addStatement(".fetchOne()")
+            }
+            if (isOptional) {
+                addStatement(".let { %T.ofNullable(it) }", OPTIONAL_CLASS_NAME)
+            }
+        }
+
+        private fun validateFindReturnType(isList: Boolean, isPage: Boolean, isOptional: Boolean) {
+            if (isPage && pageableParamIndex == -1) {
+                throw error("the return type \"$returnTypeName\" requires parameter whose type is \"$PAGEABLE\"")
+            }
+            if (!isPage && pageableParamIndex != -1) {
+                throw error(
+                    "the parameter whose type is \"$PAGEABLE\" requires " +
+                        "the return type \"$SPRING_PAGE\" or \"$JIMMER_PAGE\""
+                )
+            }
+            if (isPage &&
+                returnType.declaration.qualifiedName?.asString() == JIMMER_PAGE &&
+                parameterTypes[pageableParamIndex].isMarkedNullable
+            ) {
+                throw error("the parameter whose type is \"$PAGEABLE\" cannot be nullable when the return type is \"$JIMMER_PAGE\"")
+            }
+            if (!isList && !isPage && !isOptional && isSubType(returnType, "kotlin.collections.Iterable")) {
+                throw error("the collection return type must be super type of \"kotlin.collections.List\"")
+            }
+        }
+
+        private fun selection(
+            query: Query<ImmutableProp>,
+            elementType: KSType,
+            elementTypeName: TypeName
+        ): CodeBlock {
+            val selectedPath = query.selectedPath
+            if (selectedPath !== null) {
+                if (fetcherParamIndex != -1) {
+                    throw error("cannot explicitly select columns when there is a fetcher parameter")
+                }
+                if (viewTypeParamIndex != -1) {
+                    throw error("the parameters[$viewTypeParamIndex] is illegal")
+                }
+                val selectedProp = selectedPath.lastProp
+                val selectedTypeName = valueTypeName(selectedProp)
+                if (elementTypeName.copy(nullable = false) != selectedTypeName) {
+                    throw error("the returned element type must be \"$selectedTypeName\"")
+                }
+                if (selectedProp.isNullable && !elementTypeName.isNullable) {
+                    throw error("the returned element type must be nullable because \"$selectedPath\" is nullable")
+                }
+                return path(selectedPath, false)
+            }
+            val entityQualifiedName = type.qualifiedName
+            if (elementType.declaration.qualifiedName?.asString() == entityQualifiedName) {
+                if (viewTypeParamIndex != -1) {
+                    throw error("the parameters[$viewTypeParamIndex] is illegal")
+                }
+                if (fetcherParamIndex != -1) {
+                    return CodeBlock.of("table.fetch(%N)", parameters[fetcherParamIndex].name!!.asString())
+                }
+                return CodeBlock.of("table")
+            }
+            if (fetcherParamIndex != -1) {
+                throw error("the returned element type must be \"$entityQualifiedName\" when there is a fetcher parameter")
+            }
+            val elementDeclaration = elementType.declaration
+            if (elementDeclaration is KSTypeParameter) {
+                if (elementDeclaration.parentDeclaration != function ||
+                    elementDeclaration.bounds.none { isViewType(it.fastResolve()) }
+                ) {
+                    throw viewTypeError()
+                }
+                if (viewTypeParamIndex == -1) {
+                    throw error(
+                        "a parameter whose type is \"KClass<${elementDeclaration.name.asString()}>\" is required"
+                    )
+                }
+                val classType = parameterTypes[viewTypeParamIndex]
+                if (classType.arguments.firstOrNull()?.type?.fastResolve()?.declaration != elementDeclaration) {
+                    throw error(
+                        "the type argument of parameters[$viewTypeParamIndex] must be " +
+                            "the type variable \"${elementDeclaration.name.asString()}\""
+                    )
+                }
+                val viewTypeName = parameters[viewTypeParamIndex].name!!.asString()
+                return if (classType.declaration.qualifiedName?.asString() == KCLASS) {
+                    CodeBlock.of("table.fetch(%N)", viewTypeName)
+                } else {
+                    CodeBlock.of("table.fetch(%N.kotlin)", viewTypeName)
+                }
+            }
+            if (viewTypeParamIndex != -1) {
+                throw error("the parameters[$viewTypeParamIndex] is illegal")
+            }
+            if (elementDeclaration !is KSClassDeclaration ||
+                elementDeclaration.getAllSuperTypes().none { isViewType(it) }
+            ) {
+                throw viewTypeError()
+            }
+            return CodeBlock.of("table.fetch(%T::class)", elementDeclaration.toClassName())
+        }
+
+        private fun isViewType(superType: KSType): Boolean =
+            superType.declaration.qualifiedName?.asString() == VIEW &&
+                superType.arguments.firstOrNull()?.type?.fastResolve()?.declaration?.qualifiedName?.asString() ==
+                type.qualifiedName
+
+        private fun viewTypeError(): MetaException =
+            error(
+                "the returned element type must be \"${type.qualifiedName}\", " +
+                    "a class implements \"$VIEW<${type.qualifiedName}>\" or " +
+                    "a function level type variable extends \"$VIEW<${type.qualifiedName}>\""
+            )
+
+        private fun validateImplicitParameters(query: Query<ImmutableProp>) {
+            val action = query.action
+            if (specificationParamIndex != -1) {
+                if (action == Query.Action.DELETE) {
+                    throw error("the function must be query function when there is a specification parameter")
+                }
+                validateTypeArgument(specificationParamIndex, "specification")
+            }
+            if (fetcherParamIndex != -1) {
+                if (action != Query.Action.FIND) {
+                    throw error("the function must be object finding function when there is a fetcher parameter")
+                }
+                validateTypeArgument(fetcherParamIndex, "fetcher")
+            }
+            if (viewTypeParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("the function must be query function when there is a view type parameter")
+            }
+            if (pageableParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("the function must be query function when there is a pageable parameter")
+            }
+            if (sortParamIndex != -1 && action != Query.Action.FIND) {
+                throw error("the function must be query function when there is a sort parameter")
+            }
+        }
+
+        private fun validateTypeArgument(index: Int, parameterKind: String) {
+            val typeArgument = parameterTypes[index].arguments.firstOrNull()?.type?.fastResolve()
+            if (typeArgument?.declaration?.qualifiedName?.asString() != type.qualifiedName) {
+                throw error("the type argument of $parameterKind parameter must be \"${type.qualifiedName}\"")
+            }
+        }
+
+        private fun predicate(predicate: Predicate): CodeBlock =
+            when (predicate) {
+                is AndPredicate ->
+                    CodeBlock.of("%M(%L)", AND, predicate.predicates.map { predicate(it) }.joinToCode())
+                is OrPredicate ->
+                    CodeBlock.of("%M(%L)", OR, predicate.predicates.map { predicate(it) }.joinToCode())
+                else -> {
+                    @Suppress("UNCHECKED_CAST")
+                    propPredicate(predicate as PropPredicate<ImmutableProp>)
+                }
+            }
+
+        private fun propPredicate(predicate: PropPredicate<ImmutableProp>): CodeBlock {
+            val path = predicate.path
+            if (!path.isScalar && predicate.op != PropPredicate.Op.NULL && predicate.op != PropPredicate.Op.NOT_NULL) {
+                throw error(
+                    "illegal property \"$path\" of \"${path.source}\", it cannot be reference property " +
+                        "when the predicate is nether `IsNull` nor `IsNotNull`"
+                )
+            }
+            val propTypeName = valueTypeName(path.lastProp)
+            return when (predicate.op) {
+                PropPredicate.Op.TRUE, PropPredicate.Op.FALSE -> {
+                    if (propTypeName != BOOLEAN) {
+                        throw error(
+                            "illegal property \"$path\", its type must be boolean " +
+                                "when the predicate is `IsTrue` or `IsFalse`"
+                        )
+                    }
+                    CodeBlock.of("%L.%M(%L)", path(path, false), EQ, predicate.op == PropPredicate.Op.TRUE)
+                }
+                PropPredicate.Op.NULL, PropPredicate.Op.NOT_NULL ->
+                    CodeBlock.of(
+                        "%L%L.%M()",
+                        path(path, true),
+                        // The associated id of the outer joined table, no extra join is required
+                        if (path.lastProp.isAssociation(true)) {
+                            CodeBlock.of(".%N", path.lastProp.targetType!!.idProp!!.name)
+                        } else {
+                            CodeBlock.of("")
+                        },
+                        if (predicate.op == PropPredicate.Op.NULL) IS_NULL else IS_NOT_NULL
+                    )
+                PropPredicate.Op.IN, PropPredicate.Op.NOT_IN -> {
+                    val param = nextParam(predicate)
+                    val funName = if (predicate.op == PropPredicate.Op.IN) VALUE_IN else VALUE_NOT_IN
+                    val target = path(path, predicate.op == PropPredicate.Op.NOT_IN)
+                    if (param.nullable) {
+                        CodeBlock.of("%N?.let { %L.%M(it) }", param.name, target, funName)
+                    } else {
+                        CodeBlock.of("%L.%M(%N)", target, funName, param.name)
+                    }
+                }
+                PropPredicate.Op.LIKE, PropPredicate.Op.NOT_LIKE -> {
+                    validateString(predicate)
+                    val param = nextParam(predicate)
+                    CodeBlock.of(
+                        "%N%L.takeIf { it.isNotEmpty() }?.let { %L.%M(it, %T.%L)%L }",
+                        param.name,
+                        if (param.nullable) "?" else "",
+                        path(path, false),
+                        if (predicate.isInsensitive) ILIKE else LIKE,
+                        LIKE_MODE_CLASS_NAME,
+                        predicate.likeMode.name,
+                        if (predicate.op == PropPredicate.Op.NOT_LIKE) CodeBlock.of(".%M()", NOT) else CodeBlock.of("")
+                    )
+                }
+                PropPredicate.Op.BETWEEN, PropPredicate.Op.NOT_BETWEEN -> {
+                    val target = target(predicate)
+                    val min = nextParam(predicate)
+                    val max = nextParam(predicate)
+                    val between = predicate.op == PropPredicate.Op.BETWEEN
+                    val both = CodeBlock.of(
+                        "%L.%M(%L, %L)",
+                        target,
+                        if (between) BETWEEN else NOT_BETWEEN,
+                        value(predicate, min.name),
+                        value(predicate, max.name)
+                    )
+                    val minOnly = CodeBlock.of("%L.%M(%L)", target, if (between) GE else LT, value(predicate, min.name))
+                    val maxOnly = CodeBlock.of("%L.%M(%L)", target, if (between) LE else GT, value(predicate, max.name))
+                    when {
+                        min.nullable && max.nullable ->
+                            CodeBlock.of(
+                                "if (%N != null && %N != null) %L else if (%N != null) %L else if (%N != null) %L else null",
+                                min.name,
+                                max.name,
+                                both,
+                                min.name,
+                                minOnly,
+                                max.name,
+                                maxOnly
+                            )
+                        min.nullable -> CodeBlock.of("if (%N != null) %L else %L", min.name, both, maxOnly)
+                        max.nullable -> CodeBlock.of("if (%N != null) %L else %L", max.name, both, minOnly)
+                        else -> both
+                    }
+                }
+                else -> {
+                    val target = target(predicate)
+                    val param = nextParam(predicate)
+                    val funName = when (predicate.op) {
+                        PropPredicate.Op.EQ -> EQ
+                        PropPredicate.Op.NE -> NE
+                        PropPredicate.Op.LT -> LT
+                        PropPredicate.Op.LE -> LE
+                        PropPredicate.Op.GT -> GT
+                        else -> GE
+                    }
+                    if (param.nullable) {
+                        CodeBlock.of("%N?.let { %L.%M(%L) }", param.name, target, funName, value(predicate, "it"))
+                    } else {
+                        CodeBlock.of("%L.%M(%L)", target, funName, value(predicate, param.name))
+                    }
+                }
+            }
+        }
+
+        private fun target(predicate: PropPredicate<ImmutableProp>): CodeBlock {
+            val expr = path(predicate.path, false)
+            if (predicate.isInsensitive) {
+                validateString(predicate)
+                return CodeBlock.of("%L.%M()", expr, LOWER)
+            }
+            return expr
+        }
+
+        private fun value(predicate: PropPredicate<ImmutableProp>, name: String): CodeBlock =
+            if (predicate.isInsensitive) {
+                CodeBlock.of("%N.lowercase()", name)
+            } else {
+                CodeBlock.of("%N", name)
+            }
+
+        private fun validateString(predicate: PropPredicate<ImmutableProp>) {
+            if (valueTypeName(predicate.path.lastProp) != STRING) {
+                throw error(
+                    "illegal property \"${predicate.path}\", its type must be string " +
+                        "when the predicate is `Like`, `NotLike` or ignores case"
+                )
+            }
+        }
+
+        private fun path(path: Path<ImmutableProp>, outerJoin: Boolean): CodeBlock =
+            CodeBlock.builder().apply {
+                add("table")
+                if (path.props.any { it.isList && it.isAssociation(true) }) {
+                    add(".asTableEx()")
+                }
+                for (prop in path.props) {
+                    if (outerJoin && prop.isAssociation(true)) {
+                        add(".%N", "${prop.name}?")
+                    } else {
+                        add(".%N", prop.name)
+                    }
+                }
+            }.build()
+
+        private fun nextParam(predicate: PropPredicate<ImmutableProp>): Param {
+            paramIndex++
+            while (paramIndex < parameters.size && isImplicitParameterType(parameterTypes[paramIndex])) {
+                paramIndex++
+            }
+            if (paramIndex >= parameters.size) {
+                throw error(
+                    "no enough parameters for the property \"${predicate.path}\" of \"${predicate.path.source}\""
+                )
+            }
+            val parameter = parameters[paramIndex]
+            val parameterType = parameterTypes[paramIndex]
+            val parameterTypeName = parameter.type.toTypeName(typeParameterResolver)
+            val propTypeName = valueTypeName(predicate.path.lastProp)
+            if (predicate.op == PropPredicate.Op.IN || predicate.op == PropPredicate.Op.NOT_IN) {
+                val valid = isSubType(parameterType, "kotlin.collections.Collection") &&
+                    (parameterTypeName as? ParameterizedTypeName)
+                        ?.typeArguments
+                        ?.firstOrNull()
+                        ?.let { it.copy(nullable = false) == propTypeName && !it.isNullable } == true
+                if (!valid) {
+                    throw paramTypeError(predicate, "Collection<$propTypeName>", parameterTypeName, true)
+                }
+            } else if (parameterTypeName.copy(nullable = false) != propTypeName) {
+                throw paramTypeError(predicate, propTypeName.toString(), parameterTypeName, false)
+            }
+            val name = parameter.name!!.asString()
+            var nullable = false
+            if (parameterType.isMarkedNullable) {
+                if (parameter.annotation(DYNAMIC_PARAM) !== null) {
+                    nullable = true
+                } else {
+                    nullChecks
+                        .beginControlFlow("if (%N == null)", name)
+                        .addStatement(
+                            "throw %T(%S)",
+                            NullPointerException::class,
+                            "The parameters[$paramIndex]($name) of \"${functionSignature()}\" cannot be null. " +
+                                "If you want to use dynamic queries, that is, ignore this parameter, " +
+                                "please annotate this parameter with \"@$DYNAMIC_PARAM\""
+                        )
+                        .endControlFlow()
+                }
+            }
+            return Param(name, nullable)
+        }
+
+        private fun paramTypeError(
+            predicate: PropPredicate<ImmutableProp>,
+            expectedTypeName: String,
+            actualTypeName: TypeName,
+            isCollection: Boolean
+        ): MetaException =
+            error(
+                "this type of " +
+                    (if (isCollection) "the collection whose element is the " else "") +
+                    "property \"${predicate.path}\" is \"$expectedTypeName\", " +
+                    "but the type of parameters[$paramIndex] of kotlin function is \"$actualTypeName\""
+            )
+
+        private fun functionSignature(): String =
+            declaration.fullName +
+                "." +
+                function.simpleName.asString() +
+                parameters.joinToString(",", "(", ")") {
+                    it.type.toTypeName(typeParameterResolver).toString()
+                }
+
+        private fun isImplicitParameterType(parameterType: KSType): Boolean =
+            isSubType(parameterType, PAGEABLE) ||
+                isSubType(parameterType, SORT) ||
+                isSubType(parameterType, SPECIFICATION) ||
+                isSubType(parameterType, FETCHER) ||
+                isSubType(parameterType, KCLASS) ||
+                isSubType(parameterType, JAVA_CLASS)
+
+        private fun implicitParameterIndex(qualifiedName: String): Int {
+            var index = -1
+            for (i in parameterTypes.indices) {
+                if (isSubType(parameterTypes[i], qualifiedName)) {
+                    if (index != -1) {
+                        throw error(
+                            "both parameters[$index] and parameters[$i] are of type \"$qualifiedName\""
+                        )
+                    }
+                    index = i
+                }
+            }
+            return index
+        }
+
+        private fun error(message: String): MetaException =
+            MetaException(
+                function,
+                "it is illegal abstract spring-data function: $message"
+            )
+    }
+
+    private data class Param(
+        val name: String,
+        val nullable: Boolean
+    )
+
+    companion object {
+
+        const val SUFFIX = "DslImpl"
+
+        private const val DYNAMIC_PARAM = "org.babyfish.jimmer.spring.repository.DynamicParam"
+
+        private const val PAGEABLE = "org.springframework.data.domain.Pageable"
+
+        private const val SORT = "org.springframework.data.domain.Sort"
+
+        private const val SPRING_PAGE = "org.springframework.data.domain.Page"
+
+        private const val JIMMER_PAGE = "org.babyfish.jimmer.Page"
+
+        private const val SPECIFICATION = "org.babyfish.jimmer.Specification"
+
+        private const val FETCHER = "org.babyfish.jimmer.sql.fetcher.Fetcher"
+
+        private const val VIEW = "org.babyfish.jimmer.View"
+
+        private const val OPTIONAL = "java.util.Optional"
+
+        private const val KCLASS = "kotlin.reflect.KClass"
+
+        private const val JAVA_CLASS = "java.lang.Class"
+
+        private val LIST_TYPES = setOf(
+            "kotlin.collections.List",
+            "kotlin.collections.Collection",
+            "kotlin.collections.Iterable"
+        )
+
+        private val K_SQL_CLIENT_CLASS_NAME =
+            ClassName("org.babyfish.jimmer.sql.kt", "KSqlClient")
+
+        private val K_REPOSITORY_IMPL_CLASS_NAME =
+            ClassName("org.babyfish.jimmer.spring.repository.support", "KRepositoryImpl")
+
+        private val LIKE_MODE_CLASS_NAME =
+            ClassName("org.babyfish.jimmer.sql.ast", "LikeMode")
+
+        private val OPTIONAL_CLASS_NAME =
+            ClassName("java.util", "Optional")
+
+        private const val SPRING_REPOSITORY_PACKAGE = "org.babyfish.jimmer.spring.repository"
+
+        private const val K_EXPRESSION_PACKAGE = "org.babyfish.jimmer.sql.kt.ast.expression"
+
+        private val SPRING_ORDER_BY = MemberName(SPRING_REPOSITORY_PACKAGE, "orderBy")
+
+        private val FETCH_SPRING_PAGE = MemberName(SPRING_REPOSITORY_PACKAGE, "fetchSpringPage")
+
+        private val AND = MemberName(K_EXPRESSION_PACKAGE, "and")
+
+        private val OR = MemberName(K_EXPRESSION_PACKAGE, "or")
+
+        private val NOT = MemberName(K_EXPRESSION_PACKAGE, "not")
+
+        private val EQ = MemberName(K_EXPRESSION_PACKAGE, "eq")
+
+        private val NE = MemberName(K_EXPRESSION_PACKAGE, "ne")
+
+        private val LT = MemberName(K_EXPRESSION_PACKAGE, "lt")
+
+        private val LE = MemberName(K_EXPRESSION_PACKAGE, "le")
+
+        private val GT = MemberName(K_EXPRESSION_PACKAGE, "gt")
+
+        private val GE = MemberName(K_EXPRESSION_PACKAGE, "ge")
+
+        private val BETWEEN = MemberName(K_EXPRESSION_PACKAGE, "between")
+
+        private val NOT_BETWEEN = MemberName(K_EXPRESSION_PACKAGE, "notBetween")
+
+        private val LIKE = MemberName(K_EXPRESSION_PACKAGE, "like")
+
+        private val ILIKE = MemberName(K_EXPRESSION_PACKAGE, "ilike")
+
+        private val VALUE_IN = MemberName(K_EXPRESSION_PACKAGE, "valueIn")
+
+        private val VALUE_NOT_IN = MemberName(K_EXPRESSION_PACKAGE, "valueNotIn")
+
+        private val IS_NULL = MemberName(K_EXPRESSION_PACKAGE, "isNull")
+
+        private val IS_NOT_NULL = MemberName(K_EXPRESSION_PACKAGE, "isNotNull")
+
+        private val LOWER = MemberName(K_EXPRESSION_PACKAGE, "lower")
+
+        private val ASC = MemberName(K_EXPRESSION_PACKAGE, "asc")
+
+        private val DESC = MemberName(K_EXPRESSION_PACKAGE, "desc")
+
+        private val COUNT = MemberName(K_EXPRESSION_PACKAGE, "count")
+    }
+}
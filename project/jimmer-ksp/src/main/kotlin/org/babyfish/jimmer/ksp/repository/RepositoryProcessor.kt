@@ -0,0 +1,101 @@
+package org.babyfish.jimmer.ksp.repository
+
+import com.google.devtools.ksp.getClassDeclarationByName
+import com.google.devtools.ksp.symbol.ClassKind
+import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.KSType
+import org.babyfish.jimmer.ksp.Context
+import org.babyfish.jimmer.ksp.annotation
+import org.babyfish.jimmer.ksp.fullName
+import org.babyfish.jimmer.ksp.util.fastResolve
+import org.babyfish.jimmer.sql.Entity
+
+class RepositoryProcessor(
+    private val ctx: Context,
+    private val delayedTypeNames: Collection<String>?
+) {
+    fun process() {
+        if (ctx.isBuddyIgnoreResourceGeneration) {
+            return
+        }
+        val repositoryDeclaration = ctx.resolver.getClassDeclarationByName(K_REPOSITORY) ?: return
+        val repositoryType = repositoryDeclaration.asStarProjectedType()
+        // Repository interfaces may reference the types generated by the previous round,
+        // such as the extension properties of tables and DTOs, so they are delayed like client types
+        val map = mutableMapOf<String, KSClassDeclaration>()
+        if (delayedTypeNames !== null) {
+            for (typeName in delayedTypeNames) {
+                ctx.resolver.getClassDeclarationByName(typeName)?.let {
+                    map[typeName] = it
+                }
+            }
+        }
+        for (file in ctx.resolver.getAllFiles()) {
+            for (declaration in file.declarations) {
+                if (declaration is KSClassDeclaration) {
+                    map.putIfAbsent(declaration.fullName, declaration)
+                }
+            }
+        }
+        val repositories = mutableListOf<Pair<KSClassDeclaration, KSType>>()
+        for (declaration in map.values) {
+            if (declaration.classKind != ClassKind.INTERFACE ||
+                !ctx.include(declaration) ||
+                declaration.fullName == K_REPOSITORY ||
+                declaration.typeParameters.isNotEmpty() ||
+                declaration.annotation(NO_REPOSITORY_BEAN) !== null ||
+                !repositoryType.isAssignableFrom(declaration.asStarProjectedType())
+            ) {
+                continue
+            }
+            val superType = repositorySuperType(declaration) ?: continue
+            val entityType = superType.arguments.takeIf { it.size == 2 }?.get(0)?.type?.fastResolve() ?: continue
+            val entityDeclaration = entityType.declaration as? KSClassDeclaration ?: continue
+            if (entityDeclaration.annotation(Entity::class) === null) {
+                continue
+            }
+            repositories += declaration to superType
+        }
+        if (repositories.isEmpty()) {
+            return
+        }
+        val types = repositories.map { (_, superType) ->
+            ctx.typeOf(superType.arguments[0].type!!.fastResolve().declaration as KSClassDeclaration)
+        }
+        ctx.resolve()
+        val parser = KspQueryParser()
+        val allFiles = ctx.resolver.getAllFiles().toList()
+        for (i in repositories.indices) {
+            val (declaration, superType) = repositories[i]
+            RepositoryGenerator(
+                ctx,
+                parser,
+                declaration,
+                repositoryDeclaration,
+                types[i],
+                superType.arguments[1].type!!
+            ).generate(allFiles)
+        }
+    }
+
+    private fun repositorySuperType(declaration: KSClassDeclaration): KSType? {
+        for (superTypeRef in declaration.superTypes) {
+            val superType = superTypeRef.fastResolve()
+            val superDeclaration = superType.declaration as? KSClassDeclaration ?: continue
+            if (superDeclaration.fullName == K_REPOSITORY) {
+                return superType
+            }
+            repositorySuperType(superDeclaration)?.let {
+                return it
+            }
+        }
+        return null
+    }
+
+    companion object {
+
+        internal const val K_REPOSITORY = "org.babyfish.jimmer.spring.repository.KRepository"
+
+        private const val NO_REPOSITORY_BEAN = "org.springframework.data.repository.NoRepositoryBean"
+    }
+}
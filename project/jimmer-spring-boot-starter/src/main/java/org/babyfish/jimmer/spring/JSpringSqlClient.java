@@ -18,6 +18,7 @@ import org.babyfish.jimmer.sql.cache.CacheOperator;
 import org.babyfish.jimmer.sql.di.*;
 import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.event.TriggerDispatcher;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.filter.Filter;
@@ -107,6 +108,7 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         CacheFactory cacheFactory = getOptionalBean(CacheFactory.class);
         CacheOperator cacheOperator = getOptionalBean(CacheOperator.class);
         MicroServiceExchange exchange = getOptionalBean(MicroServiceExchange.class);
+        TriggerDispatcher triggerDispatcher = getOptionalBean(TriggerDispatcher.class);
         Collection<CacheAbandonedCallback> callbacks = getObjects(CacheAbandonedCallback.class);
         Collection<ScalarProvider<?, ?>> providers = getObjects(ScalarProvider.class);
         Collection<PropScalarProviderFactory> factories = getObjects(PropScalarProviderFactory.class);
@@ -159,6 +161,9 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         }
 
         builder.setTriggerType(properties.getTriggerType());
+        if (triggerDispatcher != null) {
+            builder.setTriggerDispatcher(triggerDispatcher);
+        }
         builder.setDefaultReferenceFetchType(properties.getDefaultReferenceFetchType());
         builder.setMaxJoinFetchDepth(properties.getMaxJoinFetchDepth());
         builder.setDefaultDissociateActionCheckable(properties.isDefaultDissociationActionCheckable());
@@ -166,8 +171,11 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         builder.setDefaultEnumStrategy(properties.getDefaultEnumStrategy());
         builder.setDefaultBatchSize(properties.getDefaultBatchSize());
         builder.setDefaultListBatchSize(properties.getDefaultListBatchSize());
+        builder.setFetchingCoalescingWindow(properties.getFetchingCoalescingWindow());
+        builder.setQueryPlanCacheSize(properties.getQueryPlanCacheSize());
         builder.setInListPaddingEnabled(properties.isInListPaddingEnabled());
         builder.setExpandedInListPaddingEnabled(properties.isExpandedInListPaddingEnabled());
+        builder.setLargeInListThreshold(properties.getLargeInListThreshold());
         builder.setDissociationLogicalDeleteEnabled(properties.isDissociationLogicalDeleteEnabled());
         builder.setOffsetOptimizingThreshold(properties.getOffsetOptimizingThreshold());
         builder.setReverseSortOptimizationEnabled(properties.isReverseSortOptimizationEnabled());
@@ -179,6 +187,7 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         builder.setDumbBatchAcceptable(properties.isDumbBatchAcceptable());
         builder.setConstraintViolationTranslatable(properties.isConstraintViolationTranslatable());
         builder.setExecutorContextPrefixes(properties.getExecutorContextPrefixes());
+        builder.setExecutorContextCaptureMode(properties.getExecutorContextCaptureMode());
         if (properties.isShowSql()) {
             builder.setExecutor(Executor.log(executor));
         } else {
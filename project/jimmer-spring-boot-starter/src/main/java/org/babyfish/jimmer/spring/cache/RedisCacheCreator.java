@@ -7,7 +7,6 @@ import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheCreator;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineHashBinder;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder;
-import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
 import org.babyfish.jimmer.sql.cache.chain.LoadingBinder;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheCreator;
@@ -31,7 +30,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
 
     @Override
     public <K, V> Cache<K, V> createForObject(ImmutableType type) {
-        return new ChainCacheBuilder<K, V>()
+        return this.<K, V>chainCacheBuilder()
                 .add(caffeineValueBinder(type))
                 .add(redisValueBinder(type))
                 .build();
@@ -40,12 +39,12 @@ public class RedisCacheCreator extends AbstractCacheCreator {
     @Override
     public <K, V> Cache<K, V> createForProp(ImmutableProp prop, boolean multiView) {
         if (multiView) {
-            return new ChainCacheBuilder<K, V>()
+            return this.<K, V>chainCacheBuilder()
                     .add(caffeineHashBinder(prop))
                     .add(redisHashBinder(prop))
                     .build();
         }
-        return new ChainCacheBuilder<K, V>()
+        return this.<K, V>chainCacheBuilder()
                 .add(caffeineValueBinder(prop))
                 .add(redisValueBinder(prop))
                 .build();
@@ -71,6 +70,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .nearCache(args.nearCache)
                 .build();
     }
 
@@ -84,6 +84,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .nearCache(args.nearCache)
                 .build();
     }
 
@@ -108,6 +109,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .versioned(args.versionDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -125,6 +127,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .versioned(args.versionDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -8,6 +8,7 @@ import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
 import org.babyfish.jimmer.sql.runtime.DatabaseValidationMode;
+import org.babyfish.jimmer.sql.runtime.ExecutorContextCaptureMode;
 import org.babyfish.jimmer.sql.runtime.IdOnlyTargetCheckingLevel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -60,10 +61,16 @@ public class JimmerProperties {
 
     private final int defaultListBatchSize;
 
+    private final int fetchingCoalescingWindow;
+
+    private final int queryPlanCacheSize;
+
     private final boolean inListPaddingEnabled;
 
     private final boolean expandedInListPaddingEnabled;
 
+    private final int largeInListThreshold;
+
     private final boolean dissociationLogicalDeleteEnabled;
 
     private final int offsetOptimizingThreshold;
@@ -86,6 +93,9 @@ public class JimmerProperties {
 
     private final Collection<String> executorContextPrefixes;
 
+    @NotNull
+    private final ExecutorContextCaptureMode executorContextCaptureMode;
+
     @NotNull
     private final String microServiceName;
 
@@ -113,8 +123,11 @@ public class JimmerProperties {
             @Nullable String defaultSchema,
             @Nullable Integer defaultBatchSize,
             @Nullable Integer defaultListBatchSize,
+            @Nullable Integer fetchingCoalescingWindow,
+            @Nullable Integer queryPlanCacheSize,
             boolean inListPaddingEnabled,
             boolean expandedInListPaddingEnabled,
+            @Nullable Integer largeInListThreshold,
             boolean dissociationLogicalDeleteEnabled,
             @Nullable Integer offsetOptimizingThreshold,
             boolean reverseSortOptimizationEnabled,
@@ -126,6 +139,7 @@ public class JimmerProperties {
             boolean dumbBatchAcceptable,
             Boolean constraintViolationTranslatable, // Default value is true, so use `Boolean`
             @Nullable Collection<String> executorContextPrefixes,
+            @Nullable ExecutorContextCaptureMode executorContextCaptureMode,
             @Nullable String microServiceName,
             @Nullable ErrorTranslator errorTranslator,
             @Nullable Client client) {
@@ -233,8 +247,20 @@ public class JimmerProperties {
                 defaultListBatchSize != null ?
                         defaultListBatchSize :
                         JSqlClient.Builder.DEFAULT_LIST_BATCH_SIZE;
+        this.fetchingCoalescingWindow =
+                fetchingCoalescingWindow != null ?
+                        fetchingCoalescingWindow :
+                        0;
+        this.queryPlanCacheSize =
+                queryPlanCacheSize != null ?
+                        queryPlanCacheSize :
+                        0;
         this.inListPaddingEnabled = inListPaddingEnabled;
         this.expandedInListPaddingEnabled = expandedInListPaddingEnabled;
+        this.largeInListThreshold =
+                largeInListThreshold != null ?
+                        largeInListThreshold :
+                        0;
         this.dissociationLogicalDeleteEnabled = dissociationLogicalDeleteEnabled;
         this.offsetOptimizingThreshold =
                 offsetOptimizingThreshold != null ?
@@ -258,6 +284,10 @@ public class JimmerProperties {
                         constraintViolationTranslatable :
                         true;
         this.executorContextPrefixes = executorContextPrefixes;
+        this.executorContextCaptureMode =
+                executorContextCaptureMode != null ?
+                        executorContextCaptureMode :
+                        ExecutorContextCaptureMode.STACK_TRACE;
         this.microServiceName =
                 microServiceName != null ?
                         microServiceName :
@@ -341,6 +371,25 @@ public class JimmerProperties {
         return defaultListBatchSize;
     }
 
+    /**
+     * The window(in milliseconds) to coalesce the association loading
+     * of object fetchers across concurrent requests, 0 means disabled.
+     *
+     * Please only enable it for read-mostly applications, because
+     * the coalesced result may be read by the connection of another request.
+     */
+    public int getFetchingCoalescingWindow() {
+        return fetchingCoalescingWindow;
+    }
+
+    /**
+     * The max count of query plans(reader pipelines of query shapes)
+     * cached by the sql client, 0 means disabled.
+     */
+    public int getQueryPlanCacheSize() {
+        return queryPlanCacheSize;
+    }
+
     public boolean isInListPaddingEnabled() {
         return inListPaddingEnabled;
     }
@@ -349,6 +398,15 @@ public class JimmerProperties {
         return expandedInListPaddingEnabled;
     }
 
+    /**
+     * If the count of values of an `in` predicate is greater than
+     * this threshold, multi-column values are rendered as `unnest` arrays
+     * if the dialect supports it, 0 means disabled.
+     */
+    public int getLargeInListThreshold() {
+        return largeInListThreshold;
+    }
+
     public boolean isDissociationLogicalDeleteEnabled() {
         return dissociationLogicalDeleteEnabled;
     }
@@ -449,6 +507,19 @@ public class JimmerProperties {
         return executorContextPrefixes;
     }
 
+    /**
+     * How to capture the call frames matched by `executorContextPrefixes`,
+     * the default value is `STACK_TRACE`.
+     *
+     * Capturing the whole stack trace for each statement is expensive,
+     * `STACK_WALKER` only walks to the nearest business call frame
+     * and caches it by call site.
+     */
+    @NotNull
+    public ExecutorContextCaptureMode getExecutorContextCaptureMode() {
+        return executorContextCaptureMode;
+    }
+
     @NotNull
     public String getMicroServiceName() {
         return microServiceName;
@@ -483,8 +554,11 @@ public class JimmerProperties {
                 ", defaultSchema='" + defaultSchema + '\'' +
                 ", defaultBatchSize=" + defaultBatchSize +
                 ", defaultListBatchSize=" + defaultListBatchSize +
+                ", fetchingCoalescingWindow=" + fetchingCoalescingWindow +
+                ", queryPlanCacheSize=" + queryPlanCacheSize +
                 ", inListPaddingEnabled=" + inListPaddingEnabled +
                 ", expandedInListPaddingEnabled=" + expandedInListPaddingEnabled +
+                ", largeInListThreshold=" + largeInListThreshold +
                 ", dissociationLogicalDeleteEnabled=" + dissociationLogicalDeleteEnabled +
                 ", offsetOptimizingThreshold=" + offsetOptimizingThreshold +
                 ", reverseSortOptimizationEnabled=" + reverseSortOptimizationEnabled +
@@ -496,6 +570,7 @@ public class JimmerProperties {
                 ", dumbBatchAcceptable=" + dumbBatchAcceptable +
                 ", constraintViolationTranslatable=" + constraintViolationTranslatable +
                 ", executorContextPrefixes=" + executorContextPrefixes +
+                ", executorContextCaptureMode=" + executorContextCaptureMode +
                 ", microServiceName='" + microServiceName + '\'' +
                 ", errorTranslator=" + errorTranslator +
                 ", client=" + client +
@@ -9,6 +9,7 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -74,6 +75,14 @@ public class SpringConnectionManager implements DataSourceAwareConnectionManager
         return result;
     }
 
+    @Override
+    public boolean isTransactionActive() {
+        // `DataSourceUtils` reuses the connection bound to the current thread,
+        // even if it is bound by transaction synchronization without actual transaction
+        return TransactionSynchronizationManager.isActualTransactionActive() ||
+                TransactionSynchronizationManager.hasResource(dataSource);
+    }
+
     private DataSourceTransactionManager transactionManager() {
         Object obj = transactionManagerObject();
         if (obj instanceof RuntimeException) {
@@ -0,0 +1,105 @@
+package org.babyfish.jimmer.spring.client;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the rendered client artifacts of a download controller by `groups`.
+ *
+ * <p>The metadata of client API is parsed from classpath resources which never change
+ * at runtime, so each artifact is rendered only once and then served with a strong ETag,
+ * `If-None-Match` requests are answered by `304 Not Modified` without rendering.</p>
+ */
+class ClientArtifactCache {
+
+    private static final int MAX_SIZE = 32;
+
+    private final Map<String, Artifact> artifactMap =
+            new LinkedHashMap<String, Artifact>(16, .75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Artifact> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            };
+
+    ResponseEntity<StreamingResponseBody> response(
+            @Nullable String groups,
+            WebRequest request,
+            String contentType,
+            Renderer renderer
+    ) {
+        Artifact artifact = get(groups, renderer);
+        // Sets the `ETag` header, or the `304` status if the `If-None-Match` header matches
+        if (request.checkNotModified(artifact.eTag)) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Type", contentType);
+        byte[] content = artifact.content;
+        StreamingResponseBody body = out -> out.write(content);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private Artifact get(@Nullable String groups, Renderer renderer) {
+        String key = groups != null ? groups.trim() : "";
+        Artifact artifact;
+        synchronized (artifactMap) {
+            artifact = artifactMap.get(key);
+        }
+        if (artifact != null) {
+            return artifact;
+        }
+        // Render outside the lock, concurrent renderings of the same key produce the same content
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            renderer.render(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        artifact = new Artifact(out.toByteArray());
+        synchronized (artifactMap) {
+            Artifact existing = artifactMap.putIfAbsent(key, artifact);
+            return existing != null ? existing : artifact;
+        }
+    }
+
+    @FunctionalInterface
+    interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private static class Artifact {
+
+        final byte[] content;
+
+        final String eTag;
+
+        Artifact(byte[] content) {
+            this.content = content;
+            this.eTag = '"' + digest(content) + '"';
+        }
+
+        private static String digest(byte[] content) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new AssertionError("SHA-256 is not supported", ex);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(content));
+        }
+    }
+}
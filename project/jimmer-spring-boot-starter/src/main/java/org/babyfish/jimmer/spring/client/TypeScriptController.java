@@ -3,10 +3,10 @@ package org.babyfish.jimmer.spring.client;
 import org.babyfish.jimmer.client.generator.ts.TypeScriptContext;
 import org.babyfish.jimmer.client.runtime.Metadata;
 import org.babyfish.jimmer.spring.cfg.JimmerProperties;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Controller
@@ -14,31 +14,33 @@ public class TypeScriptController {
 
     private final JimmerProperties properties;
 
+    private final ClientArtifactCache cache = new ClientArtifactCache();
+
     public TypeScriptController(JimmerProperties properties) {
         this.properties = properties;
     }
 
     @GetMapping("${jimmer.client.ts.path}")
     public ResponseEntity<StreamingResponseBody> download(
-            @RequestParam(name = "groups", required = false) String groups
+            @RequestParam(name = "groups", required = false) String groups,
+            WebRequest request
     ) {
-        JimmerProperties.Client.TypeScript ts = properties.getClient().getTs();
-        Metadata metadata = Metadatas.create(
-                true,
-                groups,
-                properties.getClient().getUriPrefix()
-        );
-        TypeScriptContext ctx = new TypeScriptContext(
-                metadata,
-                ts.getIndent(),
-                ts.isMutable(),
-                ts.getApiName(),
-                ts.getNullRenderMode(),
-                ts.isEnumTsStyle()
-        );
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Type", "application/zip");
-        StreamingResponseBody body = ctx::renderAll;
-        return ResponseEntity.ok().headers(headers).body(body);
+        return cache.response(groups, request, "application/zip", out -> {
+            JimmerProperties.Client.TypeScript ts = properties.getClient().getTs();
+            Metadata metadata = Metadatas.create(
+                    true,
+                    groups,
+                    properties.getClient().getUriPrefix()
+            );
+            TypeScriptContext ctx = new TypeScriptContext(
+                    metadata,
+                    ts.getIndent(),
+                    ts.isMutable(),
+                    ts.getApiName(),
+                    ts.getNullRenderMode(),
+                    ts.isEnumTsStyle()
+            );
+            ctx.renderAll(out);
+        });
     }
 }
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.spring.repo;
 
 import org.babyfish.jimmer.Input;
 import org.babyfish.jimmer.Page;
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.Slice;
 import org.babyfish.jimmer.View;
 import org.babyfish.jimmer.impl.util.CollectionUtils;
@@ -96,6 +97,62 @@ public interface JavaRepository<E, ID> {
             TypedProp.Scalar<?, ?> ... sortedProps
     );
 
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * <p>The id is appended as the last sort key automatically if it is not,
+     * so that the sort keys are always unique.</p>
+     *
+     * @param cursor The previous/next cursor of another slice,
+     *               null means finding the head slice
+     */
+    default KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, TypedProp.Scalar<?, ?> ... sortedProps) {
+        return findKeysetSlice(limit, cursor, (Fetcher<E>) null, sortedProps);
+    }
+
+    @NotNull KeysetSlice<E> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            @Nullable Fetcher<E> fetcher,
+            TypedProp.Scalar<?, ?> ... sortedProps
+    );
+
+    @NotNull <V extends View<E>> KeysetSlice<V> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            Class<V> viewType,
+            TypedProp.Scalar<?, ?> ... sortedProps
+    );
+
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * @param pageParam The page param created by {@link PageParam#byCursor(String, int)},
+     *                  or the first page param created by index or number
+     */
+    @NotNull
+    default KeysetSlice<E> findKeysetSlice(PageParam pageParam, TypedProp.Scalar<?, ?> ... sortedProps) {
+        return findKeysetSlice(pageParam, (Fetcher<E>) null, sortedProps);
+    }
+
+    @NotNull
+    default KeysetSlice<E> findKeysetSlice(
+            PageParam pageParam,
+            @Nullable Fetcher<E> fetcher,
+            TypedProp.Scalar<?, ?> ... sortedProps
+    ) {
+        return findKeysetSlice(pageParam.getSize(), pageParam.getCursor(), fetcher, sortedProps);
+    }
+
+    @NotNull
+    default <V extends View<E>> KeysetSlice<V> findKeysetSlice(
+            PageParam pageParam,
+            Class<V> viewType,
+            TypedProp.Scalar<?, ?> ... sortedProps
+    ) {
+        return findKeysetSlice(pageParam.getSize(), pageParam.getCursor(), viewType, sortedProps);
+    }
+
     @NotNull
     SimpleEntitySaveCommand<E> saveCommand(@NotNull E entity);
 
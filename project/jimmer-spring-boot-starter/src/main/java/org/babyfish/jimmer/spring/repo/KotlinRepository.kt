@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.spring.repo
 
 import org.babyfish.jimmer.Input
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.Page
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.View
@@ -88,6 +89,55 @@ interface KotlinRepository<E: Any, ID: Any> {
         block: (SortDsl<E>.() -> Unit)? = null
     ): Slice<V>
 
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * The id is appended as the last sort key automatically if it is not,
+     * so that the sort keys are always unique.
+     *
+     * @param cursor The previous/next cursor of another slice,
+     * null means finding the head slice
+     */
+    fun findKeysetSlice(limit: Int, cursor: String?, block: (SortDsl<E>.() -> Unit)? = null): KeysetSlice<E> =
+        findKeysetSlice(limit, cursor, null as Fetcher<E>?, block)
+
+    fun findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        fetcher: Fetcher<E>?,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<E>
+
+    fun <V : View<E>> findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        viewType: KClass<V>,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<V>
+
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * @param pageParam The page param created by [PageParam.byCursor],
+     * or the first page param created by index or number
+     */
+    fun findKeysetSlice(pageParam: PageParam, block: (SortDsl<E>.() -> Unit)? = null): KeysetSlice<E> =
+        findKeysetSlice(pageParam.size, pageParam.cursor, null as Fetcher<E>?, block)
+
+    fun findKeysetSlice(
+        pageParam: PageParam,
+        fetcher: Fetcher<E>?,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<E> =
+        findKeysetSlice(pageParam.size, pageParam.cursor, fetcher, block)
+
+    fun <V : View<E>> findKeysetSlice(
+        pageParam: PageParam,
+        viewType: KClass<V>,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<V> =
+        findKeysetSlice(pageParam.size, pageParam.cursor, viewType, block)
+
     fun saveCommand(
         entity: E,
         block: (KSaveCommandDsl.() -> Unit) ?= null
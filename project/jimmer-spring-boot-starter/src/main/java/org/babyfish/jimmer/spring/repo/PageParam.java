@@ -1,14 +1,25 @@
 package org.babyfish.jimmer.spring.repo;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
 public class PageParam {
 
     private final int index;
 
     private final int size;
 
-    private PageParam(int index, int size) {
+    private final boolean keyset;
+
+    @Nullable
+    private final String cursor;
+
+    private PageParam(int index, int size, boolean keyset, @Nullable String cursor) {
         this.index = index;
         this.size = size;
+        this.keyset = keyset;
+        this.cursor = cursor;
     }
 
     /**
@@ -24,7 +35,7 @@ public class PageParam {
         if (size < 1) {
             throw new IllegalArgumentException("size must be positive");
         }
-        return new PageParam(index, size);
+        return new PageParam(index, size, false, null);
     }
 
     /**
@@ -40,10 +51,33 @@ public class PageParam {
         if (size < 1) {
             throw new IllegalArgumentException("size must be positive");
         }
-        return new PageParam(no - 1, size);
+        return new PageParam(no - 1, size, false, null);
+    }
+
+    /**
+     * Construct page param of keyset(seek) pagination by cursor and page size,
+     * it can only be used by {@code findKeysetSlice}
+     * @param cursor The previous/next cursor of another slice,
+     *               null means the head slice
+     * @param size Must be greater than 0
+     * @return A new page param object
+     */
+    public static PageParam byCursor(@Nullable String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return new PageParam(0, size, true, cursor);
     }
 
+    /**
+     * @exception IllegalStateException The page param is created by {@link #byCursor(String, int)}
+     */
     public int getIndex() {
+        if (keyset) {
+            throw new IllegalStateException(
+                    "The page param created by cursor has no index, it can only be used by keyset pagination"
+            );
+        }
         return index;
     }
 
@@ -51,6 +85,26 @@ public class PageParam {
         return size;
     }
 
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * @return The cursor of keyset pagination, null means the head slice.
+     * @exception IllegalStateException The page param is created by index
+     * or number but it is not the first page
+     */
+    @Nullable
+    public String getCursor() {
+        if (!keyset && index != 0) {
+            throw new IllegalStateException(
+                    "The page param created by index or number cannot be used by keyset pagination " +
+                            "unless it is the first page"
+            );
+        }
+        return cursor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -59,18 +113,28 @@ public class PageParam {
         PageParam pageParam = (PageParam) o;
 
         if (index != pageParam.index) return false;
-        return size == pageParam.size;
+        if (size != pageParam.size) return false;
+        if (keyset != pageParam.keyset) return false;
+        return Objects.equals(cursor, pageParam.cursor);
     }
 
     @Override
     public int hashCode() {
         int result = index;
         result = 31 * result + size;
+        result = 31 * result + (keyset ? 1 : 0);
+        result = 31 * result + Objects.hashCode(cursor);
         return result;
     }
 
     @Override
     public String toString() {
+        if (keyset) {
+            return "PageParam{" +
+                    "cursor=" + cursor +
+                    ", size=" + size +
+                    '}';
+        }
         return "PageParam{" +
                 "index=" + index +
                 ", size=" + size +
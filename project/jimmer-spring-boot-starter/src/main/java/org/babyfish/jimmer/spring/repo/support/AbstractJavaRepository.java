@@ -1,9 +1,11 @@
 package org.babyfish.jimmer.spring.repo.support;
 
 import org.babyfish.jimmer.Input;
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.Page;
 import org.babyfish.jimmer.Slice;
 import org.babyfish.jimmer.View;
+import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TypedProp;
@@ -172,6 +174,36 @@ public class AbstractJavaRepository<E, ID> implements JavaRepository<E, ID> {
         return query.fetchSlice(limit, offset);
     }
 
+    @NotNull
+    @Override
+    public KeysetSlice<E> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            @Nullable Fetcher<E> fetcher,
+            TypedProp.Scalar<?, ?>... sortedProps
+    ) {
+        ConfigurableRootQuery<?, E> query = createQuery(fetcher, null, sortedProps, true);
+        return query.fetchKeysetSlice(limit, cursor);
+    }
+
+    @NotNull
+    @Override
+    public <V extends View<E>> KeysetSlice<V> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            Class<V> viewType,
+            TypedProp.Scalar<?, ?>... sortedProps
+    ) {
+        DtoMetadata<E, V> metadata = DtoMetadata.of(viewType);
+        ConfigurableRootQuery<?, V> query = createQuery(
+                metadata.getFetcher(),
+                metadata.getConverter(),
+                sortedProps,
+                true
+        );
+        return query.fetchKeysetSlice(limit, cursor);
+    }
+
     @NotNull
     @Override
     public SimpleEntitySaveCommand<E> saveCommand(@NotNull E entity) {
@@ -200,11 +232,24 @@ public class AbstractJavaRepository<E, ID> implements JavaRepository<E, ID> {
         return sql.deleteByIds(entityType, ids, deleteMode).getAffectedRowCount(entityType);
     }
 
-    @SuppressWarnings("unchecked")
     private <X> ConfigurableRootQuery<?, X> createQuery(
             Fetcher<?> fetcher,
             @Nullable Function<?, X> converter,
             @Nullable TypedProp.Scalar<?, ?>[] sortedProps
+    ) {
+        return createQuery(fetcher, converter, sortedProps, false);
+    }
+
+    /**
+     * @param uniqueSorting Append the id as the last sort key if it is not,
+     *                      required by keyset pagination
+     */
+    @SuppressWarnings("unchecked")
+    private <X> ConfigurableRootQuery<?, X> createQuery(
+            Fetcher<?> fetcher,
+            @Nullable Function<?, X> converter,
+            @Nullable TypedProp.Scalar<?, ?>[] sortedProps,
+            boolean uniqueSorting
     ) {
         MutableRootQueryImpl<Table<?>> query =
                 new MutableRootQueryImpl<>(
@@ -241,6 +286,14 @@ public class AbstractJavaRepository<E, ID> implements JavaRepository<E, ID> {
                 query.orderBy(astOrder);
             }
         }
+        if (uniqueSorting) {
+            ImmutableProp idProp = type.getIdProp();
+            if (sortedProps == null ||
+                    sortedProps.length == 0 ||
+                    !sortedProps[sortedProps.length - 1].unwrap().getName().equals(idProp.getName())) {
+                query.orderBy(table.get(idProp).asc());
+            }
+        }
         return query.select(
                 fetcher != null ?
                         new FetcherSelectionImpl<>(table, fetcher, converter) :
@@ -1,14 +1,17 @@
 package org.babyfish.jimmer.spring.repo.support
 
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.Page
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.View
 import org.babyfish.jimmer.meta.ImmutableType
+import org.babyfish.jimmer.meta.NullOrderMode
 import org.babyfish.jimmer.runtime.ImmutableSpi
 import org.babyfish.jimmer.spring.repo.KotlinRepository
 import org.babyfish.jimmer.spring.repo.PageParam
 import org.babyfish.jimmer.spring.repository.orderBy
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode
+import org.babyfish.jimmer.sql.ast.query.OrderMode
 import org.babyfish.jimmer.sql.fetcher.DtoMetadata
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import org.babyfish.jimmer.sql.kt.KSqlClient
@@ -133,6 +136,44 @@ abstract class AbstractKotlinRepository<E: Any, ID: Any>(
             select(table.fetch(viewType))
         }.fetchSlice(limit, offset)
 
+    override fun findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        fetcher: Fetcher<E>?,
+        block: (SortDsl<E>.() -> Unit)?
+    ): KeysetSlice<E> =
+        sql.createQuery(entityType) {
+            orderBy(uniqueSorting(block))
+            select(table.fetch(fetcher))
+        }.fetchKeysetSlice(limit, cursor)
+
+    override fun <V : View<E>> findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        viewType: KClass<V>,
+        block: (SortDsl<E>.() -> Unit)?
+    ): KeysetSlice<V> =
+        sql.createQuery(entityType) {
+            orderBy(uniqueSorting(block))
+            select(table.fetch(viewType))
+        }.fetchKeysetSlice(limit, cursor)
+
+    /**
+     * Append the id as the last sort key if it is not,
+     * required by keyset pagination
+     */
+    private fun uniqueSorting(block: (SortDsl<E>.() -> Unit)?): SortDsl<E>.() -> Unit {
+        val orders = mutableListOf<SortDsl.Order>()
+        block?.invoke(SortDsl(orders))
+        val idProp = immutableType.idProp
+        if (orders.lastOrNull()?.prop?.name != idProp.name) {
+            orders += SortDsl.Order(idProp, OrderMode.ASC, NullOrderMode.UNSPECIFIED)
+        }
+        return {
+            this += orders
+        }
+    }
+
     override fun saveCommand(
         entity: E,
         block: (KSaveCommandDsl.() -> Unit)?
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.repository;
 
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.View;
 import org.babyfish.jimmer.impl.util.CollectionUtils;
 import org.babyfish.jimmer.meta.ImmutableType;
@@ -9,6 +10,7 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -104,6 +106,28 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
     
     Page<E> findAll(Pageable pageable, Fetcher<E> fetcher);
 
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * <p>The id is appended as the last sort key automatically if it is not,
+     * so that the sort keys are always unique.</p>
+     *
+     * @param cursor The previous/next cursor of another slice,
+     *               null means finding the head slice
+     */
+    KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, TypedProp.Scalar<?, ?> ... sortedProps);
+
+    KeysetSlice<E> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            Fetcher<E> fetcher,
+            TypedProp.Scalar<?, ?> ... sortedProps
+    );
+
+    KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, Sort sort);
+
+    KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, Fetcher<E> fetcher, Sort sort);
+
     @Override
     default boolean existsById(@NotNull ID id) {
         return findNullable(id) != null;
@@ -1053,5 +1077,9 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
         Page<V> findAll(int pageIndex, int pageSize, TypedProp.Scalar<?, ?> ... sortedProps);
 
         Page<V> findAll(int pageIndex, int pageSize, Sort sort);
+
+        KeysetSlice<V> findKeysetSlice(int limit, @Nullable String cursor, TypedProp.Scalar<?, ?> ... sortedProps);
+
+        KeysetSlice<V> findKeysetSlice(int limit, @Nullable String cursor, Sort sort);
     }
 }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.spring.repository
 
 import org.babyfish.jimmer.Input
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.View
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.ast.mutation.AssociatedSaveMode
@@ -75,6 +76,29 @@ interface KRepository<E: Any, ID: Any> : PagingAndSortingRepository<E, ID> {
 
     fun findAll(pageable: Pageable, fetcher: Fetcher<E>? = null): Page<E>
 
+    /**
+     * Find a slice by keyset(seek) pagination.
+     *
+     * The id is appended as the last sort key automatically if it is not,
+     * so that the sort keys are always unique.
+     *
+     * @param cursor The previous/next cursor of another slice,
+     * null means finding the head slice
+     */
+    fun findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        fetcher: Fetcher<E>? = null,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<E>
+
+    fun findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        fetcher: Fetcher<E>? = null,
+        sort: Sort
+    ): KeysetSlice<E>
+
     override fun existsById(id: ID): Boolean =
         findNullable(id) != null
 
@@ -636,5 +660,9 @@ interface KRepository<E: Any, ID: Any> : PagingAndSortingRepository<E, ID> {
         fun findAll(pageIndex: Int, pageSize: Int, block: (SortDsl<E>.() -> Unit)): Page<V>
 
         fun findAll(pageIndex: Int, pageSize: Int, sort: Sort): Page<V>
+
+        fun findKeysetSlice(limit: Int, cursor: String?, block: (SortDsl<E>.() -> Unit)? = null): KeysetSlice<V>
+
+        fun findKeysetSlice(limit: Int, cursor: String?, sort: Sort): KeysetSlice<V>
     }
 }
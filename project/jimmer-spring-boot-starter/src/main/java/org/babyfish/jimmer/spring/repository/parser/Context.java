@@ -1,35 +1,133 @@
 package org.babyfish.jimmer.spring.repository.parser;
 
+import org.babyfish.jimmer.impl.repository.QueryParser;
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.sql.ast.LikeMode;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
 
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * The method names are parsed by the {@link QueryParser} shared with
+ * the annotation processor and the kotlin symbol processor, this class
+ * converts the parsed results to the classes of this package.
+ */
 public class Context {
 
-    private static final Comparator<ImmutableProp> NAME_LEN_DESC_COMPARATOR =
-            Comparator
-                    .comparing((ImmutableProp prop) -> prop.getName().length())
-                    .reversed();
-    
-    private Map<ImmutableType, List<ImmutableProp>> orderedPropMap =
-            new HashMap<>();
+    private final Parser parser = new Parser();
 
-    public List<ImmutableProp> getOrderedProps(ImmutableType type) {
-        return orderedPropMap.computeIfAbsent(type, this::createOrderedProps);
+    Query parseQuery(Source source, ImmutableType type, boolean allowProjection) {
+        org.babyfish.jimmer.impl.repository.Query<ImmutableProp> query =
+                parser.parse(source, type, allowProjection);
+        List<Query.Order> orders = new ArrayList<>(query.getOrders().size());
+        for (org.babyfish.jimmer.impl.repository.Query.Order<ImmutableProp> order : query.getOrders()) {
+            orders.add(
+                    new Query.Order(
+                            path(order.getPath()),
+                            order.isDesc() ? OrderMode.DESC : OrderMode.ASC
+                    )
+            );
+        }
+        return new Query(
+                Query.Action.valueOf(query.getAction().name()),
+                query.getLimit(),
+                query.isDistinct(),
+                query.getSelectedPath() != null ? path(query.getSelectedPath()) : null,
+                query.getPredicate() != null ? predicate(query.getPredicate()) : null,
+                Collections.unmodifiableList(orders)
+        );
     }
-    
-    private List<ImmutableProp> createOrderedProps(ImmutableType type) {
-        return type
-                .getProps()
-                .values()
-                .stream()
-                .filter(it -> !it.isScalarList())
-                .sorted(NAME_LEN_DESC_COMPARATOR)
-                .collect(Collectors.toList());
+
+    Path parsePath(Source source, ImmutableType type, boolean allowCollection) {
+        return path(parser.parsePath(source, type, allowCollection));
+    }
+
+    PropPredicate parsePropPredicate(
+            Source source,
+            ImmutableType type,
+            boolean allowCollection,
+            boolean allIgnoreCase
+    ) {
+        return propPredicate(parser.parsePropPredicate(source, type, allowCollection, allIgnoreCase));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate predicate(org.babyfish.jimmer.impl.repository.Predicate predicate) {
+        if (predicate instanceof org.babyfish.jimmer.impl.repository.AndPredicate) {
+            List<Predicate> predicates = new ArrayList<>();
+            for (org.babyfish.jimmer.impl.repository.Predicate subPredicate :
+                    ((org.babyfish.jimmer.impl.repository.AndPredicate) predicate).getPredicates()) {
+                predicates.add(predicate(subPredicate));
+            }
+            return AndPredicate.of(predicates);
+        }
+        if (predicate instanceof org.babyfish.jimmer.impl.repository.OrPredicate) {
+            List<Predicate> predicates = new ArrayList<>();
+            for (org.babyfish.jimmer.impl.repository.Predicate subPredicate :
+                    ((org.babyfish.jimmer.impl.repository.OrPredicate) predicate).getPredicates()) {
+                predicates.add(predicate(subPredicate));
+            }
+            return OrPredicate.of(predicates);
+        }
+        return propPredicate((org.babyfish.jimmer.impl.repository.PropPredicate<ImmutableProp>) predicate);
+    }
+
+    private static PropPredicate propPredicate(
+            org.babyfish.jimmer.impl.repository.PropPredicate<ImmutableProp> predicate
+    ) {
+        return new PropPredicate.Unresolved(
+                path(predicate.getPath()),
+                PropPredicate.Op.valueOf(predicate.getOp().name()),
+                predicate.isInsensitive(),
+                LikeMode.valueOf(predicate.getLikeMode().name())
+        );
+    }
+
+    private static Path path(org.babyfish.jimmer.impl.repository.Path<ImmutableProp> path) {
+        return new Path(path.getSource(), path.getProps());
+    }
+
+    private static class Parser extends QueryParser<ImmutableType, ImmutableProp> {
+
+        @Override
+        protected Map<String, ImmutableProp> getProps(ImmutableType type) {
+            return type.getProps();
+        }
+
+        @Override
+        protected String getName(ImmutableProp prop) {
+            return prop.getName();
+        }
+
+        @Override
+        protected boolean isQueryable(ImmutableProp prop) {
+            return !prop.isScalarList();
+        }
+
+        @Override
+        protected boolean isReferenceList(ImmutableProp prop) {
+            return prop.isReferenceList(TargetLevel.PERSISTENT);
+        }
+
+        @Override
+        protected boolean isScalar(ImmutableProp prop) {
+            return prop.isScalar(TargetLevel.PERSISTENT);
+        }
+
+        @Override
+        protected ImmutableType getTargetType(ImmutableProp prop) {
+            return prop.getTargetType();
+        }
+
+        @Override
+        protected String getTypeName(ImmutableType type) {
+            return type.toString();
+        }
     }
 }
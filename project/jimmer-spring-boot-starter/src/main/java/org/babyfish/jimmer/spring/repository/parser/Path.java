@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.repository.parser;
 
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
@@ -14,7 +15,7 @@ public class Path {
     private final List<ImmutableProp> props;
 
     public static Path of(Context ctx, boolean allowCollection, Source source, ImmutableType type) {
-        return new PathParser(ctx, allowCollection).parse(source, type);
+        return ctx.parsePath(source, type, allowCollection);
     }
 
     public Path(Source source, List<ImmutableProp> props) {
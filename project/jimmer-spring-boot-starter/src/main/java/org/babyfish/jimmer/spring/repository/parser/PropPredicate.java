@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.repository.parser;
 
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.ast.LikeMode;
 
@@ -14,7 +15,7 @@ public abstract class PropPredicate implements Predicate {
     protected final LikeMode likeMode;
 
     public static PropPredicate of(Context ctx, boolean allowCollection, boolean allIgnoreCase, Source source, ImmutableType type) {
-        return new PropPredicateParser(ctx, allowCollection, allIgnoreCase).parse(source, type);
+        return ctx.parsePropPredicate(source, type, allowCollection, allIgnoreCase);
     }
 
     public PropPredicate(
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.repository.parser;
 
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.ast.query.OrderMode;
 
@@ -81,11 +82,11 @@ public class Query {
     }
 
     public static Query of(Context ctx, Source source, ImmutableType type) {
-        return new QueryParser(ctx, type).parse(source, true);
+        return ctx.parseQuery(source, type, true);
     }
 
     public static Query of(Context ctx, Source source, ImmutableType type, boolean allowProjection) {
-        return new QueryParser(ctx, type).parse(source, allowProjection);
+        return ctx.parseQuery(source, type, allowProjection);
     }
 
     public enum Action {
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.spring.repository.parser;
 import kotlin.reflect.KClass;
 import org.babyfish.jimmer.Specification;
 import org.babyfish.jimmer.View;
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.impl.util.Classes;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
@@ -2,7 +2,9 @@ package org.babyfish.jimmer.spring.repository.support;
 
 import org.babyfish.jimmer.ImmutableObjects;
 import org.babyfish.jimmer.Input;
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.View;
+import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.spring.repository.JRepository;
@@ -207,6 +209,35 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
                 .fetchPage(pageable.getPageNumber(), pageable.getPageSize(), SpringPageFactory.getInstance());
     }
 
+    @Override
+    public KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, TypedProp.Scalar<?, ?>... sortedProps) {
+        return this.<E>createQuery(null, null, sortedProps, null, true)
+                .fetchKeysetSlice(limit, cursor);
+    }
+
+    @Override
+    public KeysetSlice<E> findKeysetSlice(
+            int limit,
+            @Nullable String cursor,
+            Fetcher<E> fetcher,
+            TypedProp.Scalar<?, ?>... sortedProps
+    ) {
+        return this.<E>createQuery(fetcher, null, sortedProps, null, true)
+                .fetchKeysetSlice(limit, cursor);
+    }
+
+    @Override
+    public KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, Sort sort) {
+        return this.<E>createQuery(null, null, null, sort, true)
+                .fetchKeysetSlice(limit, cursor);
+    }
+
+    @Override
+    public KeysetSlice<E> findKeysetSlice(int limit, @Nullable String cursor, Fetcher<E> fetcher, Sort sort) {
+        return this.<E>createQuery(fetcher, null, null, sort, true)
+                .fetchKeysetSlice(limit, cursor);
+    }
+
     @Override
     public long count() {
         return createQuery(null, null, null, null).fetchUnlimitedCount();
@@ -268,12 +299,26 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
         return new ViewerImpl<>(viewType);
     }
 
-    @SuppressWarnings("unchecked")
     private <X> ConfigurableRootQuery<?, X> createQuery(
             Fetcher<?> fetcher,
             @Nullable Function<?, X> converter,
             @Nullable TypedProp.Scalar<?, ?>[] sortedProps,
             @Nullable Sort sort
+    ) {
+        return createQuery(fetcher, converter, sortedProps, sort, false);
+    }
+
+    /**
+     * @param uniqueSorting Append the id as the last sort key if it is not,
+     *                      required by keyset pagination
+     */
+    @SuppressWarnings("unchecked")
+    private <X> ConfigurableRootQuery<?, X> createQuery(
+            Fetcher<?> fetcher,
+            @Nullable Function<?, X> converter,
+            @Nullable TypedProp.Scalar<?, ?>[] sortedProps,
+            @Nullable Sort sort,
+            boolean uniqueSorting
     ) {
         MutableRootQueryImpl<Table<?>> query =
                 new MutableRootQueryImpl<>(sqlClient, immutableType, ExecutionPurpose.QUERY, FilterLevel.DEFAULT);
@@ -308,6 +353,21 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
         if (sort != null) {
             query.orderBy(SpringOrders.toOrders(table, sort));
         }
+        if (uniqueSorting) {
+            ImmutableProp idProp = immutableType.getIdProp();
+            String lastSortedName = null;
+            if (sortedProps != null && sortedProps.length != 0) {
+                lastSortedName = sortedProps[sortedProps.length - 1].unwrap().getName();
+            }
+            if (sort != null) {
+                for (Sort.Order order : sort) {
+                    lastSortedName = order.getProperty();
+                }
+            }
+            if (!idProp.getName().equals(lastSortedName)) {
+                query.orderBy(table.get(idProp).asc());
+            }
+        }
         return query.select(
                 fetcher != null ?
                         new FetcherSelectionImpl<>(table, fetcher, converter) :
@@ -379,5 +439,17 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
             return createQuery(metadata.getFetcher(), metadata.getConverter(), null, sort)
                     .fetchPage(pageIndex, pageSize, SpringPageFactory.getInstance());
         }
+
+        @Override
+        public KeysetSlice<V> findKeysetSlice(int limit, @Nullable String cursor, TypedProp.Scalar<?, ?>... sortedProps) {
+            return createQuery(metadata.getFetcher(), metadata.getConverter(), sortedProps, null, true)
+                    .fetchKeysetSlice(limit, cursor);
+        }
+
+        @Override
+        public KeysetSlice<V> findKeysetSlice(int limit, @Nullable String cursor, Sort sort) {
+            return createQuery(metadata.getFetcher(), metadata.getConverter(), null, sort, true)
+                    .fetchKeysetSlice(limit, cursor);
+        }
     }
 }
@@ -19,6 +19,15 @@ import java.lang.reflect.UndeclaredThrowableException;
 
 public class JimmerRepositoryFactory extends RepositoryFactorySupport {
 
+    /**
+     * The suffix of the implementation classes generated by
+     * the annotation processor or the kotlin symbol processor,
+     * their derived query methods are implemented by typed DSL.
+     * If such class does not exist, the implementation class
+     * is generated by ASM at runtime.
+     */
+    private static final String DSL_IMPL_SUFFIX = "DslImpl";
+
     private final Object sqlClient;
 
     public JimmerRepositoryFactory(Object sqlClient) {
@@ -94,15 +103,9 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
             );
         }
 
-        Class<?> clazz = null;
-        try {
-            clazz = Class.forName(
-                    ClassCodeWriter.implementationClassName(repositoryInterface),
-                    true,
-                    repositoryInterface.getClassLoader()
-            );
-        } catch (ClassNotFoundException ex) {
-            // Do nothing
+        Class<?> clazz = loadClass(repositoryInterface.getName() + DSL_IMPL_SUFFIX, repositoryInterface);
+        if (clazz == null) {
+            clazz = loadClass(ClassCodeWriter.implementationClassName(repositoryInterface), repositoryInterface);
         }
         if (clazz == null) {
             ClassCodeWriter writer = jRepository ?
@@ -127,6 +130,15 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
         }
     }
 
+    private static Class<?> loadClass(String className, Class<?> repositoryInterface) {
+        try {
+            Class<?> clazz = Class.forName(className, true, repositoryInterface.getClassLoader());
+            return repositoryInterface.isAssignableFrom(clazz) ? clazz : null;
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+
     @NotNull
     @Override
     protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
@@ -2,10 +2,13 @@ package org.babyfish.jimmer.spring.repository.support
 
 import org.babyfish.jimmer.ImmutableObjects
 import org.babyfish.jimmer.Input
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.View
 import org.babyfish.jimmer.meta.ImmutableType
+import org.babyfish.jimmer.meta.NullOrderMode
 import org.babyfish.jimmer.spring.repository.*
 import org.babyfish.jimmer.sql.ast.mutation.*
+import org.babyfish.jimmer.sql.ast.query.OrderMode
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import org.babyfish.jimmer.sql.kt.KSqlClient
 import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchSaveResult
@@ -116,6 +119,23 @@ open class KRepositoryImpl<E: Any, ID: Any> (
             select(table.fetch(fetcher))
         }.fetchSpringPage(pageable)
 
+    override fun findKeysetSlice(
+        limit: Int,
+        cursor: String?,
+        fetcher: Fetcher<E>?,
+        block: (SortDsl<E>.() -> Unit)?
+    ): KeysetSlice<E> =
+        sql.createQuery(entityType) {
+            orderBy(uniqueSorting(block))
+            select(table.fetch(fetcher))
+        }.fetchKeysetSlice(limit, cursor)
+
+    override fun findKeysetSlice(limit: Int, cursor: String?, fetcher: Fetcher<E>?, sort: Sort): KeysetSlice<E> =
+        sql.createQuery(entityType) {
+            orderBy(uniqueSorting(sort))
+            select(table.fetch(fetcher))
+        }.fetchKeysetSlice(limit, cursor)
+
     override fun count(): Long =
         sql.createQuery(entityType) {
             select(org.babyfish.jimmer.sql.kt.ast.expression.count(table))
@@ -159,6 +179,31 @@ open class KRepositoryImpl<E: Any, ID: Any> (
     override fun <V : View<E>> viewer(viewType: KClass<V>): KRepository.Viewer<E, ID, V> =
         ViewerImpl(viewType)
 
+    /**
+     * Append the id as the last sort key if it is not,
+     * required by keyset pagination
+     */
+    private fun uniqueSorting(block: (SortDsl<E>.() -> Unit)?): SortDsl<E>.() -> Unit {
+        val orders = mutableListOf<SortDsl.Order>()
+        block?.invoke(SortDsl(orders))
+        val idProp = type.idProp
+        if (orders.lastOrNull()?.prop?.name != idProp.name) {
+            orders += SortDsl.Order(idProp, OrderMode.ASC, NullOrderMode.UNSPECIFIED)
+        }
+        return {
+            this += orders
+        }
+    }
+
+    private fun uniqueSorting(sort: Sort): Sort {
+        val idName = type.idProp.name
+        return if (sort.lastOrNull()?.property == idName) {
+            sort
+        } else {
+            sort.and(Sort.by(idName))
+        }
+    }
+
     private inner class ViewerImpl<V: View<E>>(
         private val viewType: KClass<V>
     ) : KRepository.Viewer<E, ID, V> {
@@ -209,5 +254,17 @@ open class KRepositoryImpl<E: Any, ID: Any> (
                 orderBy(block)
                 select(table.fetch(viewType))
             }.fetchSpringPage(pageIndex, pageSize)
+
+        override fun findKeysetSlice(limit: Int, cursor: String?, block: (SortDsl<E>.() -> Unit)?): KeysetSlice<V> =
+            sql.createQuery(entityType) {
+                orderBy(uniqueSorting(block))
+                select(table.fetch(viewType))
+            }.fetchKeysetSlice(limit, cursor)
+
+        override fun findKeysetSlice(limit: Int, cursor: String?, sort: Sort): KeysetSlice<V> =
+            sql.createQuery(entityType) {
+                orderBy(uniqueSorting(sort))
+                select(table.fetch(viewType))
+            }.fetchKeysetSlice(limit, cursor)
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.babyfish.jimmer.spring.client;
+
+import org.babyfish.jimmer.client.generator.ts.TypeScriptContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public class ClientArtifactCacheTest {
+
+    @Test
+    public void testRenderTwice() {
+        // Each cache renders the artifact by itself
+        String eTag1 = eTag(new ClientArtifactCache());
+        String eTag2 = eTag(new ClientArtifactCache());
+        Assertions.assertNotNull(eTag1);
+        Assertions.assertEquals(eTag1, eTag2);
+    }
+
+    private static String eTag(ClientArtifactCache cache) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<StreamingResponseBody> entity = cache.response(
+                null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/ts.zip"), response),
+                "application/zip",
+                out -> new TypeScriptContext(Metadatas.create(true, null, null)).renderAll(out)
+        );
+        Assertions.assertNotNull(entity);
+        return response.getHeader("ETag");
+    }
+}
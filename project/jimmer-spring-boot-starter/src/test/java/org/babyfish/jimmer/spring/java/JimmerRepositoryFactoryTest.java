@@ -0,0 +1,53 @@
+package org.babyfish.jimmer.spring.java;
+
+import org.babyfish.jimmer.spring.java.dal.BookRepository;
+import org.babyfish.jimmer.spring.java.dal.BookStoreRepository;
+import org.babyfish.jimmer.spring.java.model.Book;
+import org.babyfish.jimmer.spring.repository.JRepository;
+import org.babyfish.jimmer.spring.repository.bytecode.ClassCodeWriter;
+import org.babyfish.jimmer.spring.repository.support.JimmerRepositoryFactory;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+
+import java.util.List;
+import java.util.UUID;
+
+public class JimmerRepositoryFactoryTest {
+
+    private final JimmerRepositoryFactory factory =
+            new JimmerRepositoryFactory(JSqlClient.newBuilder().build());
+
+    @Test
+    public void testGeneratedImplementation() throws Exception {
+        // Generated by the annotation processor when the tests are compiled
+        Assertions.assertEquals(
+                BookRepository.class.getName() + "DslImpl",
+                target(factory.getRepository(BookRepository.class)).getClass().getName()
+        );
+        Assertions.assertEquals(
+                BookStoreRepository.class.getName() + "DslImpl",
+                target(factory.getRepository(BookStoreRepository.class)).getClass().getName()
+        );
+    }
+
+    @Test
+    public void testRuntimeImplementation() throws Exception {
+        // The annotation processor ignores nested interfaces,
+        // so the implementation is generated by ASM at runtime
+        Assertions.assertEquals(
+                ClassCodeWriter.implementationClassName(NestedBookRepository.class),
+                target(factory.getRepository(NestedBookRepository.class)).getClass().getName()
+        );
+    }
+
+    private static Object target(Object repository) throws Exception {
+        return ((Advised) repository).getTargetSource().getTarget();
+    }
+
+    public interface NestedBookRepository extends JRepository<Book, UUID> {
+
+        List<Book> findByNameOrderByEditionDesc(String name);
+    }
+}
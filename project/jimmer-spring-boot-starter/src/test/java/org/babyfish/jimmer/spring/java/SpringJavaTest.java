@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.java;
 
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.client.EnableImplicitApi;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.spring.AbstractTest;
@@ -396,6 +397,42 @@ public class SpringJavaTest extends AbstractTest {
         assertTransactionEvents("connect", "connect");
     }
 
+    @Test
+    public void testKeysetSlice() {
+
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetSlice<Book> slice = bookRepository.findKeysetSlice(5, cursor, BookProps.NAME.desc());
+            for (Book book : slice.getRows()) {
+                ids.add(book.id());
+            }
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        Assertions.assertEquals(3, SQL_STATEMENTS.size());
+        Assertions.assertTrue(
+                SQL_STATEMENTS.get(0).endsWith("order by tb_1_.NAME desc, tb_1_.ID asc limit ?"),
+                SQL_STATEMENTS.get(0)
+        );
+        SQL_STATEMENTS.clear();
+        List<UUID> expectedIds = new ArrayList<>();
+        for (Book book : bookRepository.findAll(BookProps.NAME.desc(), BookProps.ID.asc())) {
+            expectedIds.add(book.id());
+        }
+        Assertions.assertEquals(12, ids.size());
+        Assertions.assertEquals(expectedIds, ids);
+        SQL_STATEMENTS.clear();
+
+        KeysetSlice<Book> slice = bookRepository.findKeysetSlice(5, null, Sort.by("name", "id"));
+        Assertions.assertEquals(5, slice.getRows().size());
+        Assertions.assertTrue(slice.isHead());
+        Assertions.assertTrue(
+                SQL_STATEMENTS.get(0).endsWith("order by tb_1_.NAME asc, tb_1_.ID asc limit ?"),
+                SQL_STATEMENTS.get(0)
+        );
+        SQL_STATEMENTS.clear();
+    }
+
     @Test
     public void testBySpringPageable() {
 
@@ -971,6 +1008,20 @@ public class SpringJavaTest extends AbstractTest {
         );
     }
 
+    @Test
+    public void testOpenApiNotModified() throws Exception {
+        String eTag = mvc.perform(get("/my-openapi.yml"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        Assertions.assertNotNull(eTag);
+        mvc.perform(get("/my-openapi.yml").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/my-openapi.yml").header("If-None-Match", "\"outdated\""))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testOpenApiUi() throws Exception {
         MvcResult result = mvc.perform(get("/my-openapi.html"))
@@ -1,10 +1,10 @@
 package org.babyfish.jimmer.spring.parser;
 
+import org.babyfish.jimmer.impl.repository.Source;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.spring.java.model.Book;
 import org.babyfish.jimmer.spring.repository.parser.Context;
 import org.babyfish.jimmer.spring.repository.parser.PropPredicate;
-import org.babyfish.jimmer.spring.repository.parser.Source;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -0,0 +1,41 @@
+package org.babyfish.jimmer.spring.kotlin
+
+import org.babyfish.jimmer.spring.repository.KRepository
+import org.babyfish.jimmer.spring.repository.bytecode.ClassCodeWriter
+import org.babyfish.jimmer.spring.repository.support.JimmerRepositoryFactory
+import org.babyfish.jimmer.sql.kt.newKSqlClient
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import org.springframework.aop.framework.Advised
+
+class KJimmerRepositoryFactoryTest {
+
+    private val factory = JimmerRepositoryFactory(newKSqlClient {})
+
+    @Test
+    fun testGeneratedImplementation() {
+        // Generated by the kotlin symbol processor when the tests are compiled
+        Assertions.assertEquals(
+            TreeNodeRepository::class.java.name + "DslImpl",
+            target(factory.getRepository(TreeNodeRepository::class.java)).javaClass.name
+        )
+    }
+
+    @Test
+    fun testRuntimeImplementation() {
+        // The kotlin symbol processor ignores nested interfaces,
+        // so the implementation is generated by ASM at runtime
+        Assertions.assertEquals(
+            ClassCodeWriter.implementationClassName(NestedTreeNodeRepository::class.java),
+            target(factory.getRepository(NestedTreeNodeRepository::class.java)).javaClass.name
+        )
+    }
+
+    private fun target(repository: Any): Any =
+        (repository as Advised).targetSource.target!!
+
+    interface NestedTreeNodeRepository : KRepository<TreeNode, Long> {
+
+        fun findByNameOrderByIdDesc(name: String): List<TreeNode>
+    }
+}
@@ -144,6 +144,38 @@ open class SpringKotlinTest : AbstractTest() {
         )
     }
 
+    @Test
+    fun testFindKeysetSlice() {
+        val ids = mutableListOf<Long>()
+        var cursor: String? = null
+        do {
+            val slice = treeNodeRepository.findKeysetSlice(10, cursor) {
+                desc(TreeNode::name)
+            }
+            slice.rows.mapTo(ids) { it.id }
+            cursor = slice.nextCursor
+        } while (cursor !== null)
+        Assertions.assertTrue(
+            SQL_STATEMENTS[0].endsWith("order by tb_1_.NAME desc, tb_1_.NODE_ID asc limit ?"),
+            SQL_STATEMENTS[0]
+        )
+        SQL_STATEMENTS.clear()
+        val expectedIds = treeNodeRepository.findAll {
+            desc(TreeNode::name)
+            asc(TreeNode::id)
+        }.map { it.id }
+        Assertions.assertEquals(expectedIds, ids)
+        SQL_STATEMENTS.clear()
+
+        val slice = treeNodeRepository.findKeysetSlice(10, null, sort = Sort.by("name"))
+        Assertions.assertTrue(slice.isHead)
+        Assertions.assertTrue(
+            SQL_STATEMENTS[0].endsWith("order by tb_1_.NAME asc, tb_1_.NODE_ID asc limit ?"),
+            SQL_STATEMENTS[0]
+        )
+        SQL_STATEMENTS.clear()
+    }
+
     @Test
     fun testFindRootNodes() {
         Assertions.assertEquals(
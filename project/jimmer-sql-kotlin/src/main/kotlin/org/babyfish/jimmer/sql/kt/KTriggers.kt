@@ -46,5 +46,7 @@ interface KTriggers {
 
     fun fireAssociationEvict(prop: ImmutableProp, sourceId: Any, con: Connection? = null, reason: Any? = null)
 
+    fun batch(block: () -> Unit)
+
     val isTransaction: Boolean
 }
\ No newline at end of file
@@ -179,6 +179,16 @@ interface KSaveCommandPartialDsl {
 
     fun setDumbBatchAcceptable(acceptable: Boolean = true)
 
+    fun setMultiRowInsertEnabled(enabled: Boolean = true)
+
+    fun setBulkCopyEnabled(enabled: Boolean = true)
+
+    fun setAssociationPipelineEnabled(enabled: Boolean = true)
+
+    fun setOptimisticUpsertEnabled(enabled: Boolean = true)
+
+    fun setMiddleTableDiffEnabled(enabled: Boolean = true)
+
     fun addExceptionTranslator(translator: ExceptionTranslator<*>?)
 
     fun setDeleteMode(mode: DeleteMode)
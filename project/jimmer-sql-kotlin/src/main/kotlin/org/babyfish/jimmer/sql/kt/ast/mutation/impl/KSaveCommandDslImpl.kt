@@ -169,6 +169,26 @@ internal class KSaveCommandDslImpl(
         javaCommand = javaCommand.setDumbBatchAcceptable(acceptable)
     }
 
+    override fun setMultiRowInsertEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setMultiRowInsertEnabled(enabled)
+    }
+
+    override fun setBulkCopyEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setBulkCopyEnabled(enabled)
+    }
+
+    override fun setAssociationPipelineEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setAssociationPipelineEnabled(enabled)
+    }
+
+    override fun setOptimisticUpsertEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setOptimisticUpsertEnabled(enabled)
+    }
+
+    override fun setMiddleTableDiffEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setMiddleTableDiffEnabled(enabled)
+    }
+
     override fun addExceptionTranslator(translator: ExceptionTranslator<*>?) {
         javaCommand = javaCommand.addExceptionTranslator(translator)
     }
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.kt.ast.query
 
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.Page
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.lang.NewChain
@@ -54,6 +55,22 @@ interface KConfigurableRootQuery<P : KPropsLike, R> : KTypedRootQuery<R> {
         con: Connection? = null
     ): Slice<R>
 
+    /**
+     * Fetch a slice by keyset(seek) pagination,
+     * rows are located by the sort keys of the boundary row instead of offset.
+     *
+     * The query must have the `order by` clause whose sort keys are unique,
+     * non-null and based on single column.
+     *
+     * @param cursor The [KeysetSlice.previousCursor] or [KeysetSlice.nextCursor]
+     * of another slice, null means fetching the head slice
+     */
+    fun fetchKeysetSlice(
+        limit: Int,
+        cursor: String? = null,
+        con: Connection? = null
+    ): KeysetSlice<R>
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<P>.() -> KConfigurableRootQuery<P, X>
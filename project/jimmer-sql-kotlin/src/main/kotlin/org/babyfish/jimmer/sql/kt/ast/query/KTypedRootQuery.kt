@@ -30,4 +30,15 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = -1,
         block: (R) -> Unit
     )
+
+    /**
+     * Pull-style alternative of [forEach], rows are read lazily
+     * while the sequence is consumed. The sequence is only valid
+     * during the execution of [block].
+     */
+    fun <X> stream(
+        con: Connection? = null,
+        batchSize: Int = -1,
+        block: (Sequence<R>) -> X
+    ): X
 }
\ No newline at end of file
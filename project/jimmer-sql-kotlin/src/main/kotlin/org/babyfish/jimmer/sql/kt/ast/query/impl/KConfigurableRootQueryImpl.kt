@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.kt.ast.query.impl
 
+import org.babyfish.jimmer.KeysetSlice
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.impl.query.PageSource
@@ -73,6 +74,9 @@ internal class KConfigurableRootQueryImpl<P: KPropsLike, R>(
 
         val offset = pageIndex.toLong() * pageSize
         require(offset <= Long.MAX_VALUE - pageSize) { "offset is too big" }
+        if ((javaQuery as ConfigurableRootQueryImpl<*, *>).isPageCountConcurrent(con)) {
+            return javaQuery.fetchPage(pageIndex, pageSize, con, pageFactory)
+        }
         val total = this.fetchUnlimitedCount(con)
         if (offset >= total) {
             return pageFactory.create(
@@ -133,6 +137,9 @@ internal class KConfigurableRootQueryImpl<P: KPropsLike, R>(
     override fun fetchSlice(limit: Int, offset: Int, con: Connection?): Slice<R> =
         javaQuery.fetchSlice(limit, offset, con)
 
+    override fun fetchKeysetSlice(limit: Int, cursor: String?, con: Connection?): KeysetSlice<R> =
+        javaQuery.fetchKeysetSlice(limit, cursor, con)
+
     @Suppress("UNCHECKED_CAST")
     override fun <X> reselect(
         block: KMutableRootQuery<P>.() -> KConfigurableRootQuery<P, X>
@@ -13,6 +13,7 @@ import org.babyfish.jimmer.sql.di.LogicalDeletedValueGeneratorProvider
 import org.babyfish.jimmer.sql.di.TransientResolverProvider
 import org.babyfish.jimmer.sql.di.UserIdGeneratorProvider
 import org.babyfish.jimmer.sql.dialect.Dialect
+import org.babyfish.jimmer.sql.event.TriggerDispatcher
 import org.babyfish.jimmer.sql.event.TriggerType
 import org.babyfish.jimmer.sql.event.binlog.BinLogPropReader
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType
@@ -60,6 +61,23 @@ class KSqlClientDsl constructor(
         javaBuilder.setDefaultListBatchSize(size)
     }
 
+    /**
+     * Coalesce the association loading of object fetchers across
+     * concurrent requests within this window(in milliseconds),
+     * the default value is 0 which means disabled.
+     */
+    fun setFetchingCoalescingWindow(millis: Int) {
+        javaBuilder.setFetchingCoalescingWindow(millis)
+    }
+
+    /**
+     * The max count of query plans(reader pipelines of query shapes)
+     * cached by the sql client, the default value is 0 which means disabled.
+     */
+    fun setQueryPlanCacheSize(size: Int) {
+        javaBuilder.setQueryPlanCacheSize(size)
+    }
+
     fun setInListPaddingEnabled(enabled: Boolean) {
         javaBuilder.setInListPaddingEnabled(enabled)
     }
@@ -68,6 +86,15 @@ class KSqlClientDsl constructor(
         javaBuilder.setExpandedInListPaddingEnabled(enabled)
     }
 
+    /**
+     * If the count of values of an `in` predicate is greater than
+     * this threshold, multi-column values are rendered as `unnest` arrays
+     * if the dialect supports it, 0 means disabled.
+     */
+    fun setLargeInListThreshold(threshold: Int) {
+        javaBuilder.setLargeInListThreshold(threshold)
+    }
+
     fun setMaxCommandJoinCount(maxMutationSubQueryDepth: Int) {
         javaBuilder.setMaxCommandJoinCount(maxMutationSubQueryDepth)
     }
@@ -130,6 +157,18 @@ class KSqlClientDsl constructor(
         javaBuilder.setExecutorContextPrefixes(prefixes)
     }
 
+    /**
+     * How to capture the call frames matched by [setExecutorContextPrefixes],
+     * the default value is [ExecutorContextCaptureMode.STACK_TRACE].
+     *
+     * Capturing the whole stack trace for each statement is expensive,
+     * [ExecutorContextCaptureMode.STACK_WALKER] only walks to the
+     * nearest business call frame and caches it by call site.
+     */
+    fun setExecutorContextCaptureMode(mode: ExecutorContextCaptureMode) {
+        javaBuilder.setExecutorContextCaptureMode(mode)
+    }
+
     fun setSqlFormatter(fFormatter: SqlFormatter) {
         javaBuilder.setSqlFormatter(fFormatter)
     }
@@ -245,6 +284,10 @@ class KSqlClientDsl constructor(
         javaBuilder.setTriggerType(triggerType)
     }
 
+    fun setTriggerDispatcher(dispatcher: TriggerDispatcher?) {
+        javaBuilder.setTriggerDispatcher(dispatcher)
+    }
+
     fun addFilters(vararg filters: KFilter<*>) {
         javaBuilder.addFilters(filters.map { it.toJavaFilter() })
     }
@@ -386,6 +429,10 @@ class KSqlClientDsl constructor(
         javaBuilder.setReverseSortOptimizationEnabled(enabled)
     }
 
+    fun setPageCountExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setPageCountExecutor(executor)
+    }
+
     fun setMicroServiceName(microServiceName: String) {
         javaBuilder.setMicroServiceName(microServiceName)
     }
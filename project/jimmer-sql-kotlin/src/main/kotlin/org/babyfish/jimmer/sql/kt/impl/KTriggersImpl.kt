@@ -54,6 +54,10 @@ internal class KTriggersImpl(
         javaTriggers.fireAssociationEvict(prop, sourceId, con, reason)
     }
 
+    override fun batch(block: () -> Unit) {
+        javaTriggers.batch(block)
+    }
+
     override val isTransaction: Boolean
         get() = javaTriggers.isTransaction
 }
\ No newline at end of file
@@ -36,6 +36,7 @@ dependencies {
     testImplementation(libs.mysql.connector.java)
     testImplementation(libs.postgresql)
     testImplementation(libs.sqlite)
+    testImplementation(libs.caffeine)
     testImplementation(libs.kafka.connect.api)
     testImplementation(libs.javax.validation.api)
     testImplementation(libs.hibernate.validation)
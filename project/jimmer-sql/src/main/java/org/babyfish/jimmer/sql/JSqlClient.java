@@ -20,6 +20,7 @@ import org.babyfish.jimmer.sql.di.LogicalDeletedValueGeneratorProvider;
 import org.babyfish.jimmer.sql.di.TransientResolverProvider;
 import org.babyfish.jimmer.sql.di.UserIdGeneratorProvider;
 import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.event.TriggerDispatcher;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.event.binlog.BinLog;
@@ -334,6 +335,18 @@ public interface JSqlClient extends SubQueryProvider, SaveOperations {
         @OldChain
         Builder setExecutorContextPrefixes(Collection<String> prefixes);
 
+        /**
+         * How to capture the call frames matched by
+         * {@link #setExecutorContextPrefixes(Collection)},
+         * the default value is {@link ExecutorContextCaptureMode#STACK_TRACE}.
+         *
+         * <p>Capturing the whole stack trace for each statement is expensive,
+         * {@link ExecutorContextCaptureMode#STACK_WALKER} only walks to the
+         * nearest business call frame and caches it by call site.</p>
+         */
+        @OldChain
+        Builder setExecutorContextCaptureMode(ExecutorContextCaptureMode mode);
+
         @OldChain
         Builder setSqlFormatter(SqlFormatter formatter);
 
@@ -409,12 +422,58 @@ public interface JSqlClient extends SubQueryProvider, SaveOperations {
         @OldChain
         Builder setDefaultListBatchSize(int size);
 
+        /**
+         * Coalesce the association loading of object fetchers across
+         * concurrent requests, the default value is 0 which means disabled.
+         *
+         * <p>If it is positive, the keys of the same association property
+         * requested by different threads within this window(in milliseconds)
+         * are loaded by one statement, the first thread executes the statement
+         * by its own connection and shares the result with the other threads.</p>
+         *
+         * <p>Only associations whose filters are absent or cacheable
+         * are coalesced, and only the connections in auto-commit mode
+         * take part in it, the loading of a connection which belongs to
+         * an active transaction is never shared with other requests.</p>
+         */
+        @OldChain
+        Builder setFetchingCoalescingWindow(int millis);
+
+        /**
+         * The max count of query plans cached by the sql client,
+         * the default value is 0 which means disabled.
+         *
+         * <p>A query plan is the reader pipeline of a query shape,
+         * that is, the rendered SQL together with the selections.
+         * Queries with the same shape but different parameter values
+         * reuse the plan instead of creating readers again.
+         * The least recently used plans are evicted when the size is exceeded,
+         * and the hit rate can be observed by
+         * {@link org.babyfish.jimmer.sql.runtime.JSqlClientImplementor#getQueryPlanCache()}</p>
+         */
+        @OldChain
+        Builder setQueryPlanCacheSize(int size);
+
         @OldChain
         Builder setInListPaddingEnabled(boolean enabled);
 
         @OldChain
         Builder setExpandedInListPaddingEnabled(boolean enabled);
 
+        /**
+         * If the count of values of a multi-column `in` predicate is greater than
+         * this threshold and {@link Dialect#isTupleUnnestSupported()} is true(Postgres, H2),
+         * the values are rendered as {@code (a, b) in (select * from unnest(?, ?))}
+         * which only binds one array parameter for each column,
+         * the default value is 0 which means disabled.
+         *
+         * <p>Single-column values of dialects which support
+         * {@link Dialect#isAnyEqualityOfArraySupported()} are always
+         * rendered as {@code = any(?)}, this threshold is not used by them.</p>
+         */
+        @OldChain
+        Builder setLargeInListThreshold(int threshold);
+
         /**
          * For RDBMS, pagination is slow if `offset` is large, especially for MySQL.
          * <p>
@@ -444,6 +503,28 @@ public interface JSqlClient extends SubQueryProvider, SaveOperations {
         @OldChain
         Builder setReverseSortOptimizationEnabled(boolean enabled);
 
+        /**
+         * Set the executor used by `fetchPage` to execute the count query
+         * and the data query concurrently, for example, an executor based on virtual threads.
+         *
+         * <p>By default, it is null and the two queries are executed one after another.</p>
+         *
+         * <p>The count query borrows another connection on another thread,
+         * so it cannot see the uncommitted changes of the current transaction.
+         * The concurrent mode is only used when `fetchPage` is called without
+         * JDBC connection, the query is not `for update`, and either the query
+         * is served by a non-transactional slave connection manager or
+         * {@link org.babyfish.jimmer.sql.transaction.TxConnectionManager#isTransactionActive()}
+         * returns false. The count query is rendered by the calling thread,
+         * so the global filters see the same context as the data query.
+         * In concurrent mode, the reverse sorting optimization is not applied.</p>
+         *
+         * <p>The executor is not shut down by the sql client,
+         * it should be shut down by its creator.</p>
+         */
+        @OldChain
+        Builder setPageCountExecutor(java.util.concurrent.Executor executor);
+
         @OldChain
         Builder setMaxCommandJoinCount(int maxMutationSubQueryDepth);
 
@@ -476,6 +557,19 @@ public interface JSqlClient extends SubQueryProvider, SaveOperations {
         @OldChain
         Builder setTriggerType(TriggerType triggerType);
 
+        /**
+         * Set the bounded asynchronous dispatcher of the events
+         * which are not fired in transaction, such as binlog events.
+         *
+         * <p>By default, it is null and all events are delivered
+         * synchronously by the thread firing them.</p>
+         *
+         * <p>The dispatcher is not closed by the sql client,
+         * it should be closed by its creator.</p>
+         */
+        @OldChain
+        Builder setTriggerDispatcher(TriggerDispatcher dispatcher);
+
         @OldChain
         Builder setDissociationLogicalDeleteEnabled(boolean enabled);
 
@@ -12,6 +12,7 @@ import org.babyfish.jimmer.sql.ast.impl.base.BaseTableSymbols;
 import org.babyfish.jimmer.sql.ast.impl.mutation.AssociationsImpl;
 import org.babyfish.jimmer.sql.ast.impl.mutation.MutableDeleteImpl;
 import org.babyfish.jimmer.sql.ast.impl.mutation.MutableUpdateImpl;
+import org.babyfish.jimmer.sql.ast.impl.mutation.SequenceIdPools;
 import org.babyfish.jimmer.sql.ast.impl.query.*;
 import org.babyfish.jimmer.sql.ast.impl.table.JWeakJoinLambdaFactory;
 import org.babyfish.jimmer.sql.ast.impl.table.WeakJoinHandle;
@@ -30,6 +31,7 @@ import org.babyfish.jimmer.sql.cache.*;
 import org.babyfish.jimmer.sql.di.*;
 import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.event.TriggerDispatcher;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.event.binlog.BinLog;
@@ -40,6 +42,7 @@ import org.babyfish.jimmer.sql.event.impl.TriggersImpl;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.FetchingCoalescer;
 import org.babyfish.jimmer.sql.filter.Filter;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
@@ -77,6 +80,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final List<String> executorContextPrefixes;
 
+    private final ExecutorContextCaptureMode executorContextCaptureMode;
+
     private final SqlFormatter sqlFormatter;
 
     private final JsonCodec<?> jsonCodec;
@@ -95,14 +100,24 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final int defaultListBatchSize;
 
+    private final FetchingCoalescer fetchingCoalescer;
+
+    private final QueryPlanCache queryPlanCache;
+
+    private final SequenceIdPools sequenceIdPools;
+
     private final boolean inListPaddingEnabled;
 
     private final boolean expandedInListPaddingEnabled;
 
+    private final int largeInListThreshold;
+
     private final int offsetOptimizingThreshold;
 
     private final boolean reverseSortOptimizationEnabled;
 
+    private final java.util.concurrent.Executor pageCountExecutor;
+
     private final int maxCommandJoinCount;
 
     private final boolean mutationTransactionRequired;
@@ -165,6 +180,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
             Dialect dialect,
             Executor executor,
             List<String> executorContextPrefixes,
+            ExecutorContextCaptureMode executorContextCaptureMode,
             SqlFormatter sqlFormatter,
             JsonCodec<?> jsonCodec,
             ReferenceFetchType defaultReferenceFetchType,
@@ -174,10 +190,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
             ScalarProviderManager scalarProviderManager,
             int defaultBatchSize,
             int defaultListBatchSize,
+            FetchingCoalescer fetchingCoalescer,
+            int queryPlanCacheSize,
+            SequenceIdPools sequenceIdPools,
             boolean inListPaddingEnabled,
             boolean expandedInListPaddingEnabled,
+            int largeInListThreshold,
             int offsetOptimizingThreshold,
             boolean reverseSortOptimizationEnabled,
+            java.util.concurrent.Executor pageCountExecutor,
             int maxCommandJoinCount,
             boolean mutationTransactionRequired,
             boolean targetTransferable,
@@ -218,6 +239,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executorContextPrefixes != null ?
                         Collections.unmodifiableList(executorContextPrefixes) :
                         null;
+        this.executorContextCaptureMode = executorContextCaptureMode;
         this.sqlFormatter = sqlFormatter;
         this.jsonCodec = jsonCodec;
         this.defaultReferenceFetchType = defaultReferenceFetchType;
@@ -227,10 +249,18 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.scalarProviderManager = scalarProviderManager;
         this.defaultBatchSize = defaultBatchSize;
         this.defaultListBatchSize = defaultListBatchSize;
+        this.fetchingCoalescer = fetchingCoalescer;
+        this.queryPlanCache =
+                queryPlanCacheSize > 0 ?
+                        new QueryPlanCache(queryPlanCacheSize) :
+                        null;
+        this.sequenceIdPools = sequenceIdPools;
         this.inListPaddingEnabled = inListPaddingEnabled;
         this.expandedInListPaddingEnabled = expandedInListPaddingEnabled;
+        this.largeInListThreshold = largeInListThreshold;
         this.offsetOptimizingThreshold = offsetOptimizingThreshold;
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
+        this.pageCountExecutor = pageCountExecutor;
         this.maxCommandJoinCount = maxCommandJoinCount;
         this.mutationTransactionRequired = mutationTransactionRequired;
         this.targetTransferable = targetTransferable;
@@ -296,6 +326,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return executorContextPrefixes;
     }
 
+    @Override
+    public ExecutorContextCaptureMode getExecutorContextCaptureMode() {
+        return executorContextCaptureMode;
+    }
+
     @Override
     public SqlFormatter getSqlFormatter() {
         return sqlFormatter;
@@ -387,6 +422,21 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return defaultListBatchSize;
     }
 
+    @Override
+    public FetchingCoalescer getFetchingCoalescer() {
+        return fetchingCoalescer;
+    }
+
+    @Override
+    public QueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    @Override
+    public SequenceIdPools getSequenceIdPools() {
+        return sequenceIdPools;
+    }
+
     @Override
     public boolean isInListPaddingEnabled() {
         return inListPaddingEnabled;
@@ -397,6 +447,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return expandedInListPaddingEnabled;
     }
 
+    @Override
+    public int getLargeInListThreshold() {
+        return largeInListThreshold;
+    }
+
     @Override
     public int getOffsetOptimizingThreshold() {
         return offsetOptimizingThreshold;
@@ -407,6 +462,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return reverseSortOptimizationEnabled;
     }
 
+    @Override
+    public java.util.concurrent.Executor getPageCountExecutor() {
+        return pageCountExecutor;
+    }
+
     @Override
     public int getMaxCommandJoinCount() {
         return maxCommandJoinCount;
@@ -693,6 +753,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 dialect,
                 executor,
                 executorContextPrefixes,
+                executorContextCaptureMode,
                 sqlFormatter,
                 jsonCodec,
                 defaultReferenceFetchType,
@@ -702,10 +763,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetchingCoalescer,
+                queryPlanCache != null ? queryPlanCache.getMaxSize() : 0,
+                sequenceIdPools,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
+                largeInListThreshold,
                 offsetOptimizingThreshold,
                 reverseSortOptimizationEnabled,
+                pageCountExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -750,6 +816,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 dialect,
                 executor,
                 executorContextPrefixes,
+                executorContextCaptureMode,
                 sqlFormatter,
                 jsonCodec,
                 defaultReferenceFetchType,
@@ -759,10 +826,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetchingCoalescer,
+                queryPlanCache != null ? queryPlanCache.getMaxSize() : 0,
+                sequenceIdPools,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
+                largeInListThreshold,
                 offsetOptimizingThreshold,
                 reverseSortOptimizationEnabled,
+                pageCountExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -802,6 +874,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 dialect,
                 executor,
                 executorContextPrefixes,
+                executorContextCaptureMode,
                 sqlFormatter,
                 jsonCodec,
                 defaultReferenceFetchType,
@@ -811,10 +884,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetchingCoalescer,
+                queryPlanCache != null ? queryPlanCache.getMaxSize() : 0,
+                sequenceIdPools,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
+                largeInListThreshold,
                 offsetOptimizingThreshold,
                 reverseSortOptimizationEnabled,
+                pageCountExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -857,6 +935,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 dialect,
                 executor,
                 executorContextPrefixes,
+                executorContextCaptureMode,
                 sqlFormatter,
                 jsonCodec,
                 defaultReferenceFetchType,
@@ -866,10 +945,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetchingCoalescer,
+                queryPlanCache != null ? queryPlanCache.getMaxSize() : 0,
+                sequenceIdPools,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
+                largeInListThreshold,
                 offsetOptimizingThreshold,
                 reverseSortOptimizationEnabled,
+                pageCountExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -1010,6 +1094,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private List<String> executorContextPrefixes;
 
+        private ExecutorContextCaptureMode executorContextCaptureMode = ExecutorContextCaptureMode.STACK_TRACE;
+
         private SqlFormatter sqlFormatter = SqlFormatter.SIMPLE;
 
         private ReferenceFetchType defaultReferenceFetchType = ReferenceFetchType.SELECT;
@@ -1056,14 +1142,22 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private int defaultListBatchSize = DEFAULT_LIST_BATCH_SIZE;
 
+        private int fetchingCoalescingWindow;
+
+        private int queryPlanCacheSize;
+
         private boolean inListPaddingEnabled;
 
         private boolean expandedInListPaddingEnabled;
 
+        private int largeInListThreshold;
+
         private int offsetOptimizingThreshold = Integer.MAX_VALUE;
 
         private boolean reverseSortOptimizationEnabled;
 
+        private java.util.concurrent.Executor pageCountExecutor;
+
         private int maxCommandJoinCount = 2;
 
         private boolean mutationTransactionRequired;
@@ -1076,6 +1170,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private TriggerType triggerType = TriggerType.BINLOG_ONLY;
 
+        private TriggerDispatcher triggerDispatcher;
+
         private TriggersImpl triggers;
 
         private TriggersImpl transactionTriggers;
@@ -1189,6 +1285,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public Builder setExecutorContextCaptureMode(ExecutorContextCaptureMode mode) {
+            this.executorContextCaptureMode =
+                    mode != null ?
+                            mode :
+                            ExecutorContextCaptureMode.STACK_TRACE;
+            return this;
+        }
+
         @Override
         @OldChain
         public Builder setSqlFormatter(SqlFormatter sqlFormatter) {
@@ -1494,6 +1600,26 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setFetchingCoalescingWindow(int millis) {
+            if (millis < 0) {
+                throw new IllegalStateException("millis cannot be less than 0");
+            }
+            fetchingCoalescingWindow = millis;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setQueryPlanCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalStateException("size cannot be less than 0");
+            }
+            queryPlanCacheSize = size;
+            return this;
+        }
+
         @Override
         public JSqlClient.Builder setInListPaddingEnabled(boolean enabled) {
             this.inListPaddingEnabled = enabled;
@@ -1506,6 +1632,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setLargeInListThreshold(int threshold) {
+            if (threshold < 0) {
+                throw new IllegalStateException("threshold cannot be less than 0");
+            }
+            this.largeInListThreshold = threshold;
+            return this;
+        }
+
         @Override
         public Builder setOffsetOptimizingThreshold(int threshold) {
             if (threshold < 0) {
@@ -1521,6 +1657,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setPageCountExecutor(java.util.concurrent.Executor executor) {
+            this.pageCountExecutor = executor;
+            return this;
+        }
+
         @Override
         public JSqlClient.Builder setMaxCommandJoinCount(int maxCommandJoinCount) {
             if (maxCommandJoinCount < 0 || maxCommandJoinCount > 8) {
@@ -1585,6 +1728,12 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setTriggerDispatcher(TriggerDispatcher dispatcher) {
+            this.triggerDispatcher = dispatcher;
+            return this;
+        }
+
         @Override
         public Builder setLogicalDeletedBehavior(LogicalDeletedBehavior behavior) {
             this.logicalDeletedBehavior = behavior != null ? behavior : LogicalDeletedBehavior.DEFAULT;
@@ -1942,6 +2091,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     dialect,
                     executor,
                     executorContextPrefixes,
+                    executorContextCaptureMode,
                     sqlFormatter,
                     resolvedApplicationJsonCodec,
                     defaultReferenceFetchType,
@@ -1951,10 +2101,17 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     scalarProviderManager,
                     defaultBatchSize,
                     defaultListBatchSize,
+                    fetchingCoalescingWindow > 0 ?
+                            new FetchingCoalescer(fetchingCoalescingWindow) :
+                            null,
+                    queryPlanCacheSize,
+                    new SequenceIdPools(),
                     inListPaddingEnabled,
                     expandedInListPaddingEnabled,
+                    largeInListThreshold,
                     offsetOptimizingThreshold,
                     reverseSortOptimizationEnabled,
+                    pageCountExecutor,
                     maxCommandJoinCount,
                     mutationTransactionRequired,
                     targetTransferable,
@@ -2007,14 +2164,14 @@ class JSqlClientImpl implements JSqlClientImplementor {
             if (triggers == null) {
                 switch (triggerType) {
                     case TRANSACTION_ONLY:
-                        transactionTriggers = triggers = new TriggersImpl(true);
+                        transactionTriggers = triggers = new TriggersImpl(true, triggerDispatcher);
                         break;
                     case BOTH:
-                        triggers = new TriggersImpl(false);
+                        triggers = new TriggersImpl(false, triggerDispatcher);
                         transactionTriggers = new TriggersImpl(true);
                         break;
                     default:
-                        triggers = new TriggersImpl(false);
+                        triggers = new TriggersImpl(false, triggerDispatcher);
                         break;
                 }
             }
@@ -20,6 +20,17 @@ public interface Ast {
 
     Ast resolveVirtualPredicate(AstContext ctx);
 
+    /**
+     * Collect the structural shape and the variables of this node,
+     * the collected variables must be the variables rendered by
+     * {@link #renderTo(AbstractSqlBuilder)}, in the same order.
+     *
+     * @return false if the rendered SQL cannot be decided by shape
+     */
+    default boolean collectShape(@NotNull ShapeCollector collector) {
+        return false;
+    }
+
     static Ast from(Selection<?> selection, RootTableResolver resolver) {
         if (selection instanceof Table<?>) {
             return TableProxies.resolve((Table<?>) selection, resolver);
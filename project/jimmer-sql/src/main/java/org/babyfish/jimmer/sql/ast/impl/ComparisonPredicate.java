@@ -44,6 +44,11 @@ abstract class ComparisonPredicate extends AbstractPredicate {
         );
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        return ComparisonPredicates.collectCmp(operator(), left, right, collector);
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(left) || hasVirtualPredicate(right);
@@ -76,6 +76,17 @@ public abstract class CompositePredicate extends AbstractPredicate {
         builder.leave();
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        collector.add(predicates.length);
+        for (Predicate predicate : predicates) {
+            if (!collector.collect(predicate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(predicates);
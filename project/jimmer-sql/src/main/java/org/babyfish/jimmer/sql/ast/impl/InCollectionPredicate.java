@@ -49,6 +49,14 @@ class InCollectionPredicate extends AbstractPredicate {
         );
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        if (nullable) {
+            return false;
+        }
+        return ComparisonPredicates.collectIn(negative, expression, values, collector);
+    }
+
     @Override
     public int precedence() {
         return 0;
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.LikeMode;
 import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.PropExpression;
 import org.babyfish.jimmer.sql.ast.StringExpression;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
@@ -94,6 +95,23 @@ class LikePredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        if (pattern.equals("%")) {
+            collector.add(pattern);
+            return true;
+        }
+        if (!(expression instanceof PropExpression<?>)) {
+            return false;
+        }
+        collector.add(insensitive).add(negative);
+        if (!collector.collect(Ast.of(expression))) {
+            return false;
+        }
+        collector.variable(pattern);
+        return true;
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(expression);
@@ -26,6 +26,11 @@ public class NotPredicate extends AbstractPredicate {
         renderChild((Ast) predicate, builder);
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        return collector.collect(predicate);
+    }
+
     @Override
     public int precedence() {
         return ExpressionPrecedences.NOT;
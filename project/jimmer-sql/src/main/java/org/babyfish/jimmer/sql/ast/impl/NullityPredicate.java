@@ -78,6 +78,15 @@ class NullityPredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        if (!(expression instanceof PropExpression<?>)) {
+            return false;
+        }
+        collector.add(negative);
+        return collector.collect(Ast.of(expression));
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(expression);
@@ -204,6 +204,15 @@ public class PropExpressionImpl<T>
         return this;
     }
 
+    @Override
+    public boolean collectShape(@NotNull ShapeCollector collector) {
+        if (!collector.isRootTable(table)) {
+            return false;
+        }
+        collector.add(prop).add(deepestProp).add(path).add(rawId);
+        return true;
+    }
+
     @Override
     public void renderTo(@NotNull AbstractSqlBuilder<?> builder) {
         if (builder instanceof BatchSqlBuilder) {
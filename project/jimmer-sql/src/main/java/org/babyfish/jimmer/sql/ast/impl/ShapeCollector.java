@@ -0,0 +1,140 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+import org.babyfish.jimmer.sql.collection.TypedList;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collects the structural shape and the variables of a statement
+ * without rendering it.
+ *
+ * <p>Two statements with equal shapes are rendered to the same SQL,
+ * and the collected variables are the variables which would be
+ * rendered, in the same order. Only the tables, properties and
+ * predicates which support {@link Ast#collectShape(ShapeCollector)}
+ * can be collected, all joins are rejected so that the shape never
+ * depends on the join analysis.</p>
+ */
+public final class ShapeCollector {
+
+    private static final Object NULL = new Object() {
+        @Override
+        public String toString() {
+            return "<null>";
+        }
+    };
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final TableImplementor<?> rootTable;
+
+    private final List<Object> shape = new ArrayList<>();
+
+    private final List<Object> variables = new ArrayList<>();
+
+    public ShapeCollector(JSqlClientImplementor sqlClient, TableImplementor<?> rootTable) {
+        this.sqlClient = sqlClient;
+        this.rootTable = rootTable;
+    }
+
+    public JSqlClientImplementor sqlClient() {
+        return sqlClient;
+    }
+
+    /**
+     * Add a structural part which affects the rendered SQL,
+     * it must implement {@code equals} and {@code hashCode}
+     */
+    public ShapeCollector add(@Nullable Object part) {
+        shape.add(part != null ? part : NULL);
+        return this;
+    }
+
+    /**
+     * Add a non-null variable which is rendered as JDBC parameter,
+     * its type is a part of the shape because the JDBC parameter
+     * of dialect may depend on it.
+     */
+    public ShapeCollector variable(@NotNull Object value) {
+        shape.add(
+                value instanceof DbLiteral ?
+                        ((DbLiteral) value).getType() :
+                        value.getClass()
+        );
+        variables.add(value);
+        return this;
+    }
+
+    /**
+     * @return Whether the shape of the AST node is collected,
+     * false means the statement cannot be described by shape.
+     */
+    public boolean collect(@Nullable Object ast) {
+        if (!(ast instanceof Ast)) {
+            return false;
+        }
+        shape.add(ast.getClass());
+        return ((Ast) ast).collectShape(this);
+    }
+
+    public boolean isRootTable(Table<?> table) {
+        if (table instanceof TableImplementor<?>) {
+            return table == rootTable;
+        }
+        if (table instanceof TableProxy<?>) {
+            TableProxy<?> proxy = (TableProxy<?>) table;
+            TableImplementor<?> unwrapped = proxy.__unwrap();
+            if (unwrapped != null) {
+                return unwrapped == rootTable;
+            }
+            return proxy.__parent() == null &&
+                    proxy.__baseTableOwner() == null &&
+                    proxy.getImmutableType() == rootTable.getImmutableType();
+        }
+        return false;
+    }
+
+    public List<Object> getShape() {
+        return shape;
+    }
+
+    public List<Object> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Check whether the collected variables are the rendered variables,
+     * it is used to verify the shape before it is cached.
+     */
+    public boolean isRendered(List<Object> renderedVariables) {
+        int size = variables.size();
+        if (size != renderedVariables.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Object a = variables.get(i);
+            Object b = renderedVariables.get(i);
+            if (a instanceof TypedList<?> && b instanceof TypedList<?>) {
+                TypedList<?> x = (TypedList<?>) a;
+                TypedList<?> y = (TypedList<?>) b;
+                if (!x.getSqlElementType().equals(y.getSqlElementType()) ||
+                        !Arrays.equals(x.toArray(), y.toArray())) {
+                    return false;
+                }
+            } else if (!Objects.equals(a, b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
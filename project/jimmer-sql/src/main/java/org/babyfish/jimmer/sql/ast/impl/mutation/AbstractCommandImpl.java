@@ -201,6 +201,56 @@ abstract class AbstractCommandImpl {
         }
     }
 
+    static class MultiRowInsertEnabledCfg extends Cfg {
+
+        final boolean enabled;
+
+        MultiRowInsertEnabledCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class BulkCopyEnabledCfg extends Cfg {
+
+        final boolean enabled;
+
+        BulkCopyEnabledCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class AssociationPipelineEnabledCfg extends Cfg {
+
+        final boolean enabled;
+
+        AssociationPipelineEnabledCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class OptimisticUpsertEnabledCfg extends Cfg {
+
+        final boolean enabled;
+
+        OptimisticUpsertEnabledCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class MiddleTableDiffEnabledCfg extends Cfg {
+
+        final boolean enabled;
+
+        MiddleTableDiffEnabledCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
     static class ConstraintViolationTranslatableCfg extends Cfg {
 
         final boolean translatable;
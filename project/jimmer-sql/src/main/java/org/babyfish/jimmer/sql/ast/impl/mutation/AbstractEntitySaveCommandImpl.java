@@ -363,6 +363,16 @@ abstract class AbstractEntitySaveCommandImpl
 
         private final boolean dumbBatchAcceptable;
 
+        private final boolean multiRowInsertEnabled;
+
+        private final boolean bulkCopyEnabled;
+
+        private final boolean associationPipelineEnabled;
+
+        private final boolean optimisticUpsertEnabled;
+
+        private final boolean middleTableDiffEnabled;
+
         private final boolean constraintViolationTranslatable;
 
         private final ExceptionTranslator<Exception> exceptionTranslator;
@@ -388,6 +398,11 @@ abstract class AbstractEntitySaveCommandImpl
             PessimisticLockCfg pessimisticLockCfg = cfg.as(PessimisticLockCfg.class);
             OptimisticLockLambdaCfg optimisticLockLambdaCfg = cfg.as(OptimisticLockLambdaCfg.class);
             DumbBatchAcceptableCfg dumbBatchAcceptableCfg = cfg.as(DumbBatchAcceptableCfg.class);
+            MultiRowInsertEnabledCfg multiRowInsertEnabledCfg = cfg.as(MultiRowInsertEnabledCfg.class);
+            BulkCopyEnabledCfg bulkCopyEnabledCfg = cfg.as(BulkCopyEnabledCfg.class);
+            AssociationPipelineEnabledCfg associationPipelineEnabledCfg = cfg.as(AssociationPipelineEnabledCfg.class);
+            OptimisticUpsertEnabledCfg optimisticUpsertEnabledCfg = cfg.as(OptimisticUpsertEnabledCfg.class);
+            MiddleTableDiffEnabledCfg middleTableDiffEnabledCfg = cfg.as(MiddleTableDiffEnabledCfg.class);
             ConstraintViolationTranslatableCfg constraintViolationTranslatableCfg =
                     cfg.as(ConstraintViolationTranslatableCfg.class);
             ExceptionTranslatorCfg exceptionTranslatorCfg = cfg.as(ExceptionTranslatorCfg.class);
@@ -430,6 +445,11 @@ abstract class AbstractEntitySaveCommandImpl
             this.optimisticLockBehaviorMap = MapNode.toMap(optimisticLockLambdaCfg, it -> it.behaviorMapNode);
             this.optimisticLockLambdaMap = MapNode.toMap(optimisticLockLambdaCfg, it -> it.lamdadaMapNode);
             this.dumbBatchAcceptable = dumbBatchAcceptableCfg != null && dumbBatchAcceptableCfg.acceptable;
+            this.multiRowInsertEnabled = multiRowInsertEnabledCfg != null && multiRowInsertEnabledCfg.enabled;
+            this.bulkCopyEnabled = bulkCopyEnabledCfg != null && bulkCopyEnabledCfg.enabled;
+            this.associationPipelineEnabled = associationPipelineEnabledCfg != null && associationPipelineEnabledCfg.enabled;
+            this.optimisticUpsertEnabled = optimisticUpsertEnabledCfg != null && optimisticUpsertEnabledCfg.enabled;
+            this.middleTableDiffEnabled = middleTableDiffEnabledCfg != null && middleTableDiffEnabledCfg.enabled;
             this.constraintViolationTranslatable = constraintViolationTranslatableCfg != null ?
                     constraintViolationTranslatableCfg.translatable :
                     sqlClient.isConstraintViolationTranslatable();
@@ -592,6 +612,31 @@ abstract class AbstractEntitySaveCommandImpl
             return sqlClient.isBatchForbidden(dumbBatchAcceptable);
         }
 
+        @Override
+        public boolean isMultiRowInsertEnabled() {
+            return multiRowInsertEnabled;
+        }
+
+        @Override
+        public boolean isBulkCopyEnabled() {
+            return bulkCopyEnabled;
+        }
+
+        @Override
+        public boolean isAssociationPipelineEnabled() {
+            return associationPipelineEnabled;
+        }
+
+        @Override
+        public boolean isOptimisticUpsertEnabled() {
+            return optimisticUpsertEnabled;
+        }
+
+        @Override
+        public boolean isMiddleTableDiffEnabled() {
+            return middleTableDiffEnabled;
+        }
+
         @Override
         public boolean isConstraintViolationTranslatable() {
             return constraintViolationTranslatable;
@@ -193,6 +193,31 @@ public class BatchEntitySaveCommandImpl<E>
         return new BatchEntitySaveCommandImpl<>(new DumbBatchAcceptableCfg(cfg, acceptable));
     }
 
+    @Override
+    public BatchEntitySaveCommand<E> setMultiRowInsertEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new MultiRowInsertEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setBulkCopyEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new BulkCopyEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setAssociationPipelineEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new AssociationPipelineEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setOptimisticUpsertEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new OptimisticUpsertEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setMiddleTableDiffEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new MiddleTableDiffEnabledCfg(cfg, enabled));
+    }
+
     @Override
     public BatchEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable) {
         return new BatchEntitySaveCommandImpl<>(new ConstraintViolationTranslatableCfg(cfg, transferable));
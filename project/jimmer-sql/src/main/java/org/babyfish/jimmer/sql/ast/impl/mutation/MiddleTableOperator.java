@@ -281,6 +281,72 @@ class MiddleTableOperator extends AbstractAssociationOperator {
         }
     }
 
+    /**
+     * Replace associations by set-based statements, existing associations
+     * which are neither deleted nor retained are never read.
+     *
+     * <ul>
+     *     <li>If trigger is not used, the associations which are not retained
+     *     are deleted by one statement, the retained ones are inserted by
+     *     native upsert or {@code insert ... select ... where not exists},
+     *     no association is read.</li>
+     *     <li>Otherwise, the associations to be deleted are read because
+     *     they are required by the events of trigger. The retained ones are
+     *     inserted by {@code insert ... select ... where not exists} and the
+     *     row counts tell which of them are new, so they are not read either.
+     *     However, if the dialect is batch-dumb or the middle table has
+     *     logical deleted column, the row counts cannot be used and
+     *     all retained associations are still queried.</li>
+     * </ul>
+     */
+    public final void replaceByDiff(IdPairs.Retain idPairs) {
+        MutationTrigger trigger = this.trigger;
+        if (trigger == null) {
+            if (isUpsertUsed()) {
+                disconnectExcept(idPairs);
+                connectIfNecessary(idPairs);
+                return;
+            }
+            if (middleTable.getLogicalDeletedInfo() == null) {
+                disconnectExcept(idPairs);
+                connectIfAbsent(idPairs);
+                return;
+            }
+            replace(idPairs);
+            return;
+        }
+        Set<Tuple2<Object, Object>> deletingIdTuples = findExcept(idPairs);
+        if (middleTable.getLogicalDeletedInfo() == null && !sqlClient.getDialect().isBatchDumb()) {
+            disconnect(IdPairs.of(deletingIdTuples));
+            int[] rowCounts = connectIfAbsent(idPairs);
+            int index = 0;
+            for (Tuple2<Object, Object> idTuple : idPairs.tuples()) {
+                if (rowCounts[index++] != 0) {
+                    fireInsert(idTuple.get_1(), idTuple.get_2());
+                }
+            }
+            for (Tuple2<Object, Object> idTuple : deletingIdTuples) {
+                fireDelete(idTuple.get_1(), idTuple.get_2());
+            }
+            return;
+        }
+        Set<Tuple2<Object, Object>> existingIdTuples = findByTuples(idPairs.tuples(), null);
+        List<Tuple2<Object, Object>> insertingIdTuples = new ArrayList<>();
+        for (Tuple2<Object, Object> idTuple : idPairs.tuples()) {
+            if (!existingIdTuples.contains(idTuple)) {
+                insertingIdTuples.add(idTuple);
+            }
+        }
+        disconnect(IdPairs.of(deletingIdTuples));
+        connect(IdPairs.of(insertingIdTuples));
+        for (Tuple2<Object, Object> idTuple : insertingIdTuples) {
+            fireInsert(idTuple.get_1(), idTuple.get_2());
+        }
+        for (Tuple2<Object, Object> idTuple : deletingIdTuples) {
+            fireDelete(idTuple.get_1(), idTuple.get_2());
+        }
+    }
+
     final Set<Tuple2<Object, Object>> find(Collection<Object> ids) {
         if (ids.isEmpty()) {
             return Collections.emptySet();
@@ -370,6 +436,53 @@ class MiddleTableOperator extends AbstractAssociationOperator {
         );
     }
 
+    private Set<Tuple2<Object, Object>> findExcept(IdPairs.Retain idPairs) {
+        Collection<Tuple2<Object, Collection<Object>>> entries = idPairs.entries();
+        if (entries.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Tuple2<Object, Collection<Object>> onlyOneEntry =
+                entries.size() == 1 ? entries.iterator().next() : null;
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        builder.enter(AbstractSqlBuilder.ScopeType.SELECT);
+        if (onlyOneEntry == null) {
+            for (ValueGetter getter : sourceGetters) {
+                builder.separator().sql(getter);
+            }
+        }
+        for (ValueGetter getter : targetGetters) {
+            builder.separator().sql(getter);
+        }
+        builder.leave();
+        builder
+                .sql(" from ").sql(middleTable.getTableName())
+                .enter(SqlBuilder.ScopeType.WHERE);
+        if (onlyOneEntry != null) {
+            ExclusiveIdPairPredicates.addPredicates(
+                    builder,
+                    sourceGetters,
+                    targetGetters,
+                    onlyOneEntry.get_1(),
+                    onlyOneEntry.get_2()
+            );
+        } else {
+            ExclusiveIdPairPredicates.addPredicates(
+                    builder,
+                    sourceGetters,
+                    targetGetters,
+                    idPairs
+            );
+        }
+        addLogicalDeletedPredicate(builder);
+        addFilterPredicate(builder);
+        builder.leave();
+        return find(
+                onlyOneEntry != null ? onlyOneEntry.get_1() : null,
+                builder,
+                null
+        );
+    }
+
     private Set<Tuple2<Object, Object>> find(DisconnectionArgs args) {
         if (args.deletedIds != null && args.caller == parent) {
             return find(args.deletedIds);
@@ -496,6 +609,45 @@ class MiddleTableOperator extends AbstractAssociationOperator {
         return rowCounts;
     }
 
+    final int[] connectIfAbsent(IdPairs idPairs) {
+        if (idPairs.tuples().isEmpty()) {
+            return EMPTY_ROW_COUNTS;
+        }
+        BatchSqlBuilder builder = new BatchSqlBuilder(sqlClient);
+        builder.sql("insert into ").sql(middleTable.getTableName()).enter(BatchSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            builder.separator().sql(getter);
+        }
+        builder.leave();
+        builder.sql(" ").enter(BatchSqlBuilder.ScopeType.SELECT);
+        for (ValueGetter getter : getters) {
+            builder.separator().variable(getter);
+        }
+        builder.leave();
+        String constantTableName = sqlClient.getDialect().getConstantTableName();
+        if (constantTableName != null) {
+            builder.sql(" from ").sql(constantTableName);
+        }
+        builder.sql(" where not exists").enter(BatchSqlBuilder.ScopeType.SUB_QUERY);
+        builder.sql("select * from ").sql(middleTable.getTableName());
+        builder.enter(BatchSqlBuilder.ScopeType.WHERE);
+        for (ValueGetter getter : getters) {
+            builder.separator()
+                    .sql(getter)
+                    .sql(" = ")
+                    .variable(getter);
+        }
+        builder.leave();
+        builder.leave();
+        int[] rowCounts = executeImpl(
+                builder,
+                idPairs.tuples(),
+                (ex, args) -> translateConnectException(ex, args, idPairs.tuples())
+        );
+        AffectedRows.add(affectedRowCount, path, sumRowCount(rowCounts));
+        return rowCounts;
+    }
+
     final void disconnect(IdPairs idPairs) {
         if (idPairs.isEmpty()) {
             return;
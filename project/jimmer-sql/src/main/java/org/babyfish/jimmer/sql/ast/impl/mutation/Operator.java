@@ -45,6 +45,9 @@ class Operator {
 
     private static final int[] EMPTY_ROW_COUNTS = new int[0];
 
+    // SQL Server does not accept more than 1000 row values in one statement
+    private static final int MAX_MULTI_ROW_INSERT_COUNT = 1000;
+
     final SaveContext ctx;
 
     Operator(SaveContext ctx) {
@@ -105,18 +108,6 @@ class Operator {
             }
         }
 
-        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
-        BatchSqlBuilder builder = new BatchSqlBuilder(
-                sqlClient,
-                batch.entities().size() < 2 || ctx.options.isBatchForbidden()
-        );
-        builder.sql("insert into ")
-                .sql(ctx.path.getType().getTableName(strategy))
-                .enter(BatchSqlBuilder.ScopeType.TUPLE);
-        if (sequenceIdGenerator != null) {
-            builder.separator().sql(ctx.path.getType().getIdProp().<SingleColumn>getStorage(strategy).getName());
-        }
-
         UpsertMask<?> upsertMask;
         List<ImmutableProp> conflictProps;
         if (batch.originalMode() == SaveMode.UPSERT) {
@@ -137,6 +128,65 @@ class Operator {
             upsertMask = null;
             conflictProps = Collections.emptyList();
         }
+
+        Dialect dialect = sqlClient.getDialect();
+        boolean bulkCopy = ctx.options.isBulkCopyEnabled() &&
+                batch.originalMode() == SaveMode.INSERT_ONLY &&
+                !batch.shape().getIdGetters().isEmpty() &&
+                dialect.isBulkCopySupported();
+        boolean multiRows = !bulkCopy &&
+                ctx.options.isMultiRowInsertEnabled() &&
+                batch.entities().size() > 1 &&
+                sequenceIdGenerator == null &&
+                userIdGenerator == null &&
+                dialect.isMultiInsertionSupported() &&
+                (identityIdGenerator == null || dialect.isMultiRowInsertedIdsSupported());
+        if (bulkCopy || multiRows) {
+            List<PropertyGetter> insertedGetters = new ArrayList<>();
+            for (PropertyGetter getter : batch.shape().getGetters()) {
+                if (getter.isInsertable(conflictProps, upsertMask)) {
+                    insertedGetters.add(getter);
+                }
+            }
+            List<PropertyGetter> insertedDefaultGetters = new ArrayList<>();
+            for (PropertyGetter defaultGetter : defaultGetters) {
+                if (defaultGetter.isInsertable(conflictProps, upsertMask)) {
+                    insertedDefaultGetters.add(defaultGetter);
+                }
+            }
+            MutationTrigger trigger = ctx.trigger;
+            if (trigger != null) {
+                for (DraftSpi draft : batch.entities()) {
+                    trigger.modifyEntityTable(null, draft);
+                }
+            }
+            int rowCount;
+            if (bulkCopy) {
+                rowCount = insertByBulkCopy(batch, insertedGetters, insertedDefaultGetters);
+            } else {
+                rowCount = insertByMultiRows(
+                        batch,
+                        insertedGetters,
+                        insertedDefaultGetters,
+                        identityIdGenerator != null
+                );
+            }
+            AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
+            return;
+        }
+
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        BatchSqlBuilder builder = new BatchSqlBuilder(
+                sqlClient,
+                batch.entities().size() < 2 || ctx.options.isBatchForbidden()
+        );
+        builder.sql("insert into ")
+                .sql(ctx.path.getType().getTableName(strategy))
+                .enter(BatchSqlBuilder.ScopeType.TUPLE);
+        if (sequenceIdGenerator != null) {
+            builder.separator().sql(ctx.path.getType().getIdProp().<SingleColumn>getStorage(strategy).getName());
+        }
+
         for (PropertyGetter getter : batch.shape().getGetters()) {
             if (getter.isInsertable(conflictProps, upsertMask)) {
                 builder.separator().sql(getter);
@@ -193,10 +243,271 @@ class Operator {
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
     }
 
+    private int insertByBulkCopy(
+            Batch<DraftSpi> batch,
+            List<PropertyGetter> insertedGetters,
+            List<PropertyGetter> insertedDefaultGetters
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        List<String> columnNames = new ArrayList<>(insertedGetters.size() + insertedDefaultGetters.size());
+        // Only the variable mapper of this builder is used,
+        // so that the values are converted as same as insert statement
+        BatchSqlBuilder builder = new BatchSqlBuilder(sqlClient, false);
+        for (PropertyGetter getter : insertedGetters) {
+            columnNames.add(getter.metadata().getColumnName());
+            builder.variable(getter);
+        }
+        for (PropertyGetter defaultGetter : insertedDefaultGetters) {
+            columnNames.add(defaultGetter.metadata().getColumnName());
+            builder.defaultVariable(defaultGetter);
+        }
+        BatchSqlBuilder.VariableMapper mapper = builder.build().get_2();
+        Iterable<List<Object>> rows = () -> new Iterator<List<Object>>() {
+
+            private final Iterator<DraftSpi> itr = batch.entities().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return itr.hasNext();
+            }
+
+            @Override
+            public List<Object> next() {
+                return mapper.variables(itr.next());
+            }
+        };
+        Dialect dialect = sqlClient.getDialect();
+        String sql = dialect.getBulkCopySql(
+                ctx.path.getType().getTableName(sqlClient.getMetadataStrategy()),
+                columnNames
+        );
+        // The statement created by the executor is never executed,
+        // the rows are sent by the copy API of its connection
+        return sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        ctx.con,
+                        sql,
+                        Collections.emptyList(),
+                        null,
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            long rowCount;
+                            try {
+                                Savepoint savepoint = SavepointManager.setIfNeeded(ctx.con, sqlClient);
+                                try {
+                                    rowCount = dialect.bulkCopy(stmt.getConnection(), sql, rows);
+                                } catch (SQLException ex) {
+                                    SavepointManager.rollback(stmt::getConnection, savepoint);
+                                    throw ex;
+                                } finally {
+                                    SavepointManager.release(stmt::getConnection, savepoint);
+                                }
+                            } catch (SQLException ex) {
+                                Exception translateException = translateException(
+                                        ex,
+                                        args,
+                                        batch.shape(),
+                                        new ArrayList<>(batch.entities()),
+                                        false
+                                );
+                                if (translateException instanceof RuntimeException) {
+                                    throw (RuntimeException) translateException;
+                                }
+                                throw new ExecutionException("Cannot execute the bulk copy", translateException);
+                            }
+                            return (int) rowCount;
+                        }
+                )
+        );
+    }
+
+    private int insertByMultiRows(
+            Batch<DraftSpi> batch,
+            List<PropertyGetter> insertedGetters,
+            List<PropertyGetter> insertedDefaultGetters,
+            boolean idGenerated
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        int variableCountPerRow = Math.max(insertedGetters.size() + insertedDefaultGetters.size(), 1);
+        int maxRowCount = Math.max(
+                Math.min(
+                        sqlClient.getDialect().getMaxVariableCount() / variableCountPerRow,
+                        MAX_MULTI_ROW_INSERT_COUNT
+                ),
+                1
+        );
+        List<EntityCollection.Item<DraftSpi>> items = new ArrayList<>(batch.entities().size());
+        for (EntityCollection.Item<DraftSpi> item : batch.entities().items()) {
+            items.add(item);
+        }
+        Tuple3<String, BatchSqlBuilder.VariableMapper, List<Integer>> tuple = null;
+        int sumRowCount = 0;
+        for (int start = 0; start < items.size(); start += maxRowCount) {
+            List<EntityCollection.Item<DraftSpi>> chunk =
+                    items.subList(start, Math.min(start + maxRowCount, items.size()));
+            // At most two different statements are built: the full chunk and the last chunk
+            if (tuple == null || chunk.size() != maxRowCount) {
+                tuple = multiRowInsertBuilder(
+                        batch.shape(),
+                        chunk.size(),
+                        insertedGetters,
+                        insertedDefaultGetters,
+                        idGenerated
+                ).build();
+            }
+            sumRowCount += executeMultiRows(tuple, batch.shape(), chunk, idGenerated);
+        }
+        return sumRowCount;
+    }
+
+    private BatchSqlBuilder multiRowInsertBuilder(
+            Shape shape,
+            int rowCount,
+            List<PropertyGetter> insertedGetters,
+            List<PropertyGetter> insertedDefaultGetters,
+            boolean idGenerated
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        BatchSqlBuilder builder = new BatchSqlBuilder(sqlClient);
+        builder.sql("insert into ")
+                .sql(ctx.path.getType().getTableName(sqlClient.getMetadataStrategy()))
+                .enter(BatchSqlBuilder.ScopeType.TUPLE);
+        for (PropertyGetter getter : insertedGetters) {
+            builder.separator().sql(getter);
+        }
+        for (PropertyGetter defaultGetter : insertedDefaultGetters) {
+            builder.separator().sql(defaultGetter);
+        }
+        builder.leave().sql(" values").enter(BatchSqlBuilder.ScopeType.COMMA);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            builder.separator().enter(BatchSqlBuilder.ScopeType.TUPLE);
+            for (PropertyGetter getter : insertedGetters) {
+                builder.separator().variable(getter, rowIndex);
+            }
+            for (PropertyGetter defaultGetter : insertedDefaultGetters) {
+                builder.separator().defaultVariable(defaultGetter);
+            }
+            builder.leave();
+        }
+        builder.leave();
+        if (idGenerated && sqlClient.getDialect().isInsertedIdReturningRequired()) {
+            builder.sql(" returning ")
+                    .sql(
+                            shape.getType().getIdProp()
+                                    .<SingleColumn>getStorage(sqlClient.getMetadataStrategy())
+                                    .getName()
+                    );
+        }
+        return builder;
+    }
+
+    private int executeMultiRows(
+            Tuple3<String, BatchSqlBuilder.VariableMapper, List<Integer>> tuple,
+            Shape shape,
+            List<EntityCollection.Item<DraftSpi>> items,
+            boolean idGenerated
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        List<DraftSpi> entities = new ArrayList<>(items.size());
+        for (EntityCollection.Item<DraftSpi> item : items) {
+            entities.add(item.getEntity());
+        }
+        Reader<?> autoIdReader = idGenerated ? sqlClient.getReader(shape.getType().getIdProp()) : null;
+        return sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        ctx.con,
+                        tuple.get_1(),
+                        tuple.get_2().variables(entities),
+                        tuple.get_3(),
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        (con, sqlText) -> {
+                            if (idGenerated) {
+                                return con.prepareStatement(sqlText, Statement.RETURN_GENERATED_KEYS);
+                            }
+                            return con.prepareStatement(sqlText);
+                        },
+                        (stmt, args) -> {
+                            int rowCount;
+                            try {
+                                Savepoint savepoint = SavepointManager.setIfNeeded(ctx.con, sqlClient);
+                                try {
+                                    rowCount = stmt.executeUpdate();
+                                } catch (SQLException ex) {
+                                    SavepointManager.rollback(stmt::getConnection, savepoint);
+                                    throw ex;
+                                } finally {
+                                    SavepointManager.release(stmt::getConnection, savepoint);
+                                }
+                            } catch (SQLException ex) {
+                                Exception translateException = translateException(ex, args, shape, entities, false);
+                                if (translateException instanceof RuntimeException) {
+                                    throw (RuntimeException) translateException;
+                                }
+                                throw new ExecutionException("Cannot execute the DML statement", translateException);
+                            }
+                            Object[] ids = null;
+                            if (autoIdReader != null) {
+                                ids = new Object[items.size()];
+                                int index = 0;
+                                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                    while (index < ids.length && rs.next()) {
+                                        ids[index++] = autoIdReader.read(rs, new Reader.Context(null, sqlClient));
+                                    }
+                                }
+                                if (index != ids.length) {
+                                    throw new ExecutionException(
+                                            "The multi-row insertion statement inserts " +
+                                                    ids.length +
+                                                    " row(s), but only " +
+                                                    index +
+                                                    " generated id(s) are returned"
+                                    );
+                                }
+                            }
+                            int rowIndex = 0;
+                            for (EntityCollection.Item<DraftSpi> item : items) {
+                                modifyEntity(
+                                        ids != null ? ids[rowIndex] : null,
+                                        shape,
+                                        item,
+                                        false,
+                                        false,
+                                        1
+                                );
+                                rowIndex++;
+                            }
+                            return rowCount;
+                        }
+                )
+        );
+    }
+
     public void update(
             Map<Object, ImmutableSpi> originalIdObjMap,
             Map<KeyMatcher.Group, Map<Object, ImmutableSpi>> originalKeyObjMap,
             Batch<DraftSpi> batch
+    ) {
+        update(originalIdObjMap, originalKeyObjMap, batch, false);
+    }
+
+    /**
+     * @param unmatchedReturned If it is true, the objects whose update count is 0
+     *                          are returned rather than being treated as optimistic
+     *                          lock errors, so that caller can decide whether they
+     *                          should be inserted.
+     * @return The unmatched objects if {@code unmatchedReturned} is true,
+     * otherwise, an empty list
+     */
+    public List<DraftSpi> update(
+            Map<Object, ImmutableSpi> originalIdObjMap,
+            Map<KeyMatcher.Group, Map<Object, ImmutableSpi>> originalKeyObjMap,
+            Batch<DraftSpi> batch,
+            boolean unmatchedReturned
     ) {
         Shape shape = batch.shape();
         validate(shape, false);
@@ -223,13 +534,13 @@ class Operator {
         }
 
         if (batch.entities().isEmpty()) {
-            return;
+            return Collections.emptyList();
         }
 
         if (ctx.options.isIdOnlyAsReference(ctx.path.getProp()) &&
                 ctx.options.getUnloadedVersionBehavior(shape.getType()) == UnloadedVersionBehavior.IGNORE &&
                 shape.isIdOnly()) {
-            return;
+            return unmatchedReturned ? new ArrayList<>(batch.entities()) : Collections.emptyList();
         }
 
         Set<ImmutableProp> changedProps =
@@ -278,13 +589,17 @@ class Operator {
             updatedGetters.add(getter);
         }
         if (updatedGetters.isEmpty() && !hasOptimisticLock) {
+            if (unmatchedReturned && keyProps == null) {
+                // Nothing can be updated, let caller check whether they exist
+                return new ArrayList<>(batch.entities());
+            }
             fillIds(QueryReason.GET_ID_WHEN_UPDATE_NOTHING, originalKeyObjMap, batch);
-            return;
+            return Collections.emptyList();
         }
         if (keyProps != null && !sqlClient.getDialect().isIdFetchableByKeyUpdate()) {
             fillIds(QueryReason.GET_ID_FOR_KEY_BASE_UPDATE, originalKeyObjMap, batch);
             if (batch.entities().isEmpty()) {
-                return;
+                return Collections.emptyList();
             }
         }
         BatchSqlBuilder builder = new BatchSqlBuilder(
@@ -349,7 +664,16 @@ class Operator {
                 true,
                 false
         );
-        if (versionGetter != null || userOptimisticLockPredicate != null) {
+        List<DraftSpi> unmatchedRows = Collections.emptyList();
+        if (unmatchedReturned) {
+            unmatchedRows = new ArrayList<>();
+            int index = 0;
+            for (DraftSpi row : entities) {
+                if (rowCounts[index++] == 0) {
+                    unmatchedRows.add(row);
+                }
+            }
+        } else if (versionGetter != null || userOptimisticLockPredicate != null) {
             int index = 0;
             for (DraftSpi row : entities) {
                 if (rowCounts[index++] == 0) {
@@ -358,6 +682,7 @@ class Operator {
             }
         }
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount(rowCounts));
+        return unmatchedRows;
     }
 
     @SuppressWarnings("unchecked")
@@ -881,16 +1206,34 @@ class Operator {
             Shape shape,
             DraftSpi entity,
             boolean updatable
+    ) {
+        return translateException(ex, args, shape, Collections.singletonList(entity), updatable);
+    }
+
+    private Exception translateException(
+            SQLException ex,
+            Executor.Args<?> args,
+            Shape shape,
+            List<DraftSpi> entities,
+            boolean updatable
     ) {
         String state = ex.getSQLState();
         if (state == null || !state.startsWith("23")) {
             return convertFinalException(ex, args);
         }
+        int[] rowCounts;
+        if (entities.size() == 1) {
+            rowCounts = SIMPLE_ILLEGAL_ROW_COUNTS;
+        } else {
+            // Which row of the single statement causes the error is unknown
+            rowCounts = new int[entities.size()];
+            Arrays.fill(rowCounts, -1);
+        }
         EntityInvestigator investigator = new EntityInvestigator(
-                SIMPLE_ILLEGAL_ROW_COUNTS,
+                rowCounts,
                 this.ctx.investigator(ctx.options.getSqlClient()),
                 shape,
-                Collections.singletonList(entity),
+                entities,
                 updatable
         );
         Exception investigateEx = investigator.investigate();
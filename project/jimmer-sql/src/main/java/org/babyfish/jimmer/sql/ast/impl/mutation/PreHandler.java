@@ -78,6 +78,22 @@ interface PreHandler {
 
     Iterable<Batch<DraftSpi>> associationBatches();
 
+    /**
+     * Whether the objects of {@link #updatedMap()} are updated
+     * without being queried, see {@link SaveOptions#isOptimisticUpsertEnabled()}
+     */
+    default boolean isUpdateFirst() {
+        return false;
+    }
+
+    /**
+     * Query the objects which are updated first but not matched,
+     * and return the absent ones which must be inserted.
+     */
+    default ShapedEntityMap<DraftSpi> absentMap(Collection<DraftSpi> unmatchedDrafts) {
+        return ShapedEntityMap.empty();
+    }
+
     static PreHandler of(SaveContext ctx) {
         switch (ctx.options.getMode()) {
             case INSERT_ONLY:
@@ -265,7 +281,7 @@ abstract class AbstractPreHandler implements PreHandler {
     }
 
     @SuppressWarnings("unchecked")
-    private Fetcher<ImmutableSpi> originalFetcher() {
+    final Fetcher<ImmutableSpi> originalFetcher() {
         Fetcher<ImmutableSpi> oldFetcher = this.originalFetcher;
         if (oldFetcher == null) {
             ImmutableType type = ctx.path.getType();
@@ -433,6 +449,7 @@ abstract class AbstractPreHandler implements PreHandler {
         if (items.isEmpty()) {
             return;
         }
+        List<DraftSpi> newDrafts = new ArrayList<>();
         for (DraftInterceptor.Item<Object, DraftSpi> item : items) {
             if (item.getState().isIdOnly() && ctx.options.isIdOnlyAsReference(ctx.path.getProp())) {
                 continue;
@@ -441,13 +458,11 @@ abstract class AbstractPreHandler implements PreHandler {
                 continue;
             }
             if (item.getOriginal() == null && ctx.options.getMode() != SaveMode.UPDATE_ONLY) {
-                DraftSpi draft = item.getDraft();
-                assignId(draft);
-                assignVersion(draft);
-                assignLocalDeletedInfo(draft);
-                assignDefaultValues(draft);
+                newDrafts.add(item.getDraft());
             }
         }
+        assignIds(newDrafts);
+        initializeNewDrafts(newDrafts);
         DraftInterceptor<Object, DraftSpi> interceptor = this.interceptor;
         if (interceptor == null) {
             return;
@@ -494,14 +509,32 @@ abstract class AbstractPreHandler implements PreHandler {
         }
     }
 
-    private void assignId(DraftSpi draft) {
+    final void initializeNewDrafts(Collection<DraftSpi> drafts) {
+        for (DraftSpi draft : drafts) {
+            assignVersion(draft);
+            assignLocalDeletedInfo(draft);
+            assignDefaultValues(draft);
+        }
+    }
+
+    private void assignIds(List<DraftSpi> drafts) {
         PropId idPropId = idProp.getId();
-        if (draft.__isLoaded(idPropId)) {
+        List<DraftSpi> draftsWithoutId = new ArrayList<>();
+        for (DraftSpi draft : drafts) {
+            if (!draft.__isLoaded(idPropId)) {
+                draftsWithoutId.add(draft);
+            }
+        }
+        if (draftsWithoutId.isEmpty()) {
             return;
         }
-        Object id = ctx.allocateId();
-        if (id != null) {
-            draft.__set(idPropId, id);
+        // Pooled sequence allocates all ids by one round-trip
+        List<Object> ids = ctx.allocateIds(draftsWithoutId.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object id = ids.get(i);
+            if (id != null) {
+                draftsWithoutId.get(i).__set(idPropId, id);
+            }
         }
     }
 
@@ -916,6 +949,8 @@ class UpsertPreHandler extends AbstractPreHandler {
 
     private ShapedEntityMap<DraftSpi> mergedMap;
 
+    private QueryReason updateFirstReason;
+
     UpsertPreHandler(SaveContext ctx, boolean ignoreUpdate) {
         super(ctx);
         this.ignoreUpdate = ignoreUpdate;
@@ -939,6 +974,40 @@ class UpsertPreHandler extends AbstractPreHandler {
         return mergedMap;
     }
 
+    @Override
+    public boolean isUpdateFirst() {
+        resolve();
+        return updateFirstReason != null;
+    }
+
+    @Override
+    public ShapedEntityMap<DraftSpi> absentMap(Collection<DraftSpi> unmatchedDrafts) {
+        if (updateFirstReason == null) {
+            return super.absentMap(unmatchedDrafts);
+        }
+        Map<Object, ImmutableSpi> idMap = Rows.findMapByIds(
+                ctx,
+                updateFirstReason,
+                originalFetcher(),
+                unmatchedDrafts
+        );
+        ImmutableType type = ctx.path.getType();
+        PropId idPropId = type.getIdProp().getId();
+        ImmutableProp versionProp = type.getVersionProp();
+        boolean userLocked = ctx.options.getUserOptimisticLock(type) != null;
+        List<DraftSpi> absentList = new ArrayList<>(unmatchedDrafts.size());
+        for (DraftSpi draft : unmatchedDrafts) {
+            if (!idMap.containsKey(draft.__get(idPropId))) {
+                absentList.add(draft);
+            } else if (userLocked || (versionProp != null && draft.__isLoaded(versionProp.getId()))) {
+                ctx.throwOptimisticLockError(draft);
+            }
+        }
+        // The absent objects skipped `callInterceptor` because they were updated first
+        initializeNewDrafts(absentList);
+        return createEntityMap(null, absentList, null, SaveMode.INSERT_ONLY, SaveMode.UPSERT);
+    }
+
     @Override
     void onResolve() {
 
@@ -961,7 +1030,19 @@ class UpsertPreHandler extends AbstractPreHandler {
 
         if (!draftsWithId.isEmpty()) {
             QueryReason queryReason = queryReason(true, draftsWithId);
-            if (queryReason != QueryReason.NONE) {
+            // Batch-dumb dialects return `SUCCESS_NO_INFO` for every batched row,
+            // so the unmatched objects of update-first cannot be detected
+            if (!ignoreUpdate &&
+                    ctx.options.isOptimisticUpsertEnabled() &&
+                    (draftsWithId.size() < 2 || !ctx.options.getSqlClient().getDialect().isBatchDumb()) &&
+                    (queryReason == QueryReason.UPSERT_NOT_SUPPORTED ||
+                            queryReason == QueryReason.OPTIMISTIC_LOCK)) {
+                // Neither trigger nor interceptor needs the old objects,
+                // update all objects first and query the unmatched ones later
+                updateFirstReason = queryReason;
+                insertedList = new ArrayList<>();
+                updatedList = new ArrayList<>(draftsWithId);
+            } else if (queryReason != QueryReason.NONE) {
                 insertedList = new ArrayList<>();
                 updatedList = new ArrayList<>();
                 Map<Object, ImmutableSpi> idMap = findOldMapByIds(queryReason);
@@ -14,11 +14,11 @@ import org.babyfish.jimmer.sql.meta.impl.IdentityIdGenerator;
 import org.babyfish.jimmer.sql.meta.impl.SequenceIdGenerator;
 import org.babyfish.jimmer.sql.runtime.*;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
 
 class SaveContext extends MutationContext {
 
@@ -143,6 +143,10 @@ class SaveContext extends MutationContext {
         }
         JSqlClientImplementor sqlClient = options.getSqlClient();
         if (idGenerator instanceof SequenceIdGenerator) {
+            SequenceIdGenerator sequenceIdGenerator = (SequenceIdGenerator) idGenerator;
+            if (sequenceIdGenerator.isPooled()) {
+                return allocatePooledIds(sequenceIdGenerator, 1).get(0);
+            }
             String sql = sqlClient.getDialect().getSelectIdFromSequenceSql(
                     ((SequenceIdGenerator)idGenerator).getSequenceName()
             );
@@ -185,6 +189,95 @@ class SaveContext extends MutationContext {
         );
     }
 
+    public List<Object> allocateIds(int count) {
+        IdGenerator idGenerator = options.getSqlClient().getIdGenerator(path.getType().getJavaClass());
+        if (idGenerator instanceof SequenceIdGenerator && ((SequenceIdGenerator) idGenerator).isPooled()) {
+            return allocatePooledIds((SequenceIdGenerator) idGenerator, count);
+        }
+        List<Object> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(allocateId());
+        }
+        return ids;
+    }
+
+    private List<Object> allocatePooledIds(SequenceIdGenerator sequenceIdGenerator, int count) {
+        long[] values = options.getSqlClient().getSequenceIdPools().allocate(
+                sequenceIdGenerator,
+                count,
+                blockCount -> selectSequenceValues(sequenceIdGenerator.getSequenceName(), blockCount)
+        );
+        Class<?> idClass = path.getType().getIdProp().getReturnClass();
+        List<Object> ids = new ArrayList<>(values.length);
+        for (long value : values) {
+            ids.add(pooledId(value, idClass));
+        }
+        return ids;
+    }
+
+    private long[] selectSequenceValues(String sequenceName, int count) {
+        JSqlClientImplementor sqlClient = options.getSqlClient();
+        String sql = sqlClient.getDialect().getSelectIdsFromSequenceSql(sequenceName);
+        if (sql == null) {
+            String singleSql = sqlClient.getDialect().getSelectIdFromSequenceSql(sequenceName);
+            long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = selectSequenceValues(singleSql, Collections.emptyList(), 1)[0];
+            }
+            return values;
+        }
+        return selectSequenceValues(sql, Collections.singletonList(count), count);
+    }
+
+    private long[] selectSequenceValues(String sql, List<Object> variables, int count) {
+        JSqlClientImplementor sqlClient = options.getSqlClient();
+        List<Integer> variablePositions = null;
+        if (sqlClient.getSqlFormatter().isPretty()) {
+            variablePositions = variables.isEmpty() ?
+                    Collections.emptyList() :
+                    Collections.singletonList(sql.indexOf('?') + 1);
+        }
+        return sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sql,
+                        variables,
+                        variablePositions,
+                        ExecutionPurpose.MUTATE,
+                        options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            long[] values = new long[count];
+                            int index = 0;
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                while (index < count && rs.next()) {
+                                    values[index++] = rs.getLong(1);
+                                }
+                            }
+                            return index == count ? values : Arrays.copyOf(values, index);
+                        }
+                )
+        );
+    }
+
+    private Object pooledId(long value, Class<?> idClass) {
+        if (idClass == long.class || idClass == Long.class) {
+            return value;
+        }
+        if ((idClass == int.class || idClass == Integer.class) && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        if (idClass == BigInteger.class) {
+            return BigInteger.valueOf(value);
+        }
+        if (idClass == BigDecimal.class) {
+            return BigDecimal.valueOf(value);
+        }
+        throwIllegalGeneratedId(value);
+        return null;
+    }
+
     public SaveContext prop(ImmutableProp prop) {
         return new SaveContext(this, prop, null);
     }
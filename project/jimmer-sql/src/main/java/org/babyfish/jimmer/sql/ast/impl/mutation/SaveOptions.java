@@ -51,6 +51,16 @@ public interface SaveOptions {
 
     boolean isBatchForbidden();
 
+    boolean isMultiRowInsertEnabled();
+
+    boolean isBulkCopyEnabled();
+
+    boolean isAssociationPipelineEnabled();
+
+    boolean isOptimisticUpsertEnabled();
+
+    boolean isMiddleTableDiffEnabled();
+
     boolean isConstraintViolationTranslatable();
 
     @Nullable
@@ -173,6 +183,31 @@ abstract class AbstractSaveOptionsWrapper implements SaveOptions {
         return raw.isBatchForbidden();
     }
 
+    @Override
+    public boolean isMultiRowInsertEnabled() {
+        return raw.isMultiRowInsertEnabled();
+    }
+
+    @Override
+    public boolean isBulkCopyEnabled() {
+        return raw.isBulkCopyEnabled();
+    }
+
+    @Override
+    public boolean isAssociationPipelineEnabled() {
+        return raw.isAssociationPipelineEnabled();
+    }
+
+    @Override
+    public boolean isOptimisticUpsertEnabled() {
+        return raw.isOptimisticUpsertEnabled();
+    }
+
+    @Override
+    public boolean isMiddleTableDiffEnabled() {
+        return raw.isMiddleTableDiffEnabled();
+    }
+
     @Override
     public boolean isConstraintViolationTranslatable() {
         return raw.isConstraintViolationTranslatable();
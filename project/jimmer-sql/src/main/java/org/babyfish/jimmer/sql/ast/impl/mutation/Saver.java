@@ -141,14 +141,18 @@ public class Saver {
 
         boolean detach = saveSelf(preHandler);
 
-        for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
-            for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
-                if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
-                    if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
-                        clearAssociations(batch.entities(), prop);
+        if (ctx.options.isAssociationPipelineEnabled()) {
+            savePostAssociations(preHandler, detach);
+        } else {
+            for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
+                for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
+                    if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
+                        if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
+                            clearAssociations(batch.entities(), prop);
+                        }
+                        setBackReference(prop, batch);
+                        savePostAssociation(prop, batch.entities(), detach);
                     }
-                    setBackReference(prop, batch);
-                    savePostAssociation(prop, batch, detach);
                 }
             }
         }
@@ -199,10 +203,37 @@ public class Saver {
         }
     }
 
+    private void savePostAssociations(PreHandler preHandler, boolean detach) {
+        // Different association batches may share the same association,
+        // group them by association so that each association is saved once
+        Map<ImmutableProp, List<Batch<DraftSpi>>> batchesMap = new LinkedHashMap<>();
+        for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
+            for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
+                if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
+                    batchesMap.computeIfAbsent(prop, it -> new ArrayList<>()).add(batch);
+                }
+            }
+        }
+        for (Map.Entry<ImmutableProp, List<Batch<DraftSpi>>> e : batchesMap.entrySet()) {
+            ImmutableProp prop = e.getKey();
+            List<DraftSpi> entities = new ArrayList<>();
+            for (Batch<DraftSpi> batch : e.getValue()) {
+                entities.addAll(batch.entities());
+            }
+            if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
+                clearAssociations(entities, prop);
+            }
+            for (Batch<DraftSpi> batch : e.getValue()) {
+                setBackReference(prop, batch);
+            }
+            savePostAssociation(prop, entities, detach);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void savePostAssociation(
             ImmutableProp prop,
-            Batch<DraftSpi> batch,
+            Collection<DraftSpi> entities,
             boolean detachOtherSiblings
     ) {
         Saver targetSaver = new Saver(ctx.prop(prop));
@@ -217,9 +248,9 @@ public class Saver {
             targetSaver.ctx.throwUnstructuredAssociation();
         }
 
-        List<DraftSpi> targets = new ArrayList<>(batch.entities().size());
+        List<DraftSpi> targets = new ArrayList<>(entities.size());
         PropId targetPropId = prop.getId();
-        for (DraftSpi draft : batch.entities()) {
+        for (DraftSpi draft : entities) {
             Object value = draft.__get(targetPropId);
             if (value instanceof List<?>) {
                 targets.addAll((List<DraftSpi>) value);
@@ -233,7 +264,7 @@ public class Saver {
             targetSaver.saveAllImpl(targets);
         }
 
-        updateAssociations(batch, prop, detachOtherSiblings);
+        updateAssociations(entities, prop, detachOtherSiblings);
     }
 
     private void fetch(List<DraftSpi> drafts, Iterable<Batch<DraftSpi>> batches) {
@@ -430,11 +461,25 @@ public class Saver {
                     break;
                 case UPDATE_ONLY:
                     detach = true;
-                    operator.update(
-                            preHandler.originalIdObjMap(),
-                            preHandler.originalkeyObjMap(),
-                            batch
-                    );
+                    if (preHandler.isUpdateFirst()) {
+                        List<DraftSpi> unmatchedDrafts = operator.update(
+                                preHandler.originalIdObjMap(),
+                                preHandler.originalkeyObjMap(),
+                                batch,
+                                true
+                        );
+                        if (!unmatchedDrafts.isEmpty()) {
+                            for (Batch<DraftSpi> absentBatch : preHandler.absentMap(unmatchedDrafts)) {
+                                operator.insert(absentBatch);
+                            }
+                        }
+                    } else {
+                        operator.update(
+                                preHandler.originalIdObjMap(),
+                                preHandler.originalkeyObjMap(),
+                                batch
+                        );
+                    }
                     break;
                 default:
                     detach = true;
@@ -487,7 +532,7 @@ public class Saver {
         }
     }
 
-    private void updateAssociations(Batch<DraftSpi> batch, ImmutableProp prop, boolean detach) {
+    private void updateAssociations(Collection<DraftSpi> entities, ImmutableProp prop, boolean detach) {
         ChildTableOperator subOperator = null;
         MiddleTableOperator middleTableOperator = null;
         if (prop.isMiddleTableDefinition()) {
@@ -520,7 +565,7 @@ public class Saver {
         if (subOperator == null && middleTableOperator == null) {
             return;
         }
-        IdPairs.Retain retainedIdPairs = IdPairs.retain(batch.entities(), prop);
+        IdPairs.Retain retainedIdPairs = IdPairs.retain(entities, prop);
         if (subOperator != null && detach && ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.REPLACE) {
             subOperator.disconnectExcept(retainedIdPairs, true);
         }
@@ -536,7 +581,11 @@ public class Saver {
                         middleTableOperator.merge(retainedIdPairs);
                         break;
                     default:
-                        middleTableOperator.replace(retainedIdPairs);
+                        if (ctx.options.isMiddleTableDiffEnabled()) {
+                            middleTableOperator.replaceByDiff(retainedIdPairs);
+                        } else {
+                            middleTableOperator.replace(retainedIdPairs);
+                        }
                         break;
                 }
             } else {
@@ -0,0 +1,145 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.sql.meta.impl.SequenceIdGenerator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * The ids reserved by the pooled sequences of one sql client, keyed by sequence name.
+ *
+ * <p>{@link SequenceIdGenerator} is shared by all the sql clients using the same
+ * metadata strategy, even if they connect to different databases, so the reserved
+ * ids cannot be kept by the generator.</p>
+ */
+public class SequenceIdPools {
+
+    private final ConcurrentMap<String, Pool> poolMap = new ConcurrentHashMap<>();
+
+    /**
+     * Allocate ids from the blocks reserved by the pooled sequence.
+     *
+     * <p>Each sequence value {@code v} reserves the ids
+     * {@code [v, v + allocationSize)}, the ids which are not used
+     * by this allocation are kept for the next allocation.</p>
+     *
+     * @param generator The pooled sequence id generator
+     * @param count The count of ids to be allocated
+     * @param sequenceValuesLoader Accepts the count of sequence values
+     *                             which must be fetched from database,
+     *                             and returns them
+     * @return The allocated ids
+     */
+    public long[] allocate(
+            SequenceIdGenerator generator,
+            int count,
+            IntFunction<long[]> sequenceValuesLoader
+    ) {
+        if (!generator.isPooled()) {
+            throw new IllegalStateException(
+                    "The sequence \"" + generator.getSequenceName() + "\" is not pooled"
+            );
+        }
+        Pool pool = poolMap.computeIfAbsent(
+                generator.getSequenceName(),
+                it -> new Pool(it, generator.getAllocationSize())
+        );
+        if (pool.allocationSize != generator.getAllocationSize()) {
+            throw new IllegalStateException(
+                    "The sequence \"" +
+                            generator.getSequenceName() +
+                            "\" is used by id generators with different allocation sizes " +
+                            pool.allocationSize +
+                            " and " +
+                            generator.getAllocationSize()
+            );
+        }
+        return pool.allocate(count, sequenceValuesLoader);
+    }
+
+    private static class Pool {
+
+        final String sequenceName;
+
+        final int allocationSize;
+
+        // Not `synchronized`, monitors pin the carrier threads of virtual threads
+        private final Lock lock = new ReentrantLock();
+
+        // Guarded by `lock`
+        private long nextId;
+
+        // Guarded by `lock`
+        private int remainingCount;
+
+        Pool(String sequenceName, int allocationSize) {
+            this.sequenceName = sequenceName;
+            this.allocationSize = allocationSize;
+        }
+
+        long[] allocate(int count, IntFunction<long[]> sequenceValuesLoader) {
+            long[] ids = new long[count];
+            int index;
+            lock.lock();
+            try {
+                index = take(ids, 0);
+            } finally {
+                lock.unlock();
+            }
+            if (index == count) {
+                return ids;
+            }
+
+            // Load outside the lock, other threads can still use the remaining
+            // ids of the pool(if any) during the database round trip
+            int blockCount = (count - index + allocationSize - 1) / allocationSize;
+            long[] sequenceValues = sequenceValuesLoader.apply(blockCount);
+            if (sequenceValues.length != blockCount) {
+                throw new IllegalStateException(
+                        "The sequence \"" +
+                                sequenceName +
+                                "\" is expected to return " +
+                                blockCount +
+                                " value(s), but " +
+                                sequenceValues.length +
+                                " value(s) are returned"
+                );
+            }
+            long lastNextId = 0;
+            int lastRemainingCount = 0;
+            for (long sequenceValue : sequenceValues) {
+                lastNextId = sequenceValue;
+                lastRemainingCount = allocationSize;
+                while (index < count && lastRemainingCount > 0) {
+                    ids[index++] = lastNextId++;
+                    lastRemainingCount--;
+                }
+            }
+            if (lastRemainingCount > 0) {
+                lock.lock();
+                try {
+                    // Another thread may have refilled the pool meanwhile,
+                    // keep its block and drop this one, gaps are allowed
+                    if (remainingCount == 0) {
+                        nextId = lastNextId;
+                        remainingCount = lastRemainingCount;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return ids;
+        }
+
+        private int take(long[] ids, int index) {
+            while (index < ids.length && remainingCount > 0) {
+                ids[index++] = nextId++;
+                remainingCount--;
+            }
+            return index;
+        }
+    }
+}
@@ -181,6 +181,31 @@ public class SimpleEntitySaveCommandImpl<E>
         return new SimpleEntitySaveCommandImpl<>(new DumbBatchAcceptableCfg(cfg, acceptable));
     }
 
+    @Override
+    public SimpleEntitySaveCommand<E> setMultiRowInsertEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new MultiRowInsertEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setBulkCopyEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new BulkCopyEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setAssociationPipelineEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new AssociationPipelineEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setOptimisticUpsertEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new OptimisticUpsertEnabledCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setMiddleTableDiffEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new MiddleTableDiffEnabledCfg(cfg, enabled));
+    }
+
     @Override
     public SimpleEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable) {
         return new SimpleEntitySaveCommandImpl<>(new ConstraintViolationTranslatableCfg(cfg, transferable));
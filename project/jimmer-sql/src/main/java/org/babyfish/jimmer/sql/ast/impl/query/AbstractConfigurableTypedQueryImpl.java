@@ -74,6 +74,9 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
                 mutableQuery.accept(visitor, Collections.singletonList(idOnlySelection), false);
             } else {
                 mutableQuery.accept(visitor, data.oldSelections, data.withoutSortingAndPaging);
+                if (data.seekPredicate != null) {
+                    ((Ast) data.seekPredicate).accept(visitor);
+                }
                 for (Selection<?> selection : data.selections) {
                     Ast.from(selection, visitor.getAstContext()).accept(visitor);
                 }
@@ -316,7 +319,8 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         mutableQuery.renderTo(
                 builder,
                 data.withoutSortingAndPaging || builder.getAstContext().isQueryWithoutSortingAndPaging(),
-                data.reverseSorting
+                data.reverseSorting,
+                data.seekPredicate
         );
     }
 
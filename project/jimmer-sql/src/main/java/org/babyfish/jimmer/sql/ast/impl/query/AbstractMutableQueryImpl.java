@@ -278,20 +278,37 @@ public abstract class AbstractMutableQueryImpl
     }
 
     void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
+        renderTo(builder, withoutSortingAndPaging, reverseOrder, null);
+    }
+
+    void renderTo(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            Predicate extraPredicate
+    ) {
         TableLikeImplementor<?> tableLikeImplementor = getTableLikeImplementor();
         if (tableLikeImplementor.hasBaseTable()) {
             SqlBuilder tmpBuilder = builder.createTempBuilder();
-            renderClausesAfterTable(tmpBuilder, withoutSortingAndPaging, reverseOrder);
+            renderClausesAfterTable(tmpBuilder, withoutSortingAndPaging, reverseOrder, extraPredicate);
             tableLikeImplementor.renderTo(builder);
             builder.appendTempBuilder(tmpBuilder);
         } else {
             tableLikeImplementor.renderTo(builder);
-            renderClausesAfterTable(builder, withoutSortingAndPaging, reverseOrder);
+            renderClausesAfterTable(builder, withoutSortingAndPaging, reverseOrder, extraPredicate);
         }
     }
 
-    private void renderClausesAfterTable(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
-        Predicate predicate = getPredicate(builder.getAstContext());
+    private void renderClausesAfterTable(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            Predicate extraPredicate
+    ) {
+        Predicate predicate = CompositePredicate.and(
+                getPredicate(builder.getAstContext()),
+                extraPredicate
+        );
         Predicate havingPredicate = getHavingPredicate(builder.getAstContext());
         if (predicate != null) {
             builder.enter(SqlBuilder.ScopeType.WHERE);
@@ -1,18 +1,42 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.Slice;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.PropExpression;
 import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.ast.embedded.AbstractTypedEmbeddedPropExpression;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.impl.ShapeCollector;
+import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableLikeImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
 import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.BaseTable;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.table.spi.TableLike;
-import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+import org.babyfish.jimmer.sql.ast.tuple.*;
+import org.babyfish.jimmer.sql.fetcher.Field;
+import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
+import org.babyfish.jimmer.sql.fetcher.impl.JoinFetchFieldVisitor;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.QueryPlan;
+import org.babyfish.jimmer.sql.runtime.QueryPlanCache;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.TupleCreator;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -20,9 +44,13 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -30,6 +58,9 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurableRootQueryImpl.class);
 
+    // Singleton, the tuple creator is a part of the shape of cached reader
+    private static final TupleCreator<Object[]> KEYSET_TUPLE_CREATOR = args -> args;
+
     ConfigurableRootQueryImpl(
             TypedQueryData data,
             MutableRootQueryImpl<T> baseQuery
@@ -88,6 +119,9 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         if (offset > Long.MAX_VALUE - pageSize) {
             throw new IllegalArgumentException("offset is too big");
         }
+        if (isPageCountConcurrent(con)) {
+            return fetchPageConcurrently(pageIndex, pageSize, offset, pageFactory);
+        }
         long total = fetchUnlimitedCount(con);
         if (offset >= total) {
             if (LOGGER.isInfoEnabled()) {
@@ -141,6 +175,75 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         );
     }
 
+    /**
+     * Whether the count query and the data query of `fetchPage` can be executed concurrently,
+     * that requires the page count executor of sql client, no specified connection,
+     * no `for update`, and the connection used by the count query must be
+     * independent of the current thread
+     * <ul>
+     *     <li>The query is served by the slave connection manager
+     *     which is not transactional, or</li>
+     *     <li>The transactional connection manager proves that there is
+     *     no transaction or connection bound to the current thread</li>
+     * </ul>
+     * Otherwise, the count query executed by other thread could not see
+     * the uncommitted changes of the current transaction.
+     */
+    public boolean isPageCountConcurrent(@Nullable Connection con) {
+        if (con != null || getData().forUpdate != null) {
+            return false;
+        }
+        JSqlClientImplementor sqlClient = getSqlClient();
+        if (sqlClient.getPageCountExecutor() == null) {
+            return false;
+        }
+        ConnectionManager connectionManager = sqlClient.getSlaveConnectionManager(false);
+        if (connectionManager instanceof TxConnectionManager) {
+            return !((TxConnectionManager) connectionManager).isTransactionActive();
+        }
+        return connectionManager != sqlClient.getConnectionManager();
+    }
+
+    private <P> P fetchPageConcurrently(
+            int pageIndex,
+            int pageSize,
+            long offset,
+            PageFactory<R, P> pageFactory
+    ) {
+        // Each query borrows its own connection, so they are independent of each other.
+        // The reverse sorting optimization is not applied because it depends on the total.
+        Supplier<Long> countTask = unlimitedCountTask();
+        CompletableFuture<Long> totalFuture = CompletableFuture.supplyAsync(
+                countTask,
+                getSqlClient().getPageCountExecutor()
+        );
+        List<R> rows;
+        try {
+            rows = limit(pageSize, offset).execute(null);
+        } catch (RuntimeException | Error ex) {
+            totalFuture.cancel(false);
+            throw ex;
+        }
+        long total;
+        try {
+            total = totalFuture.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+        return pageFactory.create(
+                rows,
+                total,
+                PageSource.of(pageIndex, pageSize, getMutableQuery())
+        );
+    }
+
     @Override
     public Slice<R> fetchSlice(int limit, int offset, @Nullable Connection con) {
         if (limit < 1) {
@@ -156,6 +259,95 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         return new Slice<>(rows.subList(0, rows.size() - 1), offset == 0, false);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public KeysetSlice<R> fetchKeysetSlice(int limit, @Nullable String cursor, @Nullable Connection con) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit cannot be less than 1");
+        }
+        TypedQueryData data = getData();
+        MutableRootQueryImpl<T> baseQuery = getMutableQuery();
+        List<Order> orders = baseQuery.getOrders();
+        if (orders.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination requires the `order by` clause");
+        }
+        if (baseQuery.isGroupByClauseUsed()) {
+            throw new IllegalStateException("Keyset pagination does not support the query using `group by` clause");
+        }
+        if (data.withoutSortingAndPaging || data.limit != Integer.MAX_VALUE || data.offset != 0) {
+            throw new IllegalStateException(
+                    "Keyset pagination does not support the query with `limit`, `offset` or `withoutSortingAndPaging`"
+            );
+        }
+        for (Order order : orders) {
+            if (isNullable(order.getExpression())) {
+                throw new IllegalStateException(
+                        "Keyset pagination does not support nullable sort keys, " +
+                                "but the sort expression \"" +
+                                order.getExpression() +
+                                "\" is nullable"
+                );
+            }
+        }
+        int orderCount = orders.size();
+        KeysetCursor keysetCursor = null;
+        if (cursor != null) {
+            List<Class<?>> types = new ArrayList<>(orderCount);
+            for (Order order : orders) {
+                types.add(((ExpressionImplementor<?>) order.getExpression()).getType());
+            }
+            keysetCursor = KeysetCursor.decode(cursor, types);
+        }
+        boolean backward = keysetCursor != null && keysetCursor.isBackward();
+
+        List<Selection<?>> selections = new ArrayList<>(data.selections.size() + orderCount);
+        selections.addAll(data.selections);
+        for (Order order : orders) {
+            selections.add(order.getExpression());
+        }
+        TypedQueryData keysetData = data
+                .keyset(
+                        selections,
+                        KEYSET_TUPLE_CREATOR,
+                        keysetCursor != null ?
+                                new KeysetPredicate(orders, keysetCursor.getValues(), backward) :
+                                null
+                )
+                .limit(limit + 1, 0);
+        if (backward) {
+            keysetData = keysetData.reverseSorting();
+        }
+        List<Object[]> argsList = (List<Object[]>) (List<?>)
+                new ConfigurableRootQueryImpl<>(keysetData, baseQuery).execute(con);
+
+        boolean hasMore = argsList.size() > limit;
+        if (hasMore) {
+            argsList = argsList.subList(0, limit);
+        }
+        if (backward) {
+            argsList = new ArrayList<>(argsList);
+            Collections.reverse(argsList);
+        }
+        int selectionCount = data.selections.size();
+        List<R> rows = new ArrayList<>(argsList.size());
+        for (Object[] args : argsList) {
+            rows.add((R) row(args, selectionCount, data.tupleCreator));
+        }
+        boolean isHead = keysetCursor == null || (backward && !hasMore);
+        boolean isTail = !backward && !hasMore;
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!argsList.isEmpty()) {
+            if (!isHead) {
+                previousCursor = keysetCursor(argsList.get(0), selectionCount, true).encode();
+            }
+            if (!isTail) {
+                nextCursor = keysetCursor(argsList.get(argsList.size() - 1), selectionCount, false).encode();
+            }
+        }
+        return new KeysetSlice<>(rows, isHead, isTail, previousCursor, nextCursor);
+    }
+
     @Override
     public <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -331,6 +523,49 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
                 .execute(con, this::executeImpl);
     }
 
+    /**
+     * Render the count query by the current thread so that the global filters
+     * which depend on the context of the current thread are applied,
+     * only the JDBC execution is left to the returned task.
+     */
+    @SuppressWarnings("unchecked")
+    private Supplier<Long> unlimitedCountTask() {
+        JSqlClientImplementor sqlClient = getSqlClient();
+        String sql;
+        Tuple3<String, List<Object>, List<Integer>> sqlResult;
+        List<Selection<?>> selections;
+        TupleCreator<?> tupleCreator;
+        if (getMutableQuery().getTable() instanceof BaseTable) {
+            sqlResult = preExecute(sqlClient, QueryRenderMode.WITHOUT_SORTING_AND_PAGING);
+            sql = "select count(1) from (" + sqlResult.get_1() + ") tb_simple_count__";
+            selections = Collections.singletonList(Expression.rowCount());
+            tupleCreator = getData().tupleCreator;
+        } else {
+            ConfigurableRootQueryImpl<T, Long> countQuery =
+                    (ConfigurableRootQueryImpl<T, Long>) reselect((q, t) -> q.select(Expression.rowCount()))
+                            .withoutSortingAndPaging();
+            sqlResult = countQuery.preExecute(sqlClient);
+            sql = sqlResult.get_1();
+            selections = countQuery.getData().selections;
+            tupleCreator = countQuery.getData().tupleCreator;
+        }
+        ExecutionPurpose purpose = getMutableQuery().getPurpose();
+        return () -> {
+            List<Object> rows = Selectors.select(
+                    sqlClient,
+                    null,
+                    sql,
+                    sqlResult.get_2(),
+                    sqlResult.get_3(),
+                    selections,
+                    tupleCreator,
+                    purpose,
+                    false
+            );
+            return (Long) rows.get(0);
+        };
+    }
+
     private long simpleCount(Connection con) {
         return getMutableQuery()
                 .getSqlClient()
@@ -393,13 +628,24 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
             return Collections.emptyList();
         }
         JSqlClientImplementor sqlClient = getMutableQuery().getSqlClient();
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(sqlClient);
+        PreparedSql prepared = prepare(sqlClient);
+        if (prepared.plan != null) {
+            return Selectors.select(
+                    sqlClient,
+                    con,
+                    prepared.plan,
+                    prepared.variables,
+                    data.selections,
+                    data.tupleCreator,
+                    getMutableQuery().getPurpose()
+            );
+        }
         return Selectors.select(
                 sqlClient,
                 con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                sqlResult.get_3(),
+                prepared.sql,
+                prepared.variables,
+                prepared.variablePositions,
                 data.selections,
                 data.tupleCreator,
                 getMutableQuery().getPurpose(),
@@ -434,19 +680,80 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         });
     }
 
+    @Override
+    public <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        TypedQueryData data = getData();
+        if (data.limit == 0) {
+            return block.apply(Stream.empty());
+        }
+        JSqlClientImplementor sqlClient = getMutableQuery().getSqlClient();
+        int finalBatchSize = nonNull(
+                sqlClient.getDialect().getForEachBatchSize(),
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+        return sqlClient.getSlaveConnectionManager(data.forUpdate != null).execute(con, newConn ->
+                streamImpl(newConn, finalBatchSize, block)
+        );
+    }
+
+    private <X> X streamImpl(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        TypedQueryData data = getData();
+        JSqlClientImplementor sqlClient = getMutableQuery().getSqlClient();
+        PreparedSql prepared = prepare(sqlClient);
+        if (prepared.plan != null) {
+            return Selectors.stream(
+                    sqlClient,
+                    con,
+                    prepared.plan,
+                    prepared.variables,
+                    data.selections,
+                    data.tupleCreator,
+                    getMutableQuery().getPurpose(),
+                    batchSize,
+                    block
+            );
+        }
+        return Selectors.stream(
+                sqlClient,
+                con,
+                prepared.sql,
+                prepared.variables,
+                prepared.variablePositions,
+                data.selections,
+                data.tupleCreator,
+                getMutableQuery().getPurpose(),
+                batchSize,
+                block
+        );
+    }
+
     private static <T> T nonNull(T a, T b) {
         return a != null ? a : b;
     }
 
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         JSqlClientImplementor sqlClient = getMutableQuery().getSqlClient();
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(sqlClient);
+        PreparedSql prepared = prepare(sqlClient);
+        if (prepared.plan != null) {
+            Selectors.forEach(
+                    sqlClient,
+                    con,
+                    prepared.plan,
+                    prepared.variables,
+                    getData().selections,
+                    getData().tupleCreator,
+                    getMutableQuery().getPurpose(),
+                    batchSize,
+                    consumer
+            );
+            return;
+        }
         Selectors.forEach(
                 sqlClient,
                 con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                sqlResult.get_3(),
+                prepared.sql,
+                prepared.variables,
+                prepared.variablePositions,
                 getData().selections,
                 getData().tupleCreator,
                 getMutableQuery().getPurpose(),
@@ -465,16 +772,142 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
             QueryRenderMode mode
     ) {
         AstContext astContext = new AstContext(sqlClient, mode);
-        SqlBuilder builder = new SqlBuilder(astContext);
+        applyPredicates(astContext);
+        return render(astContext);
+    }
+
+    /**
+     * Prepare the SQL of normal execution, if the shape of this query
+     * has been cached by {@link QueryPlanCache}, neither analyzing nor
+     * rendering is required, only the variables are collected.
+     */
+    private PreparedSql prepare(JSqlClientImplementor sqlClient) {
+        AstContext astContext = new AstContext(sqlClient, QueryRenderMode.NORMAL);
+        applyPredicates(astContext);
+        QueryPlanCache queryPlanCache = sqlClient.getQueryPlanCache();
+        ShapeCollector collector = queryPlanCache != null ? collectShape(astContext) : null;
+        if (collector == null) {
+            return new PreparedSql(render(astContext));
+        }
+        List<Object> shape = collector.getShape();
+        QueryPlan plan = queryPlanCache.get(shape);
+        if (plan != null) {
+            if (plan.isCacheable()) {
+                return new PreparedSql(plan, collector.getVariables());
+            }
+            return new PreparedSql(render(astContext));
+        }
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = render(astContext);
+        if (!collector.isRendered(sqlResult.get_2())) {
+            LOGGER.warn(
+                    "The variables collected from the shape of query are not the rendered variables, " +
+                            "the query plan cannot be cached, shape: {}",
+                    shape
+            );
+            queryPlanCache.putUncacheable(shape);
+            return new PreparedSql(sqlResult);
+        }
+        plan = queryPlanCache.put(shape, sqlResult.get_1(), sqlResult.get_3());
+        return new PreparedSql(plan, sqlResult.get_2());
+    }
+
+    private void applyPredicates(AstContext astContext) {
         if (!getMutableQuery().isFrozen()) {
             getMutableQuery().applyVirtualPredicates(astContext);
             getMutableQuery().applyGlobalFilters(astContext, getMutableQuery().getContext().getFilterLevel(), getData().selections);
         }
+    }
+
+    private Tuple3<String, List<Object>, List<Integer>> render(AstContext astContext) {
+        SqlBuilder builder = new SqlBuilder(astContext);
         builder.setQueryAnalysis(QueryAnalysisBuilder.analyze(builder.getAstContext(), this));
         renderTo(builder);
         return builder.build();
     }
 
+    /**
+     * Collect the shape of the query whose tables are only the root table,
+     * without paging, keyset, group by and having.
+     *
+     * @return The collector, or null if the shape of this query cannot be collected
+     */
+    @Nullable
+    private ShapeCollector collectShape(AstContext astContext) {
+        TypedQueryData data = getData();
+        MutableRootQueryImpl<T> query = getMutableQuery();
+        if (data.limit != Integer.MAX_VALUE ||
+                data.offset != 0 ||
+                data.seekPredicate != null ||
+                query.isGroupByClauseUsed() ||
+                !query.getHavingPredicates().isEmpty()) {
+            return null;
+        }
+        TableLikeImplementor<?> tableLikeImplementor = query.getTableLikeImplementor();
+        if (!(tableLikeImplementor instanceof TableImplementor<?>) || tableLikeImplementor.hasBaseTable()) {
+            return null;
+        }
+        TableImplementor<?> tableImplementor = (TableImplementor<?>) tableLikeImplementor;
+        ShapeCollector collector = new ShapeCollector(query.getSqlClient(), tableImplementor);
+        collector
+                .add(tableImplementor.getImmutableType())
+                .add(data.distinct)
+                .add(data.hint)
+                .add(data.forUpdate)
+                .add(data.withoutSortingAndPaging)
+                .add(data.reverseSorting)
+                .add(data.tupleCreator);
+        for (Selection<?> selection : data.selections) {
+            if (!collectSelectionShape(selection, collector)) {
+                return null;
+            }
+        }
+        Predicate predicate = query.getPredicate(astContext);
+        if (predicate != null && !collector.collect(predicate)) {
+            return null;
+        }
+        if (!data.withoutSortingAndPaging) {
+            for (Order order : query.getOrders()) {
+                if (!(order.getExpression() instanceof PropExpression<?>) ||
+                        !collector.collect(Ast.of(order.getExpression()))) {
+                    return null;
+                }
+                collector.add(order.getOrderMode()).add(order.getNullOrderMode());
+            }
+        }
+        return collector;
+    }
+
+    private static boolean collectSelectionShape(Selection<?> selection, ShapeCollector collector) {
+        if (selection instanceof Table<?>) {
+            if (!collector.isRootTable((Table<?>) selection)) {
+                return false;
+            }
+            collector.add(Table.class);
+            return true;
+        }
+        if (selection instanceof FetcherSelectionImpl<?>) {
+            FetcherSelectionImpl<?> fetcherSelection = (FetcherSelectionImpl<?>) selection;
+            if (fetcherSelection.getPath() != null ||
+                    fetcherSelection.getEmbeddedPropExpression() != null ||
+                    !collector.isRootTable(fetcherSelection.getTable())) {
+                return false;
+            }
+            // Join fetch depends on the join analysis and the filters of joined tables
+            for (Field field : fetcherSelection.getFetcher().getFieldMap().values()) {
+                if (JoinFetchFieldVisitor.isJoinField(field, collector.sqlClient())) {
+                    return false;
+                }
+            }
+            collector.add(fetcherSelection.getFetcher()).add(fetcherSelection.getConverter() != null);
+            return true;
+        }
+        if (selection instanceof TableSelection || selection instanceof FetcherSelection<?>) {
+            return false;
+        }
+        Object unwrapped = AbstractTypedEmbeddedPropExpression.unwrap(selection);
+        return unwrapped instanceof PropExpression<?> && collector.collect(unwrapped);
+    }
+
     @Override
     public ForUpdate getForUpdate() {
         return getData().forUpdate;
@@ -488,6 +921,114 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         return this;
     }
 
+    private static KeysetCursor keysetCursor(Object[] args, int selectionCount, boolean backward) {
+        return new KeysetCursor(
+                backward,
+                Arrays.copyOfRange(args, selectionCount, args.length)
+        );
+    }
+
+    /**
+     * Only property expressions can be validated before execution,
+     * the null values of other expressions are rejected by {@link KeysetCursor#encode()}
+     */
+    private static boolean isNullable(Expression<?> expression) {
+        if (!(expression instanceof PropExpressionImplementor<?>)) {
+            return false;
+        }
+        PropExpressionImplementor<?> propExpression = (PropExpressionImplementor<?>) expression;
+        if (propExpression.isNullable()) {
+            return true;
+        }
+        Table<?> table = propExpression.getTable();
+        while (true) {
+            ImmutableProp joinProp;
+            boolean inverse;
+            JoinType joinType;
+            if (table instanceof TableProxy<?>) {
+                TableProxy<?> proxy = (TableProxy<?>) table;
+                joinProp = proxy.__prop();
+                inverse = proxy.__isInverse();
+                joinType = proxy.__joinType();
+                table = proxy.__parent();
+            } else if (table instanceof TableImplementor<?>) {
+                TableImplementor<?> tableImplementor = (TableImplementor<?>) table;
+                joinProp = tableImplementor.getJoinProp();
+                inverse = tableImplementor.isInverse();
+                joinType = tableImplementor.getJoinType();
+                table = tableImplementor.getParent();
+            } else {
+                return false;
+            }
+            if (joinProp == null) {
+                return false;
+            }
+            switch (joinType) {
+                case RIGHT:
+                case FULL:
+                    return true;
+                case LEFT:
+                    if (inverse || joinProp.isNullable()) {
+                        return true;
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static Object row(Object[] args, int selectionCount, TupleCreator<?> tupleCreator) {
+        if (tupleCreator != null) {
+            return tupleCreator.createTuple(Arrays.copyOf(args, selectionCount));
+        }
+        switch (selectionCount) {
+            case 1:
+                return args[0];
+            case 2:
+                return new Tuple2<>(args[0], args[1]);
+            case 3:
+                return new Tuple3<>(args[0], args[1], args[2]);
+            case 4:
+                return new Tuple4<>(args[0], args[1], args[2], args[3]);
+            case 5:
+                return new Tuple5<>(args[0], args[1], args[2], args[3], args[4]);
+            case 6:
+                return new Tuple6<>(args[0], args[1], args[2], args[3], args[4], args[5]);
+            case 7:
+                return new Tuple7<>(args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+            case 8:
+                return new Tuple8<>(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7]);
+            case 9:
+                return new Tuple9<>(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8]);
+            default:
+                throw new AssertionError("Internal bug: illegal selection count " + selectionCount);
+        }
+    }
+
+    private static class PreparedSql {
+
+        final String sql;
+
+        final List<Object> variables;
+
+        final List<Integer> variablePositions;
+
+        final QueryPlan plan;
+
+        PreparedSql(Tuple3<String, List<Object>, List<Integer>> sqlResult) {
+            this.sql = sqlResult.get_1();
+            this.variables = sqlResult.get_2();
+            this.variablePositions = sqlResult.get_3();
+            this.plan = null;
+        }
+
+        PreparedSql(QueryPlan plan, List<Object> variables) {
+            this.sql = plan.getSql();
+            this.variables = variables;
+            this.variablePositions = plan.getVariablePositions();
+            this.plan = plan;
+        }
+    }
+
     private static class ReselectValidator extends AstVisitor {
 
         ReselectValidator(AstContext astContext) {
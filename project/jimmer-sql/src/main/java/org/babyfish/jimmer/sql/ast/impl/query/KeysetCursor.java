@@ -0,0 +1,215 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import org.babyfish.jimmer.impl.util.Classes;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The opaque cursor of keyset pagination, it contains the sort keys
+ * of the boundary row and the navigation direction.
+ *
+ * <p>Cursors are sent to clients, so only simple value types are supported
+ * and decoded by the types of the sort expressions, no java serialization
+ * is used.</p>
+ */
+class KeysetCursor {
+
+    private static final byte VERSION = 1;
+
+    private final boolean backward;
+
+    private final Object[] values;
+
+    KeysetCursor(boolean backward, Object[] values) {
+        this.backward = backward;
+        this.values = values;
+    }
+
+    boolean isBackward() {
+        return backward;
+    }
+
+    Object[] getValues() {
+        return values;
+    }
+
+    String encode() {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bout)) {
+            out.writeByte(VERSION);
+            out.writeBoolean(backward);
+            out.writeShort(values.length);
+            for (Object value : values) {
+                if (value == null) {
+                    throw new IllegalStateException(
+                            "Keyset pagination does not support null sort keys, " +
+                                    "please make sure that all the expressions of `order by` clause are non-null"
+                    );
+                }
+                out.writeUTF(text(value));
+            }
+        } catch (IOException ex) {
+            throw new AssertionError("Internal bug, in-memory stream cannot throw IOException", ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bout.toByteArray());
+    }
+
+    static KeysetCursor decode(String cursor, List<Class<?>> types) {
+        boolean backward;
+        Object[] values;
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor))
+        )) {
+            if (in.readByte() != VERSION) {
+                throw new IOException("Unsupported cursor version");
+            }
+            backward = in.readBoolean();
+            values = new Object[in.readShort()];
+            if (values.length == types.size()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = value(in.readUTF(), types.get(i));
+                }
+                if (in.available() != 0) {
+                    throw new IOException("Unexpected trailing bytes");
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalArgumentException("Illegal keyset cursor \"" + cursor + "\"", ex);
+        }
+        if (values.length != types.size()) {
+            throw new IllegalArgumentException(
+                    "The keyset cursor \"" +
+                            cursor +
+                            "\" contains " +
+                            values.length +
+                            " sort key(s), but the `order by` clause of the query has " +
+                            types.size() +
+                            " expression(s)"
+            );
+        }
+        return new KeysetCursor(backward, values);
+    }
+
+    private static String text(Object value) {
+        if (value instanceof Date && !(value instanceof java.sql.Date) &&
+                !(value instanceof java.sql.Time) && !(value instanceof java.sql.Timestamp)) {
+            return Long.toString(((Date) value).getTime());
+        }
+        if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof String ||
+                value instanceof Number ||
+                value instanceof Boolean ||
+                value instanceof Character ||
+                value instanceof UUID ||
+                value instanceof java.sql.Date ||
+                value instanceof java.sql.Time ||
+                value instanceof java.sql.Timestamp ||
+                value instanceof LocalDate ||
+                value instanceof LocalTime ||
+                value instanceof LocalDateTime ||
+                value instanceof OffsetDateTime ||
+                value instanceof ZonedDateTime ||
+                value instanceof Instant) {
+            return value.toString();
+        }
+        throw new IllegalStateException(
+                "Keyset pagination does not support the sort key type \"" +
+                        value.getClass().getName() +
+                        "\""
+        );
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object value(String text, Class<?> type) {
+        type = Classes.boxTypeOf(type);
+        if (type == String.class) {
+            return text;
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(text);
+        }
+        if (type == Long.class) {
+            return Long.valueOf(text);
+        }
+        if (type == Short.class) {
+            return Short.valueOf(text);
+        }
+        if (type == Byte.class) {
+            return Byte.valueOf(text);
+        }
+        if (type == Boolean.class) {
+            return Boolean.valueOf(text);
+        }
+        if (type == Character.class) {
+            if (text.length() != 1) {
+                throw new IllegalArgumentException("Illegal character \"" + text + "\"");
+            }
+            return text.charAt(0);
+        }
+        if (type == Double.class) {
+            return Double.valueOf(text);
+        }
+        if (type == Float.class) {
+            return Float.valueOf(text);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        }
+        if (type == BigInteger.class) {
+            return new BigInteger(text);
+        }
+        if (type == UUID.class) {
+            return UUID.fromString(text);
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, text);
+        }
+        if (type == java.sql.Date.class) {
+            return java.sql.Date.valueOf(text);
+        }
+        if (type == java.sql.Time.class) {
+            return java.sql.Time.valueOf(text);
+        }
+        if (type == java.sql.Timestamp.class) {
+            return java.sql.Timestamp.valueOf(text);
+        }
+        if (type == Date.class) {
+            return new Date(Long.parseLong(text));
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(text);
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.parse(text);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        }
+        if (type == OffsetDateTime.class) {
+            return OffsetDateTime.parse(text);
+        }
+        if (type == ZonedDateTime.class) {
+            return ZonedDateTime.parse(text);
+        }
+        if (type == Instant.class) {
+            return Instant.parse(text);
+        }
+        throw new IllegalArgumentException(
+                "Keyset pagination does not support the sort key type \"" +
+                        type.getName() +
+                        "\""
+        );
+    }
+}
@@ -0,0 +1,166 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.impl.*;
+import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The seek predicate of keyset pagination,
+ * selects the rows after(or before if it is backward) the boundary row
+ * according to the `order by` clause.
+ *
+ * <ul>
+ *     <li>If all sort directions are the same and the dialect supports tuple comparison,
+ *     it is rendered as {@code (c1, c2) > (?, ?)} which can use the composite index directly</li>
+ *     <li>Otherwise, it is rendered as {@code c1 > ? or c1 = ? and c2 > ?}</li>
+ * </ul>
+ */
+class KeysetPredicate extends AbstractPredicate {
+
+    private final List<Order> orders;
+
+    private final Object[] values;
+
+    private final boolean backward;
+
+    KeysetPredicate(List<Order> orders, Object[] values, boolean backward) {
+        if (orders.size() != values.length) {
+            throw new IllegalArgumentException(
+                    "The count of sort keys does not match the count of `order by` expressions"
+            );
+        }
+        this.orders = orders;
+        this.values = values;
+        this.backward = backward;
+    }
+
+    @Override
+    public void accept(@NotNull AstVisitor visitor) {
+        for (Order order : orders) {
+            ((Ast) order.getExpression()).accept(visitor);
+        }
+    }
+
+    @Override
+    public void renderTo(@NotNull AbstractSqlBuilder<?> builder) {
+        int size = orders.size();
+        ValueGetter[] getters = new ValueGetter[size];
+        for (int i = 0; i < size; i++) {
+            getters[i] = getter(orders.get(i).getExpression(), values[i], builder);
+        }
+        if (size > 1 && isSameOrderMode() && builder.sqlClient().getDialect().isTupleComparisonSupported()) {
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (ValueGetter getter : getters) {
+                builder.separator().sql(getter);
+            }
+            builder.leave();
+            builder.sql(" ").sql(operator(0)).sql(" ");
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (int i = 0; i < size; i++) {
+                builder.separator().rawVariable(getters[i].get(values[i]));
+            }
+            builder.leave();
+            return;
+        }
+        builder.enter(size == 1 ? AbstractSqlBuilder.ScopeType.NULL : AbstractSqlBuilder.ScopeType.SMART_OR);
+        for (int i = 0; i < size; i++) {
+            builder.separator();
+            builder.enter(i == 0 ? AbstractSqlBuilder.ScopeType.NULL : AbstractSqlBuilder.ScopeType.AND);
+            for (int ii = 0; ii < i; ii++) {
+                builder
+                        .separator()
+                        .sql(getters[ii])
+                        .sql(" = ")
+                        .rawVariable(getters[ii].get(values[ii]));
+            }
+            builder
+                    .separator()
+                    .sql(getters[i])
+                    .sql(" ")
+                    .sql(operator(i))
+                    .sql(" ")
+                    .rawVariable(getters[i].get(values[i]));
+            builder.leave();
+        }
+        builder.leave();
+    }
+
+    @Override
+    protected boolean determineHasVirtualPredicate() {
+        return false;
+    }
+
+    @Override
+    protected Ast onResolveVirtualPredicate(AstContext ctx) {
+        return this;
+    }
+
+    @Override
+    public int precedence() {
+        return ExpressionPrecedences.COMPARISON;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetPredicate that = (KeysetPredicate) o;
+        return backward == that.backward &&
+                orders.equals(that.orders) &&
+                Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(orders, backward);
+        result = 31 * result + Arrays.hashCode(values);
+        return result;
+    }
+
+    private boolean isSameOrderMode() {
+        OrderMode mode = orders.get(0).getOrderMode();
+        for (Order order : orders) {
+            if (order.getOrderMode() != mode) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String operator(int index) {
+        boolean asc = orders.get(index).getOrderMode() != OrderMode.DESC;
+        return asc != backward ? ">" : "<";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueGetter getter(
+            Expression<?> expression,
+            Object value,
+            AbstractSqlBuilder<?> builder
+    ) {
+        List<ValueGetter> getters = ValueGetter.valueGetters(
+                builder.sqlClient(),
+                (Expression<Object>) expression,
+                value
+        );
+        if (getters.size() != 1) {
+            throw new IllegalArgumentException(
+                    "Keyset pagination only supports the sort expression based on single column, " +
+                            "but the expression \"" +
+                            expression +
+                            "\" is based on " +
+                            getters.size() +
+                            " columns"
+            );
+        }
+        return getters.get(0);
+    }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -148,6 +149,25 @@ public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>
         });
     }
 
+    @Override
+    public <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        int finalBatchSize = batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                selections,
+                tupleCreator,
+                ExecutionPurpose.QUERY,
+                finalBatchSize,
+                block,
+                forUpdate != null
+        );
+    }
+
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
         Selectors.forEach(
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
@@ -44,6 +45,8 @@ class TypedQueryData {
 
     final String hint;
 
+    final Predicate seekPredicate;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -61,6 +64,7 @@ class TypedQueryData {
         reverseSortOptimizationEnabled = null;
         forUpdate = null;
         hint = null;
+        seekPredicate = null;
     }
 
     private TypedQueryData(
@@ -75,7 +79,8 @@ class TypedQueryData {
             boolean reverseSorting,
             Boolean reverseSortOptimizationEnabled,
             ForUpdate forUpdate,
-            String hint
+            String hint,
+            Predicate seekPredicate
     ) {
         this.selections = selections;
         this.tupleCreator = tupleCreator;
@@ -89,6 +94,7 @@ class TypedQueryData {
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
         this.forUpdate = forUpdate;
         this.hint = hint;
+        this.seekPredicate = seekPredicate;
     }
 
     public TypedQueryData reselect(List<Selection<?>> selections, TupleCreator<?> tupleCreator) {
@@ -104,7 +110,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -121,7 +128,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -138,7 +146,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -155,7 +164,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -172,7 +182,8 @@ class TypedQueryData {
                 true,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -189,7 +200,8 @@ class TypedQueryData {
                 reverseSorting,
                 enabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -206,7 +218,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
         );
     }
 
@@ -236,7 +249,34 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate
+        );
+    }
+
+    /**
+     * Used by keyset pagination, selects the sort keys after the original selections
+     * and seeks the rows after/before the boundary row by `seekPredicate`
+     */
+    public TypedQueryData keyset(
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            Predicate seekPredicate
+    ) {
+        return new TypedQueryData(
+                processSelections(selections),
+                tupleCreator,
+                this.selections,
+                this.tupleCreator,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                reverseSortOptimizationEnabled,
+                forUpdate,
+                hint,
+                seekPredicate
         );
     }
 
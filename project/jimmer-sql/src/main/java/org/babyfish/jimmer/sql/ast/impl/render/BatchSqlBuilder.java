@@ -57,6 +57,20 @@ public class BatchSqlBuilder extends AbstractSqlBuilder<BatchSqlBuilder> {
         return this;
     }
 
+    /**
+     * Used by multi-row statement, the row of variable mapper
+     * must be a list and the value is got from its element
+     * at the specified index.
+     */
+    public BatchSqlBuilder variable(ValueGetter getter, int rowIndex) {
+        sql(sqlClient.getDialect().jdbcParameter(getter.metadata().getSqlType()));
+        templateVariables.add(new RowVariable(new GetterVariable(getter), rowIndex));
+        if (variablePositions != null) {
+            variablePositions.add(builder.length());
+        }
+        return this;
+    }
+
     public BatchSqlBuilder defaultVariable(ValueGetter getter) {
         sql(sqlClient.getDialect().jdbcParameter(getter.metadata().getSqlType()));
         templateVariables.add(new DefaultVariable(getter));
@@ -221,6 +235,23 @@ public class BatchSqlBuilder extends AbstractSqlBuilder<BatchSqlBuilder> {
         }
     }
 
+    private static class RowVariable extends TemplateVariable {
+
+        private final TemplateVariable raw;
+
+        private final int rowIndex;
+
+        private RowVariable(TemplateVariable raw, int rowIndex) {
+            this.raw = raw;
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        Object get(Object row) {
+            return raw.get(((List<?>) row).get(rowIndex));
+        }
+    }
+
     private static class LambdaVariable extends TemplateVariable {
 
         private final Function<Object, Object> getter;
@@ -111,6 +111,50 @@ public class ComparisonPredicates {
         builder.leave();
     }
 
+    /**
+     * Collect the shape of {@link #renderCmp(String, Expression, Expression, AbstractSqlBuilder)},
+     * only the comparison between property and literal is supported.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean collectCmp(
+            String operator,
+            Expression<?> left,
+            Expression<?> right,
+            ShapeCollector collector
+    ) {
+        if (left instanceof LiteralExpressionImplementor<?> && right instanceof PropExpressionImplementor<?>) {
+            return collectCmp(REVERSED_OP_MAP.get(operator), right, left, collector);
+        }
+        if (!(left instanceof PropExpressionImplementor<?>) ||
+                !(right instanceof LiteralExpressionImplementor<?>) ||
+                !((PropExpressionImplementor<?>) left).getProp().isColumnDefinition()) {
+            return false;
+        }
+        if (!collector.collect(Ast.of(left))) {
+            return false;
+        }
+        Object value = ((LiteralExpressionImplementor<?>) right).getValue();
+        List<ValueGetter> getters =
+                ValueGetter.valueGetters(collector.sqlClient(), (Expression<Object>) left, value);
+        if (getters.size() > 1 && !"=".equals(operator) && !"<>".equals(operator)) {
+            return false;
+        }
+        boolean eqOrNe = "=".equals(operator) || "<>".equals(operator);
+        collector.add(operator).add(getters);
+        for (ValueGetter getter : getters) {
+            Object v = getter.get(value);
+            if (isNull(v)) {
+                if (!eqOrNe) {
+                    return false;
+                }
+                collector.add(null);
+            } else {
+                collector.variable(v);
+            }
+        }
+        return true;
+    }
+
     public static void renderExpressionIn(
             boolean negative,
             Expression<?> expression,
@@ -235,6 +279,116 @@ public class ComparisonPredicates {
         builder.leave();
     }
 
+    /**
+     * Collect the shape of {@link #renderIn(boolean, boolean, Expression, Collection, AbstractSqlBuilder)}
+     * whose {@code nullable} is false, only the property expression is supported.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean collectIn(
+            boolean negative,
+            Expression<?> expression,
+            Collection<?> values,
+            ShapeCollector collector
+    ) {
+        if (!(expression instanceof PropExpressionImplementor<?>) || !collector.collect(Ast.of(expression))) {
+            return false;
+        }
+        collector.add(negative);
+        if (values.isEmpty()) {
+            collector.add(0);
+            return true;
+        }
+        List<ValueGetter> getters = null;
+        for (Object value : values) {
+            List<ValueGetter> valueGetters =
+                    ValueGetter.valueGetters(collector.sqlClient(), (Expression<Object>) expression, value);
+            if (getters == null) {
+                getters = valueGetters;
+            } else if (!getters.equals(valueGetters)) {
+                return false;
+            }
+        }
+        if (getters.isEmpty()) {
+            collector.add(getters);
+            return true;
+        }
+        JSqlClientImplementor sqlClient = collector.sqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        if (getters.size() > 1 && !(
+                values.size() == 1 ? dialect.isTupleComparisonSupported() : dialect.isTupleSupported()
+        )) {
+            return false;
+        }
+        collector.add(getters);
+        if (values.size() == 1) {
+            Object value = values instanceof List<?> ?
+                    ((List<?>) values).get(0) :
+                    values.iterator().next();
+            collector.add(1);
+            return collectNonNullVariables(getters, value, collector);
+        }
+        if (getters.size() == 1 && dialect.isAnyEqualityOfArraySupported()) {
+            ValueGetter getter = getters.get(0);
+            Object[] arr = new Object[values.size()];
+            int index = 0;
+            for (Object value : values) {
+                Object v = getter.get(value);
+                if (isNull(v)) {
+                    return false;
+                }
+                arr[index++] = v;
+            }
+            collector.add("any").variable(new TypedList<>(getter.metadata().getSqlTypeName(), arr));
+            return true;
+        }
+        int largeInListThreshold = sqlClient.getLargeInListThreshold();
+        if (largeInListThreshold > 0 &&
+                values.size() > largeInListThreshold &&
+                getters.size() > 1 &&
+                dialect.isTupleUnnestSupported()) {
+            collector.add("unnest");
+            for (ValueGetter getter : getters) {
+                Object[] arr = new Object[values.size()];
+                int index = 0;
+                for (Object value : values) {
+                    Object v = getter.get(value);
+                    if (isNull(v)) {
+                        return false;
+                    }
+                    arr[index++] = v;
+                }
+                collector.variable(new TypedList<>(getter.metadata().getSqlTypeName(), arr));
+            }
+            return true;
+        }
+        // The padded size decides the count of JDBC parameters
+        collector.add(values.size());
+        InList<?> inList = new InList<>(values, sqlClient.isInListPaddingEnabled(), dialect.getMaxInListSize());
+        for (Iterable<?> subList : inList) {
+            for (Object value : subList) {
+                if (!collectNonNullVariables(getters, value, collector)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectNonNullVariables(
+            List<ValueGetter> getters,
+            Object value,
+            ShapeCollector collector
+    ) {
+        for (ValueGetter getter : getters) {
+            Object v = getter.get(value);
+            if (isNull(v)) {
+                return false;
+            }
+            collector.variable(v);
+        }
+        return true;
+    }
+
     public static void renderIn(
             boolean nullable,
             boolean negative,
@@ -330,6 +484,14 @@ public class ComparisonPredicates {
             }
             return;
         }
+        int largeInListThreshold = sqlClient.getLargeInListThreshold();
+        if (largeInListThreshold > 0 &&
+                values.size() > largeInListThreshold &&
+                getters.size() > 1 &&
+                dialect.isTupleUnnestSupported()) {
+            renderUnnestIn(negative, getters, values, builder);
+            return;
+        }
         InList<?> inList = new InList<>(values, sqlClient.isInListPaddingEnabled(), dialect.getMaxInListSize());
         if (getters.size() == 1) {
             ValueGetter getter = getters.get(0);
@@ -375,6 +537,36 @@ public class ComparisonPredicates {
         builder.leave();
     }
 
+    private static void renderUnnestIn(
+            boolean negative,
+            List<ValueGetter> getters,
+            Collection<?> values,
+            AbstractSqlBuilder<?> builder
+    ) {
+        renderColumns(getters, builder);
+        builder.sql(negative ? " not in " : " in ")
+                .enter(AbstractSqlBuilder.ScopeType.SUB_QUERY)
+                .sql("select * from unnest")
+                .enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            Object[] arr = new Object[values.size()];
+            int index = 0;
+            for (Object value : values) {
+                arr[index++] = nonNull(getter.get(value));
+            }
+            builder.separator().rawVariable(new TypedList<>(getter.metadata().getSqlTypeName(), arr));
+        }
+        builder.leave().leave();
+    }
+
+    private static void renderColumns(List<ValueGetter> getters, AbstractSqlBuilder<?> builder) {
+        builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            builder.separator().sql(getter);
+        }
+        builder.leave();
+    }
+
     public static void renderNullableIn(
             boolean negative,
             List<ValueGetter> getters,
@@ -206,6 +206,122 @@ public interface AbstractEntitySaveCommand {
     @NewChain
     AbstractEntitySaveCommand setDumbBatchAcceptable(boolean acceptable);
 
+    @NewChain
+    AbstractEntitySaveCommand setMultiRowInsertEnabled();
+
+    /**
+     * Insert new objects by multi-row statements
+     * {@code insert into ... values(...), (...), ...}
+     * rather than JDBC batch, so that the performance of insertion
+     * does not depend on the batch support of JDBC driver, such as
+     * {@code rewriteBatchedStatements} of MySQL.
+     *
+     * <p>The rows are split into several statements so that the variable
+     * count of each statement does not exceed
+     * {@link org.babyfish.jimmer.sql.dialect.Dialect#getMaxVariableCount()}.</p>
+     *
+     * <p>This option only affects the insertion of objects whose ids are
+     * specified or generated by identity, other objects are still saved
+     * by JDBC batch. Upsert statements are never affected.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setMultiRowInsertEnabled(boolean enabled);
+
+    @NewChain
+    AbstractEntitySaveCommand setBulkCopyEnabled();
+
+    /**
+     * Load new objects by the bulk copy protocol of database,
+     * such as {@code COPY ... FROM STDIN} of Postgres, rather than
+     * insert statements. It is designed for data import jobs.
+     *
+     * <p>This option only takes effect when</p>
+     * <ul>
+     *     <li>The save mode is {@link SaveMode#INSERT_ONLY}</li>
+     *     <li>{@link org.babyfish.jimmer.sql.dialect.Dialect#isBulkCopySupported()}
+     *     returns true</li>
+     *     <li>The ids of new objects are known before insertion, either
+     *     specified by user or allocated in advance by pooled sequence,
+     *     see {@link org.babyfish.jimmer.sql.GeneratedValue#allocationSize()}</li>
+     * </ul>
+     * <p>Otherwise, the objects are still inserted by insert statements.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setBulkCopyEnabled(boolean enabled);
+
+    @NewChain
+    AbstractEntitySaveCommand setAssociationPipelineEnabled();
+
+    /**
+     * Save the same association of all objects of the current level together.
+     *
+     * <p>By default, objects of the current level are grouped by the shape of
+     * their loaded associations, and the associations of each group are saved
+     * one by one, so the same child table or middle table may be visited many
+     * times when the saved objects have different shapes. If this option is
+     * enabled, each association is saved only once for all objects, so the
+     * statements of it are executed by fewer round trips and larger JDBC batches.</p>
+     *
+     * <p>The order of foreign key dependencies is not changed: referenced objects
+     * are still saved before the current objects, and child objects are still
+     * saved after them.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setAssociationPipelineEnabled(boolean enabled);
+
+    @NewChain
+    AbstractEntitySaveCommand setOptimisticUpsertEnabled();
+
+    /**
+     * Update the existing objects of upsert directly, without querying
+     * them before saving, when the database cannot do the upsert in one
+     * statement.
+     *
+     * <p>By default, if the upsert cannot be executed by the native upsert
+     * statement of database, such as the dialect does not support upsert or
+     * optimistic lock is used, jimmer queries the saved objects by their ids
+     * to decide which of them should be inserted and which should be updated.
+     * If the caller knows that most of the saved objects already exist,
+     * this option can be enabled: all objects are updated first, only the
+     * objects whose update count is 0 are queried, they are inserted if
+     * they do not exist, otherwise the optimistic lock error is raised.</p>
+     *
+     * <p>This option only takes effect when</p>
+     * <ul>
+     *     <li>The save mode is {@link SaveMode#UPSERT}</li>
+     *     <li>The id of the saved object is specified</li>
+     *     <li>Neither trigger nor draft interceptor requires the old objects</li>
+     * </ul>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setOptimisticUpsertEnabled(boolean enabled);
+
+    @NewChain
+    AbstractEntitySaveCommand setMiddleTableDiffEnabled();
+
+    /**
+     * Replace many-to-many associations by set-based statements
+     * rather than reading all existing associations of saved objects.
+     *
+     * <p>By default, when the associated objects of a many-to-many association
+     * are replaced and the trigger is enabled or the dialect does not support
+     * upsert, all existing rows of the middle table which belong to the saved
+     * objects are read to calculate the rows to be deleted and inserted.
+     * If this option is enabled</p>
+     * <ul>
+     *     <li>Without trigger, the rows which are not retained are deleted
+     *     by one statement, and the retained rows are inserted by upsert or
+     *     {@code insert ... select ... where not exists}, no row is read.</li>
+     *     <li>With trigger, only the rows to be deleted and the retained rows
+     *     which already exist are read, because they are needed by events.</li>
+     * </ul>
+     *
+     * <p>This is useful for huge associations, for example, the permissions
+     * of a user may have tens of thousands of rows.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setMiddleTableDiffEnabled(boolean enabled);
+
     @NewChain
     AbstractEntitySaveCommand setConstraintViolationTranslatable(boolean transferable);
 
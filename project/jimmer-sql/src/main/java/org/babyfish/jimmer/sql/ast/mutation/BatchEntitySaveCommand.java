@@ -264,6 +264,46 @@ public interface BatchEntitySaveCommand<E>
     @Override
     BatchEntitySaveCommand<E> setDumbBatchAcceptable(boolean acceptable);
 
+    @Override
+    default BatchEntitySaveCommand<E> setMultiRowInsertEnabled() {
+        return setMultiRowInsertEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setMultiRowInsertEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setBulkCopyEnabled() {
+        return setBulkCopyEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setBulkCopyEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setAssociationPipelineEnabled() {
+        return setAssociationPipelineEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setAssociationPipelineEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setOptimisticUpsertEnabled() {
+        return setOptimisticUpsertEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setOptimisticUpsertEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setMiddleTableDiffEnabled() {
+        return setMiddleTableDiffEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setMiddleTableDiffEnabled(boolean enabled);
+
     @Override
     BatchEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable);
 
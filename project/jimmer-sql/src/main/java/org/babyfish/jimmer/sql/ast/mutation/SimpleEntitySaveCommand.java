@@ -261,6 +261,46 @@ public interface SimpleEntitySaveCommand<E>
     @Override
     SimpleEntitySaveCommand<E> setDumbBatchAcceptable(boolean acceptable);
 
+    @Override
+    default SimpleEntitySaveCommand<E> setMultiRowInsertEnabled() {
+        return setMultiRowInsertEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setMultiRowInsertEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setBulkCopyEnabled() {
+        return setBulkCopyEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setBulkCopyEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setAssociationPipelineEnabled() {
+        return setAssociationPipelineEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setAssociationPipelineEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setOptimisticUpsertEnabled() {
+        return setOptimisticUpsertEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setOptimisticUpsertEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setMiddleTableDiffEnabled() {
+        return setMiddleTableDiffEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setMiddleTableDiffEnabled(boolean enabled);
+
     @Override
     SimpleEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable);
 
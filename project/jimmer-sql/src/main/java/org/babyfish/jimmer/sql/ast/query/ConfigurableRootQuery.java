@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.query;
 
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.Page;
 import org.babyfish.jimmer.Slice;
 import org.babyfish.jimmer.lang.NewChain;
@@ -82,6 +83,32 @@ public interface ConfigurableRootQuery<T extends TableLike<?>, R> extends TypedR
         return fetchSlice(limit, offset, null);
     }
 
+    /**
+     * Fetch a slice by keyset(seek) pagination.
+     *
+     * <p>Unlike {@link #fetchSlice(int, int, Connection)}, rows are located by
+     * the sort keys of the boundary row instead of offset,
+     * so the cost of fetching deep slices does not increase.</p>
+     *
+     * <ul>
+     *     <li>The query must have the `order by` clause and the sort keys
+     *     must be unique, for example, the last order expression is the id</li>
+     *     <li>The order expressions must be non-null and based on single column</li>
+     *     <li>The query cannot use `group by`, `limit` or `offset`</li>
+     * </ul>
+     *
+     * @param limit The max row count of the slice
+     * @param cursor The opaque cursor returned by
+     *      {@link KeysetSlice#getPreviousCursor()} or {@link KeysetSlice#getNextCursor()}
+     *      of another slice, null means fetching the head slice
+     * @param con The optional JDBC connection
+     */
+    KeysetSlice<R> fetchKeysetSlice(int limit, @Nullable String cursor, @Nullable Connection con);
+
+    default KeysetSlice<R> fetchKeysetSlice(int limit, @Nullable String cursor) {
+        return fetchKeysetSlice(limit, cursor, null);
+    }
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -164,4 +165,39 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    default <X> X stream(Function<Stream<R>, X> block) {
+        return stream(null, -1, block);
+    }
+
+    default <X> X stream(Connection con, Function<Stream<R>, X> block) {
+        return stream(con, -1, block);
+    }
+
+    default <X> X stream(int batchSize, Function<Stream<R>, X> block) {
+        return stream(null, batchSize, block);
+    }
+
+    /**
+     * Pull-style alternative of {@link #forEach(Connection, int, Consumer)},
+     * the result set is read lazily while the stream is consumed,
+     * so that the memory is bounded even if there are huge number of rows.
+     *
+     * <p>The stream is only valid during the execution of {@code block},
+     * the result set, the statement and the connection borrowed from
+     * the connection manager are closed when {@code block} returns.
+     * Please use {@code stream.iterator()} if iterator is preferred.</p>
+     *
+     * <p>Rows are read chunk by chunk, the chunk size is
+     * {@code Dialect.getForEachBatchSize()} or {@code batchSize}, and
+     * the associations specified by object fetcher are fetched for each chunk.</p>
+     *
+     * @param con The explicit JDBC connection, null means the connection is borrowed
+     *            from the connection manager of the sql client
+     * @param batchSize The chunk size, non-positive value means
+     *                  the default batch size of sql client
+     * @param block The lambda to consume the lazy stream
+     * @return The return value of {@code block}
+     */
+    <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block);
 }
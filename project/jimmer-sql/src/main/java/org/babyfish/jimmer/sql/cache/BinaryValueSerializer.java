@@ -0,0 +1,806 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.jackson.codec.JsonCodec;
+import org.babyfish.jimmer.jackson.codec.JsonReader;
+import org.babyfish.jimmer.jackson.codec.JsonWriter;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.babyfish.jimmer.jackson.codec.JsonCodec.jsonCodec;
+
+/**
+ * Compact binary serializer for remote caches, it can be used
+ * instead of the default JSON based {@link ValueSerializer}.
+ *
+ * <p>The format is driven by the metadata of {@link ImmutableType}
+ * and {@link ImmutableProp}, property names are never written.</p>
+ * <ul>
+ *     <li>Each value starts with a header which contains the format version
+ *     and the hash of the metadata shape used to write it, the values written
+ *     by the different shape(for example, the older version of application)
+ *     are rejected and treated as cache miss</li>
+ *     <li>Integer and long values, including ids, are written as zigzag varints</li>
+ *     <li>The id lists of association caches are written as packed arrays</li>
+ *     <li>Objects only write their loaded properties,
+ *     associated objects are nested, so an id-only object costs
+ *     the property count, the id property index and the id</li>
+ *     <li>The scalar types which are not supported natively
+ *     fall back to JSON, one value at a time</li>
+ * </ul>
+ */
+public class BinaryValueSerializer<T> extends ValueSerializer<T> {
+
+    private static final byte VERSION = (byte) 0xB1;
+
+    private static final int HEADER_SIZE = 5;
+
+    private static final byte NULL = 0;
+
+    private static final byte NON_NULL = 1;
+
+    private final Codec codec;
+
+    private final int schemaHash;
+
+    public BinaryValueSerializer(@NotNull ImmutableType type) {
+        this(type, null, jsonCodec());
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop) {
+        this(null, prop, jsonCodec());
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableType type, @NotNull JsonCodec<?> jsonCodec) {
+        this(type, null, jsonCodec);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop, @NotNull JsonCodec<?> jsonCodec) {
+        this(null, prop, jsonCodec);
+    }
+
+    private BinaryValueSerializer(ImmutableType type, ImmutableProp prop, JsonCodec<?> jsonCodec) {
+        if ((type == null) == (prop == null)) {
+            throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
+        }
+        CodecBuilder builder = new CodecBuilder(jsonCodec);
+        Codec codec;
+        if (prop == null) {
+            codec = builder.objectCodec(type);
+        } else if (prop.isAssociation(TargetLevel.ENTITY)) {
+            builder.schema.append(prop.getName()).append(':');
+            Codec idCodec = builder.propCodec(prop.getTargetType().getIdProp());
+            if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                builder.schema.append("[]");
+                codec = new ListCodec(idCodec);
+            } else {
+                codec = idCodec;
+            }
+        } else {
+            builder.schema.append(prop.getName()).append(':');
+            codec = builder.classCodec(prop.getElementClass(), prop.getElementClass());
+        }
+        this.codec = codec;
+        this.schemaHash = builder.schema.toString().hashCode();
+    }
+
+    /**
+     * @return The hash of metadata shape written into the header of each value
+     */
+    public int getSchemaHash() {
+        return schemaHash;
+    }
+
+    @NotNull
+    @Override
+    public byte[] serialize(T value) {
+        Output out = new Output();
+        out.writeByte(VERSION);
+        out.writeFixedInt(schemaHash);
+        try {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else {
+                out.writeByte(NON_NULL);
+                codec.write(out, value);
+            }
+        } catch (Exception ex) {
+            throw new SerializationException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(byte[] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        if (!isAcceptable(value)) {
+            throw new SerializationException(
+                    new IllegalArgumentException(
+                            "The value is not written by the binary serializer " +
+                                    "with the schema hash " +
+                                    schemaHash
+                    )
+            );
+        }
+        Input in = new Input(value, HEADER_SIZE);
+        try {
+            if (in.readByte() == NULL) {
+                return null;
+            }
+            return (T) codec.read(in);
+        } catch (Exception ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    @Override
+    protected boolean isAcceptable(@NotNull byte[] value) {
+        return value.length > HEADER_SIZE &&
+                value[0] == VERSION &&
+                new Input(value, 1).readFixedInt() == schemaHash;
+    }
+
+    private static class CodecBuilder {
+
+        private final JsonCodec<?> jsonCodec;
+
+        private final Map<ImmutableType, ObjectCodec> objectCodecMap = new HashMap<>();
+
+        final StringBuilder schema = new StringBuilder();
+
+        CodecBuilder(JsonCodec<?> jsonCodec) {
+            this.jsonCodec = jsonCodec;
+        }
+
+        Codec objectCodec(ImmutableType type) {
+            ObjectCodec codec = objectCodecMap.get(type);
+            if (codec != null) {
+                schema.append('@').append(type.getJavaClass().getName());
+                return codec;
+            }
+            codec = new ObjectCodec(type);
+            // Register before the properties are resolved, for recursive associations
+            objectCodecMap.put(type, codec);
+            schema.append(type.getJavaClass().getName()).append('{');
+            List<ImmutableProp> props = new ArrayList<>();
+            List<Codec> codecs = new ArrayList<>();
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.isView() || (prop.isFormula() && prop.getSqlTemplate() == null)) {
+                    // Derived properties, they are restored with the base properties
+                    continue;
+                }
+                schema.append(prop.getName()).append(':');
+                Codec propCodec = propCodec(prop);
+                if (prop.isNullable()) {
+                    propCodec = new NullableCodec(propCodec);
+                    schema.append('?');
+                }
+                schema.append(';');
+                props.add(prop);
+                codecs.add(propCodec);
+            }
+            schema.append('}');
+            codec.init(props, codecs);
+            return codec;
+        }
+
+        Codec propCodec(ImmutableProp prop) {
+            ImmutableType targetType = prop.getTargetType();
+            if (targetType != null) {
+                Codec targetCodec = objectCodec(targetType);
+                if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                    schema.append("[]");
+                    return new ListCodec(targetCodec);
+                }
+                return targetCodec;
+            }
+            if (prop.isScalarList()) {
+                Codec elementCodec = nativeCodec(prop.getElementClass());
+                if (elementCodec != null && List.class.isAssignableFrom(prop.getReturnClass())) {
+                    schema.append("[]");
+                    return new ListCodec(elementCodec);
+                }
+                return jsonValueCodec(prop.getGenericType());
+            }
+            return classCodec(prop.getReturnClass(), prop.getGenericType());
+        }
+
+        Codec classCodec(Class<?> type, Type genericType) {
+            Codec codec = nativeCodec(type);
+            if (codec != null) {
+                return codec;
+            }
+            return jsonValueCodec(genericType);
+        }
+
+        private Codec jsonValueCodec(Type type) {
+            schema.append("json<").append(type.getTypeName()).append('>');
+            return new JsonValueCodec(jsonReader(jsonCodec, type), jsonCodec.writer());
+        }
+
+        private static <JT> JsonReader<Object> jsonReader(JsonCodec<JT> jsonCodec, Type type) {
+            return jsonCodec.readerFor(tf -> tf.constructType(type));
+        }
+
+        private Codec nativeCodec(Class<?> type) {
+            Codec codec = ScalarCodec.of(type);
+            if (codec != null) {
+                schema.append(type.getName());
+                return codec;
+            }
+            if (type.isEnum()) {
+                schema.append(type.getName()).append('(');
+                for (Object constant : type.getEnumConstants()) {
+                    schema.append(((Enum<?>) constant).name()).append(',');
+                }
+                schema.append(')');
+                return new EnumCodec(type.getEnumConstants());
+            }
+            return null;
+        }
+    }
+
+    private interface Codec {
+
+        void write(Output out, Object value) throws Exception;
+
+        Object read(Input in) throws Exception;
+    }
+
+    private static class NullableCodec implements Codec {
+
+        private final Codec codec;
+
+        NullableCodec(Codec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws Exception {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else {
+                out.writeByte(NON_NULL);
+                codec.write(out, value);
+            }
+        }
+
+        @Override
+        public Object read(Input in) throws Exception {
+            if (in.readByte() == NULL) {
+                return null;
+            }
+            return codec.read(in);
+        }
+    }
+
+    private static class ListCodec implements Codec {
+
+        private final Codec elementCodec;
+
+        ListCodec(Codec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws Exception {
+            List<?> list = (List<?>) value;
+            out.writeVarInt(list.size());
+            for (Object element : list) {
+                elementCodec.write(out, element);
+            }
+        }
+
+        @Override
+        public Object read(Input in) throws Exception {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(elementCodec.read(in));
+            }
+            return list;
+        }
+    }
+
+    private static class ObjectCodec implements Codec {
+
+        private final ImmutableType type;
+
+        private PropId[] propIds;
+
+        private Codec[] codecs;
+
+        // Null means objects are created by draft
+        private int[] assemblerIndices;
+
+        ObjectCodec(ImmutableType type) {
+            this.type = type;
+        }
+
+        void init(List<ImmutableProp> props, List<Codec> codecs) {
+            PropId[] propIds = new PropId[props.size()];
+            int[] assemblerIndices = type.getAssembler() != null ? new int[props.size()] : null;
+            for (int i = 0; i < propIds.length; i++) {
+                propIds[i] = props.get(i).getId();
+                if (assemblerIndices != null) {
+                    assemblerIndices[i] = propIds[i].asIndex();
+                    if (assemblerIndices[i] == -1) {
+                        assemblerIndices = null;
+                    }
+                }
+            }
+            this.propIds = propIds;
+            this.codecs = codecs.toArray(new Codec[0]);
+            this.assemblerIndices = assemblerIndices;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws Exception {
+            ImmutableSpi spi = (ImmutableSpi) value;
+            PropId[] propIds = this.propIds;
+            int loadedCount = 0;
+            for (PropId propId : propIds) {
+                if (spi.__isLoaded(propId)) {
+                    loadedCount++;
+                }
+            }
+            out.writeVarInt(loadedCount);
+            for (int i = 0; i < propIds.length; i++) {
+                if (spi.__isLoaded(propIds[i])) {
+                    out.writeVarInt(i);
+                    codecs[i].write(out, spi.__get(propIds[i]));
+                }
+            }
+        }
+
+        @Override
+        public Object read(Input in) throws Exception {
+            int loadedCount = in.readVarInt();
+            int[] indices = new int[loadedCount];
+            Object[] values = new Object[loadedCount];
+            for (int i = 0; i < loadedCount; i++) {
+                int index = in.readVarInt();
+                if (index >= codecs.length) {
+                    throw new IllegalArgumentException(
+                            "Illegal property index " + index + " of \"" + type + "\""
+                    );
+                }
+                indices[i] = index;
+                values[i] = codecs[index].read(in);
+            }
+            int[] assemblerIndices = this.assemblerIndices;
+            if (assemblerIndices != null) {
+                ImmutableAssembler assembler = type.getAssembler();
+                Object immutable = assembler.create();
+                for (int i = 0; i < loadedCount; i++) {
+                    assembler.set(immutable, assemblerIndices[indices[i]], values[i]);
+                }
+                return immutable;
+            }
+            return Internal.produce(type, null, true, draft -> {
+                DraftSpi spi = (DraftSpi) draft;
+                for (int i = 0; i < loadedCount; i++) {
+                    spi.__set(propIds[indices[i]], values[i]);
+                }
+            });
+        }
+    }
+
+    private static class EnumCodec implements Codec {
+
+        private final Object[] constants;
+
+        EnumCodec(Object[] constants) {
+            this.constants = constants;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            out.writeVarInt(((Enum<?>) value).ordinal());
+        }
+
+        @Override
+        public Object read(Input in) {
+            return constants[in.readVarInt()];
+        }
+    }
+
+    private static class JsonValueCodec implements Codec {
+
+        private final JsonReader<Object> reader;
+
+        private final JsonWriter writer;
+
+        JsonValueCodec(JsonReader<Object> reader, JsonWriter writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws Exception {
+            out.writeByteArray(writer.writeAsBytes(value));
+        }
+
+        @Override
+        public Object read(Input in) throws Exception {
+            return reader.read(in.readByteArray());
+        }
+    }
+
+    private enum ScalarCodec implements Codec {
+
+        BOOLEAN {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readByte() != 0;
+            }
+        },
+        BYTE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((Byte) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readByte();
+            }
+        },
+        SHORT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Short) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (short) in.readZigZagLong();
+            }
+        },
+        INT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Integer) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (int) in.readZigZagLong();
+            }
+        },
+        LONG {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Long) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readZigZagLong();
+            }
+        },
+        FLOAT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeFixedInt(Float.floatToIntBits((Float) value));
+            }
+            @Override
+            public Object read(Input in) {
+                return Float.intBitsToFloat(in.readFixedInt());
+            }
+        },
+        DOUBLE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeFixedLong(Double.doubleToLongBits((Double) value));
+            }
+            @Override
+            public Object read(Input in) {
+                return Double.longBitsToDouble(in.readFixedLong());
+            }
+        },
+        CHAR {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarInt((Character) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (char) in.readVarInt();
+            }
+        },
+        STRING {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByteArray(((String) value).getBytes(StandardCharsets.UTF_8));
+            }
+            @Override
+            public Object read(Input in) {
+                int len = in.readVarInt();
+                String str = new String(in.buf, in.pos, len, StandardCharsets.UTF_8);
+                in.pos += len;
+                return str;
+            }
+        },
+        UUID_ {
+            @Override
+            public void write(Output out, Object value) {
+                UUID uuid = (UUID) value;
+                out.writeFixedLong(uuid.getMostSignificantBits());
+                out.writeFixedLong(uuid.getLeastSignificantBits());
+            }
+            @Override
+            public Object read(Input in) {
+                return new UUID(in.readFixedLong(), in.readFixedLong());
+            }
+        },
+        BIG_INTEGER {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByteArray(((BigInteger) value).toByteArray());
+            }
+            @Override
+            public Object read(Input in) {
+                return new BigInteger(in.readByteArray());
+            }
+        },
+        BIG_DECIMAL {
+            @Override
+            public void write(Output out, Object value) {
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeZigZagLong(decimal.scale());
+                out.writeByteArray(decimal.unscaledValue().toByteArray());
+            }
+            @Override
+            public Object read(Input in) {
+                int scale = (int) in.readZigZagLong();
+                return new BigDecimal(new BigInteger(in.readByteArray()), scale);
+            }
+        },
+        LOCAL_DATE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong(((LocalDate) value).toEpochDay());
+            }
+            @Override
+            public Object read(Input in) {
+                return LocalDate.ofEpochDay(in.readZigZagLong());
+            }
+        },
+        LOCAL_TIME {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarLong(((LocalTime) value).toNanoOfDay());
+            }
+            @Override
+            public Object read(Input in) {
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            }
+        },
+        LOCAL_DATE_TIME {
+            @Override
+            public void write(Output out, Object value) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeZigZagLong(dateTime.toLocalDate().toEpochDay());
+                out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+            }
+            @Override
+            public Object read(Input in) {
+                return LocalDateTime.of(
+                        LocalDate.ofEpochDay(in.readZigZagLong()),
+                        LocalTime.ofNanoOfDay(in.readVarLong())
+                );
+            }
+        },
+        INSTANT {
+            @Override
+            public void write(Output out, Object value) {
+                Instant instant = (Instant) value;
+                out.writeZigZagLong(instant.getEpochSecond());
+                out.writeVarInt(instant.getNano());
+            }
+            @Override
+            public Object read(Input in) {
+                return Instant.ofEpochSecond(in.readZigZagLong(), in.readVarInt());
+            }
+        },
+        DATE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong(((Date) value).getTime());
+            }
+            @Override
+            public Object read(Input in) {
+                return new Date(in.readZigZagLong());
+            }
+        },
+        BYTE_ARRAY {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByteArray((byte[]) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readByteArray();
+            }
+        };
+
+        private static final Map<Class<?>, ScalarCodec> CODEC_MAP;
+
+        static ScalarCodec of(Class<?> type) {
+            return CODEC_MAP.get(type);
+        }
+
+        @Override
+        public abstract void write(Output out, Object value);
+
+        @Override
+        public abstract Object read(Input in);
+
+        static {
+            Map<Class<?>, ScalarCodec> map = new HashMap<>();
+            map.put(boolean.class, BOOLEAN);
+            map.put(Boolean.class, BOOLEAN);
+            map.put(byte.class, BYTE);
+            map.put(Byte.class, BYTE);
+            map.put(short.class, SHORT);
+            map.put(Short.class, SHORT);
+            map.put(int.class, INT);
+            map.put(Integer.class, INT);
+            map.put(long.class, LONG);
+            map.put(Long.class, LONG);
+            map.put(float.class, FLOAT);
+            map.put(Float.class, FLOAT);
+            map.put(double.class, DOUBLE);
+            map.put(Double.class, DOUBLE);
+            map.put(char.class, CHAR);
+            map.put(Character.class, CHAR);
+            map.put(String.class, STRING);
+            map.put(UUID.class, UUID_);
+            map.put(BigInteger.class, BIG_INTEGER);
+            map.put(BigDecimal.class, BIG_DECIMAL);
+            map.put(LocalDate.class, LOCAL_DATE);
+            map.put(LocalTime.class, LOCAL_TIME);
+            map.put(LocalDateTime.class, LOCAL_DATE_TIME);
+            map.put(Instant.class, INSTANT);
+            // Only the exact class, `java.sql.Timestamp` has nanos
+            map.put(Date.class, DATE);
+            map.put(byte[].class, BYTE_ARRAY);
+            CODEC_MAP = map;
+        }
+    }
+
+    private static class Output {
+
+        private byte[] buf = new byte[64];
+
+        private int size;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buf[size++] = b;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void writeZigZagLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedInt(int value) {
+            ensureCapacity(4);
+            buf[size++] = (byte) (value >>> 24);
+            buf[size++] = (byte) (value >>> 16);
+            buf[size++] = (byte) (value >>> 8);
+            buf[size++] = (byte) value;
+        }
+
+        void writeFixedLong(long value) {
+            writeFixedInt((int) (value >>> 32));
+            writeFixedInt((int) value);
+        }
+
+        void writeByteArray(byte[] arr) {
+            writeVarInt(arr.length);
+            ensureCapacity(arr.length);
+            System.arraycopy(arr, 0, buf, size, arr.length);
+            size += arr.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static class Input {
+
+        final byte[] buf;
+
+        int pos;
+
+        Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long readZigZagLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readFixedInt() {
+            return ((buf[pos++] & 0xFF) << 24) |
+                    ((buf[pos++] & 0xFF) << 16) |
+                    ((buf[pos++] & 0xFF) << 8) |
+                    (buf[pos++] & 0xFF);
+        }
+
+        long readFixedLong() {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        byte[] readByteArray() {
+            int len = readVarInt();
+            byte[] arr = Arrays.copyOfRange(buf, pos, pos + len);
+            pos += len;
+            return arr;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.cache;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.SingleFlightMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -71,6 +72,42 @@ public interface CacheCreator {
         return withLocalCache(0, null);
     }
 
+    /**
+     * Use the local cache as near-cache.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>Note: This method is equivalent to {@code withNearCache(null)}</p>
+     *
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    default CacheCreator withNearCache() {
+        return withNearCache(null);
+    }
+
+    /**
+     * Use the local cache as near-cache.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>The remote cache stamps a new version on each key when it is deleted,
+     * and the local cache validates its entries by one batched version check
+     * before returning them. Local entries missed by invalidation messages
+     * are never returned, so that much longer local duration can be used.</p>
+     *
+     * <p>This configuration takes effect only when local cache is enabled.</p>
+     *
+     * @param versionDuration The expiration time of version stamps, it must be
+     *                        longer than the local duration. If it is null,
+     *                        twice the longer of local and remote duration is used.
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withNearCache(@Nullable Duration versionDuration);
+
     @NewChain
     @NotNull
     CacheCreator withLock(
@@ -131,6 +168,50 @@ public interface CacheCreator {
             @Nullable Duration remoteDuration
     );
 
+    /**
+     * Collect the statistics of single-flight loading.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>Note: This method is equivalent to {@code withSingleFlight(true, metrics)}</p>
+     *
+     * @param metrics The statistics object shared by all created caches
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    default CacheCreator withSingleFlightMetrics(@Nullable SingleFlightMetrics metrics) {
+        return withSingleFlight(true, metrics);
+    }
+
+    @NewChain
+    @NotNull
+    default CacheCreator withoutSingleFlight() {
+        return withSingleFlight(false, null);
+    }
+
+    /**
+     * Configure single-flight loading, it is disabled by default.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>When several threads of the current JVM miss the same keys at the same time,
+     * only one of them executes the SQL of cache loader, others share its result.
+     * Unlike {@link #withLock(CacheLocker, Duration, Duration)}, no distributed
+     * lock is required.</p>
+     *
+     * <p>The shared value is loaded by the thread, connection and transaction
+     * of the first caller, so only enable it when the cache loader
+     * does not depend on the transaction of the caller.</p>
+     *
+     * @param enabled Whether single-flight loading is enabled
+     * @param metrics The statistics object shared by all created caches, it can be null
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withSingleFlight(boolean enabled, @Nullable SingleFlightMetrics metrics);
+
     <K, V> Cache<K, V> createForObject(ImmutableType type);
 
     <K, V> Cache<K, V> createForProp(ImmutableProp prop, boolean multiView);
@@ -4,12 +4,17 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.event.AssociationEvent;
+import org.babyfish.jimmer.sql.event.AssociationListener;
 import org.babyfish.jimmer.sql.event.DatabaseEvent;
+import org.babyfish.jimmer.sql.event.EntityEvent;
+import org.babyfish.jimmer.sql.event.EntityListener;
 import org.babyfish.jimmer.sql.filter.impl.FilterManager;
 import org.babyfish.jimmer.sql.runtime.EntityManager;
 import org.babyfish.jimmer.sql.event.Triggers;
 
 import java.util.*;
+import java.util.function.Function;
 
 public class CachesImpl implements Caches {
 
@@ -125,10 +130,17 @@ public class CachesImpl implements Caches {
                 (Cache<Object, Object>) cache,
                 operator
         );
-        triggers.addEntityListener(wrapper.type(), e -> {
-            if (isAffectedBy(e)) {
-                Object id = e.getId();
-                wrapper.delete(id, e.getReason());
+        triggers.addEntityListener(wrapper.type(), new EntityListener<Object>() {
+            @Override
+            public void onChange(EntityEvent<Object> e) {
+                if (isAffectedBy(e)) {
+                    Object id = e.getId();
+                    wrapper.delete(id, e.getReason());
+                }
+            }
+            @Override
+            public void onBatchChange(List<EntityEvent<Object>> events) {
+                deleteAll(wrapper, events, EntityEvent::getId);
             }
         });
         return wrapper;
@@ -155,16 +167,44 @@ public class CachesImpl implements Caches {
                 operator
         );
         if (prop.isAssociation(TargetLevel.PERSISTENT)) {
-            triggers.addAssociationListener(prop, e -> {
-                if (isAffectedBy(e)) {
-                    Object id = e.getSourceId();
-                    wrapper.delete(id, e.getReason());
+            triggers.addAssociationListener(prop, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    if (isAffectedBy(e)) {
+                        Object id = e.getSourceId();
+                        wrapper.delete(id, e.getReason());
+                    }
+                }
+                @Override
+                public void onBatchChange(List<AssociationEvent> events) {
+                    deleteAll(wrapper, events, AssociationEvent::getSourceId);
                 }
             });
         }
         return wrapper;
     }
 
+    /**
+     * Delete the affected keys of a batch by one `deleteAll` call for each reason
+     */
+    private <E extends DatabaseEvent> void deleteAll(
+            UsedCache<Object, Object> wrapper,
+            List<E> events,
+            Function<E, Object> keyGetter
+    ) {
+        Map<Object, Set<Object>> keyMultiMap = new LinkedHashMap<>();
+        for (E e : events) {
+            if (isAffectedBy(e)) {
+                keyMultiMap
+                        .computeIfAbsent(e.getReason(), it -> new LinkedHashSet<>())
+                        .add(keyGetter.apply(e));
+            }
+        }
+        for (Map.Entry<Object, Set<Object>> e : keyMultiMap.entrySet()) {
+            wrapper.deleteAll(e.getValue(), e.getKey());
+        }
+    }
+
     public CacheOperator getOperator() {
         return operator;
     }
@@ -3,16 +3,38 @@ package org.babyfish.jimmer.sql.cache;
 import org.babyfish.jimmer.jackson.codec.JsonCodec;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.query.ForUpdate;
+import org.babyfish.jimmer.sql.ast.query.LockMode;
+import org.babyfish.jimmer.sql.ast.query.LockWait;
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheOperator;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.*;
-
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache operator for the trigger type `TRANSACTION_ONLY`, the cache deletions
+ * are saved into the table `JIMMER_TRANS_CACHE_OPERATOR` by the current
+ * transaction, and executed by {@link #flush()} after the transaction is
+ * committed.
+ *
+ * <p>The keys deleted by one cache operation are deduplicated before they
+ * are saved. If {@code maxPackedKeyLength} is specified, several keys of the
+ * same type, property and reason are saved into one row as a json array
+ * whose length does not exceed that value, the column `CACHE_KEY` must be
+ * long enough to hold it.</p>
+ *
+ * <p>If the dialect supports {@code for update skip locked}, the rows are
+ * locked by that clause when they are flushed, so that multiple nodes can
+ * flush different rows in parallel rather than waiting for each other.</p>
+ */
 public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionCacheOperator.class);
@@ -35,6 +57,20 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private final int batchSize;
 
+    private final int maxPackedKeyLength;
+
+    private volatile String skipLockedClause;
+
+    private final AtomicLong savedRowCount = new AtomicLong();
+
+    private final AtomicLong savedKeyCount = new AtomicLong();
+
+    private final AtomicLong flushedRowCount = new AtomicLong();
+
+    private final AtomicLong flushedKeyCount = new AtomicLong();
+
+    private volatile long lastDrainedMillis = System.currentTimeMillis();
+
     public TransactionCacheOperator() {
         this(null, 32);
     }
@@ -48,11 +84,24 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     }
 
     public TransactionCacheOperator(JsonCodec<?> jsonCodec, int batchSize) {
+        this(jsonCodec, batchSize, 0);
+    }
+
+    /**
+     * @param maxPackedKeyLength The max length of the json array which
+     *                           packs several keys into one row, 0 means
+     *                           each key is saved into a separate row.
+     */
+    public TransactionCacheOperator(JsonCodec<?> jsonCodec, int batchSize, int maxPackedKeyLength) {
         if (batchSize < 1) {
             throw new IllegalArgumentException("`batchSize` cannot be less than 1");
         }
+        if (maxPackedKeyLength < 0) {
+            throw new IllegalArgumentException("`maxPackedKeyLength` cannot be negative");
+        }
         this.jsonCodec = jsonCodec;
         this.batchSize = batchSize;
+        this.maxPackedKeyLength = maxPackedKeyLength;
     }
 
     @Override
@@ -65,6 +114,19 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                 ? TABLE_NAME
                 : schema + "." + TABLE_NAME;
         sql = new Sql(qualifiedTableName);
+        try {
+            SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+            sqlClient.getDialect().renderForUpdate(
+                    builder,
+                    new ForUpdate(LockMode.UPDATE, LockWait.SKIP_LOCKED)
+            );
+            String clause = builder.build().get_1();
+            // Table hints such as `with(readpast)` of SqlServer cannot be appended
+            skipLockedClause = clause.trim().startsWith("for update") ? clause : null;
+        } catch (IllegalArgumentException ex) {
+            // The dialect does not support `skip locked`
+            skipLockedClause = null;
+        }
 
         ConnectionManager connectionManager = sqlClient.getConnectionManager();
         if (connectionManager == null) {
@@ -144,18 +206,22 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
             Collection<Object> keys,
             String reason
     ) {
+        Collection<Object> distinctKeys = keys instanceof Set<?> ? keys : new LinkedHashSet<>(keys);
         sqlClient().getConnectionManager().execute(con -> {
             try {
+                List<String> jsonValues = jsonValues(distinctKeys);
                 try (PreparedStatement stmt = con.prepareStatement(sql().insert)) {
-                    for (Object key : keys) {
+                    for (String json : jsonValues) {
                         stmt.setString(1, type != null ? type.toString() : null);
                         stmt.setString(2, prop != null ? prop.toString() : null);
-                        stmt.setString(3, jsonCodec.writer().writeAsString(key));
+                        stmt.setString(3, json);
                         stmt.setString(4, reason);
                         stmt.addBatch();
                     }
                     stmt.executeBatch();
                 }
+                savedRowCount.addAndGet(jsonValues.size());
+                savedKeyCount.addAndGet(distinctKeys.size());
             } catch (Exception ex) {
                 throw new ExecutionException("Failed to save delayed cache deletion", ex);
             }
@@ -163,9 +229,49 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         });
     }
 
+    private List<String> jsonValues(Collection<Object> keys) throws Exception {
+        List<String> jsonValues = new ArrayList<>();
+        if (maxPackedKeyLength == 0 || keys.size() == 1) {
+            for (Object key : keys) {
+                jsonValues.add(jsonCodec.writer().writeAsString(key));
+            }
+            return jsonValues;
+        }
+        StringBuilder builder = new StringBuilder();
+        int packedCount = 0;
+        for (Object key : keys) {
+            String json = jsonCodec.writer().writeAsString(key);
+            if (packedCount != 0 && builder.length() + json.length() + 2 > maxPackedKeyLength) {
+                jsonValues.add(pack(builder, packedCount));
+                builder.setLength(0);
+                packedCount = 0;
+            }
+            builder.append(packedCount == 0 ? '[' : ',').append(json);
+            packedCount++;
+        }
+        if (packedCount != 0) {
+            jsonValues.add(pack(builder, packedCount));
+        }
+        return jsonValues;
+    }
+
+    private static String pack(StringBuilder builder, int packedCount) {
+        if (packedCount == 1) {
+            // Single key is saved as it is, without array wrapper
+            return builder.substring(1);
+        }
+        return builder.append(']').toString();
+    }
+
     public void flush() {
+        ConnectionManager connectionManager = sqlClient().getConnectionManager();
         for (int i = 0; i < 10; i++) {
-            if (sqlClient().getConnectionManager().execute(this::flush) < batchSize) {
+            if (connectionManager.execute(this::flush) < batchSize) {
+                // Fewer locked rows does not mean the queue is drained,
+                // the other rows may be locked by other nodes
+                if (!connectionManager.execute(this::hasOperations)) {
+                    lastDrainedMillis = System.currentTimeMillis();
+                }
                 break;
             }
         }
@@ -173,71 +279,136 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private int flush(Connection con) {
 
-        List<Long> ids = selectOperationIds(con);
+        Map<MergedKey, Set<Object>> keyMap = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(batchSize);
+        String skipLockedClause = this.skipLockedClause;
+        boolean locked = false;
+        if (skipLockedClause != null) {
+            // Select and lock by one statement, so that the rows locked
+            // by other nodes are skipped and the next rows are returned
+            try {
+                getAndLockOperationKeyMap(skipLockedClause, ids, keyMap, con);
+                locked = true;
+            } catch (SQLSyntaxErrorException ex) {
+                LOGGER.warn(
+                        "The database does not accept \"{}\", rows will be locked without skipping",
+                        skipLockedClause.trim(),
+                        ex
+                );
+                this.skipLockedClause = null;
+                ids.clear();
+                keyMap.clear();
+            } catch (Exception ex) {
+                LOGGER.warn("Failed to flush transaction cache operator", ex);
+                return 0;
+            }
+        }
+        if (!locked) {
+            try {
+                getAndLockOperationKeyMap(" for update", ids, keyMap, con);
+            } catch (Exception ex) {
+                LOGGER.warn("Failed to flush transaction cache operator", ex);
+                return 0;
+            }
+        }
         if (ids.isEmpty()) {
             return 0;
         }
 
-        Map<MergedKey, Set<Object>> keyMap = getAndLockOperationKeyMap(ids, con);
         CacheOperator.suspending(() -> {
             executeOperations(keyMap);
         });
 
         deleteOperations(ids, con);
+        flushedRowCount.addAndGet(ids.size());
+        long keyCount = 0;
+        for (Set<Object> keys : keyMap.values()) {
+            keyCount += keys.size();
+        }
+        flushedKeyCount.addAndGet(keyCount);
         return ids.size();
     }
 
-    private List<Long> selectOperationIds(Connection con) {
-        String sql = sql().selectIdPrefix + batchSize;
-        List<Long> ids = new ArrayList<>();
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+    /**
+     * The count of rows saved by this operator,
+     * it is less than {@link #getSavedKeyCount()} if keys are packed.
+     */
+    public long getSavedRowCount() {
+        return savedRowCount.get();
+    }
+
+    /**
+     * The count of distinct keys saved by this operator.
+     */
+    public long getSavedKeyCount() {
+        return savedKeyCount.get();
+    }
+
+    /**
+     * The count of rows flushed by this operator,
+     * including the rows saved by other nodes.
+     */
+    public long getFlushedRowCount() {
+        return flushedRowCount.get();
+    }
+
+    /**
+     * The count of keys flushed by this operator,
+     * including the keys saved by other nodes.
+     */
+    public long getFlushedKeyCount() {
+        return flushedKeyCount.get();
+    }
+
+    /**
+     * The milliseconds since the last time {@link #flush()} found that
+     * there are no more rows to be flushed, it keeps growing when the
+     * flushing cannot catch up with the saving.
+     */
+    public long getLagMillis() {
+        return System.currentTimeMillis() - lastDrainedMillis;
+    }
+
+    private boolean hasOperations(Connection con) {
+        // Without lock, so that the rows locked by other nodes are visible
+        try (PreparedStatement stmt = con.prepareStatement(sql().selectIdPrefix + 1)) {
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    ids.add(rs.getLong(1));
-                }
+                return rs.next();
             }
         } catch (SQLException ex) {
-            LOGGER.warn("Failed to flush transaction cache operator", ex);
+            LOGGER.warn("Failed to check the rows of transaction cache operator", ex);
+            return true;
         }
-        return ids;
     }
 
     @SuppressWarnings("unchecked")
-    private Map<MergedKey, Set<Object>> getAndLockOperationKeyMap(Collection<Long> ids, Connection con) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(sql().selectPrefix).append('(');
-        for (int i = ids.size(); i > 0; --i) {
-            builder.append('?');
-            if (i > 1) {
-                builder.append(", ");
-            }
-        }
-        builder.append(") for update");
-        Map<MergedKey, Set<Object>> keyMap = new LinkedHashMap<>();
-        try (PreparedStatement stmt = con.prepareStatement(builder.toString())) {
-            int index = 0;
-            for (Long id : ids) {
-                stmt.setLong(++index, id);
-            }
+    private void getAndLockOperationKeyMap(
+            String lockClause,
+            Collection<Long> lockedIds,
+            Map<MergedKey, Set<Object>> keyMap,
+            Connection con
+    ) throws Exception {
+        try (PreparedStatement stmt = con.prepareStatement(sql().selectPrefix + batchSize + lockClause)) {
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     ImmutableType type = typeFromString(rs.getString(2));
                     ImmutableProp prop = propFromString(rs.getString(3));
                     String json = rs.getString(4);
-                    Object key = jsonCodec.readerFor(type != null ?
-                                    (Class<Object>) type.getIdProp().getElementClass() :
-                                    (Class<Object>) prop.getDeclaringType().getIdProp().getElementClass())
-                            .read(json);
+                    Class<Object> keyType = type != null ?
+                            (Class<Object>) type.getIdProp().getElementClass() :
+                            (Class<Object>) prop.getDeclaringType().getIdProp().getElementClass();
                     String reason = rs.getString(5);
-                    keyMap
-                            .computeIfAbsent(new MergedKey(type, prop, reason), it -> new LinkedHashSet<>())
-                            .add(key);
+                    Set<Object> keys = keyMap
+                            .computeIfAbsent(new MergedKey(type, prop, reason), it -> new LinkedHashSet<>());
+                    if (json.startsWith("[")) {
+                        keys.addAll(jsonCodec.readerForListOf(keyType).read(json));
+                    } else {
+                        keys.add(jsonCodec.readerFor(keyType).read(json));
+                    }
+                    lockedIds.add(rs.getLong(1));
                 }
             }
-        } catch (Exception ex) {
-            LOGGER.warn("Failed to flush transaction cache operator", ex);
         }
-        return keyMap;
     }
 
     private void executeOperations(Map<MergedKey, Set<Object>> keyMap) {
@@ -346,9 +517,9 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     REASON +
                     " from " +
                     qualifiedTableName +
-                    " where " +
+                    " order by " +
                     ID +
-                    " in";
+                    " limit ";
 
             deletePrefix = "delete from " +
                     qualifiedTableName +
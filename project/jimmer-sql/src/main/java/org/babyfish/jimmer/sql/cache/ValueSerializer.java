@@ -38,6 +38,16 @@ public class ValueSerializer<T> {
         this(null, prop, codec);
     }
 
+    /**
+     * For derived serializers which do not use JSON,
+     * such serializers must override both {@link #serialize(Object)}
+     * and {@link #deserialize(byte[])}
+     */
+    protected ValueSerializer() {
+        this.jsonReader = null;
+        this.jsonWriter = null;
+    }
+
     private ValueSerializer(ImmutableType type, ImmutableProp prop, JsonCodec<?> codec) {
         if ((type == null) == (prop == null)) {
             throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
@@ -106,7 +116,11 @@ public class ValueSerializer<T> {
     public <K> Map<K, T> deserialize(@NotNull Map<K, byte[]> map) {
         Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K, byte[]> e : map.entrySet()) {
-            deserializedMap.put(e.getKey(), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (byteArr != null && !isAcceptable(byteArr)) {
+                continue;
+            }
+            deserializedMap.put(e.getKey(), deserialize(byteArr));
         }
         return deserializedMap;
     }
@@ -115,7 +129,11 @@ public class ValueSerializer<T> {
     public <K1, K2> Map<K2, T> deserialize(@NotNull Map<K1, byte[]> map, @NotNull Function<K1, K2> keyMapper) {
         Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (byteArr != null && !isAcceptable(byteArr)) {
+                continue;
+            }
+            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(byteArr));
         }
         return deserializedMap;
     }
@@ -128,10 +146,22 @@ public class ValueSerializer<T> {
         while (keyItr.hasNext() && byteArrItr.hasNext()) {
             K key = keyItr.next();
             byte[] byteArr = byteArrItr.next();
-            if (byteArr != null) {
+            if (byteArr != null && isAcceptable(byteArr)) {
                 deserializedMap.put(key, deserialize(byteArr));
             }
         }
         return deserializedMap;
     }
+
+    /**
+     * Can the serialized value be deserialized by this serializer?
+     *
+     * <p>The unacceptable values, for example, the values written
+     * by the older version of application, are ignored by the
+     * deserialization methods accept maps or collections,
+     * so that they are treated as cache miss and reloaded.</p>
+     */
+    protected boolean isAcceptable(@NotNull byte[] value) {
+        return true;
+    }
 }
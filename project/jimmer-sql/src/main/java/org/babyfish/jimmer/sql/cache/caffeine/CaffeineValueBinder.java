@@ -3,7 +3,6 @@ package org.babyfish.jimmer.sql.cache.caffeine;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.impl.Utils;
@@ -18,7 +17,6 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K> implements LoadingBinder<K, V> {
 
@@ -28,8 +26,12 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     private final Duration duration;
 
-    // Caffeine does not support null value, use `Ref` as a wrapper
-    private LoadingCache<K, Ref<V>> loadingCache;
+    private final boolean nearCache;
+
+    private CacheChain<K, V> chain;
+
+    // Caffeine does not support null value, use `Entry` as a wrapper
+    private LoadingCache<K, Entry<V>> loadingCache;
 
     protected CaffeineValueBinder(
             @Nullable ImmutableType type,
@@ -37,35 +39,43 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             @Nullable CacheTracker tracker,
             int maximumSize,
             @NotNull Duration duration
+    ) {
+        this(type, prop, tracker, maximumSize, duration, false);
+    }
+
+    protected CaffeineValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            int maximumSize,
+            @NotNull Duration duration,
+            boolean nearCache
     ) {
         super(type, prop, tracker);
         this.maximumSize = maximumSize;
         this.duration = duration;
+        this.nearCache = nearCache;
     }
 
     @Override
     public void initialize(CacheChain<K, V> chain) {
+        this.chain = chain;
         loadingCache = Caffeine
                 .newBuilder()
                 .maximumSize(maximumSize)
                 .expireAfterWrite(duration)
                 .build(
-                        new CacheLoader<K, Ref<V>>() {
+                        new CacheLoader<K, Entry<V>>() {
 
                             @Override
-                            public Ref<V> load(@NotNull K key) {
-                                Map<K, V> map = chain.loadAll(Collections.singleton(key));
-                                V value = map.get(key);
-                                if (value != null || map.containsKey(key)) {
-                                    return Ref.of(value);
-                                }
-                                return null;
+                            public Entry<V> load(@NotNull K key) {
+                                return loadAllImpl(Collections.singleton(key)).get(key);
                             }
 
                             @SuppressWarnings("unchecked")
                             @NotNull
                             // For Caffeine 2.X
-                            public Map<K, Ref<V>> loadAll(@NotNull Iterable<? extends K> keys) {
+                            public Map<K, Entry<V>> loadAll(@NotNull Iterable<? extends K> keys) {
                                 Collection<K> keyCollection;
                                 if (keys instanceof Collection<?>) {
                                     keyCollection = (Collection<K>) keys;
@@ -81,21 +91,24 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
                             @SuppressWarnings("unchecked")
                             @NotNull
                             // For Caffeine 3.X
-                            public Map<? extends K, ? extends Ref<V>> loadAll(@NotNull Set<? extends K> keys) throws Exception {
+                            public Map<? extends K, ? extends Entry<V>> loadAll(@NotNull Set<? extends K> keys) throws Exception {
                                 return loadAll((Collection<K>)keys);
                             }
 
-                            private Map<K, Ref<V>> loadAllImpl(Collection<K> keys) {
+                            private Map<K, Entry<V>> loadAllImpl(Collection<K> keys) {
+                                // Versions must be read before values, a value deleted
+                                // concurrently is tagged with the older version and
+                                // rejected by the next validation
+                                Map<K, Long> versionMap = nearCache ? chain.loadVersions(keys) : null;
                                 Map<K, V> map = chain.loadAll(keys);
-                                return map
-                                        .entrySet()
-                                        .stream()
-                                        .collect(
-                                                Collectors.toMap(
-                                                        Map.Entry::getKey,
-                                                        e -> Ref.of(e.getValue())
-                                                )
-                                        );
+                                Map<K, Entry<V>> entryMap = new HashMap<>((map.size() * 4 + 2) / 3);
+                                for (Map.Entry<K, V> e : map.entrySet()) {
+                                    entryMap.put(
+                                            e.getKey(),
+                                            new Entry<>(e.getValue(), version(versionMap, e.getKey()))
+                                    );
+                                }
+                                return entryMap;
                             }
                         }
                 );
@@ -103,14 +116,67 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     @Override
     public Map<K, V> getAll(Collection<K> keys) {
-        Map<K, Ref<V>> map = loadingCache.getAll(keys);
+        Map<K, Entry<V>> map;
+        if (nearCache) {
+            map = getAllValidated(keys);
+        } else {
+            map = loadingCache.getAll(keys);
+        }
         Map<K, V> convertedMap = new HashMap<>((map.size() * 4 + 2) / 3);
-        for (Map.Entry<K, Ref<V>> e : map.entrySet()) {
-            convertedMap.put(e.getKey(), e.getValue().getValue());
+        for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+            convertedMap.put(e.getKey(), e.getValue().value);
         }
         return convertedMap;
     }
 
+    private Map<K, Entry<V>> getAllValidated(Collection<K> keys) {
+        Map<K, Entry<V>> presentMap = loadingCache.getAllPresent(keys);
+        if (presentMap.isEmpty()) {
+            return loadingCache.getAll(keys);
+        }
+        Map<K, Long> versionMap = chain.loadVersions(presentMap.keySet());
+        if (versionMap == null) {
+            // No versioned binder in the rest chain
+            return loadingCache.getAll(keys);
+        }
+        Map<K, Entry<V>> map = new HashMap<>((keys.size() * 4 + 2) / 3);
+        List<K> staleKeys = null;
+        for (Map.Entry<K, Entry<V>> e : presentMap.entrySet()) {
+            if (e.getValue().version == version(versionMap, e.getKey())) {
+                map.put(e.getKey(), e.getValue());
+            } else {
+                if (staleKeys == null) {
+                    staleKeys = new ArrayList<>();
+                }
+                staleKeys.add(e.getKey());
+            }
+        }
+        if (staleKeys != null) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Cache.Stale > {}: {}", toString(true), staleKeys);
+            }
+            loadingCache.invalidateAll(staleKeys);
+        }
+        if (map.size() < keys.size()) {
+            List<K> missedKeys = new ArrayList<>(keys.size() - map.size());
+            for (K key : keys) {
+                if (!map.containsKey(key)) {
+                    missedKeys.add(key);
+                }
+            }
+            map.putAll(loadingCache.getAll(missedKeys));
+        }
+        return map;
+    }
+
+    private static <K> long version(Map<K, Long> versionMap, K key) {
+        if (versionMap == null) {
+            return 0L;
+        }
+        Long version = versionMap.get(key);
+        return version != null ? version : 0L;
+    }
+
     @Override
     public void deleteAllImpl(Collection<K> keys) {
         loadingCache.invalidateAll(keys);
@@ -142,6 +208,7 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         private CacheTracker tracker;
         private int maximumSize = 100;
         private Duration duration = Duration.ofMinutes(1);
+        private boolean nearCache;
 
         public Builder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -163,14 +230,41 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             return this;
         }
 
+        /**
+         * Validate the local entries by the versions of the
+         * first versioned binder after this binder, for example,
+         * the remote binder built with {@code versioned(...)}.
+         *
+         * <p>The local entries missed by invalidation messages
+         * are never returned, so long local duration can be used safely.
+         * The cost is one batched version check for each cache access.</p>
+         */
+        public Builder<K, V> nearCache(boolean nearCache) {
+            this.nearCache = nearCache;
+            return this;
+        }
+
         public CaffeineValueBinder<K, V> build() {
             return new CaffeineValueBinder<>(
                     type,
                     prop,
                     tracker,
                     maximumSize,
-                    duration
+                    duration,
+                    nearCache
             );
         }
     }
+
+    private static class Entry<V> {
+
+        final V value;
+
+        final long version;
+
+        Entry(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
 }
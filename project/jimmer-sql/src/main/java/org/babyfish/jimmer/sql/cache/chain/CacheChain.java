@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.cache.chain;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
@@ -11,6 +12,17 @@ public interface CacheChain<K, V> {
     @NotNull
     Map<K, V> loadAll(@NotNull Collection<K> keys);
 
+    /**
+     * Load the versions of keys from the first versioned binder of the rest chain.
+     *
+     * @return The versions of keys, or null if there is no {@link VersionedBinder}
+     * whose versions are maintained in the rest chain.
+     */
+    @Nullable
+    default Map<K, Long> loadVersions(@NotNull Collection<K> keys) {
+        return null;
+    }
+
     interface Parameterized<K, V> {
 
         @NotNull
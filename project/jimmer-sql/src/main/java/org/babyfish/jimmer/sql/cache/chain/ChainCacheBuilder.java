@@ -15,6 +15,10 @@ public class ChainCacheBuilder<K, V> {
 
     private final Binder.TrackingMode trackingMode = Binder.TrackingMode.NONE;
 
+    private boolean singleFlight;
+
+    private SingleFlightMetrics singleFlightMetrics;
+
     public ChainCacheBuilder<K, V> add(LoadingBinder<K, V> binder) {
         if (binder != null) {
             if (Boolean.TRUE.equals(hasParameterizedBinder)) {
@@ -95,14 +99,39 @@ public class ChainCacheBuilder<K, V> {
         }
     }
 
+    /**
+     * Whether the concurrent cache misses of the same keys in
+     * the current JVM share one cache loader invocation, the default value is false.
+     *
+     * <p>If it is enabled, the shared value may be loaded by the thread,
+     * connection and transaction of another caller.</p>
+     */
+    public ChainCacheBuilder<K, V> singleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+        return this;
+    }
+
+    /**
+     * Collect the statistics of single-flight loading,
+     * it is ignored if single-flight loading is disabled.
+     */
+    public ChainCacheBuilder<K, V> singleFlightMetrics(SingleFlightMetrics singleFlightMetrics) {
+        this.singleFlightMetrics = singleFlightMetrics;
+        return this;
+    }
+
     public Cache<K, V> build() {
         List<Binder<K>> binders = this.binders;
         if (binders.isEmpty()) {
             return null;
         }
+        SingleFlight<K, V> singleFlight =
+                this.singleFlight ?
+                        new SingleFlight<>(singleFlightMetrics) :
+                        null;
         if (hasParameterizedBinder) {
-            return new ParameterizedChainCacheImpl<>(binders);
+            return new ParameterizedChainCacheImpl<>(binders, singleFlight);
         }
-        return new ChainCacheImpl<>(binders);
+        return new ChainCacheImpl<>(binders, singleFlight);
     }
 }
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.cache.chain;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.ContextLocal;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
@@ -14,8 +15,8 @@ import java.util.function.Supplier;
 
 class ChainCacheImpl<K, V> implements Cache<K, V> {
 
-    private static final ThreadLocal<CacheLoader<?, ?>> LOADER_LOCAL =
-        new ThreadLocal<>();
+    private static final ContextLocal<CacheLoader<?, ?>> LOADER_LOCAL =
+        new ContextLocal<>();
 
     protected final ImmutableType type;
 
@@ -23,14 +24,18 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
     protected final Node<K, V> node;
 
-    @SuppressWarnings("unchecked")
     public ChainCacheImpl(List<Binder<K>> binders) {
+        this(binders, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ChainCacheImpl(List<Binder<K>> binders, @Nullable SingleFlight<K, V> singleFlight) {
         if (binders.isEmpty()) {
             throw new IllegalArgumentException("binders cannot be empty");
         }
         ImmutableType cacheType = null;
         ImmutableProp cacheProp = null;
-        Node<K, V> node = this.createTailNode();
+        Node<K, V> node = this.createTailNode(singleFlight);
         ListIterator<Binder<K>> itr = binders.listIterator(binders.size());
         while (itr.hasPrevious()) {
             Binder<K> binder = itr.previous();
@@ -82,8 +87,8 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         return new SimpleNode<>((SimpleBinder<K, V>) binder, next);
     }
 
-    protected TailNode<K, V> createTailNode() {
-        return new TailNode<>();
+    protected TailNode<K, V> createTailNode(@Nullable SingleFlight<K, V> singleFlight) {
+        return new TailNode<>(singleFlight);
     }
 
     protected interface Node<K, V> extends CacheChain<K, V> {
@@ -108,6 +113,11 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
             return binder.getAll(keys);
         }
 
+        @Override
+        public @Nullable Map<K, Long> loadVersions(@NotNull Collection<K> keys) {
+            return next.loadVersions(keys);
+        }
+
         @Override
         public void deleteAll(@NotNull Collection<K> keys, Object reason) {
             next.deleteAll(keys, reason);
@@ -121,9 +131,19 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
         protected final Node<K, V> next;
 
+        private final VersionedBinder<K> versionedBinder;
+
+        @SuppressWarnings("unchecked")
         protected SimpleNode(SimpleBinder<K, V> binder, Node<K, V> next) {
             this.binder = binder;
             this.next = next;
+            Binder<K> raw = binder instanceof LockedBinder<?, ?> ?
+                    ((LockedBinder<K, V>) binder).unwrap() :
+                    binder;
+            this.versionedBinder =
+                    raw instanceof VersionedBinder<?> && ((VersionedBinder<K>) raw).isVersioned() ?
+                            (VersionedBinder<K>) raw :
+                            null;
         }
 
         @NotNull
@@ -159,6 +179,15 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
             return map;
         }
 
+        @Override
+        public @Nullable Map<K, Long> loadVersions(@NotNull Collection<K> keys) {
+            VersionedBinder<K> versionedBinder = this.versionedBinder;
+            if (versionedBinder != null) {
+                return versionedBinder.getVersions(keys);
+            }
+            return next.loadVersions(keys);
+        }
+
         @Override
         public void deleteAll(@NotNull Collection<K> keys, Object reason) {
             if (keys.isEmpty()) {
@@ -228,10 +257,19 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
     protected static class TailNode<K, V> implements Node<K, V> {
 
+        protected final SingleFlight<K, V> singleFlight;
+
+        protected TailNode(@Nullable SingleFlight<K, V> singleFlight) {
+            this.singleFlight = singleFlight;
+        }
+
         @NotNull
         @Override
         public Map<K, V> loadAll(@NotNull Collection<K> keys) {
             CacheLoader<K, V> loader = currentCacheLoader();
+            if (singleFlight != null) {
+                return singleFlight.loadAll(keys, null, loader);
+            }
             return loader.loadAll(keys);
         }
 
@@ -247,17 +285,7 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         if (loader == null) {
             throw new IllegalArgumentException("loader cannot be null");
         }
-        CacheLoader<?, ?> oldLoader = LOADER_LOCAL.get();
-        LOADER_LOCAL.set(loader);
-        try {
-            return block.get();
-        } finally {
-            if (oldLoader != null) {
-                LOADER_LOCAL.set(oldLoader);
-            } else {
-                LOADER_LOCAL.remove();
-            }
-        }
+        return LOADER_LOCAL.where(loader, block::get);
     }
 
     @SuppressWarnings("unchecked")
@@ -5,13 +5,18 @@ import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements Cache.Parameterized<K, V> {
 
     public ParameterizedChainCacheImpl(List<Binder<K>> binders) {
-        super(binders);
+        this(binders, null);
+    }
+
+    public ParameterizedChainCacheImpl(List<Binder<K>> binders, @Nullable SingleFlight<K, V> singleFlight) {
+        super(binders, singleFlight);
         boolean hasParameterizedBinder = false;
         for (Object binder : binders) {
             boolean isParameterizedBinder =
@@ -60,17 +65,24 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
     }
 
     @Override
-    protected TailNode<K, V> createTailNode() {
-        return new TailNode<>();
+    protected TailNode<K, V> createTailNode(@Nullable SingleFlight<K, V> singleFlight) {
+        return new TailNode<>(singleFlight);
     }
 
     protected interface ParameterizedNode<K, V> extends Node<K, V>, CacheChain.Parameterized<K, V> {}
 
     private static class TailNode<K, V> extends ChainCacheImpl.TailNode<K, V> implements ParameterizedNode<K, V> {
 
+        TailNode(@Nullable SingleFlight<K, V> singleFlight) {
+            super(singleFlight);
+        }
+
         @Override
         public @NotNull Map<K, V> loadAll(@NotNull Collection<K> keys, @NotNull SortedMap<String, Object> parameterMap) {
             CacheLoader<K, V> loader = currentCacheLoader();
+            if (singleFlight != null) {
+                return singleFlight.loadAll(keys, parameterMap, loader);
+            }
             return loader.loadAll(keys);
         }
     }
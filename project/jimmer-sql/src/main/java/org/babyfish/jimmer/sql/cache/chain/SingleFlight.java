@@ -0,0 +1,192 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.runtime.ContextLocal;
+import org.babyfish.jimmer.sql.cache.CacheLoader;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process deduplication of the cache loader invocations of one chain cache.
+ *
+ * <p>The distributed lock of {@link LockedBinder} is optional and serializes
+ * JVMs, this class shares one in-flight loading between the threads
+ * of the same JVM which miss the same keys at the same time.</p>
+ *
+ * <p>A thread which is running a cache loader, such as a loader which
+ * reads another cache, never waits for the flights of other threads,
+ * it loads the keys of those flights directly. Otherwise, two threads
+ * loading K1 and K2 and then requiring K2 and K1 would wait for each
+ * other forever. Only the threads which do not own running flights
+ * wait, so there is no cycle.</p>
+ */
+class SingleFlight<K, V> {
+
+    private static final Object ABSENT = new Object();
+
+    // Shared by all caches, the loader of one cache may read other caches
+    private static final ContextLocal<Boolean> LOADING = new ContextLocal<>();
+
+    private final ConcurrentMap<Object, Flight> flightMap = new ConcurrentHashMap<>();
+
+    private final SingleFlightMetrics metrics;
+
+    SingleFlight(@Nullable SingleFlightMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<K, V> loadAll(
+            Collection<K> keys,
+            @Nullable SortedMap<String, Object> parameterMap,
+            CacheLoader<K, V> loader
+    ) {
+        boolean loading = LOADING.get() != null;
+        Map<K, Flight> ownedFlights = new LinkedHashMap<>();
+        Map<K, Flight> joinedFlights = null;
+        Set<K> directKeys = null;
+        for (K key : keys) {
+            Flight flight = new Flight(flightKey(key, parameterMap));
+            Flight existingFlight = flightMap.putIfAbsent(flight.key, flight);
+            if (existingFlight == null) {
+                ownedFlights.put(key, flight);
+            } else if (loading) {
+                // Called by a running loader, the flight may be owned by
+                // this thread or by a thread waiting for this thread
+                if (directKeys == null) {
+                    directKeys = new LinkedHashSet<>();
+                }
+                directKeys.add(key);
+            } else {
+                if (joinedFlights == null) {
+                    joinedFlights = new LinkedHashMap<>();
+                }
+                joinedFlights.put(key, existingFlight);
+            }
+        }
+        Map<K, V> resultMap = new HashMap<>((keys.size() * 4 + 2) / 3);
+
+        // Load owned keys before waiting for others,
+        // so that two threads never wait for each other
+        if (!ownedFlights.isEmpty()) {
+            resultMap.putAll(load(ownedFlights, loader));
+        }
+
+        if (joinedFlights != null) {
+            int coalescedCount = 0;
+            for (Map.Entry<K, Flight> e : joinedFlights.entrySet()) {
+                Object value;
+                try {
+                    value = e.getValue().future.join();
+                } catch (CompletionException ex) {
+                    // The failure of other thread may be caused by its own
+                    // connection, load it again by the current loader
+                    if (directKeys == null) {
+                        directKeys = new LinkedHashSet<>();
+                    }
+                    directKeys.add(e.getKey());
+                    continue;
+                }
+                if (value != ABSENT) {
+                    resultMap.put(e.getKey(), (V) value);
+                }
+                coalescedCount++;
+            }
+            if (metrics != null && coalescedCount != 0) {
+                metrics.coalesced(coalescedCount);
+            }
+        }
+
+        if (directKeys != null) {
+            if (metrics != null) {
+                metrics.loaded(directKeys.size());
+            }
+            resultMap.putAll(loader.loadAll(directKeys));
+        }
+        return resultMap;
+    }
+
+    private Map<K, V> load(Map<K, Flight> ownedFlights, CacheLoader<K, V> loader) {
+        try {
+            if (metrics != null) {
+                metrics.loaded(ownedFlights.size());
+            }
+            Map<K, V> loadedMap = LOADING.where(
+                    Boolean.TRUE,
+                    () -> loader.loadAll(ownedFlights.keySet())
+            );
+            for (Map.Entry<K, Flight> e : ownedFlights.entrySet()) {
+                K key = e.getKey();
+                V value = loadedMap.get(key);
+                e.getValue().future.complete(
+                        value != null || loadedMap.containsKey(key) ? value : ABSENT
+                );
+            }
+            return loadedMap;
+        } catch (Throwable ex) {
+            for (Flight flight : ownedFlights.values()) {
+                flight.future.completeExceptionally(ex);
+            }
+            throw ex;
+        } finally {
+            for (Flight flight : ownedFlights.values()) {
+                flightMap.remove(flight.key, flight);
+            }
+        }
+    }
+
+    private static Object flightKey(Object key, @Nullable SortedMap<String, Object> parameterMap) {
+        if (parameterMap == null || parameterMap.isEmpty()) {
+            return key;
+        }
+        return new ParameterizedKey(key, parameterMap);
+    }
+
+    private static class Flight {
+
+        final Object key;
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Flight(Object key) {
+            this.key = key;
+        }
+    }
+
+    private static class ParameterizedKey {
+
+        private final Object key;
+
+        private final SortedMap<String, Object> parameterMap;
+
+        ParameterizedKey(Object key, SortedMap<String, Object> parameterMap) {
+            this.key = key;
+            this.parameterMap = parameterMap;
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() * 31 + parameterMap.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ParameterizedKey that = (ParameterizedKey) o;
+            return key.equals(that.key) && parameterMap.equals(that.parameterMap);
+        }
+
+        @Override
+        public String toString() {
+            return "ParameterizedKey{" +
+                    "key=" + key +
+                    ", parameterMap=" + parameterMap +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the single-flight loading of chain caches.
+ *
+ * <p>When several threads of the same JVM miss the same keys
+ * at the same time, only one of them invokes the cache loader,
+ * others wait for and share its result. This object counts
+ * how many keys are loaded and how many are coalesced.</p>
+ *
+ * <p>One object can be shared by several caches.</p>
+ */
+public class SingleFlightMetrics {
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder loadedKeyCount = new LongAdder();
+
+    private final LongAdder coalescedKeyCount = new LongAdder();
+
+    /**
+     * @return How many times the cache loaders are invoked
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * @return How many keys are loaded by cache loaders
+     */
+    public long getLoadedKeyCount() {
+        return loadedKeyCount.sum();
+    }
+
+    /**
+     * @return How many keys are not loaded by the current thread
+     * but shared from the in-flight loading of other threads
+     */
+    public long getCoalescedKeyCount() {
+        return coalescedKeyCount.sum();
+    }
+
+    void loaded(int keyCount) {
+        loadCount.increment();
+        loadedKeyCount.add(keyCount);
+    }
+
+    void coalesced(int keyCount) {
+        coalescedKeyCount.add(keyCount);
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightMetrics{" +
+                "loadCount=" + getLoadCount() +
+                ", loadedKeyCount=" + getLoadedKeyCount() +
+                ", coalescedKeyCount=" + getCoalescedKeyCount() +
+                '}';
+    }
+}
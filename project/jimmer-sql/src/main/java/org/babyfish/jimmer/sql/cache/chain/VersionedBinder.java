@@ -0,0 +1,29 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The binder which stamps a new version on each key when the key is deleted.
+ *
+ * <p>The near-cache binders before it in the chain keep the version
+ * observed when their local entries are loaded, and validate the entries
+ * by one batched version check, so that the local entries missed by
+ * invalidation messages are never served.</p>
+ */
+public interface VersionedBinder<K> extends Binder<K> {
+
+    /**
+     * @return Whether the version stamps are maintained by this binder
+     */
+    boolean isVersioned();
+
+    /**
+     * @return The versions of the keys, the keys have never been deleted
+     * or whose versions are expired are mapped to 0
+     */
+    @NotNull
+    Map<K, Long> getVersions(@NotNull Collection<K> keys);
+}
@@ -8,7 +8,6 @@ import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheCreator;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineHashBinder;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder;
-import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
 import org.babyfish.jimmer.sql.cache.chain.LoadingBinder;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheCreator;
@@ -40,7 +39,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
 
     @Override
     public <K, V> Cache<K, V> createForObject(ImmutableType type) {
-        return new ChainCacheBuilder<K, V>()
+        return this.<K, V>chainCacheBuilder()
                 .add(caffeineValueBinder(type))
                 .add(redisValueBinder(type))
                 .build();
@@ -49,12 +48,12 @@ public class RedisCacheCreator extends AbstractCacheCreator {
     @Override
     public <K, V> Cache<K, V> createForProp(ImmutableProp prop, boolean multiView) {
         if (multiView) {
-            return new ChainCacheBuilder<K, V>()
+            return this.<K, V>chainCacheBuilder()
                     .add(caffeineHashBinder(prop))
                     .add(redisHashBinder(prop))
                     .build();
         }
-        return new ChainCacheBuilder<K, V>()
+        return this.<K, V>chainCacheBuilder()
                 .add(caffeineValueBinder(prop))
                 .add(redisValueBinder(prop))
                 .build();
@@ -80,6 +79,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .nearCache(args.nearCache)
                 .build();
     }
 
@@ -93,6 +93,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .nearCache(args.nearCache)
                 .build();
     }
 
@@ -117,6 +118,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .versioned(args.versionDuration)
                 .redis(args.redisDataSource)
                 .build()
                 .lock(args.locker, args.lockWaitDuration, args.lockLeaseDuration);
@@ -130,6 +132,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .versioned(args.versionDuration)
                 .redis(args.redisDataSource)
                 .build()
                 .lock(args.locker, args.lockWaitDuration, args.lockLeaseDuration);
@@ -4,11 +4,16 @@ import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.hash.HashCommands;
 import io.quarkus.redis.datasource.value.GetExArgs;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Redis;
+import io.vertx.mutiny.redis.client.Request;
 import org.babyfish.jimmer.jackson.codec.JsonCodec;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +43,8 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
 
     private final ValueCommands<String, byte[]> valueCommands;
 
+    private final Redis redis;
+
     protected RedisHashBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
@@ -46,9 +54,24 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisDataSource redisDataSource) {
-        super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent);
+        this(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource, null, null);
+    }
+
+    protected RedisHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @NotNull JsonCodec<?> jsonCodec,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @NotNull RedisDataSource redisDataSource,
+            @Nullable ValueSerializer<V> valueSerializer,
+            @Nullable Duration versionDuration) {
+        super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, valueSerializer, versionDuration);
         this.hashCommands = redisDataSource.hash(byte[].class);
         this.valueCommands = redisDataSource.value(byte[].class);
+        this.redis = redisDataSource.getRedis();
     }
 
     @SuppressWarnings("unchecked")
@@ -82,6 +105,34 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
         }
     }
 
+    @Override
+    protected void writeVersions(Map<String, byte[]> versionMap, long expireMillis) {
+        // Pipeline all `PSETEX` commands, multi-key commands cannot specify the expiration
+        List<Request> requests = new ArrayList<>(versionMap.size());
+        for (Map.Entry<String, byte[]> e : versionMap.entrySet()) {
+            requests.add(
+                    Request.cmd(Command.PSETEX)
+                            .arg(e.getKey())
+                            .arg(expireMillis)
+                            .arg(Buffer.buffer(e.getValue()))
+            );
+        }
+        redis.batchAndAwait(requests);
+    }
+
+    @Override
+    protected List<byte[]> readVersions(List<String> versionKeys) {
+        if (versionKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, byte[]> mGet = valueCommands.mget(versionKeys.toArray(new String[0]));
+        List<byte[]> versions = new ArrayList<>(versionKeys.size());
+        for (String versionKey : versionKeys) {
+            versions.add(mGet.get(versionKey));
+        }
+        return versions;
+    }
+
     @Override
     protected boolean matched(@Nullable Object reason) {
         return "redis".equals(reason);
@@ -109,7 +160,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             if (null == redisDataSource) {
                 throw new IllegalStateException("RedisDataSource has not been specified");
             }
-            return new RedisHashBinder<>(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource);
+            return new RedisHashBinder<>(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource, valueSerializer(), versionDuration);
         }
     }
 }
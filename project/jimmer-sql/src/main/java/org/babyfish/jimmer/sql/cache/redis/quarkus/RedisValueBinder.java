@@ -3,11 +3,16 @@ package org.babyfish.jimmer.sql.cache.redis.quarkus;
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.value.GetExArgs;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Redis;
+import io.vertx.mutiny.redis.client.Request;
 import org.babyfish.jimmer.jackson.codec.JsonCodec;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,6 +36,8 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
 
     private final ValueCommands<String, byte[]> operations;
 
+    private final Redis redis;
+
     protected RedisValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
@@ -40,8 +47,23 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisDataSource redisDataSource) {
-        super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent);
+        this(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource, null, null);
+    }
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @NotNull JsonCodec<?> jsonCodec,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @NotNull RedisDataSource redisDataSource,
+            @Nullable ValueSerializer<V> valueSerializer,
+            @Nullable Duration versionDuration) {
+        super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, valueSerializer, versionDuration);
         this.operations = redisDataSource.value(byte[].class);
+        this.redis = redisDataSource.getRedis();
     }
 
     @Override
@@ -65,6 +87,34 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         }
     }
 
+    @Override
+    protected void writeVersions(Map<String, byte[]> versionMap, long expireMillis) {
+        // Pipeline all `PSETEX` commands, multi-key commands cannot specify the expiration
+        List<Request> requests = new ArrayList<>(versionMap.size());
+        for (Map.Entry<String, byte[]> e : versionMap.entrySet()) {
+            requests.add(
+                    Request.cmd(Command.PSETEX)
+                            .arg(e.getKey())
+                            .arg(expireMillis)
+                            .arg(Buffer.buffer(e.getValue()))
+            );
+        }
+        redis.batchAndAwait(requests);
+    }
+
+    @Override
+    protected List<byte[]> readVersions(List<String> versionKeys) {
+        if (versionKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, byte[]> mGet = operations.mget(versionKeys.toArray(new String[0]));
+        List<byte[]> versions = new ArrayList<>(versionKeys.size());
+        for (String versionKey : versionKeys) {
+            versions.add(mGet.get(versionKey));
+        }
+        return versions;
+    }
+
     @Override
     protected boolean matched(@Nullable Object reason) {
         return "redis".equals(reason);
@@ -106,7 +156,7 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             if (null == redisDataSource) {
                 throw new IllegalStateException("RedisDataSource has not been specified");
             }
-            return new RedisValueBinder<>(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource);
+            return new RedisValueBinder<>(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, redisDataSource, valueSerializer(), versionDuration);
         }
     }
 }
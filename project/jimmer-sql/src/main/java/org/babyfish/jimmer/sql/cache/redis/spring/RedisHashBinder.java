@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -40,6 +41,32 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                jsonCodec,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                operations,
+                null,
+                null
+        );
+    }
+
+    protected RedisHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @NotNull JsonCodec<?> jsonCodec,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @NotNull RedisOperations<String, byte[]> operations,
+            @Nullable ValueSerializer<V> valueSerializer,
+            @Nullable Duration versionDuration
     ) {
         super(
                 type,
@@ -48,7 +75,9 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                 jsonCodec,
                 keyPrefixProvider,
                 duration,
-                randomPercent
+                randomPercent,
+                valueSerializer,
+                versionDuration
         );
         this.operations = operations;
     }
@@ -97,6 +126,33 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
         operations.delete(serializedKeys);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void writeVersions(Map<String, byte[]> versionMap, long expireMillis) {
+        operations.executePipelined(
+                new SessionCallback<Void>() {
+                    @Override
+                    public <XK, XV> Void execute(RedisOperations<XK, XV> pops) throws DataAccessException {
+                        RedisOperations<String, byte[]> pipelinedOps = (RedisOperations<String, byte[]>) pops;
+                        for (Map.Entry<String, byte[]> e : versionMap.entrySet()) {
+                            pipelinedOps.opsForValue().set(
+                                    e.getKey(),
+                                    e.getValue(),
+                                    expireMillis,
+                                    TimeUnit.MILLISECONDS
+                            );
+                        }
+                        return null;
+                    }
+                }
+        );
+    }
+
+    @Override
+    protected List<byte[]> readVersions(List<String> versionKeys) {
+        return operations.opsForValue().multiGet(versionKeys);
+    }
+
     @Override
     protected boolean matched(@Nullable Object reason) {
         return "redis".equals(reason);
@@ -139,7 +195,9 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                     keyPrefixProvider,
                     duration,
                     randomPercent,
-                    operations
+                    operations,
+                    valueSerializer(),
+                    versionDuration
             );
         }
     }
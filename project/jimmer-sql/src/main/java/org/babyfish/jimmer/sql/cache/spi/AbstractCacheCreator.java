@@ -6,6 +6,8 @@ import org.babyfish.jimmer.sql.cache.CacheCreator;
 import org.babyfish.jimmer.sql.cache.CacheLocker;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.SingleFlightMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -41,6 +43,15 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         );
     }
 
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withNearCache(@Nullable Duration versionDuration) {
+        return newCacheCreator(
+                new NearCache(cfg, versionDuration)
+        );
+    }
+
     @NewChain
     @NotNull
     @Override
@@ -81,6 +92,22 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         );
     }
 
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withSingleFlight(boolean enabled, @Nullable SingleFlightMetrics metrics) {
+        return newCacheCreator(
+                new SingleFlight(cfg, enabled, metrics)
+        );
+    }
+
+    protected final <K, V> ChainCacheBuilder<K, V> chainCacheBuilder() {
+        Args args = args();
+        return new ChainCacheBuilder<K, V>()
+                .singleFlight(args.singleFlight)
+                .singleFlightMetrics(args.singleFlightMetrics);
+    }
+
     @SuppressWarnings("unchecked")
     protected final <A extends Args> A args() {
         Args args = this.args;
@@ -166,6 +193,21 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         }
     }
 
+    private static class NearCache extends Cfg {
+
+        final Duration versionDuration;
+
+        NearCache(Cfg prev, Duration versionDuration) {
+            super(prev);
+            if (versionDuration != null) {
+                if (versionDuration.isZero() || versionDuration.isNegative()) {
+                    throw new IllegalArgumentException("versionDuration must be positive");
+                }
+            }
+            this.versionDuration = versionDuration;
+        }
+    }
+
     private static class RemoteKeyPrefixProvider_ extends Cfg {
 
         final RemoteKeyPrefixProvider keyPrefixProvider;
@@ -212,6 +254,19 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         }
     }
 
+    private static class SingleFlight extends Cfg {
+
+        final boolean enabled;
+
+        final SingleFlightMetrics metrics;
+
+        SingleFlight(Cfg prev, boolean enabled, SingleFlightMetrics metrics) {
+            super(prev);
+            this.enabled = enabled;
+            this.metrics = metrics;
+        }
+    }
+
     private static class MultiViewProperties extends Cfg {
 
         final Integer localMaximumSize;
@@ -243,12 +298,18 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         public final Duration localCacheDuration;
         public final RemoteKeyPrefixProvider keyPrefixProvider;
 
+        public final boolean nearCache;
+        public final Duration versionDuration;
+
         public final CacheLocker locker;
         public final Duration lockWaitDuration;
         public final Duration lockLeaseDuration;
 
         public final CacheTracker tracker;
 
+        public final boolean singleFlight;
+        public final SingleFlightMetrics singleFlightMetrics;
+
         public final Duration multiVewDuration;
 
         public final boolean useMultiViewLocalCache;
@@ -281,6 +342,27 @@ public abstract class AbstractCacheCreator implements CacheCreator {
             RemoteKeyPrefixProvider_ keyPrefixProvider_ = cfg.as(RemoteKeyPrefixProvider_.class);
             this.keyPrefixProvider = keyPrefixProvider_ != null ? keyPrefixProvider_.keyPrefixProvider : null;
 
+            NearCache nearCache = cfg.as(NearCache.class);
+            if (nearCache == null || !this.useLocalCache) {
+                this.nearCache = false;
+                this.versionDuration = null;
+            } else if (nearCache.versionDuration == null) {
+                Duration maxDuration =
+                        this.duration.compareTo(this.localCacheDuration) > 0 ?
+                                this.duration :
+                                this.localCacheDuration;
+                this.nearCache = true;
+                this.versionDuration = maxDuration.multipliedBy(2);
+            } else {
+                if (nearCache.versionDuration.compareTo(this.localCacheDuration) <= 0) {
+                    throw new IllegalArgumentException(
+                            "versionDuration must be longer than the local cache duration"
+                    );
+                }
+                this.nearCache = true;
+                this.versionDuration = nearCache.versionDuration;
+            }
+
             Lock lock = cfg.as(Lock.class);
             if (lock == null || lock.locker == null) {
                 this.locker = null;
@@ -295,6 +377,10 @@ public abstract class AbstractCacheCreator implements CacheCreator {
             Tracking tracking = cfg.as(Tracking.class);
             this.tracker = tracking != null ? tracking.tracker : null;
 
+            SingleFlight singleFlight = cfg.as(SingleFlight.class);
+            this.singleFlight = singleFlight != null && singleFlight.enabled;
+            this.singleFlightMetrics = singleFlight != null ? singleFlight.metrics : null;
+
             MultiViewProperties multiViewProperties = cfg.as(MultiViewProperties.class);
             if (multiViewProperties == null) {
                 this.multiVewDuration = this.duration;
@@ -3,22 +3,25 @@ package org.babyfish.jimmer.sql.cache.spi;
 import org.babyfish.jimmer.jackson.codec.JsonCodec;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.BinaryValueSerializer;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
 import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
+import org.babyfish.jimmer.sql.cache.chain.VersionedBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
-abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder<K> implements LockableBinder<K, V> {
+abstract class AbstractRemoteBinder<K, V>
+        extends AbstractTrackingProducerBinder<K>
+        implements LockableBinder<K, V>, VersionedBinder<K> {
+
+    private static final String VERSION_KEY_SUFFIX = ":version";
 
     final JsonCodec<?> jsonCodec;
 
@@ -32,6 +35,8 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
 
     final ValueSerializer<V> valueSerializer;
 
+    private final long versionMillis;
+
     AbstractRemoteBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
@@ -40,6 +45,20 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             Duration duration,
             int randomPercent
+    ) {
+        this(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, null, null);
+    }
+
+    AbstractRemoteBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @NotNull JsonCodec<?> jsonCodec,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable ValueSerializer<V> valueSerializer,
+            @Nullable Duration versionDuration
     ) {
         super(type, prop, tracker);
         this.jsonCodec = jsonCodec;
@@ -58,20 +77,117 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         long millis = duration.toMillis();
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
-        if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, this.jsonCodec);
+        if (valueSerializer != null) {
+            this.valueSerializer = valueSerializer;
+        } else if (type != null) {
+            this.valueSerializer = new ValueSerializer<>(type, this.jsonCodec);
         } else {
-            valueSerializer = new ValueSerializer<>(prop, this.jsonCodec);
+            this.valueSerializer = new ValueSerializer<>(prop, this.jsonCodec);
+        }
+        if (versionDuration != null) {
+            if (versionDuration.isNegative() || versionDuration.isZero()) {
+                throw new IllegalArgumentException("versionDuration must be positive");
+            }
+            this.versionMillis = versionDuration.toMillis();
+        } else {
+            this.versionMillis = 0;
         }
     }
 
     @Override
     protected final void deleteAllKeys(Collection<K> keys) {
-        deleteAllSerializedKeys(serializedKeys(keys));
+        List<String> serializedKeys = serializedKeys(keys);
+        deleteAllSerializedKeys(serializedKeys);
+        if (versionMillis != 0) {
+            // Stamp new versions after the values are deleted, otherwise,
+            // the deleted value may be loaded with the new version by near-cache
+            Map<String, byte[]> versionMap = new LinkedHashMap<>((serializedKeys.size() * 4 + 2) / 3);
+            for (String serializedKey : serializedKeys) {
+                versionMap.put(serializedKey + VERSION_KEY_SUFFIX, newVersion());
+            }
+            writeVersions(versionMap, versionMillis);
+        }
     }
 
     protected abstract void deleteAllSerializedKeys(List<String> serializedKeys);
 
+    @Override
+    public final boolean isVersioned() {
+        return versionMillis != 0;
+    }
+
+    @Override
+    public final @NotNull Map<K, Long> getVersions(@NotNull Collection<K> keys) {
+        if (versionMillis == 0) {
+            throw new IllegalStateException("The binder \"" + this + "\" is not versioned");
+        }
+        if (!(keys instanceof Set<?>)) {
+            keys = new LinkedHashSet<>(keys);
+        }
+        List<String> versionKeys = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            versionKeys.add(serializedKey(key) + VERSION_KEY_SUFFIX);
+        }
+        List<byte[]> values = readVersions(versionKeys);
+        Map<K, Long> versionMap = new HashMap<>((keys.size() * 4 + 2) / 3);
+        Iterator<byte[]> valueItr = values.iterator();
+        for (K key : keys) {
+            byte[] value = valueItr.hasNext() ? valueItr.next() : null;
+            versionMap.put(key, value != null && value.length == 8 ? bytesToLong(value) : 0L);
+        }
+        return versionMap;
+    }
+
+    /**
+     * Write the version stamps in one round trip if possible,
+     * it is only called when the binder is built with {@code versioned(...)}.
+     *
+     * <p>The default implementation writes nothing, so that the binders
+     * which do not override it never report a changed version, just like
+     * the binders built without {@code versioned(...)}.</p>
+     *
+     * @param versionMap The map whose keys are version keys and values are version stamps
+     * @param expireMillis The expiration of version stamps
+     */
+    protected void writeVersions(Map<String, byte[]> versionMap, long expireMillis) {}
+
+    /**
+     * Read the version stamps in one round trip if possible,
+     * it is only called when the binder is built with {@code versioned(...)}.
+     *
+     * <p>The default implementation returns an empty list,
+     * which means no key has been stamped.</p>
+     *
+     * @param versionKeys The version keys
+     * @return The version stamps, null for the keys without stamp
+     */
+    protected List<byte[]> readVersions(List<String> versionKeys) {
+        return Collections.emptyList();
+    }
+
+    private static byte[] newVersion() {
+        // Random stamps rather than counters, so that an expired
+        // and then recreated stamp never equals the old one
+        long version;
+        do {
+            version = ThreadLocalRandom.current().nextLong();
+        } while (version == 0);
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; --i) {
+            bytes[i] = (byte) version;
+            version >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static long bytesToLong(byte[] bytes) {
+        long value = 0;
+        for (byte b : bytes) {
+            value = (value << 8) | (b & 0xFF);
+        }
+        return value;
+    }
+
     @Override
     public final @NotNull String keyPrefix() {
         return keyPrefix;
@@ -109,6 +225,9 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         protected RemoteKeyPrefixProvider keyPrefixProvider;
         protected Duration duration = Duration.ofMinutes(30);
         protected int randomPercent = 30;
+        protected ValueSerializer<V> valueSerializer;
+        protected boolean binary;
+        protected Duration versionDuration;
 
         protected AbstractBuilder(ImmutableType type, ImmutableProp prop, @NotNull JsonCodec<?> jsonCodec) {
             this.type = type;
@@ -139,5 +258,61 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             this.randomPercent = randomPercent;
             return (B) this;
         }
+
+        /**
+         * Use the specified serializer instead of the default JSON serializer
+         */
+        @SuppressWarnings("unchecked")
+        public B valueSerializer(ValueSerializer<V> valueSerializer) {
+            this.valueSerializer = valueSerializer;
+            this.binary = false;
+            return (B) this;
+        }
+
+        /**
+         * Use {@link BinaryValueSerializer} instead of the default JSON serializer.
+         *
+         * <p>The values written by JSON serializer are treated as cache miss
+         * and overwritten after the switch, and vice versa.</p>
+         */
+        @SuppressWarnings("unchecked")
+        public B binary() {
+            this.valueSerializer = null;
+            this.binary = true;
+            return (B) this;
+        }
+
+        /**
+         * Stamp a new version on each key when it is deleted,
+         * so that the near-cache binders before this binder
+         * can validate their local entries by the versions.
+         *
+         * @param versionDuration The expiration of version stamps,
+         *                        it must be longer than the duration of
+         *                        the near-cache binders;
+         *                        null means the versioned mode is disabled.
+         */
+        @SuppressWarnings("unchecked")
+        public B versioned(Duration versionDuration) {
+            this.versionDuration = versionDuration;
+            return (B) this;
+        }
+
+        /**
+         * @return The serializer for the binder, null means the default JSON serializer
+         */
+        @Nullable
+        protected ValueSerializer<V> valueSerializer() {
+            if (valueSerializer != null) {
+                return valueSerializer;
+            }
+            if (binary) {
+                if (type != null) {
+                    return new BinaryValueSerializer<>(type, jsonCodec);
+                }
+                return new BinaryValueSerializer<>(prop, jsonCodec);
+            }
+            return null;
+        }
     }
 }
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,6 +29,20 @@ public abstract class AbstractRemoteValueBinder<K, V>
         super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent);
     }
 
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @NotNull JsonCodec<?> jsonCodec,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable ValueSerializer<V> valueSerializer,
+            @Nullable Duration versionDuration
+    ) {
+        super(type, prop, tracker, jsonCodec, keyPrefixProvider, duration, randomPercent, valueSerializer, versionDuration);
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
         Collection<String> redisKeys = serializedKeys(keys);
@@ -7,6 +7,7 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.sql.*;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
+import org.babyfish.jimmer.sql.ast.impl.mutation.SequenceIdPools;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.query.MutableBaseQuery;
 import org.babyfish.jimmer.sql.ast.query.MutableRecursiveBaseQuery;
@@ -25,6 +26,7 @@ import org.babyfish.jimmer.sql.event.binlog.BinLog;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.FetchingCoalescer;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
@@ -324,6 +326,11 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getExecutorContextPrefixes();
     }
 
+    @Override
+    public ExecutorContextCaptureMode getExecutorContextCaptureMode() {
+        return sqlClient().getExecutorContextCaptureMode();
+    }
+
     @Override
     public SqlFormatter getSqlFormatter() {
         return sqlClient().getSqlFormatter();
@@ -383,6 +390,21 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getDefaultListBatchSize();
     }
 
+    @Override
+    public FetchingCoalescer getFetchingCoalescer() {
+        return sqlClient().getFetchingCoalescer();
+    }
+
+    @Override
+    public QueryPlanCache getQueryPlanCache() {
+        return sqlClient().getQueryPlanCache();
+    }
+
+    @Override
+    public SequenceIdPools getSequenceIdPools() {
+        return sqlClient().getSequenceIdPools();
+    }
+
     @Override
     public boolean isInListPaddingEnabled() {
         return sqlClient().isInListPaddingEnabled();
@@ -393,6 +415,11 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().isExpandedInListPaddingEnabled();
     }
 
+    @Override
+    public int getLargeInListThreshold() {
+        return sqlClient().getLargeInListThreshold();
+    }
+
     public int getOffsetOptimizingThreshold() {
         return sqlClient().getOffsetOptimizingThreshold();
     }
@@ -402,6 +429,11 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().isReverseSortOptimizationEnabled();
     }
 
+    @Override
+    public java.util.concurrent.Executor getPageCountExecutor() {
+        return sqlClient().getPageCountExecutor();
+    }
+
     @Override
     public int getMaxCommandJoinCount() {
         return sqlClient().getMaxCommandJoinCount();
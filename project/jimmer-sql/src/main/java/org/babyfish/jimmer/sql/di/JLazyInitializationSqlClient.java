@@ -5,28 +5,20 @@ import org.babyfish.jimmer.sql.meta.*;
 import org.babyfish.jimmer.sql.runtime.*;
 
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class JLazyInitializationSqlClient extends AbstractJSqlClientDelegate {
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private final Lock initializationLock = new ReentrantLock();
 
-    private JSqlClientImplementor sqlClient;
+    // Volatile double-checked locking, delegated calls never lock after initialization
+    private volatile JSqlClientImplementor sqlClient;
 
     protected final JSqlClientImplementor sqlClient() {
-        Lock lock;
-        JSqlClientImplementor sqlClient;
-
-        (lock = readWriteLock.readLock()).lock();
-        try {
-            sqlClient = this.sqlClient;
-        } finally {
-            lock.unlock();
-        }
-
+        JSqlClientImplementor sqlClient = this.sqlClient;
         if (sqlClient == null) {
-            (lock = readWriteLock.writeLock()).lock();
+            Lock lock;
+            (lock = initializationLock).lock();
             try {
                 sqlClient = this.sqlClient;
                 if (sqlClient == null) {
@@ -39,7 +31,6 @@ public abstract class JLazyInitializationSqlClient extends AbstractJSqlClientDel
                 lock.unlock();
             }
         }
-
         return sqlClient;
     }
 
@@ -11,6 +11,7 @@ import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -44,6 +45,19 @@ public interface Dialect extends SqlTypeStrategy {
         throw new ExecutionException("Sequence is not supported by '" + getClass().getName() + "'");
     }
 
+    /**
+     * Get the SQL which returns multiple values of a sequence by one round-trip,
+     * the SQL must have one JDBC parameter which is the count of values.
+     *
+     * <p>It is used by pooled sequence id generator, if it returns null,
+     * the SQL of {@link #getSelectIdFromSequenceSql(String)} is executed
+     * for each value.</p>
+     */
+    @Nullable
+    default String getSelectIdsFromSequenceSql(String sequenceName) {
+        return null;
+    }
+
     @Nullable
     default String getOverrideIdentityIdSql() {
         return null;
@@ -80,6 +94,18 @@ public interface Dialect extends SqlTypeStrategy {
         return isTupleSupported();
     }
 
+    /**
+     * Whether multi-column `in` predicate can be rendered as
+     * {@code (a, b) in (select * from unnest(?, ?))},
+     * each parameter is an array of one column.
+     *
+     * <p>It is used when the count of values exceeds
+     * {@link org.babyfish.jimmer.sql.runtime.JSqlClientImplementor#getLargeInListThreshold()}</p>
+     */
+    default boolean isTupleUnnestSupported() {
+        return false;
+    }
+
     default boolean isTupleCountSupported() {
         return false;
     }
@@ -131,6 +157,73 @@ public interface Dialect extends SqlTypeStrategy {
         return 1000;
     }
 
+    /**
+     * Whether the generated ids of all rows inserted by one
+     * multi-row insertion statement can be returned by
+     * {@link java.sql.Statement#getGeneratedKeys()}, in order.
+     */
+    default boolean isMultiRowInsertedIdsSupported() {
+        return false;
+    }
+
+    /**
+     * The max count of JDBC parameters of one statement,
+     * it is used to split multi-row insertion.
+     */
+    default int getMaxVariableCount() {
+        return 2000;
+    }
+
+    /**
+     * Whether new rows can be loaded by
+     * {@link #bulkCopy(Connection, String, Iterable)}
+     */
+    default boolean isBulkCopySupported() {
+        return false;
+    }
+
+    /**
+     * The statement of the bulk copy protocol of database,
+     * such as {@code COPY ... FROM STDIN} of Postgres.
+     *
+     * @param tableName The table name
+     * @param columnNames The column names
+     * @return The SQL which is passed to {@link #bulkCopy(Connection, String, Iterable)}
+     */
+    default String getBulkCopySql(String tableName, List<String> columnNames) {
+        throw new UnsupportedOperationException(
+                "The current dialect \"" +
+                        getClass().getName() +
+                        "\" does not support bulk copy"
+        );
+    }
+
+    /**
+     * Load rows by the bulk copy protocol of database.
+     *
+     * <p>This method is called by the {@link org.babyfish.jimmer.sql.runtime.Executor}
+     * of the sql client, so the statement is logged and its exception is translated
+     * as same as the other statements.</p>
+     *
+     * @param con The JDBC connection
+     * @param sql The SQL returned by {@link #getBulkCopySql(String, List)}
+     * @param rows The values of rows, they have been converted by scalar providers,
+     *             null values are represented by
+     *             {@link org.babyfish.jimmer.sql.runtime.DbLiteral.DbNull}
+     * @return The count of loaded rows
+     */
+    default long bulkCopy(
+            Connection con,
+            String sql,
+            Iterable<List<Object>> rows
+    ) throws SQLException {
+        throw new UnsupportedOperationException(
+                "The current dialect \"" +
+                        getClass().getName() +
+                        "\" does not support bulk copy"
+        );
+    }
+
     @Override
     default String arrayTypeSuffix() {
         return "[]";
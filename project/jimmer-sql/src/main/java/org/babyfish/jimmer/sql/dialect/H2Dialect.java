@@ -32,6 +32,21 @@ public class H2Dialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isTupleUnnestSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isMultiRowInsertedIdsSupported() {
+        return true;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 32767;
+    }
+
     @Override
     public boolean isArraySupported() {
         return true;
@@ -110,6 +125,11 @@ public class H2Dialect extends DefaultDialect {
         return "select nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public String getSelectIdsFromSequenceSql(String sequenceName) {
+        return "select nextval('" + sequenceName + "') from system_range(1, ?)";
+    }
+
     @Nullable
     @Override
     public Object jsonToBaseValue(@Nullable String json) throws SQLException {
@@ -27,6 +27,16 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isMultiRowInsertedIdsSupported() {
+        return true;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 65535;
+    }
+
     public String sqlType(Class<?> elementType) {
         if (elementType == String.class) {
             return "varchar";
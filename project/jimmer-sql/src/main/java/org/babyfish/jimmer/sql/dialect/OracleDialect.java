@@ -54,6 +54,11 @@ public class OracleDialect extends DefaultDialect {
         return "select " + sequenceName + ".nextval from dual";
     }
 
+    @Override
+    public String getSelectIdsFromSequenceSql(String sequenceName) {
+        return "select " + sequenceName + ".nextval from dual connect by level <= ?";
+    }
+
     @Nullable
     @Override
     public String getOffsetOptimizationNumField() {
@@ -10,17 +10,26 @@ import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
 import org.babyfish.jimmer.sql.ast.query.LockWait;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.util.PGobject;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.*;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.IntSupplier;
 
 public class PostgresDialect extends DefaultDialect {
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
     private static final Reader<PGobject> PG_OBJECT_READER = new Reader<PGobject>() {
         @Override
         public PGobject read(ResultSet rs, Context ctx) throws SQLException {
@@ -43,6 +52,11 @@ public class PostgresDialect extends DefaultDialect {
         return "select nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public String getSelectIdsFromSequenceSql(String sequenceName) {
+        return "select nextval('" + sequenceName + "') from generate_series(1, ?)";
+    }
+
     @Override
     public String getOverrideIdentityIdSql() {
         return "overriding system value";
@@ -79,6 +93,11 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isTupleUnnestSupported() {
+        return true;
+    }
+
     @Override
     public boolean isArraySupported() {
         return true;
@@ -177,6 +196,158 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isMultiRowInsertedIdsSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isBulkCopySupported() {
+        return true;
+    }
+
+    @Override
+    public String getBulkCopySql(String tableName, List<String> columnNames) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("copy ").append(tableName).append('(');
+        boolean addComma = false;
+        for (String columnName : columnNames) {
+            if (addComma) {
+                sql.append(", ");
+            } else {
+                addComma = true;
+            }
+            sql.append(columnName);
+        }
+        sql.append(") from stdin with (format csv)");
+        return sql.toString();
+    }
+
+    @Override
+    public long bulkCopy(
+            Connection con,
+            String sql,
+            Iterable<List<Object>> rows
+    ) throws SQLException {
+        CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (List<Object> row : rows) {
+                appendCsvRow(builder, row);
+                if (builder.length() >= COPY_BUFFER_SIZE) {
+                    writeToCopy(copyIn, builder);
+                }
+            }
+            writeToCopy(copyIn, builder);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder builder) throws SQLException {
+        if (builder.length() != 0) {
+            byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            builder.setLength(0);
+        }
+    }
+
+    static void appendCsvRow(StringBuilder builder, List<Object> row) {
+        boolean addComma = false;
+        for (Object value : row) {
+            if (addComma) {
+                builder.append(',');
+            } else {
+                addComma = true;
+            }
+            // Unquoted empty string is null in CSV format
+            String text = copyText(DbLiteral.unwrap(value));
+            if (text != null) {
+                builder.append('"');
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"') {
+                        builder.append('"');
+                    }
+                    builder.append(c);
+                }
+                builder.append('"');
+            }
+        }
+        builder.append('\n');
+    }
+
+    private static String copyText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof PGobject) {
+            return ((PGobject) value).getValue();
+        }
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            char[] chars = new char[2 + bytes.length * 2];
+            chars[0] = '\\';
+            chars[1] = 'x';
+            for (int i = 0; i < bytes.length; i++) {
+                chars[2 + i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+                chars[3 + i * 2] = HEX_CHARS[bytes[i] & 0xF];
+            }
+            return new String(chars);
+        }
+        if (value instanceof Timestamp) {
+            // The offset is ignored by the column without time zone
+            return OffsetDateTime.ofInstant(((Timestamp) value).toInstant(), ZoneId.systemDefault()).toString();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Object[]) {
+            return arrayText(Arrays.asList((Object[]) value));
+        }
+        if (value instanceof List<?>) {
+            return arrayText((List<?>) value);
+        }
+        return value.toString();
+    }
+
+    private static String arrayText(List<?> elements) {
+        StringBuilder builder = new StringBuilder();
+        builder.append('{');
+        boolean addComma = false;
+        for (Object element : elements) {
+            if (addComma) {
+                builder.append(',');
+            } else {
+                addComma = true;
+            }
+            String text = copyText(DbLiteral.unwrap(element));
+            if (text == null) {
+                builder.append("NULL");
+            } else {
+                builder.append('"');
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"' || c == '\\') {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                }
+                builder.append('"');
+            }
+        }
+        builder.append('}');
+        return builder.toString();
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 32767;
+    }
+
     @Override
     public boolean isUpsertSupported() {
         return true;
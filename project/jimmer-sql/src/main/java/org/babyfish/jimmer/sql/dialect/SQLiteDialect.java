@@ -47,6 +47,11 @@ public class SQLiteDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public int getMaxVariableCount() {
+        return 999;
+    }
+
     @Override
     public void upsert(UpsertContext ctx) {
         ctx.sql("insert into ")
@@ -1,7 +1,25 @@
 package org.babyfish.jimmer.sql.event;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AssociationListener {
 
     void onChange(AssociationEvent e);
+
+    /**
+     * Receives the events of the same association property
+     * which are fired together by {@link Triggers#batch(Runnable)}
+     * or by the asynchronous {@link TriggerDispatcher}.
+     *
+     * <p>The default implementation calls {@link #onChange(AssociationEvent)}
+     * for each event, override it to handle all events at once.</p>
+     *
+     * @param events The events with same association property, in fired order
+     */
+    default void onBatchChange(List<AssociationEvent> events) {
+        for (AssociationEvent e : events) {
+            onChange(e);
+        }
+    }
 }
@@ -1,7 +1,25 @@
 package org.babyfish.jimmer.sql.event;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface EntityListener<E> {
 
     void onChange(EntityEvent<E> e);
+
+    /**
+     * Receives the events of the same entity type
+     * which are fired together by {@link Triggers#batch(Runnable)}
+     * or by the asynchronous {@link TriggerDispatcher}.
+     *
+     * <p>The default implementation calls {@link #onChange(EntityEvent)}
+     * for each event, override it to handle all events at once.</p>
+     *
+     * @param events The events with same entity type, in fired order
+     */
+    default void onBatchChange(List<EntityEvent<E>> events) {
+        for (EntityEvent<E> e : events) {
+            onChange(e);
+        }
+    }
 }
@@ -0,0 +1,325 @@
+package org.babyfish.jimmer.sql.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded asynchronous dispatcher of the events which are
+ * not fired in transaction, such as the events of binlog.
+ *
+ * <p>The dispatcher owns several lanes, each lane is a bounded
+ * queue consumed by one worker thread. Events are routed by the
+ * entity type and id of the changed row: the events of an entity
+ * object and the association events whose source is that object
+ * are always sent to the same lane, so that they are handled in
+ * fired order. The order is not kept across different objects,
+ * so the association events are not ordered with the events of
+ * their target objects, nor with the association events of the
+ * inverse property, whose source is the target object.
+ * When a lane is full, the thread firing events is blocked until
+ * the worker catches up.</p>
+ *
+ * <p>Workers take up to {@code maxBatchSize} events from the lane
+ * each time and deliver them in batch, so listeners receive them by
+ * {@link EntityListener#onBatchChange(List)} and
+ * {@link AssociationListener#onBatchChange(List)}</p>
+ *
+ * <p>If a listener throws an exception, the whole batch is delivered
+ * to all the listeners again after a delay which is doubled after each
+ * attempt, the batch is discarded with an error log after
+ * {@code maxRetryCount} retries. The lane is blocked while it waits,
+ * so the order of events is kept, but listeners may receive the same
+ * event more than once and must be idempotent.</p>
+ *
+ * <p>Events fired in transaction are never dispatched by this object
+ * because their listeners must use the connection of the transaction.</p>
+ *
+ * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setTriggerDispatcher(TriggerDispatcher)
+ */
+public class TriggerDispatcher implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TriggerDispatcher.class);
+
+    private static final AtomicInteger DISPATCHER_SEQUENCE = new AtomicInteger();
+
+    private static final int DEFAULT_MAX_RETRY_COUNT = 3;
+
+    private static final long DEFAULT_RETRY_DELAY_MILLIS = 100L;
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000L;
+
+    private final Lane[] lanes;
+
+    private final int maxBatchSize;
+
+    private final int maxRetryCount;
+
+    private final long retryDelayMillis;
+
+    private volatile boolean closed;
+
+    public TriggerDispatcher(int laneCount, int queueCapacity, int maxBatchSize) {
+        this(laneCount, queueCapacity, maxBatchSize, null);
+    }
+
+    public TriggerDispatcher(
+            int laneCount,
+            int queueCapacity,
+            int maxBatchSize,
+            ThreadFactory threadFactory
+    ) {
+        this(
+                laneCount,
+                queueCapacity,
+                maxBatchSize,
+                DEFAULT_MAX_RETRY_COUNT,
+                DEFAULT_RETRY_DELAY_MILLIS,
+                threadFactory
+        );
+    }
+
+    /**
+     * @param maxRetryCount How many times a batch is delivered again
+     *                      after a listener failed, 0 means no retry
+     * @param retryDelayMillis The delay before the first retry,
+     *                         it is doubled after each retry
+     */
+    public TriggerDispatcher(
+            int laneCount,
+            int queueCapacity,
+            int maxBatchSize,
+            int maxRetryCount,
+            long retryDelayMillis,
+            ThreadFactory threadFactory
+    ) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount cannot be less than 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity cannot be less than 1");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize cannot be less than 1");
+        }
+        if (maxRetryCount < 0) {
+            throw new IllegalArgumentException("maxRetryCount cannot be negative");
+        }
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis cannot be negative");
+        }
+        if (threadFactory == null) {
+            threadFactory = defaultThreadFactory();
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxRetryCount = maxRetryCount;
+        this.retryDelayMillis = retryDelayMillis;
+        Lane[] lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(queueCapacity);
+        }
+        this.lanes = lanes;
+        for (Lane lane : lanes) {
+            Thread thread = threadFactory.newThread(lane);
+            lane.thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Queue an event, this method blocks if the lane of the event is full.
+     *
+     * <p>This method is used by the triggers, it should not be
+     * called by user code.</p>
+     *
+     * @param event The event to be dispatched
+     * @param handler The handler which delivers the events of a batch
+     *                to the listeners, it is called by the worker thread
+     */
+    public void dispatch(DatabaseEvent event, Consumer<List<DatabaseEvent>> handler) {
+        if (closed) {
+            throw new IllegalStateException("The trigger dispatcher has been closed");
+        }
+        Lane lane = lanes[(keyHash(event) & 0x7FFFFFFF) % lanes.length];
+        try {
+            lane.queue.put(new Task(event, handler));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "The thread is interrupted when it waits for the trigger dispatcher",
+                    ex
+            );
+        }
+    }
+
+    /**
+     * Stop accepting new events, wait until the queued events are handled.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (Lane lane : lanes) {
+                lane.queue.put(Task.CLOSE);
+            }
+            for (Lane lane : lanes) {
+                lane.thread.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static int keyHash(DatabaseEvent event) {
+        if (event instanceof EntityEvent<?>) {
+            EntityEvent<?> e = (EntityEvent<?>) event;
+            return e.getImmutableType().hashCode() * 31 + Objects.hashCode(e.getId());
+        }
+        // Inherited properties are declared by the derived type again,
+        // so this is the type of the source object, the same as
+        // `EntityEvent.getImmutableType()` of that object
+        AssociationEvent e = (AssociationEvent) event;
+        return e.getImmutableProp().getDeclaringType().hashCode() * 31 + Objects.hashCode(e.getSourceId());
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        int dispatcherIndex = DISPATCHER_SEQUENCE.incrementAndGet();
+        AtomicInteger laneSequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(
+                    runnable,
+                    "jimmer-trigger-dispatcher-" +
+                            dispatcherIndex +
+                            "-" +
+                            laneSequence.incrementAndGet()
+            );
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class Lane implements Runnable {
+
+        final BlockingQueue<Task> queue;
+
+        Thread thread;
+
+        Lane(int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        @Override
+        public void run() {
+            List<Task> tasks = new ArrayList<>(maxBatchSize);
+            while (true) {
+                try {
+                    tasks.add(queue.take());
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                queue.drainTo(tasks, maxBatchSize - 1);
+                boolean closing = handle(tasks);
+                tasks.clear();
+                if (closing) {
+                    return;
+                }
+            }
+        }
+
+        private boolean handle(List<Task> tasks) {
+            Consumer<List<DatabaseEvent>> handler = null;
+            List<DatabaseEvent> events = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                if (task == Task.CLOSE) {
+                    deliver(handler, events);
+                    return true;
+                }
+                if (handler != task.handler) {
+                    deliver(handler, events);
+                    handler = task.handler;
+                    events = new ArrayList<>();
+                }
+                events.add(task.event);
+            }
+            deliver(handler, events);
+            return false;
+        }
+
+        private void deliver(Consumer<List<DatabaseEvent>> handler, List<DatabaseEvent> events) {
+            if (handler == null || events.isEmpty()) {
+                return;
+            }
+            long delayMillis = retryDelayMillis;
+            for (int retry = 0; ; retry++) {
+                try {
+                    handler.accept(events);
+                    return;
+                } catch (RuntimeException ex) {
+                    if (retry >= maxRetryCount) {
+                        LOGGER.error(
+                                "Failed to handle {} dispatched trigger event(s) after {} retries, " +
+                                        "they are discarded",
+                                events.size(),
+                                retry,
+                                ex
+                        );
+                        return;
+                    }
+                    LOGGER.warn(
+                            "Failed to handle {} dispatched trigger event(s), retry after {}ms",
+                            events.size(),
+                            delayMillis,
+                            ex
+                    );
+                } catch (Error ex) {
+                    LOGGER.error(
+                            "Failed to handle {} dispatched trigger event(s), they are discarded",
+                            events.size(),
+                            ex
+                    );
+                    return;
+                }
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.error(
+                            "The trigger dispatcher is interrupted, {} event(s) are discarded",
+                            events.size()
+                    );
+                    return;
+                }
+                delayMillis = Math.min(delayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private static class Task {
+
+        static final Task CLOSE = new Task(null, null);
+
+        final DatabaseEvent event;
+
+        final Consumer<List<DatabaseEvent>> handler;
+
+        Task(DatabaseEvent event, Consumer<List<DatabaseEvent>> handler) {
+            this.event = event;
+            this.handler = handler;
+        }
+    }
+}
@@ -73,5 +73,19 @@ public interface Triggers {
 
     void fireAssociationEvict(ImmutableProp prop, Object sourceId, Connection con, Object reason);
 
+    /**
+     * Execute the block in batch mode.
+     *
+     * <p>The events fired by the block are not delivered immediately,
+     * they are grouped by entity type or association property and
+     * delivered by {@link EntityListener#onBatchChange(java.util.List)}
+     * and {@link AssociationListener#onBatchChange(java.util.List)}
+     * when the outermost block ends.</p>
+     *
+     * <p>The order of events is kept in each group, but entity
+     * events are always delivered before association events.</p>
+     */
+    void batch(Runnable block);
+
     boolean isTransaction();
 }
@@ -2,6 +2,9 @@ package org.babyfish.jimmer.sql.event.binlog;
 
 import org.babyfish.jimmer.jackson.codec.Node;
 
+import java.util.Collection;
+import java.util.concurrent.Executor;
+
 /**
  * Accepts row-change events from an external CDC/binlog/message-queue integration
  * and converts them into Jimmer trigger events.
@@ -43,4 +46,37 @@ public interface BinLog {
      * @param reason Optional reason propagated to trigger events
      */
     void accept(String tableName, Node oldData, Node newData, String reason);
+
+    /**
+     * Accept a batch of row-change events, such as a batch of Debezium or Canal,
+     * in the current thread.
+     *
+     * @see #acceptAll(Collection, Executor)
+     */
+    default void acceptAll(Collection<BinLogRecord> records) {
+        acceptAll(records, null);
+    }
+
+    /**
+     * Accept a batch of row-change events, such as a batch of Debezium or Canal.
+     *
+     * <p>Compared with calling {@link #accept(String, Node, Node, String)}
+     * for each record</p>
+     * <ul>
+     *     <li>The metadata of each table is resolved only once</li>
+     *     <li>If the executor is specified, rows are parsed in parallel by it</li>
+     *     <li>Trigger events are fired in the order of records, and delivered
+     *     in one batch, so that each cache is invalidated by one
+     *     {@code deleteAll} call, see
+     *     {@link org.babyfish.jimmer.sql.event.Triggers#batch(Runnable)}</li>
+     * </ul>
+     *
+     * <p>If {@link org.babyfish.jimmer.sql.event.TriggerDispatcher} is configured,
+     * the events are handed over to it partitioned by primary key,
+     * so the order of events of each row is preserved.</p>
+     *
+     * @param records The row-change records, in the order of binlog
+     * @param executor Optional executor used to parse rows in parallel
+     */
+    void acceptAll(Collection<BinLogRecord> records, Executor executor);
 }
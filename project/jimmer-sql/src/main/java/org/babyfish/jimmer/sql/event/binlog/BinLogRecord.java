@@ -0,0 +1,63 @@
+package org.babyfish.jimmer.sql.event.binlog;
+
+import org.babyfish.jimmer.jackson.codec.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * One row-change record of a batch accepted by
+ * {@link BinLog#acceptAll(java.util.Collection)}
+ */
+public final class BinLogRecord {
+
+    private final String tableName;
+
+    private final Node oldData;
+
+    private final Node newData;
+
+    private final String reason;
+
+    public BinLogRecord(String tableName, Node oldData, Node newData) {
+        this(tableName, oldData, newData, null);
+    }
+
+    public BinLogRecord(String tableName, Node oldData, Node newData, String reason) {
+        this.tableName = Objects.requireNonNull(tableName, "`tableName` cannot be null");
+        this.oldData = oldData;
+        this.newData = newData;
+        this.reason = reason;
+    }
+
+    @NotNull
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Nullable
+    public Node getOldData() {
+        return oldData;
+    }
+
+    @Nullable
+    public Node getNewData() {
+        return newData;
+    }
+
+    @Nullable
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "BinLogRecord{" +
+                "tableName='" + tableName + '\'' +
+                ", oldData=" + oldData +
+                ", newData=" + newData +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
@@ -2,11 +2,13 @@ package org.babyfish.jimmer.sql.event.binlog.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.babyfish.jimmer.jackson.codec.Node;
+import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
 import org.babyfish.jimmer.sql.cache.TransactionCacheOperator;
 import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.event.binlog.BinLog;
+import org.babyfish.jimmer.sql.event.binlog.BinLogRecord;
 import org.babyfish.jimmer.sql.meta.JoinTableFilterInfo;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.meta.impl.DatabaseIdentifiers;
@@ -15,6 +17,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class BinLogImpl implements BinLog {
 
@@ -56,11 +61,70 @@ public class BinLogImpl implements BinLog {
 
     @Override
     public void accept(String tableName, Node oldData, Node newData, String reason) {
-        boolean isOldNull = oldData == null || oldData.isNull();
-        boolean isNewNull = newData == null || newData.isNull();
-        if (isOldNull && isNewNull) {
+        if (isNull(oldData) && isNull(newData)) {
             return;
         }
+        for (Runnable fire : parse(typeMap(tableName), oldData, newData, reason)) {
+            fire.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void acceptAll(Collection<BinLogRecord> records, Executor executor) {
+        if (records.isEmpty()) {
+            return;
+        }
+        BinLogRecord[] recordArr = records.toArray(new BinLogRecord[0]);
+        Map<String, Map<List<Object>, ImmutableType>> typeMapCache = new HashMap<>();
+        Map<List<Object>, ImmutableType>[] typeMaps = new Map[recordArr.length];
+        for (int i = 0; i < recordArr.length; i++) {
+            BinLogRecord record = recordArr[i];
+            if (isNull(record.getOldData()) && isNull(record.getNewData())) {
+                typeMaps[i] = Collections.emptyMap();
+            } else {
+                typeMaps[i] = typeMapCache.computeIfAbsent(record.getTableName(), this::typeMap);
+            }
+        }
+        List<Runnable>[] firesArr = new List[recordArr.length];
+        int partitionCount = executor != null ?
+                Math.min(recordArr.length, Runtime.getRuntime().availableProcessors()) :
+                1;
+        if (partitionCount < 2) {
+            parse(recordArr, typeMaps, firesArr, 0, recordArr.length);
+        } else {
+            CompletableFuture<?>[] futures = new CompletableFuture[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                int fromIndex = (int) ((long) recordArr.length * i / partitionCount);
+                int toIndex = (int) ((long) recordArr.length * (i + 1) / partitionCount);
+                futures[i] = CompletableFuture.runAsync(
+                        () -> parse(recordArr, typeMaps, firesArr, fromIndex, toIndex),
+                        executor
+                );
+            }
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        }
+        triggers.batch(() -> {
+            for (List<Runnable> fires : firesArr) {
+                for (Runnable fire : fires) {
+                    fire.run();
+                }
+            }
+        });
+    }
+
+    private Map<List<Object>, ImmutableType> typeMap(String tableName) {
         Map<List<Object>, ImmutableType> typeMap = entityManager.getTypeMapByServiceAndTable(microServiceName, tableName, strategy);
         if (typeMap.isEmpty()) {
             if (!EXCLUDED_TABLE_NAMES.contains(DatabaseIdentifiers.comparableIdentifier(tableName))) {
@@ -70,29 +134,64 @@ public class BinLogImpl implements BinLog {
                         microServiceName
                 );
             }
-            return;
         }
+        return typeMap;
+    }
+
+    private void parse(
+            BinLogRecord[] records,
+            Map<List<Object>, ImmutableType>[] typeMaps,
+            List<Runnable>[] firesArr,
+            int fromIndex,
+            int toIndex
+    ) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            BinLogRecord record = records[i];
+            firesArr[i] = parse(typeMaps[i], record.getOldData(), record.getNewData(), record.getReason());
+        }
+    }
+
+    /**
+     * Parse the row-change event, and returns the actions
+     * which fire the trigger events, so that parsing can be
+     * executed in parallel but firing keeps the order of binlog.
+     */
+    private List<Runnable> parse(
+            Map<List<Object>, ImmutableType> typeMap,
+            Node oldData,
+            Node newData,
+            String reason
+    ) {
+        boolean isOldNull = isNull(oldData);
+        boolean isNewNull = isNull(newData);
+        if ((isOldNull && isNewNull) || typeMap.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Runnable> fires = new ArrayList<>();
         for (ImmutableType type : typeMap.values()) {
             if (type instanceof AssociationType) {
                 AssociationType associationType = (AssociationType) type;
+                ImmutableProp baseProp = associationType.getBaseProp();
                 JoinTableFilterInfo filterInfo = associationType.getJoinTableFilterInfo();
                 MiddleRow<?, ?> oldRow = isOldNull ?
                         null :
-                        parser.parseMiddleRow(associationType.getBaseProp(), oldData);
+                        parser.parseMiddleRow(baseProp, oldData);
                 MiddleRow<?, ?> newRow = isNewNull ?
                         null :
-                        MiddleRow.merge(oldRow, parser.parseMiddleRow(associationType.getBaseProp(), newData));
+                        MiddleRow.merge(oldRow, parser.parseMiddleRow(baseProp, newData));
                 if (oldRow != null && !Boolean.TRUE.equals(oldRow.deleted) &&
                         (filterInfo == null ||
                                 oldRow.filteredValue == null ||
                                 filterInfo.getValues().contains(oldRow.filteredValue))
                 ) {
-                    triggers.fireMiddleTableDelete(
-                            associationType.getBaseProp(),
-                            oldRow.sourceId,
-                            oldRow.targetId,
-                            null,
-                            reason
+                    fires.add(() ->
+                        triggers.fireMiddleTableDelete(
+                                baseProp,
+                                oldRow.sourceId,
+                                oldRow.targetId,
+                                null,
+                                reason
+                        )
                     );
                 }
                 if (newRow != null && !Boolean.TRUE.equals(newRow.deleted) &&
@@ -100,23 +199,34 @@ public class BinLogImpl implements BinLog {
                                 newRow.filteredValue == null ||
                                 filterInfo.getValues().contains(newRow.filteredValue))
                 ) {
-                    triggers.fireMiddleTableInsert(
-                            associationType.getBaseProp(),
-                            newRow.sourceId,
-                            newRow.targetId,
-                            null,
-                            reason
+                    fires.add(() ->
+                        triggers.fireMiddleTableInsert(
+                                baseProp,
+                                newRow.sourceId,
+                                newRow.targetId,
+                                null,
+                                reason
+                        )
                     );
                 }
             } else {
-                triggers.fireEntityTableChange(
-                        parser.parseEntity(type, oldData),
-                        parser.parseEntity(type, newData),
-                        null,
-                        reason
+                Object oldEntity = parser.parseEntity(type, oldData);
+                Object newEntity = parser.parseEntity(type, newData);
+                fires.add(() ->
+                    triggers.fireEntityTableChange(
+                            oldEntity,
+                            newEntity,
+                            null,
+                            reason
+                    )
                 );
             }
         }
+        return fires;
+    }
+
+    private static boolean isNull(Node data) {
+        return data == null || data.isNull();
     }
 
     public BinLogParser parser() {
@@ -16,11 +16,18 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class TriggersImpl implements Triggers {
 
     private final boolean transaction;
 
+    private final TriggerDispatcher dispatcher;
+
+    private final ThreadLocal<EventBatch> batchLocal = new ThreadLocal<>();
+
+    private final Consumer<List<DatabaseEvent>> dispatchedEventsHandler = this::fireDispatchedEvents;
+
     private JSqlClientImplementor sqlClient;
 
     private final CopyOnWriteArrayList<EntityListener<ImmutableSpi>> globalEntityListeners =
@@ -36,7 +43,12 @@ public class TriggersImpl implements Triggers {
             new ConcurrentHashMap<>();
 
     public TriggersImpl(boolean transaction) {
+        this(transaction, null);
+    }
+
+    public TriggersImpl(boolean transaction, TriggerDispatcher dispatcher) {
         this.transaction = transaction;
+        this.dispatcher = dispatcher;
     }
 
     public void initialize(JSqlClientImplementor sqlClient) {
@@ -152,26 +164,17 @@ public class TriggersImpl implements Triggers {
             throw new IllegalArgumentException("newRow must be immutable");
         }
         EntityEvent<ImmutableSpi> event = new EntityEvent<>((ImmutableSpi)oldRow, (ImmutableSpi) newRow, con, reason);
-        List<EntityListener<ImmutableSpi>> listeners = entityListeners(event.getImmutableType());
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            for (EntityListener<ImmutableSpi> listener : listeners) {
-                try {
-                    listener.onChange(event);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable =ex;
-                    }
-                }
-            }
+        if (con == null && dispatcher != null) {
+            dispatcher.dispatch(event, dispatchedEventsHandler);
+        } else {
+            fireEntityEvent(event);
         }
+    }
+
+    private void fireEntityEvent(EntityEvent<ImmutableSpi> event) {
+        Throwable throwable = deliver(event, null);
         throwable = fireAssociationEventByEntityEvent(event, throwable);
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
-        }
-        if (throwable != null) {
-            throw (Error)throwable;
-        }
+        rethrow(throwable);
     }
 
     @Override
@@ -185,39 +188,8 @@ public class TriggersImpl implements Triggers {
     }
 
     private void fireMiddleTableDeleteImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp inverseProp = prop.getOpposite();
-        List<AssociationListener> listeners = associationListeners(prop);
-        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, sourceId, targetId, null, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
-        }
-        if (!inverseListeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(inverseProp, targetId, sourceId, null, con, reason);
-            for (AssociationListener inverseListener : inverseListeners) {
-                try {
-                    inverseListener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
-        }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
-        }
-        if (throwable != null) {
-            throw (Error)throwable;
+        if (hasAssociationListeners(prop) || hasAssociationListeners(prop.getOpposite())) {
+            fireMiddleTableChange(new AssociationEvent(prop, sourceId, targetId, null, con, reason));
         }
     }
 
@@ -232,40 +204,44 @@ public class TriggersImpl implements Triggers {
     }
 
     private void fireMiddleTableInsertImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp inverseProp = prop.getOpposite();
-        List<AssociationListener> listeners = associationListeners(prop);
-        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, sourceId, null, targetId, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
+        if (hasAssociationListeners(prop) || hasAssociationListeners(prop.getOpposite())) {
+            fireMiddleTableChange(new AssociationEvent(prop, sourceId, null, targetId, con, reason));
         }
-        if (!inverseListeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(inverseProp, targetId, null, sourceId, con, reason);
-            for (AssociationListener inverseListener : inverseListeners) {
-                try {
-                    inverseListener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
-        }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
+    }
+
+    private void fireMiddleTableChange(AssociationEvent event) {
+        if (event.getConnection() == null && dispatcher != null) {
+            dispatcher.dispatch(event, dispatchedEventsHandler);
+        } else {
+            fireMiddleTableEvent(event);
         }
-        if (throwable != null) {
-            throw (Error)throwable;
+    }
+
+    private void fireMiddleTableEvent(AssociationEvent event) {
+        Throwable throwable = hasAssociationListeners(event.getImmutableProp()) ?
+                deliver(event, null) :
+                null;
+        ImmutableProp inverseProp = event.getImmutableProp().getOpposite();
+        if (hasAssociationListeners(inverseProp)) {
+            Object sourceId = event.getSourceId();
+            Object detachedTargetId = event.getDetachedTargetId();
+            Object attachedTargetId = event.getAttachedTargetId();
+            Connection con = event.getConnection();
+            Object reason = event.getReason();
+            if (detachedTargetId != null) {
+                throwable = deliver(
+                        new AssociationEvent(inverseProp, detachedTargetId, sourceId, null, con, reason),
+                        throwable
+                );
+            }
+            if (attachedTargetId != null) {
+                throwable = deliver(
+                        new AssociationEvent(inverseProp, attachedTargetId, null, sourceId, con, reason),
+                        throwable
+                );
+            }
         }
+        rethrow(throwable);
     }
 
     @Override
@@ -274,26 +250,11 @@ public class TriggersImpl implements Triggers {
         if (ctx != null && !ctx.add(type, sourceId)) {
             return;
         }
-        List<EntityListener<ImmutableSpi>> listeners = entityListeners(type);
-        if (!listeners.isEmpty()) {
-            Throwable throwable = null;
+        if (!entityListeners(type).isEmpty()) {
             EntityEvent<ImmutableSpi> e = EntityEvent.evict(type, sourceId, con, reason);
-            for (EntityListener<ImmutableSpi> listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
+            Throwable throwable = deliver(e, null);
             throwable = fireAssociationEventByEntityEvent(e, throwable);
-            if (throwable instanceof RuntimeException) {
-                throw (RuntimeException)throwable;
-            }
-            if (throwable != null) {
-                throw (Error)throwable;
-            }
+            rethrow(throwable);
         }
     }
 
@@ -303,25 +264,8 @@ public class TriggersImpl implements Triggers {
         if (ctx != null && !ctx.add(prop, sourceId)) {
             return;
         }
-        List<AssociationListener> listeners = associationListeners(prop);
-        if (!listeners.isEmpty()) {
-            Throwable throwable = null;
-            AssociationEvent e = new AssociationEvent(prop, sourceId, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
-            if (throwable instanceof RuntimeException) {
-                throw (RuntimeException)throwable;
-            }
-            if (throwable != null) {
-                throw (Error)throwable;
-            }
+        if (hasAssociationListeners(prop)) {
+            rethrow(deliver(new AssociationEvent(prop, sourceId, con, reason), null));
         }
     }
 
@@ -350,11 +294,143 @@ public class TriggersImpl implements Triggers {
         return listeners;
     }
 
+    private boolean hasAssociationListeners(ImmutableProp prop) {
+        if (prop == null) {
+            return false;
+        }
+        if (!globalAssociationListeners.isEmpty()) {
+            return true;
+        }
+        CopyOnWriteArrayList<AssociationListener> list = associationListenerMultiMap.get(prop);
+        return list != null && !list.isEmpty();
+    }
+
+    @Override
+    public void batch(Runnable block) {
+        if (batchLocal.get() != null) {
+            block.run();
+            return;
+        }
+        EventBatch batch = new EventBatch();
+        batchLocal.set(batch);
+        try {
+            block.run();
+        } catch (RuntimeException | Error ex) {
+            batchLocal.remove();
+            Throwable throwable = deliverBatch(batch);
+            if (throwable != null) {
+                ex.addSuppressed(throwable);
+            }
+            throw ex;
+        }
+        batchLocal.remove();
+        rethrow(deliverBatch(batch));
+    }
+
     @Override
     public boolean isTransaction() {
         return transaction;
     }
 
+    @SuppressWarnings("unchecked")
+    private void fireDispatchedEvents(List<DatabaseEvent> events) {
+        batch(() -> {
+            Throwable throwable = null;
+            for (DatabaseEvent event : events) {
+                try {
+                    if (event instanceof EntityEvent<?>) {
+                        fireEntityEvent((EntityEvent<ImmutableSpi>) event);
+                    } else {
+                        fireMiddleTableEvent((AssociationEvent) event);
+                    }
+                } catch (RuntimeException | Error ex) {
+                    if (throwable == null) {
+                        throwable = ex;
+                    }
+                }
+            }
+            rethrow(throwable);
+        });
+    }
+
+    private Throwable deliver(EntityEvent<ImmutableSpi> event, Throwable throwable) {
+        EventBatch batch = batchLocal.get();
+        if (batch != null) {
+            batch.entityEventMap
+                    .computeIfAbsent(event.getImmutableType(), it -> new ArrayList<>())
+                    .add(event);
+            return throwable;
+        }
+        for (EntityListener<ImmutableSpi> listener : entityListeners(event.getImmutableType())) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException | Error ex) {
+                if (throwable == null) {
+                    throwable = ex;
+                }
+            }
+        }
+        return throwable;
+    }
+
+    private Throwable deliver(AssociationEvent event, Throwable throwable) {
+        EventBatch batch = batchLocal.get();
+        if (batch != null) {
+            batch.associationEventMap
+                    .computeIfAbsent(event.getImmutableProp(), it -> new ArrayList<>())
+                    .add(event);
+            return throwable;
+        }
+        for (AssociationListener listener : associationListeners(event.getImmutableProp())) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException | Error ex) {
+                if (throwable == null) {
+                    throwable = ex;
+                }
+            }
+        }
+        return throwable;
+    }
+
+    private Throwable deliverBatch(EventBatch batch) {
+        Throwable throwable = null;
+        for (Map.Entry<ImmutableType, List<EntityEvent<ImmutableSpi>>> e : batch.entityEventMap.entrySet()) {
+            List<EntityEvent<ImmutableSpi>> events = Collections.unmodifiableList(e.getValue());
+            for (EntityListener<ImmutableSpi> listener : entityListeners(e.getKey())) {
+                try {
+                    listener.onBatchChange(events);
+                } catch (RuntimeException | Error ex) {
+                    if (throwable == null) {
+                        throwable = ex;
+                    }
+                }
+            }
+        }
+        for (Map.Entry<ImmutableProp, List<AssociationEvent>> e : batch.associationEventMap.entrySet()) {
+            List<AssociationEvent> events = Collections.unmodifiableList(e.getValue());
+            for (AssociationListener listener : associationListeners(e.getKey())) {
+                try {
+                    listener.onBatchChange(events);
+                } catch (RuntimeException | Error ex) {
+                    if (throwable == null) {
+                        throwable = ex;
+                    }
+                }
+            }
+        }
+        return throwable;
+    }
+
+    private static void rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
+
     private Throwable fireAssociationEventByEntityEvent(EntityEvent<?> event, Throwable throwable) {
         ImmutableType type = event.getImmutableType();
         if (!event.isEvict()) {
@@ -369,44 +445,24 @@ public class TriggersImpl implements Triggers {
                         Connection con = event.getConnection();
                         Object reason = event.getReason();
                         ImmutableProp inverseProp = prop.getOpposite();
-                        List<AssociationListener> listeners = associationListeners(prop);
-                        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-                        if (!listeners.isEmpty()) {
-                            AssociationEvent e = new AssociationEvent(prop, childId, oldFk, newFk, con, reason);
-                            for (AssociationListener listener : listeners) {
-                                try {
-                                    listener.onChange(e);
-                                } catch (RuntimeException | Error ex) {
-                                    if (throwable == null) {
-                                        throwable = ex;
-                                    }
-                                }
-                            }
+                        if (hasAssociationListeners(prop)) {
+                            throwable = deliver(
+                                    new AssociationEvent(prop, childId, oldFk, newFk, con, reason),
+                                    throwable
+                            );
                         }
-                        if (!inverseListeners.isEmpty()) {
+                        if (hasAssociationListeners(inverseProp)) {
                             if (oldFk != null) {
-                                AssociationEvent e = new AssociationEvent(inverseProp, oldFk, childId, null, con, reason);
-                                for (AssociationListener inverseListener : inverseListeners) {
-                                    try {
-                                        inverseListener.onChange(e);
-                                    } catch (RuntimeException | Error ex) {
-                                        if (throwable == null) {
-                                            throwable = ex;
-                                        }
-                                    }
-                                }
+                                throwable = deliver(
+                                        new AssociationEvent(inverseProp, oldFk, childId, null, con, reason),
+                                        throwable
+                                );
                             }
                             if (newFk != null) {
-                                AssociationEvent e = new AssociationEvent(inverseProp, newFk, null, childId, con, reason);
-                                for (AssociationListener inverseListener : inverseListeners) {
-                                    try {
-                                        inverseListener.onChange(e);
-                                    } catch (RuntimeException | Error ex) {
-                                        if (throwable == null) {
-                                            throwable = ex;
-                                        }
-                                    }
-                                }
+                                throwable = deliver(
+                                        new AssociationEvent(inverseProp, newFk, null, childId, con, reason),
+                                        throwable
+                                );
                             }
                         }
                     }
@@ -456,4 +512,13 @@ public class TriggersImpl implements Triggers {
         }
         return sqlClient;
     }
+
+    private static class EventBatch {
+
+        final Map<ImmutableType, List<EntityEvent<ImmutableSpi>>> entityEventMap =
+                new LinkedHashMap<>();
+
+        final Map<ImmutableProp, List<AssociationEvent>> associationEventMap =
+                new LinkedHashMap<>();
+    }
 }
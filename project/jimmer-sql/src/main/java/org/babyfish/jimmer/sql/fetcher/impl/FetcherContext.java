@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.Connection;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 class FetcherContext {
 
@@ -43,6 +44,24 @@ class FetcherContext {
         }
     }
 
+    /**
+     * Execute the block out of current fetcher context,
+     * so that the objects loaded by it are fetched completely
+     * before the block returns.
+     */
+    static <T> T isolate(Supplier<T> block) {
+        FetcherContext ctx = FETCHER_CONTEXT_LOCAL.get();
+        if (ctx == null) {
+            return block.get();
+        }
+        FETCHER_CONTEXT_LOCAL.remove();
+        try {
+            return block.get();
+        } finally {
+            FETCHER_CONTEXT_LOCAL.set(ctx);
+        }
+    }
+
     private FetcherContext(JSqlClientImplementor sqlClient, Connection con) {
         this.sqlClient = sqlClient;
         this.con = con;
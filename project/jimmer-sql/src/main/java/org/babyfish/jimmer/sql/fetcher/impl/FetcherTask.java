@@ -23,12 +23,20 @@ class FetcherTask {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final Connection con;
+
+    private final FetchPath path;
+
     private final Field field;
 
     private final int batchSize;
 
     private final DataLoader dataLoader;
 
+    private final FetchingCoalescer coalescer;
+
+    private final Object coalescingGroup;
+
     private Map<Object, TaskData> pendingMap = new LinkedHashMap<>();
 
     public FetcherTask(
@@ -40,9 +48,14 @@ class FetcherTask {
     ) {
         this.cache = cache;
         this.sqlClient = sqlClient;
+        this.con = con;
+        this.path = path;
         this.field = field;
         this.batchSize = determineBatchSize();
         this.dataLoader = new DataLoader(sqlClient, con, path, field);
+        FetchingCoalescer coalescer = sqlClient.getFetchingCoalescer();
+        this.coalescer = coalescer;
+        this.coalescingGroup = coalescer != null ? coalescer.group(sqlClient, con, field) : null;
     }
 
     public void add(DraftSpi draft) {
@@ -102,7 +115,21 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
+        if (!handledMap.isEmpty() && coalescingGroup != null) {
+            // The keys of coalescible fields are ids of source objects
+            Map<Object, Object> loadedMap = coalescer.load(
+                    coalescingGroup,
+                    sqlClient,
+                    con,
+                    path,
+                    field,
+                    batchSize,
+                    handledMap.keySet()
+            );
+            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
+                afterLoad(e.getValue(), loadedMap.get(e.getKey()), true);
+            }
+        } else if (!handledMap.isEmpty()) {
             Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
                     handledMap
                             .values()
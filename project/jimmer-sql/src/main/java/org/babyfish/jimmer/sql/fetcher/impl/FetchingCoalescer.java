@@ -0,0 +1,357 @@
+package org.babyfish.jimmer.sql.fetcher.impl;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.lang.Ref;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.Field;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces the association loading of object fetchers across threads.
+ *
+ * <p>The source ids of the same association requested by different threads
+ * within a short window are collected into one batch, the thread which creates
+ * the batch is its leader, it waits for the window(or until the batch is full),
+ * loads the whole batch by one {@link DataLoader} and its own connection,
+ * and then shares the resolved result with the other threads.</p>
+ *
+ * <p>The batches are grouped by the field of object fetcher and the parameters
+ * of the global filters used by that field, so the associations whose filters
+ * are not cacheable(their results are decided by something other than parameters)
+ * are never coalesced.</p>
+ *
+ * <p>The connections which belong to an active transaction are never coalesced,
+ * otherwise a thread could read the uncommitted data of the transaction of
+ * the leader, or miss the uncommitted data of its own transaction.</p>
+ */
+public class FetchingCoalescer {
+
+    private final long windowNanos;
+
+    private final ConcurrentMap<Group, Batch> openBatchMap = new ConcurrentHashMap<>();
+
+    public FetchingCoalescer(int windowMillis) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis cannot be less than 1");
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * @return The group of the field, or null if the field cannot be coalesced
+     */
+    @Nullable
+    Object group(JSqlClientImplementor sqlClient, Connection con, Field field) {
+        if (isTransactional(con)) {
+            return null;
+        }
+        ImmutableProp prop = field.getProp();
+        if (!prop.isAssociation(TargetLevel.PERSISTENT) || prop.isColumnDefinition()) {
+            // The loading of foreign key based association depends on
+            // the foreign key of source object, not only its id
+            return null;
+        }
+        Map<ImmutableProp, SortedMap<String, Object>> parameterMap = new LinkedHashMap<>();
+        if (!collectParameters(
+                sqlClient,
+                field,
+                parameterMap,
+                Collections.newSetFromMap(new IdentityHashMap<>())
+        )) {
+            return null;
+        }
+        return new Group(field, parameterMap);
+    }
+
+    private static boolean isTransactional(Connection con) {
+        try {
+            return !con.getAutoCommit();
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot get the auto commit mode of the connection",
+                    ex
+            );
+        }
+    }
+
+    private static boolean collectParameters(
+            JSqlClientImplementor sqlClient,
+            Field field,
+            Map<ImmutableProp, SortedMap<String, Object>> parameterMap,
+            Set<Fetcher<?>> visitedFetchers
+    ) {
+        ImmutableProp prop = field.getProp();
+        if (field.getFilter() != null || prop.isRemote()) {
+            return false;
+        }
+        if (!prop.isAssociation(TargetLevel.PERSISTENT)) {
+            return !prop.hasTransientResolver();
+        }
+        Ref<SortedMap<String, Object>> parameterMapRef =
+                sqlClient.getFilters().getTargetParameterMapRef(prop);
+        if (parameterMapRef == null) {
+            return false;
+        }
+        parameterMap.put(prop, parameterMapRef.getValue());
+        Fetcher<?> childFetcher = field.getChildFetcher();
+        if (childFetcher != null && visitedFetchers.add(childFetcher)) {
+            for (Field childField : childFetcher.getFieldMap().values()) {
+                if (!collectParameters(sqlClient, childField, parameterMap, visitedFetchers)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param group The non-null value returned by {@link #group(JSqlClientImplementor, Connection, Field)}
+     * @param sourceIds The ids of source objects, its size cannot be greater than batchSize
+     * @return The loaded values whose keys are source ids, the values are resolved immutable objects
+     */
+    Map<Object, Object> load(
+            Object group,
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            FetchPath path,
+            Field field,
+            int batchSize,
+            Collection<Object> sourceIds
+    ) {
+        Group g = (Group) group;
+        Map<Object, CompletableFuture<Object>> futureMap = new LinkedHashMap<>((sourceIds.size() * 4 + 2) / 3);
+        List<Object> remainingIds = new LinkedList<>(sourceIds);
+        List<Batch> ledBatches = new ArrayList<>();
+        while (!remainingIds.isEmpty()) {
+            Batch[] createdBatch = new Batch[1];
+            openBatchMap.compute(g, (k, batch) -> {
+                if (batch == null) {
+                    batch = new Batch(batchSize);
+                    createdBatch[0] = batch;
+                }
+                batch.join(remainingIds, futureMap);
+                if (batch.isFull()) {
+                    batch.close();
+                    return null;
+                }
+                return batch;
+            });
+            if (createdBatch[0] != null) {
+                ledBatches.add(createdBatch[0]);
+            }
+        }
+        for (int i = 0; i < ledBatches.size(); i++) {
+            try {
+                lead(g, ledBatches.get(i), sqlClient, con, path, field);
+            } catch (RuntimeException | Error ex) {
+                for (int ii = i + 1; ii < ledBatches.size(); ii++) {
+                    Batch batch = ledBatches.get(ii);
+                    openBatchMap.remove(g, batch);
+                    batch.fail(ex);
+                }
+                throw ex;
+            }
+        }
+        Map<Object, Object> valueMap = new HashMap<>((futureMap.size() * 4 + 2) / 3);
+        for (Map.Entry<Object, CompletableFuture<Object>> e : futureMap.entrySet()) {
+            Object value;
+            try {
+                value = e.getValue().join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new ExecutionException(
+                        "Cannot load the association \"" +
+                                field.getProp() +
+                                "\" coalesced by another thread",
+                        cause
+                );
+            }
+            valueMap.put(e.getKey(), value);
+        }
+        return valueMap;
+    }
+
+    private void lead(
+            Group group,
+            Batch batch,
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            FetchPath path,
+            Field field
+    ) {
+        long deadline = System.nanoTime() + windowNanos;
+        while (!batch.isClosed()) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0 || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            LockSupport.parkNanos(this, remainingNanos);
+        }
+        // After the batch is removed from the map, no thread can join it
+        openBatchMap.remove(group, batch);
+        Map<Object, CompletableFuture<Object>> futureMap = batch.futureMap;
+        Map<Object, Object> valueMap;
+        try {
+            valueMap = loadDirectly(sqlClient, con, path, field, new ArrayList<>(futureMap.keySet()));
+        } catch (RuntimeException | Error ex) {
+            batch.fail(ex);
+            throw ex;
+        }
+        for (Map.Entry<Object, CompletableFuture<Object>> e : futureMap.entrySet()) {
+            e.getValue().complete(valueMap.get(e.getKey()));
+        }
+    }
+
+    private static Map<Object, Object> loadDirectly(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            FetchPath path,
+            Field field,
+            List<Object> sourceIds
+    ) {
+        List<ImmutableSpi> sources = new ArrayList<>(sourceIds.size());
+        for (Object sourceId : sourceIds) {
+            sources.add((ImmutableSpi) ImmutableObjects.makeIdOnly(field.getEntityType(), sourceId));
+        }
+        // The loaded objects are shared by other threads,
+        // so they must be fetched completely and resolved
+        // by an isolated context rather than the context of current query
+        return FetcherContext.isolate(() ->
+                Internal.requiresNewDraftContext(draftContext -> {
+                    Map<ImmutableSpi, Object> loadedMap =
+                            new DataLoader(sqlClient, con, path, field).load(sources);
+                    Map<Object, Object> valueMap = new HashMap<>((sourceIds.size() * 4 + 2) / 3);
+                    for (int i = 0; i < sourceIds.size(); i++) {
+                        Object value = loadedMap.get(sources.get(i));
+                        valueMap.put(sourceIds.get(i), resolve(draftContext, value));
+                    }
+                    return valueMap;
+                })
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object resolve(DraftContext draftContext, Object value) {
+        if (value instanceof List<?>) {
+            return draftContext.resolveList((List<Object>) value);
+        }
+        return draftContext.resolveObject(value);
+    }
+
+    private static class Group {
+
+        private final Field field;
+
+        private final Map<ImmutableProp, SortedMap<String, Object>> parameterMap;
+
+        private final int hash;
+
+        Group(Field field, Map<ImmutableProp, SortedMap<String, Object>> parameterMap) {
+            this.field = field;
+            this.parameterMap = parameterMap;
+            this.hash = field.hashCode() * 31 + parameterMap.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Group)) {
+                return false;
+            }
+            Group other = (Group) o;
+            return hash == other.hash &&
+                    field.equals(other.field) &&
+                    parameterMap.equals(other.parameterMap);
+        }
+
+        @Override
+        public String toString() {
+            return "Group{" +
+                    "field=" + field +
+                    ", parameterMap=" + parameterMap +
+                    '}';
+        }
+    }
+
+    private static class Batch {
+
+        private final int capacity;
+
+        private final Thread leader = Thread.currentThread();
+
+        // Only modified when this batch is in `openBatchMap`
+        private final Map<Object, CompletableFuture<Object>> futureMap = new LinkedHashMap<>();
+
+        private volatile boolean closed;
+
+        Batch(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void join(List<Object> ids, Map<Object, CompletableFuture<Object>> outputFutureMap) {
+            Iterator<Object> itr = ids.iterator();
+            while (itr.hasNext()) {
+                Object id = itr.next();
+                CompletableFuture<Object> future = futureMap.get(id);
+                if (future == null) {
+                    if (futureMap.size() >= capacity) {
+                        return;
+                    }
+                    future = new CompletableFuture<>();
+                    futureMap.put(id, future);
+                }
+                outputFutureMap.put(id, future);
+                itr.remove();
+            }
+        }
+
+        boolean isFull() {
+            return futureMap.size() >= capacity;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        void close() {
+            closed = true;
+            LockSupport.unpark(leader);
+        }
+
+        void fail(Throwable ex) {
+            for (CompletableFuture<Object> future : futureMap.values()) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -4,10 +4,13 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ExecutorContext {
 
@@ -32,6 +35,10 @@ public class ExecutorContext {
         return primaryElement;
     }
 
+    /**
+     * All the frames of stack trace, or only the primary element
+     * if the capture mode is {@link ExecutorContextCaptureMode#STACK_WALKER}
+     */
     @NotNull
     public List<StackTraceElement> getElements() {
         return elements;
@@ -44,20 +51,20 @@ public class ExecutorContext {
 
     @Nullable
     public static ExecutorContext create(JSqlClient sqlClient) {
-        List<String> prefixes = ((JSqlClientImplementor)sqlClient).getExecutorContextPrefixes();
+        JSqlClientImplementor sqlClientImplementor = (JSqlClientImplementor) sqlClient;
+        List<String> prefixes = sqlClientImplementor.getExecutorContextPrefixes();
         if (prefixes == null) {
             return null;
         }
+        if (sqlClientImplementor.getExecutorContextCaptureMode() == ExecutorContextCaptureMode.STACK_WALKER &&
+                Walker.WALK != null) {
+            return Walker.capture(prefixes);
+        }
         StackTraceElement[] elements = Thread.currentThread().getStackTrace();
         List<StackTraceElement> matchedElements = new ArrayList<>();
         for (StackTraceElement element : elements) {
-            if (element.getLineNumber() >= 0) {
-                for (String prefix : prefixes) {
-                    if (element.getClassName().startsWith(prefix)) {
-                        matchedElements.add(element);
-                        break;
-                    }
-                }
+            if (element.getLineNumber() >= 0 && isMatched(element.getClassName(), prefixes)) {
+                matchedElements.add(element);
             }
         }
         if (matchedElements.isEmpty()) {
@@ -71,4 +78,190 @@ public class ExecutorContext {
                 )
         );
     }
+
+    private static boolean isMatched(String className, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * `java.lang.StackWalker` is accessed by method handles
+     * because jimmer is compiled for java 8.
+     *
+     * Walking frame by frame is more expensive than `Thread.getStackTrace()`,
+     * so it is only cheaper because the walking stops at the nearest
+     * matched frame. That frame is converted to `StackTraceElement` only once,
+     * the created context is shared by all the statements of the same call site.
+     *
+     * The walking is not limited by depth, callers under deep infrastructure
+     * frames are still found; if no frame is matched, the whole stack is
+     * walked, which costs about as much as `Thread.getStackTrace()`.
+     */
+    private static class Walker {
+
+        private static final int MAX_CALL_SITE_COUNT = 1024;
+
+        private static final Object INSTANCE;
+
+        private static final MethodHandle WALK;
+
+        private static final MethodHandle GET_CLASS_NAME;
+
+        private static final MethodHandle GET_METHOD_NAME;
+
+        private static final MethodHandle GET_BYTE_CODE_INDEX;
+
+        private static final MethodHandle TO_STACK_TRACE_ELEMENT;
+
+        private static final ExecutorContext NIL =
+                new ExecutorContext(null, Collections.emptyList(), Collections.emptyList());
+
+        private static final Map<CallSite, ExecutorContext> CALL_SITE_MAP =
+                new ConcurrentHashMap<>();
+
+        static {
+            Object instance = null;
+            MethodHandle walk = null;
+            MethodHandle getClassName = null;
+            MethodHandle getMethodName = null;
+            MethodHandle getByteCodeIndex = null;
+            MethodHandle toStackTraceElement = null;
+            try {
+                Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+                Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+                // `walk` is caller sensitive, so the public lookup cannot be used
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                instance = walkerClass.getMethod("getInstance").invoke(null);
+                walk = lookup
+                        .findVirtual(walkerClass, "walk", MethodType.methodType(Object.class, Function.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+                getClassName = frameGetter(lookup, frameClass, "getClassName", String.class);
+                getMethodName = frameGetter(lookup, frameClass, "getMethodName", String.class);
+                getByteCodeIndex = frameGetter(lookup, frameClass, "getByteCodeIndex", int.class);
+                toStackTraceElement = frameGetter(lookup, frameClass, "toStackTraceElement", StackTraceElement.class);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                // JDK 8, `ExecutorContextCaptureMode.STACK_TRACE` will be used
+                walk = null;
+            }
+            INSTANCE = instance;
+            WALK = walk;
+            GET_CLASS_NAME = getClassName;
+            GET_METHOD_NAME = getMethodName;
+            GET_BYTE_CODE_INDEX = getByteCodeIndex;
+            TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+        }
+
+        private static MethodHandle frameGetter(
+                MethodHandles.Lookup lookup,
+                Class<?> frameClass,
+                String name,
+                Class<?> returnType
+        ) throws ReflectiveOperationException {
+            return lookup
+                    .findVirtual(frameClass, name, MethodType.methodType(returnType))
+                    .asType(MethodType.methodType(returnType, Object.class));
+        }
+
+        static ExecutorContext capture(List<String> prefixes) {
+            Function<Stream<Object>, Object> function = frames -> capture(frames, prefixes);
+            try {
+                return (ExecutorContext) (Object) WALK.invokeExact(INSTANCE, (Function<?, ?>) function);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Cannot walk the stack frames", ex);
+            }
+        }
+
+        private static ExecutorContext capture(Stream<Object> frames, List<String> prefixes) {
+            try {
+                Iterator<Object> itr = frames.iterator();
+                while (itr.hasNext()) {
+                    Object frame = itr.next();
+                    String className = (String) GET_CLASS_NAME.invokeExact(frame);
+                    if (!isMatched(className, prefixes)) {
+                        continue;
+                    }
+                    CallSite callSite = new CallSite(
+                            prefixes,
+                            className,
+                            (String) GET_METHOD_NAME.invokeExact(frame),
+                            (int) GET_BYTE_CODE_INDEX.invokeExact(frame)
+                    );
+                    ExecutorContext ctx = CALL_SITE_MAP.get(callSite);
+                    if (ctx == null) {
+                        StackTraceElement element = (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(frame);
+                        if (element.getLineNumber() >= 0) {
+                            List<StackTraceElement> elements = Collections.singletonList(element);
+                            ctx = new ExecutorContext(element, elements, elements);
+                        } else {
+                            ctx = NIL;
+                        }
+                        if (CALL_SITE_MAP.size() >= MAX_CALL_SITE_COUNT) {
+                            CALL_SITE_MAP.clear();
+                        }
+                        CALL_SITE_MAP.put(callSite, ctx);
+                    }
+                    if (ctx != NIL) {
+                        return ctx;
+                    }
+                }
+                return null;
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Cannot walk the stack frames", ex);
+            }
+        }
+    }
+
+    private static class CallSite {
+
+        private final List<String> prefixes;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final int byteCodeIndex;
+
+        private final int hash;
+
+        CallSite(List<String> prefixes, String className, String methodName, int byteCodeIndex) {
+            this.prefixes = prefixes;
+            this.className = className;
+            this.methodName = methodName;
+            this.byteCodeIndex = byteCodeIndex;
+            int hash = prefixes.hashCode();
+            hash = hash * 31 + className.hashCode();
+            hash = hash * 31 + methodName.hashCode();
+            hash = hash * 31 + byteCodeIndex;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CallSite)) {
+                return false;
+            }
+            CallSite other = (CallSite) o;
+            return hash == other.hash &&
+                    byteCodeIndex == other.byteCodeIndex &&
+                    className.equals(other.className) &&
+                    methodName.equals(other.methodName) &&
+                    prefixes.equals(other.prefixes);
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package org.babyfish.jimmer.sql.runtime;
+
+/**
+ * How {@link ExecutorContext} captures the business call frames
+ * when `executorContextPrefixes` is configured.
+ */
+public enum ExecutorContextCaptureMode {
+
+    /**
+     * Default option, the whole stack trace of current thread
+     * is captured for each statement, and
+     * {@link ExecutorContext#getElements()} returns all frames.
+     */
+    STACK_TRACE,
+
+    /**
+     * Walk the frames by `java.lang.StackWalker` and stop at the nearest
+     * matched frame, the walking is not limited by depth. The captured
+     * result of same call site is reused. It is much cheaper than
+     * {@link #STACK_TRACE} for deep stacks, except when no frame is matched,
+     * then the whole stack is walked and the cost is similar.
+     *
+     * <p>In this mode, both {@link ExecutorContext#getMatchedElements()}
+     * and {@link ExecutorContext#getElements()} only contain the
+     * primary element.</p>
+     *
+     * <p>`java.lang.StackWalker` requires JDK 9+, if it is not available,
+     * {@link #STACK_TRACE} is used.</p>
+     */
+    STACK_WALKER
+}
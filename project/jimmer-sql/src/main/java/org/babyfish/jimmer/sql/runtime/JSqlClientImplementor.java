@@ -7,12 +7,14 @@ import org.babyfish.jimmer.sql.DraftInterceptor;
 import org.babyfish.jimmer.sql.DraftPreProcessor;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.TransientResolver;
+import org.babyfish.jimmer.sql.ast.impl.mutation.SequenceIdPools;
 import org.babyfish.jimmer.sql.cache.CacheDisableConfig;
 import org.babyfish.jimmer.sql.cache.CacheOperator;
 import org.babyfish.jimmer.sql.di.StrategyProvider;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.FetchingCoalescer;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
@@ -42,6 +44,8 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     List<String> getExecutorContextPrefixes();
 
+    ExecutorContextCaptureMode getExecutorContextCaptureMode();
+
     SqlFormatter getSqlFormatter();
 
     CacheOperator getCacheOperator();
@@ -66,14 +70,26 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     int getDefaultListBatchSize();
 
+    @Nullable
+    FetchingCoalescer getFetchingCoalescer();
+
+    @Nullable
+    QueryPlanCache getQueryPlanCache();
+
+    SequenceIdPools getSequenceIdPools();
+
     boolean isInListPaddingEnabled();
 
     boolean isExpandedInListPaddingEnabled();
 
+    int getLargeInListThreshold();
+
     int getOffsetOptimizingThreshold();
 
     boolean isReverseSortOptimizationEnabled();
 
+    java.util.concurrent.Executor getPageCountExecutor();
+
     int getMaxCommandJoinCount();
 
     boolean isTargetTransferable();
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.ResultSet;
@@ -19,6 +20,22 @@ class ObjectReader implements Reader<Object> {
 
     private static final PropId[] EMPTY_PROP_IDS = new PropId[0];
 
+    private static final byte NON_PRIMITIVE = 0;
+
+    private static final byte BOOLEAN = 1;
+
+    private static final byte BYTE = 2;
+
+    private static final byte SHORT = 3;
+
+    private static final byte INT = 4;
+
+    private static final byte LONG = 5;
+
+    private static final byte FLOAT = 6;
+
+    private static final byte DOUBLE = 7;
+
     private final ImmutableType type;
 
     private final Reader<?> idReader;
@@ -37,6 +54,19 @@ class ObjectReader implements Reader<Object> {
     @Nullable
     private final List<PropId> hiddenPropsIds;
 
+    /*
+     * Not null means objects are created by the generated assembler
+     * directly, the draft and resolving are skipped.
+     */
+    @Nullable
+    private final ImmutableAssembler assembler;
+
+    private final int idIndex;
+
+    private final int[] nonIdIndices;
+
+    private final byte[] nonIdPrimitiveKinds;
+
     ObjectReader(
             ImmutableType type,
             Reader<?> idReader,
@@ -62,6 +92,37 @@ class ObjectReader implements Reader<Object> {
         this.idViewBasePropIds = idViewBasePropIds.toArray(EMPTY_PROP_IDS);
         this.shownPropIds = shownPropIds;
         this.hiddenPropsIds = hiddenPropsIds;
+
+        ImmutableAssembler assembler = type.getAssembler();
+        int[] nonIdIndices = null;
+        byte[] nonIdPrimitiveKinds = null;
+        if (assembler != null) {
+            nonIdIndices = new int[this.nonIdPropIds.length];
+            nonIdPrimitiveKinds = new byte[this.nonIdPropIds.length];
+            int index = 0;
+            for (Map.Entry<ImmutableProp, Reader<?>> e : nonIdReaders.entrySet()) {
+                ImmutableProp prop = e.getKey();
+                nonIdIndices[index] = prop.getId().asIndex();
+                if (!prop.isNullable() && ReaderManager.isPrimitiveReader(e.getValue(), prop.getReturnClass())) {
+                    nonIdPrimitiveKinds[index] = primitiveKind(prop.getReturnClass());
+                }
+                index++;
+            }
+            if (!isIndexed(type.getIdProp().getId()) ||
+                    !isIndexed(this.nonIdPropIds) ||
+                    !isIndexed(this.idViewPropIds) ||
+                    !isIndexed(this.idViewBasePropIds) ||
+                    (shownPropIds != null && !isIndexed(shownPropIds.toArray(EMPTY_PROP_IDS))) ||
+                    (hiddenPropsIds != null && !isIndexed(hiddenPropsIds.toArray(EMPTY_PROP_IDS)))) {
+                assembler = null;
+                nonIdIndices = null;
+                nonIdPrimitiveKinds = null;
+            }
+        }
+        this.assembler = assembler;
+        this.idIndex = type.getIdProp().getId().asIndex();
+        this.nonIdIndices = nonIdIndices;
+        this.nonIdPrimitiveKinds = nonIdPrimitiveKinds;
     }
 
     @Override
@@ -81,6 +142,9 @@ class ObjectReader implements Reader<Object> {
             }
             return null;
         }
+        if (assembler != null) {
+            return assemble(id, rs, ctx);
+        }
         DraftSpi spi = (DraftSpi) type.getDraftFactory().apply(ctx.draftContext(), null);
         spi.__set(type.getIdProp().getId(), id);
         try {
@@ -108,4 +172,138 @@ class ObjectReader implements Reader<Object> {
         }
         return ctx.resolve(spi);
     }
+
+    private Object assemble(Object id, ResultSet rs, Context ctx) throws SQLException {
+        ImmutableAssembler assembler = this.assembler;
+        Object immutable = assembler.create();
+        try {
+            assembler.set(immutable, idIndex, id);
+            int[] indices = nonIdIndices;
+            byte[] kinds = nonIdPrimitiveKinds;
+            Reader<?>[] readers = nonIdReaders;
+            int size = readers.length;
+            for (int i = 0; i < size; i++) {
+                int index = indices[i];
+                switch (kinds[i]) {
+                    case BOOLEAN: {
+                        boolean value = rs.getBoolean(ctx.col());
+                        if (!value && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setBoolean(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case BYTE: {
+                        byte value = rs.getByte(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setByte(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case SHORT: {
+                        short value = rs.getShort(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setShort(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case INT: {
+                        int value = rs.getInt(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setInt(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case LONG: {
+                        long value = rs.getLong(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setLong(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case FLOAT: {
+                        float value = rs.getFloat(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setFloat(immutable, index, value);
+                        }
+                        break;
+                    }
+                    case DOUBLE: {
+                        double value = rs.getDouble(ctx.col());
+                        if (value == 0 && rs.wasNull()) {
+                            assembler.set(immutable, index, null);
+                        } else {
+                            assembler.setDouble(immutable, index, value);
+                        }
+                        break;
+                    }
+                    default:
+                        assembler.set(immutable, index, readers[i].read(rs, ctx));
+                        break;
+                }
+            }
+            for (int i = idViewBasePropIds.length - 1; i >= 0; i--) {
+                assembler.show(immutable, idViewPropIds[i].asIndex(), true);
+                assembler.show(immutable, idViewBasePropIds[i].asIndex(), false);
+            }
+            if (shownPropIds != null) {
+                for (PropId propId : shownPropIds) {
+                    assembler.show(immutable, propId.asIndex(), true);
+                }
+            }
+            if (hiddenPropsIds != null) {
+                for (PropId propId : hiddenPropsIds) {
+                    assembler.show(immutable, propId.asIndex(), false);
+                }
+            }
+        } catch (Throwable ex) {
+            throw DraftConsumerUncheckedException.rethrow(ex);
+        }
+        return immutable;
+    }
+
+    private static byte primitiveKind(Class<?> type) {
+        if (type == boolean.class) {
+            return BOOLEAN;
+        }
+        if (type == byte.class) {
+            return BYTE;
+        }
+        if (type == short.class) {
+            return SHORT;
+        }
+        if (type == int.class) {
+            return INT;
+        }
+        if (type == long.class) {
+            return LONG;
+        }
+        if (type == float.class) {
+            return FLOAT;
+        }
+        if (type == double.class) {
+            return DOUBLE;
+        }
+        return NON_PRIMITIVE;
+    }
+
+    private static boolean isIndexed(PropId... propIds) {
+        for (PropId propId : propIds) {
+            if (propId.asIndex() == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The cached execution plan of a query shape,
+ * that is the rendered SQL and the reader of the result set.
+ *
+ * @see QueryPlanCache
+ */
+public final class QueryPlan {
+
+    private final String sql;
+
+    private final List<Integer> variablePositions;
+
+    private volatile Reader<?> reader;
+
+    QueryPlan(String sql, List<Integer> variablePositions, Reader<?> reader) {
+        this.sql = sql;
+        this.variablePositions = variablePositions;
+        this.reader = reader;
+    }
+
+    /**
+     * @return False if the shape is known to be uncacheable,
+     * the SQL must be rendered and no other members can be used.
+     */
+    public boolean isCacheable() {
+        return sql != null;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Nullable
+    public List<Integer> getVariablePositions() {
+        return variablePositions;
+    }
+
+    Reader<?> reader() {
+        return reader;
+    }
+
+    Reader<?> reader(
+            JSqlClientImplementor sqlClient,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator
+    ) {
+        Reader<?> reader = this.reader;
+        if (reader == null) {
+            // Benign race, the readers created by different threads are equivalent
+            this.reader = reader = Readers.createReader(sqlClient, selections, tupleCreator);
+        }
+        return reader;
+    }
+}
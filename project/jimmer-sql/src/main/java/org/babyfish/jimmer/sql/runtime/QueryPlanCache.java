@@ -0,0 +1,241 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of query plans, a plan is the rendered SQL and
+ * the reader pipeline of a query shape.
+ *
+ * <p>The shape of a query is its structure collected by
+ * {@link org.babyfish.jimmer.sql.ast.impl.ShapeCollector}: tables,
+ * predicate structure, global filters, orders and selections,
+ * without the parameter values. When the shape of a query is cached,
+ * its SQL is neither analyzed nor rendered again, only the new
+ * parameter values are bound. The queries whose shapes cannot be
+ * collected share the readers by their rendered SQL.</p>
+ *
+ * <p>The plans are kept by an access-ordered map, the least recently
+ * used plan is evicted when the size exceeds the max size. The shapes
+ * known to be uncacheable are remembered by another map of the same
+ * max size, they are not counted by {@link #size()}.</p>
+ *
+ * <p>Each sql client owns its plan cache, it is enabled by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setQueryPlanCacheSize(int)}</p>
+ */
+public class QueryPlanCache {
+
+    private static final QueryPlan UNCACHEABLE_PLAN = new QueryPlan(null, null, null);
+
+    private final int maxSize;
+
+    private final Lock lock = new ReentrantLock();
+
+    // Guarded by `lock`
+    private final LinkedHashMap<Object, QueryPlan> planMap;
+
+    // Guarded by `lock`
+    private final LinkedHashMap<Object, Boolean> uncacheableShapeMap;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public QueryPlanCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.planMap = new LinkedHashMap<Object, QueryPlan>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, QueryPlan> eldest) {
+                if (size() > QueryPlanCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.uncacheableShapeMap = new LinkedHashMap<Object, Boolean>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Boolean> eldest) {
+                return size() > QueryPlanCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the plan of a query shape.
+     *
+     * @return The cached plan, or null if it is not cached.
+     * If the shape is known to be uncacheable, the returned plan
+     * is not {@link QueryPlan#isCacheable() cacheable}.
+     */
+    @Nullable
+    public QueryPlan get(Object shape) {
+        QueryPlan plan;
+        lock.lock();
+        try {
+            plan = planMap.get(shape);
+            if (plan == null && uncacheableShapeMap.get(shape) != null) {
+                return UNCACHEABLE_PLAN;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (plan == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return plan;
+    }
+
+    public QueryPlan put(Object shape, String sql, @Nullable List<Integer> variablePositions) {
+        return putImpl(shape, new QueryPlan(sql, variablePositions, null));
+    }
+
+    /**
+     * Remember that the SQL of the shape cannot be reused,
+     * so that the shape is not verified again
+     */
+    public void putUncacheable(Object shape) {
+        lock.lock();
+        try {
+            uncacheableShapeMap.put(shape, Boolean.TRUE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Reader<?> reader(String sql, Object selectionShape, Supplier<Reader<?>> creator) {
+        Key key = new Key(sql, selectionShape);
+        QueryPlan plan;
+        lock.lock();
+        try {
+            plan = planMap.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (plan != null) {
+            hitCount.increment();
+            return plan.reader();
+        }
+        missCount.increment();
+        // Create the reader outside the lock
+        return putImpl(key, new QueryPlan(sql, null, creator.get())).reader();
+    }
+
+    private QueryPlan putImpl(Object key, QueryPlan plan) {
+        lock.lock();
+        try {
+            QueryPlan existingPlan = planMap.putIfAbsent(key, plan);
+            return existingPlan != null ? existingPlan : plan;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The count of cached plans,
+     * the shapes known to be uncacheable are not counted.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return planMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return The ratio of hit count to request count,
+     * or 0 if the cache has not been used.
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            planMap.clear();
+            uncacheableShapeMap.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPlanCache{" +
+                "maxSize=" + maxSize +
+                ", size=" + size() +
+                ", hitCount=" + hitCount.sum() +
+                ", missCount=" + missCount.sum() +
+                ", evictionCount=" + evictionCount.sum() +
+                '}';
+    }
+
+    private static class Key {
+
+        private final String sql;
+
+        private final Object selectionShape;
+
+        private final int hash;
+
+        Key(String sql, Object selectionShape) {
+            this.sql = sql;
+            this.selectionShape = selectionShape;
+            this.hash = sql.hashCode() * 31 + selectionShape.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash &&
+                    sql.equals(other.sql) &&
+                    selectionShape.equals(other.selectionShape);
+        }
+    }
+}
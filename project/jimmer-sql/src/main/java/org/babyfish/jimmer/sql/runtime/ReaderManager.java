@@ -191,6 +191,15 @@ public class ReaderManager {
         return BASE_READER_MAP.get(type);
     }
 
+    /**
+     * Is the reader the built-in reader of the primitive type,
+     * so that the column can be read by the primitive getter of
+     * `ResultSet` without boxing?
+     */
+    static boolean isPrimitiveReader(Reader<?> reader, Class<?> type) {
+        return type.isPrimitive() && type != char.class && BASE_READER_MAP.get(type) == reader;
+    }
+
     private static Reader<?> unknownSqlTypeReader(
             Class<?> sqlType,
             ScalarProvider<?, ?> provider,
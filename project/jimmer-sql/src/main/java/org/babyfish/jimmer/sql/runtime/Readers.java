@@ -20,6 +20,55 @@ class Readers {
 
     private Readers() {}
 
+    public static Reader<?> reader(
+            JSqlClientImplementor sqlClient,
+            String sql,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator
+    ) {
+        QueryPlanCache queryPlanCache = sqlClient.getQueryPlanCache();
+        if (queryPlanCache == null) {
+            return createReader(sqlClient, selections, tupleCreator);
+        }
+        return queryPlanCache.reader(
+                sql,
+                selectionShape(selections, tupleCreator),
+                () -> createReader(sqlClient, selections, tupleCreator)
+        );
+    }
+
+    /**
+     * The selection shape must contain everything used by
+     * {@link #createReader(JSqlClientImplementor, List, TupleCreator)}
+     * and {@link #createSingleReader(JSqlClientImplementor, Selection)}
+     */
+    private static Object selectionShape(List<Selection<?>> selections, TupleCreator<?> tupleCreator) {
+        List<Object> shape = new ArrayList<>(selections.size() + 1);
+        for (Selection<?> selection : selections) {
+            if (selection instanceof TableSelection) {
+                shape.add(((TableSelection)selection).getImmutableType());
+            } else if (selection instanceof Table<?>) {
+                shape.add(((Table<?>)selection).getImmutableType());
+            } else if (selection instanceof FetcherSelection<?>) {
+                FetcherSelection<?> fetcherSelection = (FetcherSelection<?>) selection;
+                shape.add(fetcherSelection.getFetcher());
+                shape.add(fetcherSelection.getConverter() != null);
+            } else {
+                ExpressionImplementor<?> unwrapped =
+                        AbstractTypedEmbeddedPropExpression.<ExpressionImplementor<?>>unwrap(selection);
+                if (unwrapped instanceof PropExpression<?>) {
+                    shape.add(((PropExpressionImplementor<?>) unwrapped).getProp());
+                } else {
+                    shape.add(unwrapped.getType());
+                }
+            }
+        }
+        if (tupleCreator != null) {
+            shape.add(tupleCreator);
+        }
+        return shape;
+    }
+
     public static Reader<?> createReader(JSqlClientImplementor sqlClient, List<Selection<?>> selections, TupleCreator<?> tupleCreator) {
         int size = selections.size();
         if (tupleCreator != null) {
@@ -7,10 +7,13 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
@@ -19,7 +22,6 @@ public class Selectors {
     private Selectors() {
     }
 
-    @SuppressWarnings("unchecked")
     public static <R> List<R> select(
             JSqlClientImplementor sqlClient,
             Connection con,
@@ -29,6 +31,21 @@ public class Selectors {
             List<Selection<?>> selections,
             TupleCreator<?> tupleCreator,
             ExecutionPurpose purpose
+    ) {
+        return select(sqlClient, con, sql, variables, variablePositions, null, selections, tupleCreator, purpose);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> List<R> select(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            @Nullable QueryPlan plan,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose
     ) {
         List<R> rows = sqlClient.getExecutor().execute(
                 new Executor.Args<>(
@@ -41,7 +58,7 @@ public class Selectors {
                         null,
                         null,
                         (stmt, args) -> {
-                            Reader<?> reader = Readers.createReader(sqlClient, selections, tupleCreator);
+                            Reader<?> reader = reader(sqlClient, sql, plan, selections, tupleCreator);
                             return Internal.usingSqlDraftContext(draftCtx -> {
                                 Reader.Context ctx = new Reader.Context(draftCtx, sqlClient);
                                 List<R> results = new ArrayList<>();
@@ -75,7 +92,24 @@ public class Selectors {
         );
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Execute the query by the cached plan,
+     * only the variables are bound and the reader of plan is reused.
+     *
+     * <p>The connection must have been resolved by the slave connection manager.</p>
+     */
+    public static <R> List<R> select(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            QueryPlan plan,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose) {
+        return select(sqlClient, con, plan.getSql(), variables, plan.getVariablePositions(), plan,
+                selections, tupleCreator, purpose);
+    }
+
     public static <R> void forEach(
             JSqlClientImplementor sqlClient,
             Connection con,
@@ -87,6 +121,23 @@ public class Selectors {
             ExecutionPurpose purpose,
             int batchSize,
             Consumer<R> consumer) {
+        forEach(sqlClient, con, sql, variables, variablePositions, null,
+                selections, tupleCreator, purpose, batchSize, consumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> void forEach(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            @Nullable QueryPlan plan,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Consumer<R> consumer) {
         Executor executor = sqlClient.getExecutor();
         long cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
         Executor.Args<Void> args = new Executor.Args<>(
@@ -98,7 +149,7 @@ public class Selectors {
                 purpose,
                 null,
                 (stmt, a) -> {
-                    Reader<?> reader = Readers.createReader(sqlClient, selections, tupleCreator);
+                    Reader<?> reader = reader(sqlClient, sql, plan, selections, tupleCreator);
                     return Internal.usingSqlDraftContext((draftContext) -> {
                         Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
                         List<R> results = new ArrayList<>();
@@ -126,12 +177,7 @@ public class Selectors {
                 cursorId
         );
         executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
-        Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
-        try {
-            executor.execute(args);
-        } finally {
-            Cursors.setCurrentCursorId(oldCursorId);
-        }
+        Cursors.usingCursorId(cursorId, () -> executor.execute(args));
     }
 
     public static <R> void forEach(
@@ -153,4 +199,265 @@ public class Selectors {
                 }
         );
     }
+
+    /**
+     * Execute the query by the cached plan,
+     * only the variables are bound and the reader of plan is reused.
+     *
+     * <p>The connection must have been resolved by the slave connection manager.</p>
+     */
+    public static <R> void forEach(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            QueryPlan plan,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Consumer<R> consumer) {
+        forEach(sqlClient, con, plan.getSql(), variables, plan.getVariablePositions(), plan,
+                selections, tupleCreator, purpose, batchSize, consumer);
+    }
+
+    /**
+     * Pull-style version of {@link #forEach(JSqlClientImplementor, Connection, String, List, List, List, TupleCreator, ExecutionPurpose, int, Consumer)}.
+     *
+     * <p>The stream is only valid during the execution of {@code block},
+     * the result set, the statement and the connection borrowed from
+     * connection manager are closed when {@code block} returns.
+     * At most {@code batchSize} rows are held in memory, child fetchers
+     * are executed for each chunk.</p>
+     */
+    public static <R, X> X stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Function<Stream<R>, X> block) {
+        return stream(sqlClient, con, sql, variables, variablePositions, null,
+                selections, tupleCreator, purpose, batchSize, block);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, X> X stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            @Nullable QueryPlan plan,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Function<Stream<R>, X> block) {
+        Executor executor = sqlClient.getExecutor();
+        long cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
+        Executor.Args<X> args = new Executor.Args<>(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                purpose,
+                null,
+                (stmt, a) -> {
+                    Reader<?> reader = reader(sqlClient, sql, plan, selections, tupleCreator);
+                    return Internal.usingSqlDraftContext((draftContext) -> {
+                        Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
+                        stmt.setFetchSize(batchSize);
+                        try (ResultSet resultSet = stmt.executeQuery()) {
+                            ChunkIterator<R> itr = new ChunkIterator<>(
+                                    sqlClient,
+                                    con,
+                                    selections,
+                                    tupleCreator,
+                                    (Reader<R>) reader,
+                                    ctx,
+                                    resultSet,
+                                    batchSize
+                            );
+                            Stream<R> stream = StreamSupport.stream(
+                                    Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED),
+                                    false
+                            );
+                            try {
+                                return block.apply(stream);
+                            } catch (ChunkIterator.ReadException ex) {
+                                throw ex.getCause();
+                            } finally {
+                                itr.close();
+                            }
+                        }
+                    });
+                },
+                cursorId
+        );
+        executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
+        return Cursors.usingCursorId(cursorId, () -> executor.execute(args));
+    }
+
+    public static <R, X> X stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Function<Stream<R>, X> block,
+            boolean forUpdate) {
+        return sqlClient.getSlaveConnectionManager(forUpdate).execute(con, conn ->
+                stream(sqlClient, conn, sql, variables, variablePositions, selections,
+                        tupleCreator, purpose, batchSize, block)
+        );
+    }
+
+    /**
+     * Execute the query by the cached plan,
+     * only the variables are bound and the reader of plan is reused.
+     *
+     * <p>The connection must have been resolved by the slave connection manager.</p>
+     */
+    public static <R, X> X stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            QueryPlan plan,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Function<Stream<R>, X> block) {
+        return stream(sqlClient, con, plan.getSql(), variables, plan.getVariablePositions(), plan,
+                selections, tupleCreator, purpose, batchSize, block);
+    }
+
+    private static Reader<?> reader(
+            JSqlClientImplementor sqlClient,
+            String sql,
+            @Nullable QueryPlan plan,
+            List<Selection<?>> selections,
+            TupleCreator<?> tupleCreator
+    ) {
+        if (plan != null) {
+            return plan.reader(sqlClient, selections, tupleCreator);
+        }
+        return Readers.reader(sqlClient, sql, selections, tupleCreator);
+    }
+
+    private static class ChunkIterator<R> implements Iterator<R> {
+
+        private final JSqlClientImplementor sqlClient;
+
+        private final Connection con;
+
+        private final List<Selection<?>> selections;
+
+        private final TupleCreator<?> tupleCreator;
+
+        private final Reader<R> reader;
+
+        private final Reader.Context ctx;
+
+        private final ResultSet resultSet;
+
+        private final int batchSize;
+
+        private final List<R> chunk;
+
+        private int index;
+
+        private boolean exhausted;
+
+        private boolean closed;
+
+        ChunkIterator(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                List<Selection<?>> selections,
+                TupleCreator<?> tupleCreator,
+                Reader<R> reader,
+                Reader.Context ctx,
+                ResultSet resultSet,
+                int batchSize
+        ) {
+            this.sqlClient = sqlClient;
+            this.con = con;
+            this.selections = selections;
+            this.tupleCreator = tupleCreator;
+            this.reader = reader;
+            this.ctx = ctx;
+            this.resultSet = resultSet;
+            this.batchSize = batchSize;
+            this.chunk = new ArrayList<>(Math.min(batchSize, 1024));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                throw new IllegalStateException(
+                        "The stream of query result cannot be used after the stream block returns"
+                );
+            }
+            if (index < chunk.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            chunk.clear();
+            index = 0;
+            try {
+                while (chunk.size() < batchSize) {
+                    if (!resultSet.next()) {
+                        exhausted = true;
+                        break;
+                    }
+                    chunk.add(reader.read(resultSet, ctx));
+                    ctx.resetCol();
+                }
+            } catch (SQLException ex) {
+                throw new ReadException(ex);
+            }
+            FetcherUtil.fetch(sqlClient, con, selections, tupleCreator, chunk);
+            return !chunk.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            R row = chunk.get(index);
+            // Release the reference so that consumed rows can be collected
+            chunk.set(index++, null);
+            return row;
+        }
+
+        void close() {
+            closed = true;
+            chunk.clear();
+        }
+
+        private static class ReadException extends RuntimeException {
+
+            ReadException(SQLException cause) {
+                super(cause);
+            }
+
+            @Override
+            public synchronized SQLException getCause() {
+                return (SQLException) super.getCause();
+            }
+        }
+    }
 }
@@ -65,6 +65,11 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
         }
     }
 
+    @Override
+    public final boolean isTransactionActive() {
+        return scopeLocal.get() != null;
+    }
+
     protected abstract Connection openConnection() throws SQLException;
 
     protected void closeConnection(Connection con) throws SQLException {
@@ -35,4 +35,16 @@ public interface TxConnectionManager extends ConnectionManager {
     }
 
     <R> R executeTransaction(Propagation propagation, Function<Connection, R> block);
+
+    /**
+     * Whether the current thread is bound to a transaction or a connection
+     * of this connection manager.
+     *
+     * <p>Jimmer only executes statements on other threads if this method returns false,
+     * because other threads cannot see the transaction of the current thread.
+     * The default implementation returns true because the state is unknown.</p>
+     */
+    default boolean isTransactionActive() {
+        return true;
+    }
 }
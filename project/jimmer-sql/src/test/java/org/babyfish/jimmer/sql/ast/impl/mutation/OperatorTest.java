@@ -39,7 +39,9 @@ import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -162,6 +164,168 @@ public class OperatorTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testInsertByMultiRows() {
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("8c3c998b-f926-49ec-82c0-b2f6291715ea"));
+            draft.setName("SQL in Action");
+            draft.setEdition(2);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("09615006-bfdc-45e1-bc65-8256c294dfb4"));
+            draft.setName("Kotlin in Action");
+            draft.setEdition(1);
+            draft.setPrice(new BigDecimal("49.9"));
+        });
+        execute(
+                new Book[] { book1, book2 },
+                (con, drafts) -> {
+                    Operator operator = operator(
+                            getSqlClient(),
+                            con,
+                            Book.class,
+                            it -> it.multiRowInsertEnabled = true
+                    );
+                    ShapedEntityMap<DraftSpi> shapedEntityMap = shapedEntityMap(operator, BOOK_KEY_MATCHER);
+                    for (DraftSpi draft : drafts) {
+                        shapedEntityMap.add(draft);
+                    }
+                    operator.insert(shapedEntityMap.iterator().next());
+                    return operator.ctx.affectedRowCountMap;
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into BOOK(ID, NAME, EDITION, PRICE) " +
+                                        "values(?, ?, ?, ?), (?, ?, ?, ?)"
+                        );
+                        it.variables(
+                                UUID.fromString("8c3c998b-f926-49ec-82c0-b2f6291715ea"),
+                                "SQL in Action",
+                                2,
+                                new BigDecimal("59.9"),
+                                UUID.fromString("09615006-bfdc-45e1-bc65-8256c294dfb4"),
+                                "Kotlin in Action",
+                                1,
+                                new BigDecimal("49.9")
+                        );
+                    });
+                    ctx.value(map -> {
+                        Assertions.assertEquals(1, map.size());
+                        Assertions.assertEquals(2, map.get(AffectedTable.of(Book.class)));
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testInsertByIdentityAndMultiRows() {
+        Department department1 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Engine");
+        });
+        Department department2 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Wheel");
+        });
+        execute(
+                new Department[] {department1, department2},
+                (con, drafts) -> {
+                    Operator operator = operator(
+                            getSqlClient(),
+                            con,
+                            Department.class,
+                            it -> it.multiRowInsertEnabled = true
+                    );
+                    ShapedEntityMap<DraftSpi> shapedEntityMap = shapedEntityMap(operator, DEPARTMENT_KEY_MATCHER);
+                    for (DraftSpi draft : drafts) {
+                        shapedEntityMap.add(draft);
+                    }
+                    operator.insert(shapedEntityMap.iterator().next());
+                    Assertions.assertEquals(100L, drafts.get(0).__get(DepartmentProps.ID.unwrap().getId()));
+                    Assertions.assertEquals(101L, drafts.get(1).__get(DepartmentProps.ID.unwrap().getId()));
+                    return operator.ctx.affectedRowCountMap;
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into DEPARTMENT(NAME, DELETED_MILLIS) values(?, ?), (?, ?)");
+                        it.variables("Engine", 0L, "Wheel", 0L);
+                    });
+                    ctx.value(map -> {
+                        Assertions.assertEquals(1, map.size());
+                        Assertions.assertEquals(2, map.get(AffectedTable.of(Department.class)));
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testInsertByBulkCopy() {
+
+        NativeDatabases.assumeNativeDatabase();
+
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("8c3c998b-f926-49ec-82c0-b2f6291715ea"));
+            draft.setName("SQL \"in\" Action");
+            draft.setEdition(2);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("09615006-bfdc-45e1-bc65-8256c294dfb4"));
+            draft.setName("Kotlin in Action");
+            draft.setEdition(1);
+            draft.setPrice(new BigDecimal("49.9"));
+        });
+        execute(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                new Book[] { book1, book2 },
+                (con, drafts) -> {
+                    Operator operator = operator(
+                            getSqlClient(it -> {
+                                it.setDialect(new PostgresDialect());
+                            }),
+                            con,
+                            Book.class,
+                            it -> it.bulkCopyEnabled = true
+                    );
+                    ShapedEntityMap<DraftSpi> shapedEntityMap = new ShapedEntityMap<>(
+                            operator.ctx.options.getSqlClient(),
+                            BOOK_KEY_MATCHER,
+                            ImmutableProp::isColumnDefinition,
+                            SaveMode.INSERT_ONLY,
+                            null
+                    );
+                    for (DraftSpi draft : drafts) {
+                        shapedEntityMap.add(draft);
+                    }
+                    operator.insert(shapedEntityMap.iterator().next());
+                    try (Statement stmt = con.createStatement();
+                         ResultSet rs = stmt.executeQuery(
+                                 "select NAME from BOOK " +
+                                         "where ID = '8c3c998b-f926-49ec-82c0-b2f6291715ea'"
+                         )
+                    ) {
+                        Assertions.assertTrue(rs.next());
+                        Assertions.assertEquals("SQL \"in\" Action", rs.getString(1));
+                    } catch (SQLException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                    return operator.ctx.affectedRowCountMap;
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "copy BOOK(ID, NAME, EDITION, PRICE) " +
+                                        "from stdin with (format csv)"
+                        );
+                    });
+                    ctx.value(map -> {
+                        Assertions.assertEquals(1, map.size());
+                        Assertions.assertEquals(2, map.get(AffectedTable.of(Book.class)));
+                    });
+                }
+        );
+    }
+
     @Test
     public void testInsertBySequence() {
         TreeNode treeNode1 = TreeNodeDraft.$.produce(draft -> {
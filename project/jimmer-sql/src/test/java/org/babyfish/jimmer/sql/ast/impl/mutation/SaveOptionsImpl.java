@@ -25,6 +25,16 @@ public class SaveOptionsImpl implements SaveOptions {
 
     UserOptimisticLock<?, ?> userOptimisticLock;
 
+    boolean multiRowInsertEnabled;
+
+    boolean bulkCopyEnabled;
+
+    boolean associationPipelineEnabled;
+
+    boolean optimisticUpsertEnabled;
+
+    boolean middleTableDiffEnabled;
+
     public SaveOptionsImpl(JSqlClientImplementor sqlClient) {
         this.sqlClient = sqlClient;
     }
@@ -122,6 +132,31 @@ public class SaveOptionsImpl implements SaveOptions {
         return sqlClient.isBatchForbidden(false);
     }
 
+    @Override
+    public boolean isMultiRowInsertEnabled() {
+        return multiRowInsertEnabled;
+    }
+
+    @Override
+    public boolean isBulkCopyEnabled() {
+        return bulkCopyEnabled;
+    }
+
+    @Override
+    public boolean isAssociationPipelineEnabled() {
+        return associationPipelineEnabled;
+    }
+
+    @Override
+    public boolean isOptimisticUpsertEnabled() {
+        return optimisticUpsertEnabled;
+    }
+
+    @Override
+    public boolean isMiddleTableDiffEnabled() {
+        return middleTableDiffEnabled;
+    }
+
     @Override
     public boolean isConstraintViolationTranslatable() {
         return sqlClient.isConstraintViolationTranslatable();
@@ -0,0 +1,106 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class BinaryValueSerializerTest {
+
+    @Test
+    public void testObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(learningGraphQLId1);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(1);
+            draft.setPrice(new BigDecimal("45.00"));
+            draft.applyStore(store -> {
+                store.setId(oreillyId);
+                store.setName("O'REILLY");
+                store.setWebsite(null);
+            });
+            draft.addIntoAuthors(author -> author.setId(alexId));
+            draft.addIntoAuthors(author -> author.setId(eveId));
+        });
+        ImmutableType type = ImmutableType.get(Book.class);
+        BinaryValueSerializer<Book> serializer = new BinaryValueSerializer<>(type);
+        byte[] bytes = serializer.serialize(book);
+        Assertions.assertEquals(book.toString(), serializer.deserialize(bytes).toString());
+        Assertions.assertTrue(
+                bytes.length < new ValueSerializer<Book>(type).serialize(book).length
+        );
+        Assertions.assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    public void testIdOnly() {
+        ImmutableType type = ImmutableType.get(BookStore.class);
+        BinaryValueSerializer<BookStore> serializer = new BinaryValueSerializer<>(type);
+        BookStore store = ImmutableObjects.makeIdOnly(BookStore.class, manningId);
+        byte[] bytes = serializer.serialize(store);
+        // header(5) + non-null flag(1) + property count(1) + property index(1) + uuid(16)
+        Assertions.assertEquals(24, bytes.length);
+        Assertions.assertEquals(store.toString(), serializer.deserialize(bytes).toString());
+    }
+
+    @Test
+    public void testProp() {
+        ImmutableProp authorsProp = ImmutableType.get(Book.class).getProp("authors");
+        BinaryValueSerializer<List<UUID>> listSerializer = new BinaryValueSerializer<>(authorsProp);
+        List<UUID> authorIds = Arrays.asList(alexId, eveId);
+        Assertions.assertEquals(
+                authorIds,
+                listSerializer.deserialize(listSerializer.serialize(authorIds))
+        );
+        Assertions.assertEquals(
+                Collections.emptyList(),
+                listSerializer.deserialize(listSerializer.serialize(Collections.emptyList()))
+        );
+
+        ImmutableProp storeProp = ImmutableType.get(Book.class).getProp("store");
+        BinaryValueSerializer<UUID> referenceSerializer = new BinaryValueSerializer<>(storeProp);
+        Assertions.assertEquals(
+                manningId,
+                referenceSerializer.deserialize(referenceSerializer.serialize(manningId))
+        );
+        Assertions.assertNull(
+                referenceSerializer.deserialize(referenceSerializer.serialize(null))
+        );
+    }
+
+    @Test
+    public void testRejectStaleValue() {
+        ImmutableProp authorsProp = ImmutableType.get(Book.class).getProp("authors");
+        ImmutableProp storeProp = ImmutableType.get(Book.class).getProp("store");
+        BinaryValueSerializer<List<UUID>> serializer = new BinaryValueSerializer<>(authorsProp);
+        byte[] jsonBytes = new ValueSerializer<List<UUID>>(authorsProp)
+                .serialize(Collections.singletonList(alexId));
+        byte[] otherSchemaBytes = new BinaryValueSerializer<UUID>(storeProp)
+                .serialize(manningId);
+        byte[] bytes = serializer.serialize(Collections.singletonList(eveId));
+
+        Assertions.assertNotEquals(
+                serializer.getSchemaHash(),
+                new BinaryValueSerializer<UUID>(storeProp).getSchemaHash()
+        );
+        Map<String, List<UUID>> map = serializer.deserialize(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList(jsonBytes, otherSchemaBytes, bytes)
+        );
+        Assertions.assertEquals(
+                Collections.singletonMap("c", Collections.singletonList(eveId)),
+                map
+        );
+        Assertions.assertThrows(SerializationException.class, () -> {
+            serializer.deserialize(jsonBytes);
+        });
+    }
+}
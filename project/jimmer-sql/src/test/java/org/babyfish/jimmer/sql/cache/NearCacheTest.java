@@ -0,0 +1,274 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder;
+import org.babyfish.jimmer.sql.cache.chain.CacheChain;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.LoadingBinder;
+import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.*;
+
+import static org.babyfish.jimmer.jackson.codec.JsonCodec.jsonCodec;
+
+public class NearCacheTest extends AbstractTest {
+
+    private static final ImmutableType BOOK_TYPE = ImmutableType.get(Book.class);
+
+    @Test
+    public void testVersionStamp() {
+        FrontBinder front = new FrontBinder();
+        MemoryBinder remote = new MemoryBinder(Duration.ofMinutes(10));
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(front)
+                .add(remote)
+                .build();
+        List<Long> keys = Arrays.asList(1L, 2L);
+
+        Map<Long, Long> versionMap1 = front.chain.loadVersions(keys);
+        Assertions.assertEquals(0L, versionMap1.get(1L));
+        Assertions.assertEquals(0L, versionMap1.get(2L));
+
+        cache.deleteAll(Collections.singleton(1L));
+        Map<Long, Long> versionMap2 = front.chain.loadVersions(keys);
+        Assertions.assertNotEquals(0L, versionMap2.get(1L));
+        Assertions.assertEquals(0L, versionMap2.get(2L));
+        Assertions.assertEquals(
+                Collections.singleton("Book-1:version"),
+                remote.versionExpireMap.keySet()
+        );
+        Assertions.assertEquals(600_000L, remote.versionExpireMap.get("Book-1:version"));
+
+        cache.deleteAll(Collections.singleton(1L));
+        Map<Long, Long> versionMap3 = front.chain.loadVersions(keys);
+        Assertions.assertNotEquals(versionMap2.get(1L), versionMap3.get(1L));
+        Assertions.assertEquals(0L, versionMap3.get(2L));
+    }
+
+    @Test
+    public void testUnversioned() {
+        FrontBinder front = new FrontBinder();
+        MemoryBinder remote = new MemoryBinder(null);
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(front)
+                .add(remote)
+                .build();
+        cache.deleteAll(Collections.singleton(1L));
+        Assertions.assertNull(front.chain.loadVersions(Collections.singleton(1L)));
+        Assertions.assertTrue(remote.versionExpireMap.isEmpty());
+    }
+
+    @Test
+    public void testBinderWithoutVersionStamps() {
+        FrontBinder front = new FrontBinder();
+        LegacyBinder remote = new LegacyBinder(Duration.ofMinutes(10));
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(front)
+                .add(remote)
+                .build();
+        cache.deleteAll(Collections.singleton(1L));
+        Assertions.assertEquals(
+                Collections.singletonMap(1L, 0L),
+                front.chain.loadVersions(Collections.singleton(1L))
+        );
+        Assertions.assertTrue(remote.valueMap.isEmpty());
+    }
+
+    @Test
+    public void testNearCacheHit() {
+        MemoryBinder remote = new MemoryBinder(Duration.ofMinutes(10));
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(nearBinder())
+                .add(remote)
+                .build();
+        List<Long> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            CacheEnvironment<Long, Book> env = environment(con, loadedKeys, "v1");
+            Assertions.assertEquals("Book-1-v1", cache.get(1L, env).name());
+            Assertions.assertEquals("Book-1-v1", cache.get(1L, env).name());
+        });
+        Assertions.assertEquals(Collections.singletonList(1L), loadedKeys);
+    }
+
+    @Test
+    public void testNearCacheReloadsStaleEntry() {
+        MemoryBinder remote = new MemoryBinder(Duration.ofMinutes(10));
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(nearBinder())
+                .add(remote)
+                .build();
+        List<Long> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Map<Long, Book> map1 = cache.getAll(
+                    Arrays.asList(1L, 2L),
+                    environment(con, loadedKeys, "v1")
+            );
+            Assertions.assertEquals("Book-1-v1", map1.get(1L).name());
+            Assertions.assertEquals("Book-2-v1", map1.get(2L).name());
+
+            // Another node deletes the remote value, but the
+            // invalidation message never reaches the local cache
+            remote.deleteAll(Collections.singleton(1L), null);
+
+            Map<Long, Book> map2 = cache.getAll(
+                    Arrays.asList(1L, 2L),
+                    environment(con, loadedKeys, "v2")
+            );
+            Assertions.assertEquals("Book-1-v2", map2.get(1L).name());
+            Assertions.assertEquals("Book-2-v1", map2.get(2L).name());
+        });
+        Assertions.assertEquals(3, loadedKeys.size());
+        Assertions.assertEquals(1L, loadedKeys.get(2));
+    }
+
+    @Test
+    public void testNearCacheWithoutVersionedBinder() {
+        MemoryBinder remote = new MemoryBinder(null);
+        Cache<Long, Book> cache = new ChainCacheBuilder<Long, Book>()
+                .add(nearBinder())
+                .add(remote)
+                .build();
+        List<Long> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Assertions.assertEquals("Book-1-v1", cache.get(1L, environment(con, loadedKeys, "v1")).name());
+            remote.deleteAll(Collections.singleton(1L), null);
+            // Nothing can be validated, the local entry is returned until it expires
+            Assertions.assertEquals("Book-1-v1", cache.get(1L, environment(con, loadedKeys, "v2")).name());
+        });
+        Assertions.assertEquals(Collections.singletonList(1L), loadedKeys);
+    }
+
+    private static CaffeineValueBinder<Long, Book> nearBinder() {
+        return CaffeineValueBinder
+                .<Long, Book>forObject(BOOK_TYPE)
+                .duration(Duration.ofHours(1))
+                .nearCache(true)
+                .build();
+    }
+
+    private CacheEnvironment<Long, Book> environment(
+            Connection con,
+            List<Long> loadedKeys,
+            String suffix
+    ) {
+        return new CacheEnvironment<>(
+                getSqlClient(),
+                con,
+                keys -> {
+                    Map<Long, Book> map = new LinkedHashMap<>();
+                    for (Long key : keys) {
+                        loadedKeys.add(key);
+                        map.put(key, BookDraft.$.produce(draft -> draft.setName("Book-" + key + "-" + suffix)));
+                    }
+                    return map;
+                },
+                false
+        );
+    }
+
+    private static class FrontBinder implements LoadingBinder<Long, Book> {
+
+        CacheChain<Long, Book> chain;
+
+        @Override
+        public void initialize(CacheChain<Long, Book> chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public Map<Long, Book> getAll(Collection<Long> keys) {
+            return chain.loadAll(keys);
+        }
+
+        @Override
+        public @Nullable ImmutableType type() {
+            return BOOK_TYPE;
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {}
+    }
+
+    /**
+     * The remote binder written before the versioned mode,
+     * it does not override the methods of version stamps
+     */
+    private static class LegacyBinder extends AbstractRemoteValueBinder<Long, Book> {
+
+        final Map<String, byte[]> valueMap = new HashMap<>();
+
+        LegacyBinder(Duration versionDuration) {
+            super(
+                    BOOK_TYPE,
+                    null,
+                    null,
+                    jsonCodec(),
+                    null,
+                    Duration.ofMinutes(1),
+                    0,
+                    null,
+                    versionDuration
+            );
+        }
+
+        @Override
+        protected List<byte[]> read(Collection<String> keys) {
+            List<byte[]> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(valueMap.get(key));
+            }
+            return values;
+        }
+
+        @Override
+        protected void write(Map<String, byte[]> map) {
+            valueMap.putAll(map);
+        }
+
+        @Override
+        protected void deleteAllSerializedKeys(List<String> serializedKeys) {
+            valueMap.keySet().removeAll(serializedKeys);
+        }
+
+        @Override
+        protected boolean matched(@Nullable Object reason) {
+            return reason == null;
+        }
+    }
+
+    private static class MemoryBinder extends LegacyBinder {
+
+        final Map<String, Long> versionExpireMap = new HashMap<>();
+
+        MemoryBinder(Duration versionDuration) {
+            super(versionDuration);
+        }
+
+        @Override
+        protected void writeVersions(Map<String, byte[]> versionMap, long expireMillis) {
+            valueMap.putAll(versionMap);
+            for (String key : versionMap.keySet()) {
+                versionExpireMap.put(key, expireMillis);
+            }
+        }
+
+        @Override
+        protected List<byte[]> readVersions(List<String> versionKeys) {
+            return read(versionKeys);
+        }
+    }
+}
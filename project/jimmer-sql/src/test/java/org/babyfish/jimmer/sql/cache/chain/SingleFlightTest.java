@@ -0,0 +1,152 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.sql.cache.CacheLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testCoalesce() throws Exception {
+        SingleFlightMetrics metrics = new SingleFlightMetrics();
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(metrics);
+        List<Collection<Long>> loadedKeys = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CacheLoader<Long, String> blockingLoader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            entered.countDown();
+            await(released);
+            return values(keys);
+        };
+        CacheLoader<Long, String> loader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            return values(keys);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<Long, String>> future1 = executorService.submit(() ->
+                    singleFlight.loadAll(Collections.singletonList(1L), null, blockingLoader)
+            );
+            entered.await();
+            Future<Map<Long, String>> future2 = executorService.submit(() ->
+                    singleFlight.loadAll(Arrays.asList(1L, 2L), null, loader)
+            );
+            while (loadedKeys.size() < 2) {
+                Thread.sleep(10);
+            }
+            released.countDown();
+            Assertions.assertEquals(values(Collections.singletonList(1L)), future1.get());
+            Assertions.assertEquals(values(Arrays.asList(1L, 2L)), future2.get());
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(
+                Arrays.asList(Collections.singletonList(1L), Collections.singletonList(2L)),
+                loadedKeys
+        );
+        Assertions.assertEquals(2, metrics.getLoadCount());
+        Assertions.assertEquals(2, metrics.getLoadedKeyCount());
+        Assertions.assertEquals(1, metrics.getCoalescedKeyCount());
+    }
+
+    @Test
+    public void testFailedFlight() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(null);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CacheLoader<Long, String> failedLoader = keys -> {
+            entered.countDown();
+            await(released);
+            throw new IllegalStateException("Broken connection");
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<Long, String>> future1 = executorService.submit(() ->
+                    singleFlight.loadAll(Collections.singletonList(1L), null, failedLoader)
+            );
+            entered.await();
+            Future<Map<Long, String>> future2 = executorService.submit(() ->
+                    singleFlight.loadAll(Collections.singletonList(1L), null, SingleFlightTest::values)
+            );
+            Thread.sleep(100);
+            released.countDown();
+            ExecutionException ex = Assertions.assertThrows(ExecutionException.class, future1::get);
+            Assertions.assertInstanceOf(IllegalStateException.class, ex.getCause());
+            Assertions.assertEquals(values(Collections.singletonList(1L)), future2.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCrossLoading() throws Exception {
+        SingleFlightMetrics metrics = new SingleFlightMetrics();
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(metrics);
+        Map<Long, String> nestedMap = new ConcurrentHashMap<>();
+        CountDownLatch entered = new CountDownLatch(2);
+        CacheLoader<Long, String> loader = keys -> {
+            entered.countDown();
+            await(entered);
+            // Each loader requires the key being loaded by the other thread
+            Long otherKey = keys.contains(1L) ? 2L : 1L;
+            nestedMap.putAll(
+                    singleFlight.loadAll(Collections.singletonList(otherKey), null, SingleFlightTest::values)
+            );
+            return values(keys);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<Long, String>> future1 = executorService.submit(() ->
+                    singleFlight.loadAll(Collections.singletonList(1L), null, loader)
+            );
+            Future<Map<Long, String>> future2 = executorService.submit(() ->
+                    singleFlight.loadAll(Collections.singletonList(2L), null, loader)
+            );
+            Assertions.assertEquals(
+                    values(Collections.singletonList(1L)),
+                    future1.get(5, TimeUnit.SECONDS)
+            );
+            Assertions.assertEquals(
+                    values(Collections.singletonList(2L)),
+                    future2.get(5, TimeUnit.SECONDS)
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(values(Arrays.asList(1L, 2L)), nestedMap);
+        Assertions.assertEquals(0, metrics.getCoalescedKeyCount());
+    }
+
+    @Test
+    public void testParameterMap() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(null);
+        SortedMap<String, Object> parameterMap = new TreeMap<>();
+        parameterMap.put("tenant", "a");
+        Map<Long, String> map = singleFlight.loadAll(
+                Arrays.asList(1L, 2L),
+                parameterMap,
+                keys -> Collections.singletonMap(1L, null)
+        );
+        Assertions.assertEquals(Collections.singletonMap(1L, null), map);
+    }
+
+    private static Map<Long, String> values(Collection<Long> keys) {
+        Map<Long, String> map = new LinkedHashMap<>();
+        for (Long key : keys) {
+            map.put(key, "value-" + key);
+        }
+        return map;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -51,7 +51,7 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
             );
             cfg.setDialect(dialect());
             cfg.setTriggerType(TriggerType.TRANSACTION_ONLY);
-            cfg.setCacheOperator(new TransactionCacheOperator());
+            cfg.setCacheOperator(createCacheOperator());
             DatabaseSchemaStrategy schemaStrategy = databaseSchemaStrategy();
             if (schemaStrategy != null) {
                 cfg.setDatabaseSchemaStrategy(schemaStrategy);
@@ -96,6 +96,14 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
         return sqlClient;
     }
 
+    protected TransactionCacheOperator cacheOperator() {
+        return (TransactionCacheOperator) ((JSqlClientImplementor) sqlClient).getCacheOperator();
+    }
+
+    protected TransactionCacheOperator createCacheOperator() {
+        return new TransactionCacheOperator();
+    }
+
     protected void assume() {}
 
     protected abstract DataSource dataSource();
@@ -0,0 +1,63 @@
+package org.babyfish.jimmer.sql.cache.transaction;
+
+import org.babyfish.jimmer.sql.cache.TransactionCacheOperator;
+import org.babyfish.jimmer.sql.model.Book;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class H2PackedTransactionCacheOperatorTest extends H2TransactionCacheOperatorTest {
+
+    @Override
+    protected String databaseUrl() {
+        return "jdbc:h2:mem:trans-cache-operator-packed";
+    }
+
+    @Override
+    protected TransactionCacheOperator createCacheOperator() {
+        // Two uuid keys can be packed into one row, but three cannot
+        return new TransactionCacheOperator(null, 32, 100);
+    }
+
+    @Test
+    public void testMetrics() {
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(
+                Arrays.asList(learningGraphQLId1, learningGraphQLId2, learningGraphQLId3, learningGraphQLId1)
+        );
+        TransactionCacheOperator operator = cacheOperator();
+        Assertions.assertEquals(2, operator.getSavedRowCount());
+        Assertions.assertEquals(3, operator.getSavedKeyCount());
+        operator.flush();
+        Assertions.assertEquals(2, operator.getFlushedRowCount());
+        Assertions.assertEquals(3, operator.getFlushedKeyCount());
+        Assertions.assertTrue(operator.getLagMillis() < 60_000L);
+    }
+
+    @Test
+    public void testLagWhileRowsAreLockedByAnotherNode() throws Exception {
+        getSqlClient().getCaches().getObjectCache(Book.class).delete(learningGraphQLId1);
+        TransactionCacheOperator operator = cacheOperator();
+        Thread.sleep(100);
+        try (Connection otherNodeCon = new Driver().connect(databaseUrl(), null)) {
+            otherNodeCon.setAutoCommit(false);
+            try (Statement stmt = otherNodeCon.createStatement()) {
+                stmt.executeQuery("select ID from " + TransactionCacheOperator.TABLE_NAME + " for update").close();
+            }
+            operator.flush();
+            // The only row is locked by the other node, so it is not flushed,
+            // but the queue is not drained either
+            Assertions.assertEquals(0, operator.getFlushedRowCount());
+            Assertions.assertTrue(operator.getLagMillis() >= 100);
+            otherNodeCon.rollback();
+        }
+        operator.flush();
+        Assertions.assertEquals(1, operator.getFlushedRowCount());
+        Assertions.assertTrue(operator.getLagMillis() < 100);
+    }
+}
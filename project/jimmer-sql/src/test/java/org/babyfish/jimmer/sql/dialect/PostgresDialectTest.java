@@ -0,0 +1,95 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.UUID;
+
+public class PostgresDialectTest {
+
+    @Test
+    public void testBulkCopySql() {
+        Assertions.assertEquals(
+                "copy BOOK(ID, NAME, EDITION) from stdin with (format csv)",
+                new PostgresDialect().getBulkCopySql("BOOK", Arrays.asList("ID", "NAME", "EDITION"))
+        );
+    }
+
+    @Test
+    public void testScalars() {
+        Assertions.assertEquals(
+                "\"8c3c998b-f926-49ec-82c0-b2f6291715ea\",\"SQL \"\"in\"\" Action\",\"2\",\"1000\"\n",
+                csv(
+                        UUID.fromString("8c3c998b-f926-49ec-82c0-b2f6291715ea"),
+                        "SQL \"in\" Action",
+                        2,
+                        new BigDecimal("1E+3")
+                )
+        );
+    }
+
+    @Test
+    public void testNullAndEmptyString() {
+        Assertions.assertEquals(
+                ",,\"\"\n",
+                csv(null, new DbLiteral.DbNull(String.class), "")
+        );
+    }
+
+    @Test
+    public void testTimestamp() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 1, 12, 34, 56, 789_000_000);
+        OffsetDateTime offsetDateTime = OffsetDateTime.of(
+                dateTime,
+                ZoneId.systemDefault().getRules().getOffset(dateTime)
+        );
+        String text = csv(Timestamp.valueOf(dateTime));
+        Assertions.assertEquals("\"" + offsetDateTime + "\"\n", text);
+        Assertions.assertTrue(text.startsWith("\"2024-03-01T12:34:56.789"), text);
+    }
+
+    @Test
+    public void testArray() {
+        Assertions.assertEquals(
+                "\"{\"\"a\"\",\"\"b\\\"\"c\"\",NULL,\"\"d\\\\e\"\"}\",\"{\"\"1\"\",\"\"2\"\"}\"\n",
+                csv(
+                        new String[] { "a", "b\"c", null, "d\\e" },
+                        Arrays.asList(1, 2)
+                )
+        );
+    }
+
+    @Test
+    public void testBytea() {
+        Assertions.assertEquals(
+                "\"\\x00ab7f\",\"\\x\"\n",
+                csv(new byte[] { 0x00, (byte) 0xAB, 0x7F }, new byte[0])
+        );
+    }
+
+    @Test
+    public void testPGobject() throws SQLException {
+        PGobject pgObject = new PGobject();
+        pgObject.setType("jsonb");
+        pgObject.setValue("{\"name\": \"GraphQL\"}");
+        Assertions.assertEquals(
+                "\"{\"\"name\"\": \"\"GraphQL\"\"}\"\n",
+                csv(pgObject)
+        );
+    }
+
+    private static String csv(Object... values) {
+        StringBuilder builder = new StringBuilder();
+        PostgresDialect.appendCsvRow(builder, Arrays.asList(values));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,181 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class CoalescingTest extends AbstractTest {
+
+    @Test
+    public void testCoalesce() throws Exception {
+        List<String> sqls = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = recordingSqlClient(sqls);
+        BookFetcher fetcher = BookFetcher.$
+                .name()
+                .authors(
+                        AuthorFetcher.$.firstName().lastName()
+                );
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Book> future1 = executorService.submit(() -> find(sqlClient, barrier, fetcher, learningGraphQLId1));
+            Future<Book> future2 = executorService.submit(() -> find(sqlClient, barrier, fetcher, effectiveTypeScriptId1));
+            Book book1 = future1.get();
+            Book book2 = future2.get();
+            Assertions.assertEquals(
+                    "{" +
+                            "\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\"," +
+                            "\"name\":\"Learning GraphQL\"," +
+                            "\"authors\":[" +
+                            "{\"id\":\"1e93da94-af84-44f4-82d1-d8a9fd52ea94\",\"firstName\":\"Alex\",\"lastName\":\"Banks\"}," +
+                            "{\"id\":\"fd6bb6cf-336d-416c-8005-1ae11a6694b5\",\"firstName\":\"Eve\",\"lastName\":\"Procello\"}" +
+                            "]" +
+                            "}",
+                    book1.toString()
+            );
+            Assertions.assertEquals(
+                    "{" +
+                            "\"id\":\"8f30bc8a-49f9-481d-beca-5fe2d147c831\"," +
+                            "\"name\":\"Effective TypeScript\"," +
+                            "\"authors\":[" +
+                            "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\",\"firstName\":\"Dan\",\"lastName\":\"Vanderkam\"}" +
+                            "]" +
+                            "}",
+                    book2.toString()
+            );
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(3, sqls.size());
+        Assertions.assertEquals(
+                1,
+                sqls.stream().filter(it -> it.contains("BOOK_AUTHOR_MAPPING")).count()
+        );
+    }
+
+    @Test
+    public void testTransactionsAreIsolated() throws Exception {
+        List<String> sqls = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = recordingSqlClient(sqls);
+        BookFetcher fetcher = BookFetcher.$
+                .name()
+                .authors(
+                        AuthorFetcher.$.firstName()
+                );
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Book> future1 = executorService.submit(() -> {
+                Book[] books = new Book[1];
+                jdbc(null, true, con -> {
+                    try (PreparedStatement stmt = con.prepareStatement(
+                            "insert into book_author_mapping(book_id, author_id) values(?, ?)"
+                    )) {
+                        stmt.setObject(1, learningGraphQLId1);
+                        stmt.setObject(2, danId);
+                        stmt.executeUpdate();
+                    }
+                    books[0] = findInTransaction(sqlClient, con, barrier, fetcher);
+                });
+                return books[0];
+            });
+            Future<Book> future2 = executorService.submit(() -> {
+                Book[] books = new Book[1];
+                jdbc(null, true, con -> {
+                    books[0] = findInTransaction(sqlClient, con, barrier, fetcher);
+                });
+                return books[0];
+            });
+            Book book1 = future1.get();
+            Book book2 = future2.get();
+            Assertions.assertEquals(
+                    "[Alex, Dan, Eve]",
+                    firstNames(book1)
+            );
+            Assertions.assertEquals(
+                    "[Alex, Eve]",
+                    firstNames(book2)
+            );
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(
+                2,
+                sqls.stream().filter(it -> it.contains("BOOK_AUTHOR_MAPPING")).count()
+        );
+    }
+
+    private JSqlClient recordingSqlClient(List<String> sqls) {
+        return getSqlClient(it -> {
+            it.setExecutor(new Executor() {
+                @Override
+                public <R> R execute(@NotNull Args<R> args) {
+                    sqls.add(args.sql);
+                    return DefaultExecutor.INSTANCE.execute(args);
+                }
+                @Override
+                public BatchContext executeBatch(
+                        @NotNull Connection con,
+                        @NotNull String sql,
+                        @Nullable ImmutableProp generatedIdProp,
+                        @NotNull ExecutionPurpose purpose,
+                        @NotNull JSqlClientImplementor sqlClient
+                ) {
+                    return DefaultExecutor.INSTANCE.executeBatch(con, sql, generatedIdProp, purpose, sqlClient);
+                }
+            });
+            it.setFetchingCoalescingWindow(1000);
+        });
+    }
+
+    private static Book findInTransaction(
+            JSqlClient sqlClient,
+            Connection con,
+            CyclicBarrier barrier,
+            BookFetcher fetcher
+    ) throws SQLException {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException ex) {
+            throw new AssertionError(ex);
+        }
+        return sqlClient.getEntities().forConnection(con).findById(fetcher, learningGraphQLId1);
+    }
+
+    private static String firstNames(Book book) {
+        List<String> firstNames = new ArrayList<>();
+        for (Author author : book.authors()) {
+            firstNames.add(author.firstName());
+        }
+        Collections.sort(firstNames);
+        return firstNames.toString();
+    }
+
+    private static Book find(
+            JSqlClient sqlClient,
+            CyclicBarrier barrier,
+            BookFetcher fetcher,
+            UUID id
+    ) throws Exception {
+        barrier.await();
+        Book[] books = new Book[1];
+        jdbc(con -> {
+            books[0] = sqlClient.getEntities().forConnection(con).findById(fetcher, id);
+        });
+        return books[0];
+    }
+}
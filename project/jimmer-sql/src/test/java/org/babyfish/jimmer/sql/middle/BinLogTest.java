@@ -2,12 +2,16 @@ package org.babyfish.jimmer.sql.middle;
 
 import org.babyfish.jimmer.jackson.codec.JsonCodec;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.event.binlog.BinLogRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.babyfish.jimmer.jackson.codec.JsonCodec.jsonCodec;
 
@@ -152,4 +156,54 @@ public class BinLogTest {
                 events.toString()
         );
     }
+
+    @Test
+    public void testAcceptAll() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            sqlClient.getBinLog().acceptAll(
+                    Arrays.asList(
+                            new BinLogRecord(
+                                    "[SHOP_customer_mappING]",
+                                    null,
+                                    JSON_CODEC.treeReader().read("{" +
+                                            "\"[shop_ID]\": 1," +
+                                            "\"`CUSTOMER_ID`\": 4," +
+                                            "\"DELETED_millis\": 0," +
+                                            "\"[tyPE]\": \"ORDINARY\"" +
+                                            "}"
+                                    )
+                            ),
+                            new BinLogRecord(
+                                    "[SHOP_customer_mappING]",
+                                    JSON_CODEC.treeReader().read("{" +
+                                            "\"[shop_ID]\": 1," +
+                                            "\"`CUSTOMER_ID`\": 4," +
+                                            "\"DELETED_millis\": 0," +
+                                            "\"[tyPE]\": \"ORDINARY\"" +
+                                            "}"
+                                    ),
+                                    JSON_CODEC.treeReader().read("{" +
+                                            "\"[deleted_Millis]\": 1" +
+                                            "}"
+                                    )
+                            )
+                    ),
+                    executor
+            );
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(
+                "[Shop.customers: 1 + 4, " +
+                        "Shop.customers: 1 - 4, " +
+                        "Customer.shops: 4 + 1, " +
+                        "Customer.shops: 4 - 1, " +
+                        "Shop.ordinaryCustomers: 1 + 4, " +
+                        "Shop.ordinaryCustomers: 1 - 4, " +
+                        "Customer.ordinaryShops: 4 + 1, " +
+                        "Customer.ordinaryShops: 4 - 1]",
+                events.toString()
+        );
+    }
 }
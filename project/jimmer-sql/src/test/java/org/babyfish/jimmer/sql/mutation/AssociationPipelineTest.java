@@ -0,0 +1,59 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
+import org.babyfish.jimmer.sql.ast.mutation.BatchSaveResult;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.model.filter.File;
+import org.babyfish.jimmer.sql.model.filter.FileDraft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class AssociationPipelineTest extends AbstractMutationTest {
+
+    @Test
+    public void testSameAssociationOfDifferentShapes() {
+        // Two association shapes: {users} and {users, childFiles}
+        List<File> files = Arrays.asList(
+                FileDraft.$.produce(draft -> {
+                    draft.setId(8L);
+                    draft.addIntoUsers(user -> user.setId(2L));
+                }),
+                FileDraft.$.produce(draft -> {
+                    draft.setId(14L);
+                    draft.addIntoUsers(user -> user.setId(3L));
+                    for (long id = 15L; id <= 19L; id++) {
+                        long childId = id;
+                        draft.addIntoChildFiles(child -> child.setId(childId));
+                    }
+                })
+        );
+        JSqlClient sqlClient = getSqlClient();
+        List<Integer> statementCounts = new ArrayList<>();
+        List<Map<AffectedTable, Integer>> affectedRowCountMaps = new ArrayList<>();
+        for (boolean pipelined : new boolean[] { false, true }) {
+            clearExecutions();
+            jdbc(null, true, con -> {
+                BatchSaveResult<File> result = sqlClient
+                        .saveEntitiesCommand(files)
+                        .setAssociationPipelineEnabled(pipelined)
+                        .execute(con);
+                affectedRowCountMaps.add(result.getAffectedRowCountMap());
+            });
+            statementCounts.add(getExecutions().size());
+        }
+        Assertions.assertEquals(affectedRowCountMaps.get(0), affectedRowCountMaps.get(1));
+        Assertions.assertTrue(
+                statementCounts.get(1) < statementCounts.get(0),
+                "Pipelined statement count " +
+                        statementCounts.get(1) +
+                        " should be less than " +
+                        statementCounts.get(0)
+        );
+    }
+}
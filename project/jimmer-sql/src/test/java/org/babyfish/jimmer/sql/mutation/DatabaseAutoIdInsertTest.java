@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.mutation;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
@@ -7,11 +8,14 @@ import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.meta.impl.IdentityIdGenerator;
+import org.babyfish.jimmer.sql.meta.impl.SequenceIdGenerator;
 import org.babyfish.jimmer.sql.model.TreeNode;
 import org.babyfish.jimmer.sql.model.TreeNodeDraft;
 import org.babyfish.jimmer.sql.runtime.DbLiteral;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 public class DatabaseAutoIdInsertTest extends AbstractMutationTest {
 
     @Test
@@ -40,6 +44,118 @@ public class DatabaseAutoIdInsertTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testPooledSequenceByH2() {
+        restartPooledSequence();
+        executeAndExpectResult(
+                getSqlClient(
+                        it -> it
+                                .setDialect(new H2Dialect())
+                                .setIdGenerator(
+                                        TreeNode.class,
+                                        new SequenceIdGenerator("tree_node_pooled_id_seq", 10)
+                                )
+                ).getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                TreeNodeDraft.$.produce(treeNode -> {
+                                    treeNode.setName("Computer");
+                                    treeNode.setParent(null);
+                                }),
+                                TreeNodeDraft.$.produce(treeNode -> {
+                                    treeNode.setName("Mobile");
+                                    treeNode.setParent(null);
+                                }),
+                                TreeNodeDraft.$.produce(treeNode -> {
+                                    treeNode.setName("Tablet");
+                                    treeNode.setParent(null);
+                                })
+                        )
+                ).setMode(SaveMode.INSERT_ONLY),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select nextval('tree_node_pooled_id_seq') from system_range(1, ?)");
+                        it.variables(1);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.batchVariables(0, 1000L, "Computer", new DbLiteral.DbNull(long.class));
+                        it.batchVariables(1, 1001L, "Mobile", new DbLiteral.DbNull(long.class));
+                        it.batchVariables(2, 1002L, "Tablet", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1000,\"name\":\"Computer\",\"parent\":null}");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1001,\"name\":\"Mobile\",\"parent\":null}");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1002,\"name\":\"Tablet\",\"parent\":null}");
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testPooledSequenceIsNotSharedBySqlClients() {
+        restartPooledSequence();
+        // Same generator object, like the one cached by the metadata strategy
+        SequenceIdGenerator idGenerator = new SequenceIdGenerator("tree_node_pooled_id_seq", 10);
+        JSqlClient sqlClient1 = getSqlClient(
+                it -> it
+                        .setDialect(new H2Dialect())
+                        .setIdGenerator(TreeNode.class, idGenerator)
+        );
+        JSqlClient sqlClient2 = getSqlClient(
+                it -> it
+                        .setDialect(new H2Dialect())
+                        .setIdGenerator(TreeNode.class, idGenerator)
+        );
+        executeAndExpectResult(
+                sqlClient1.getEntities().saveCommand(treeNode("Computer")).setMode(SaveMode.INSERT_ONLY),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select nextval('tree_node_pooled_id_seq') from system_range(1, ?)");
+                        it.variables(1);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.variables(1000L, "Computer", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1000,\"name\":\"Computer\",\"parent\":null}");
+                    });
+                }
+        );
+        executeAndExpectResult(
+                sqlClient2.getEntities().saveCommand(treeNode("Mobile")).setMode(SaveMode.INSERT_ONLY),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select nextval('tree_node_pooled_id_seq') from system_range(1, ?)");
+                        it.variables(1);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.variables(1010L, "Mobile", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1010,\"name\":\"Mobile\",\"parent\":null}");
+                    });
+                }
+        );
+        executeAndExpectResult(
+                sqlClient1.getEntities().saveCommand(treeNode("Tablet")).setMode(SaveMode.INSERT_ONLY),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.variables(1001L, "Tablet", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":1001,\"name\":\"Tablet\",\"parent\":null}");
+                    });
+                }
+        );
+    }
+
     @Test
     public void testSequenceByPostgres() {
 
@@ -145,4 +261,19 @@ public class DatabaseAutoIdInsertTest extends AbstractMutationTest {
                 }
         );
     }
+
+    private static TreeNode treeNode(String name) {
+        return TreeNodeDraft.$.produce(treeNode -> {
+            treeNode.setName(name);
+            treeNode.setParent(null);
+        });
+    }
+
+    private static void restartPooledSequence() {
+        jdbc(con -> {
+            con
+                    .createStatement()
+                    .executeUpdate("alter sequence tree_node_pooled_id_seq restart with 1000");
+        });
+    }
 }
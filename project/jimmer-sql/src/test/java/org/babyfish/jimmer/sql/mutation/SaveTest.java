@@ -14,9 +14,13 @@ import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 import org.babyfish.jimmer.sql.common.NativeDatabases;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.model.hr.Department;
+import org.babyfish.jimmer.sql.model.hr.DepartmentDraft;
 import org.babyfish.jimmer.sql.model.inheritance.*;
 import org.babyfish.jimmer.sql.model.issue1084.DocumentStorage;
 import org.babyfish.jimmer.sql.model.issue1084.DocumentStorageDraft;
@@ -31,6 +35,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -111,6 +116,157 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testOptimisticUpsertMatched() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveCommand(
+                        BookStoreDraft.$.produce(store -> {
+                            store.setId(oreillyId);
+                            store.setName("TURING");
+                            store.setWebsite(null);
+                            store.setVersion(0);
+                        })
+                ).setOptimisticUpsertEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set NAME = ?, WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("TURING", new DbLiteral.DbNull(String.class), oreillyId, 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"TURING\",\"website\":null,\"version\":0}");
+                        it.modified("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"TURING\",\"website\":null,\"version\":1}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testOptimisticUpsertNotMatched() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveCommand(
+                        BookStoreDraft.$.produce(store -> {
+                            store.setId(newId);
+                            store.setName("TURING");
+                            store.setWebsite(null);
+                            store.setVersion(0);
+                        })
+                ).setOptimisticUpsertEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set NAME = ?, WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("TURING", new DbLiteral.DbNull(String.class), newId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ " +
+                                        "where tb_1_.ID = ?"
+                        );
+                        it.variables(newId);
+                        it.queryReason(QueryReason.OPTIMISTIC_LOCK);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, WEBSITE, VERSION) values(?, ?, ?, ?)");
+                        it.variables(newId, "TURING", new DbLiteral.DbNull(String.class), 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"website\":null,\"version\":0}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"website\":null,\"version\":0}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testOptimisticUpsertNotMatchedWithoutVersion() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        JSqlClient sqlClient = getSqlClient();
+        jdbc(null, true, con -> {
+            clearExecutions();
+            sqlClient
+                    .saveEntitiesCommand(
+                            Arrays.asList(
+                                    BookStoreDraft.$.produce(store -> {
+                                        store.setId(oreillyId);
+                                        store.setName("O'REILLY");
+                                        store.setVersion(0);
+                                    }),
+                                    BookStoreDraft.$.produce(store -> {
+                                        store.setId(newId);
+                                        store.setName("TURING");
+                                    })
+                            )
+                    )
+                    .setOptimisticUpsertEnabled()
+                    .execute(con);
+            Execution insert = insertExecution();
+            Assertions.assertEquals(
+                    "insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)",
+                    insert.getSql()
+            );
+            BookStore store = sqlClient.getEntities().forConnection(con).findById(BookStore.class, newId);
+            Assertions.assertNotNull(store);
+            Assertions.assertEquals(0, store.version());
+        });
+    }
+
+    @Test
+    public void testOptimisticUpsertNotMatchedWithLogicalDeletedProp() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(DefaultDialect.INSTANCE));
+        jdbc(null, true, con -> {
+            clearExecutions();
+            sqlClient
+                    .saveEntitiesCommand(
+                            Arrays.asList(
+                                    DepartmentDraft.$.produce(department -> {
+                                        department.setId(1L);
+                                        department.setName("Market");
+                                    }),
+                                    DepartmentDraft.$.produce(department -> {
+                                        department.setId(1000L);
+                                        department.setName("Sales");
+                                    })
+                            )
+                    )
+                    .setOptimisticUpsertEnabled()
+                    .execute(con);
+            Execution insert = insertExecution();
+            Assertions.assertEquals(
+                    "insert into DEPARTMENT(ID, NAME, DELETED_MILLIS) values(?, ?, ?)",
+                    insert.getSql()
+            );
+            Assertions.assertEquals(
+                    Arrays.asList(1000L, "Sales", 0L),
+                    insert.getVariables(0)
+            );
+            Department department = sqlClient.getEntities().forConnection(con).findById(Department.class, 1000L);
+            Assertions.assertNotNull(department);
+            Assertions.assertEquals(0L, department.deletedMillis());
+        });
+    }
+
+    private Execution insertExecution() {
+        List<Execution> inserts = new ArrayList<>();
+        for (Execution execution : getExecutions()) {
+            if (execution.getSql().startsWith("insert ")) {
+                inserts.add(execution);
+            }
+        }
+        Assertions.assertEquals(1, inserts.size());
+        return inserts.get(0);
+    }
+
     @Test
     public void testInsert() {
         UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
@@ -694,6 +850,127 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testUpsertMatchedWithManyToManyDiff() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveCommand(
+                        BookDraft.$.produce(book -> {
+                            book.setName("Learning GraphQL");
+                            book.setEdition(3);
+                            book.addIntoAuthors(author -> author.setId(danId));
+                            book.addIntoAuthors(author -> author.setId(borisId));
+                        })
+                ).setMiddleTableDiffEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                "from BOOK tb_1_ " +
+                                "where (tb_1_.NAME, tb_1_.EDITION) = (?, ?)");
+                        it.variables("Learning GraphQL", 3);
+                        it.queryReason(QueryReason.IDENTITY_GENERATOR_REQUIRED);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_AUTHOR_MAPPING where BOOK_ID = ? and AUTHOR_ID not in (?, ?)");
+                        it.variables(learningGraphQLId3, danId, borisId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "merge into BOOK_AUTHOR_MAPPING tb_1_ " +
+                                        "using(values(?, ?)) tb_2_(BOOK_ID, AUTHOR_ID) " +
+                                        "on tb_1_.BOOK_ID = tb_2_.BOOK_ID and tb_1_.AUTHOR_ID = tb_2_.AUTHOR_ID " +
+                                        "when not matched then insert(BOOK_ID, AUTHOR_ID) " +
+                                        "values(tb_2_.BOOK_ID, tb_2_.AUTHOR_ID)"
+                        );
+                        it.batchVariables(0, learningGraphQLId3, danId);
+                        it.batchVariables(1, learningGraphQLId3, borisId);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{" +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}," +
+                                "{\"id\":\"718795ad-77c1-4fcf-994a-fec6a5a11f0f\"}" +
+                                "]" +
+                                "}");
+                        it.modified("{" +
+                                "\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}," +
+                                "{\"id\":\"718795ad-77c1-4fcf-994a-fec6a5a11f0f\"}" +
+                                "]" +
+                                "}");
+                    });
+                    ctx.totalRowCount(4);
+                    ctx.rowCount(AffectedTable.of(BookProps.AUTHORS), 4);
+                }
+        );
+    }
+
+    @Test
+    public void testUpsertMatchedWithManyToManyDiffWithoutUpsert() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new NoUpsertDialect()))
+                        .getEntities()
+                        .saveCommand(
+                                BookDraft.$.produce(book -> {
+                                    book.setName("Learning GraphQL");
+                                    book.setEdition(3);
+                                    book.addIntoAuthors(author -> author.setId(danId));
+                                    book.addIntoAuthors(author -> author.setId(borisId));
+                                })
+                        )
+                        .setMiddleTableDiffEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                "from BOOK tb_1_ " +
+                                "where (tb_1_.NAME, tb_1_.EDITION) = (?, ?)");
+                        it.variables("Learning GraphQL", 3);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_AUTHOR_MAPPING where BOOK_ID = ? and AUTHOR_ID not in (?, ?)");
+                        it.variables(learningGraphQLId3, danId, borisId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) " +
+                                        "select ?, ? " +
+                                        "where not exists(" +
+                                        "--->select * from BOOK_AUTHOR_MAPPING " +
+                                        "--->where BOOK_ID = ? and AUTHOR_ID = ?" +
+                                        ")"
+                        );
+                        it.batchVariables(0, learningGraphQLId3, danId, learningGraphQLId3, danId);
+                        it.batchVariables(1, learningGraphQLId3, borisId, learningGraphQLId3, borisId);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{" +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}," +
+                                "{\"id\":\"718795ad-77c1-4fcf-994a-fec6a5a11f0f\"}" +
+                                "]" +
+                                "}");
+                        it.modified("{" +
+                                "\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}," +
+                                "{\"id\":\"718795ad-77c1-4fcf-994a-fec6a5a11f0f\"}" +
+                                "]" +
+                                "}");
+                    });
+                    ctx.totalRowCount(4);
+                    ctx.rowCount(AffectedTable.of(BookProps.AUTHORS), 4);
+                }
+        );
+    }
+
     @Test
     public void testUpsertNotMatchedWithInverseManyToMany() {
 
@@ -1460,4 +1737,12 @@ public class SaveTest extends AbstractMutationTest {
                 }
         );
     }
+
+    private static class NoUpsertDialect extends H2Dialect {
+
+        @Override
+        public boolean isUpsertSupported() {
+            return false;
+        }
+    }
 }
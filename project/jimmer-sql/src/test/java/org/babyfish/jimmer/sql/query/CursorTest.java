@@ -2,10 +2,13 @@ package org.babyfish.jimmer.sql.query;
 
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class CursorTest extends AbstractQueryTest {
 
@@ -152,4 +155,56 @@ public class CursorTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void stream() {
+        connectAndExpect(
+                con -> {
+                    return getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                        return q
+                                .where(book.edition().eq(3))
+                                .orderBy(book.name().asc())
+                                .select(book.name());
+                    }).stream(con, 3, stream -> stream.collect(Collectors.toList()));
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.EDITION = ? " +
+                                    "order by tb_1_.NAME asc"
+                    );
+                    ctx.rows(
+                            "[" +
+                                    "--->\"Effective TypeScript\"," +
+                                    "--->\"GraphQL in Action\"," +
+                                    "--->\"Learning GraphQL\"," +
+                                    "--->\"Programming TypeScript\"" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void streamOutOfBlock() {
+        connectAndExpect(
+                con -> {
+                    Iterator<String> itr = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                        return q
+                                .where(book.edition().eq(3))
+                                .select(book.name());
+                    }).stream(con, 2, stream -> stream.iterator());
+                    Assertions.assertThrows(IllegalStateException.class, itr::hasNext);
+                    return null;
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.EDITION = ?"
+                    );
+                }
+        );
+    }
 }
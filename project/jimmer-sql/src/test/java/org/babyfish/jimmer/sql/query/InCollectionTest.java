@@ -1063,6 +1063,149 @@ public class InCollectionTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testLargeInByTupleUnnest() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new H2Dialect());
+                    cfg.setLargeInListThreshold(2);
+                })
+                        .createQuery(table)
+                        .where(
+                                Expression.tuple(
+                                        table.parentId(),
+                                        table.name()
+                                ).in(
+                                        Arrays.asList(
+                                                new Tuple2<>(1L, "Food"),
+                                                new Tuple2<>(2L, "Drinks"),
+                                                new Tuple2<>(3L, "Coca Cola")
+                                        )
+                                )
+                        )
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where (tb_1_.PARENT_ID, tb_1_.NAME) in (" +
+                                    "--->select * from unnest(?, ?)" +
+                                    ") " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables(
+                            new Object[] { 1L, 2L, 3L },
+                            new Object[] { "Food", "Drinks", "Coca Cola" }
+                    );
+                    ctx.rows("[2,3,4]");
+                }
+        );
+    }
+
+    @Test
+    public void testLargeNotInByTupleUnnest() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new H2Dialect());
+                    cfg.setLargeInListThreshold(2);
+                })
+                        .createQuery(table)
+                        .where(
+                                Expression.tuple(
+                                        table.parentId(),
+                                        table.name()
+                                ).notIn(
+                                        Arrays.asList(
+                                                new Tuple2<>(1L, "Food"),
+                                                new Tuple2<>(2L, "Drinks"),
+                                                new Tuple2<>(3L, "Coca Cola")
+                                        )
+                                )
+                        )
+                        .where(table.id().between(2L, 8L))
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where (tb_1_.PARENT_ID, tb_1_.NAME) not in (" +
+                                    "--->select * from unnest(?, ?)" +
+                                    ") " +
+                                    "and tb_1_.NODE_ID between ? and ? " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables(
+                            new Object[] { 1L, 2L, 3L },
+                            new Object[] { "Food", "Drinks", "Coca Cola" },
+                            2L,
+                            8L
+                    );
+                    ctx.rows("[5,6,7,8]");
+                }
+        );
+    }
+
+    @Test
+    public void testLargeInBySingleColumn() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new H2Dialect());
+                    cfg.setLargeInListThreshold(2);
+                })
+                        .createQuery(table)
+                        .where(table.name().in(Arrays.asList("Food", "Drinks", "Coca Cola")))
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where tb_1_.NAME = any(?) " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables((Object) new Object[] { "Food", "Drinks", "Coca Cola" });
+                    ctx.rows("[2,3,4]");
+                }
+        );
+    }
+
+    @Test
+    public void testLargeInBySingleColumnWithoutArray() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(
+                            new H2Dialect() {
+                                @Override
+                                public boolean isAnyEqualityOfArraySupported() {
+                                    return false;
+                                }
+                            }
+                    );
+                    cfg.setLargeInListThreshold(2);
+                })
+                        .createQuery(table)
+                        .where(table.name().in(Arrays.asList("Food", "Drinks", "Coca Cola")))
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where tb_1_.NAME in (?, ?, ?) " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables("Food", "Drinks", "Coca Cola");
+                    ctx.rows("[2,3,4]");
+                }
+        );
+    }
+
     @Override
     protected boolean isAnyEqualityOfArraySupported() {
         return true;
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.KeysetSlice;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.Expression;
@@ -14,13 +15,22 @@ import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.transaction.AbstractTxConnectionManager;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
+import org.h2.Driver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class PagingTest extends AbstractQueryTest {
 
@@ -643,6 +653,292 @@ public class PagingTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testKeysetHeadSlice() {
+        BookTable table = BookTable.$;
+        connectAndExpect(
+                con -> getSqlClient()
+                        .createQuery(table)
+                        .orderBy(table.name().asc(), table.edition().desc())
+                        .select(table.fetch(BookFetcher.$.name().edition()))
+                        .fetchKeysetSlice(4, null, con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    ).variables(5);
+                    ctx.row(0, slice -> {
+                        Assertions.assertTrue(slice.isHead());
+                        Assertions.assertFalse(slice.isTail());
+                        Assertions.assertNull(slice.getPreviousCursor());
+                        Assertions.assertNotNull(slice.getNextCursor());
+                        Assertions.assertEquals(4, slice.getRows().size());
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testKeysetSliceByExpandedPredicate() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name().asc(), table.edition().desc())
+                .select(table.fetch(BookFetcher.$.name().edition()));
+        connectAndExpect(
+                con -> {
+                    KeysetSlice<Book> head = query.fetchKeysetSlice(4, null, con);
+                    return query.fetchKeysetSlice(4, head.getNextCursor(), con);
+                },
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    ).variables(5);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where (" +
+                                    "--->tb_1_.NAME > ? " +
+                                    "or " +
+                                    "--->tb_1_.NAME = ? and tb_1_.EDITION < ?" +
+                                    ") " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    ).variables("GraphQL in Action", "GraphQL in Action", 3, 5);
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                "[GraphQL in Action-2, GraphQL in Action-1, Learning GraphQL-3, Learning GraphQL-2]",
+                                keys(slice.getRows())
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testKeysetSliceByTupleComparison() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name().asc(), table.edition().asc())
+                .select(table.fetch(BookFetcher.$.name().edition()));
+        connectAndExpect(
+                con -> {
+                    KeysetSlice<Book> head = query.fetchKeysetSlice(4, null, con);
+                    return query.fetchKeysetSlice(4, head.getNextCursor(), con);
+                },
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc " +
+                                    "limit ?"
+                    ).variables(5);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where (tb_1_.NAME, tb_1_.EDITION) > (?, ?) " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc " +
+                                    "limit ?"
+                    ).variables("GraphQL in Action", 1, 5);
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                "[GraphQL in Action-2, GraphQL in Action-3, Learning GraphQL-1, Learning GraphQL-2]",
+                                keys(slice.getRows())
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testKeysetSliceRejectsNullableSortKey() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.store(JoinType.LEFT).name().asc(), table.id().asc())
+                .select(table);
+        connectAndExpect(
+                con -> Assertions.assertThrows(
+                        IllegalStateException.class,
+                        () -> query.fetchKeysetSlice(4, null, con)
+                ).getMessage(),
+                ctx -> {
+                    ctx.row(0, message -> {
+                        Assertions.assertTrue(message.startsWith(
+                                "Keyset pagination does not support nullable sort keys"
+                        ));
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testKeysetSliceNavigation() {
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                    .createQuery(table)
+                    .orderBy(table.name().asc(), table.edition().desc())
+                    .select(table.fetch(BookFetcher.$.name().edition()));
+
+            KeysetSlice<Book> head = query.fetchKeysetSlice(4, null, con);
+            Assertions.assertEquals(
+                    "[Effective TypeScript-3, Effective TypeScript-2, Effective TypeScript-1, GraphQL in Action-3]",
+                    keys(head.getRows())
+            );
+
+            KeysetSlice<Book> second = query.fetchKeysetSlice(4, head.getNextCursor(), con);
+            Assertions.assertEquals(
+                    "[GraphQL in Action-2, GraphQL in Action-1, Learning GraphQL-3, Learning GraphQL-2]",
+                    keys(second.getRows())
+            );
+            Assertions.assertFalse(second.isHead());
+            Assertions.assertFalse(second.isTail());
+
+            KeysetSlice<Book> tail = query.fetchKeysetSlice(4, second.getNextCursor(), con);
+            Assertions.assertEquals(
+                    "[Learning GraphQL-1, Programming TypeScript-3, Programming TypeScript-2, Programming TypeScript-1]",
+                    keys(tail.getRows())
+            );
+            Assertions.assertTrue(tail.isTail());
+            Assertions.assertNull(tail.getNextCursor());
+
+            KeysetSlice<Book> previous = query.fetchKeysetSlice(4, second.getPreviousCursor(), con);
+            Assertions.assertEquals(keys(head.getRows()), keys(previous.getRows()));
+            Assertions.assertTrue(previous.isHead());
+            Assertions.assertFalse(previous.isTail());
+            Assertions.assertNull(previous.getPreviousCursor());
+            Assertions.assertEquals(head.getNextCursor(), previous.getNextCursor());
+        });
+    }
+
+    @Test
+    public void testConcurrentPageCount() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        java.util.concurrent.Executor executor = command -> {
+            submittedCount.incrementAndGet();
+            new Thread(command).start();
+        };
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(txConnectionManager());
+            it.setPageCountExecutor(executor);
+        });
+        ConfigurableRootQuery<BookTable, Book> query = pageQuery(sqlClient);
+
+        org.babyfish.jimmer.Page<Book> page = query.fetchPage(1, 5);
+        Assertions.assertEquals(12, page.getTotalRowCount());
+        Assertions.assertEquals(
+                "[GraphQL in Action-1, Learning GraphQL-3, Learning GraphQL-2, Learning GraphQL-1, Programming TypeScript-3]",
+                keys(page.getRows())
+        );
+
+        org.babyfish.jimmer.Page<Book> outOfRangePage = query.fetchPage(3, 5);
+        Assertions.assertEquals(12, outOfRangePage.getTotalRowCount());
+        Assertions.assertTrue(outOfRangePage.getRows().isEmpty());
+
+        Assertions.assertEquals(2, submittedCount.get());
+    }
+
+    @Test
+    public void testPageCountInTransaction() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        java.util.concurrent.Executor executor = command -> {
+            submittedCount.incrementAndGet();
+            new Thread(command).start();
+        };
+        TxConnectionManager connectionManager = txConnectionManager();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(connectionManager);
+            it.setPageCountExecutor(executor);
+        });
+        ConfigurableRootQuery<BookTable, Book> query = pageQuery(sqlClient);
+
+        // The count query must see the uncommitted row of the current transaction
+        long total = connectionManager.executeTransaction(con -> {
+            try {
+                try (PreparedStatement stmt = con.prepareStatement(
+                        "insert into book(id, name, edition, price) values(?, ?, ?, ?)"
+                )) {
+                    stmt.setObject(1, UUID.fromString("1f1e3d5a-3c5e-4b8a-9a29-6b3c4c2d1f00"));
+                    stmt.setString(2, "Uncommitted Book");
+                    stmt.setInt(3, 1);
+                    stmt.setBigDecimal(4, new BigDecimal(10));
+                    stmt.executeUpdate();
+                }
+                try {
+                    return query.fetchPage(0, 5).getTotalRowCount();
+                } finally {
+                    con.rollback();
+                }
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        Assertions.assertEquals(13, total);
+        Assertions.assertEquals(0, submittedCount.get());
+    }
+
+    @Test
+    public void testConcurrentPageCountBySlave() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        java.util.concurrent.Executor executor = command -> {
+            submittedCount.incrementAndGet();
+            new Thread(command).start();
+        };
+
+        // Unknown transaction state, executed one after another
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(testConnectionManager());
+            it.setPageCountExecutor(executor);
+        });
+        Assertions.assertEquals(12, pageQuery(sqlClient).fetchPage(0, 5).getTotalRowCount());
+        Assertions.assertEquals(0, submittedCount.get());
+
+        // Distinct slave connection manager, executed concurrently
+        JSqlClient slaveSqlClient = getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(testConnectionManager());
+            it.setSlaveConnectionManager(testConnectionManager());
+            it.setPageCountExecutor(executor);
+        });
+        Assertions.assertEquals(12, pageQuery(slaveSqlClient).fetchPage(0, 5).getTotalRowCount());
+        Assertions.assertEquals(1, submittedCount.get());
+    }
+
+    private static ConfigurableRootQuery<BookTable, Book> pageQuery(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name().asc(), table.edition().desc())
+                .select(table.fetch(BookFetcher.$.name().edition()));
+    }
+
+    private static TxConnectionManager txConnectionManager() {
+        return new AbstractTxConnectionManager() {
+            @Override
+            protected Connection openConnection() throws SQLException {
+                return new Driver().connect(JDBC_URL, null);
+            }
+        };
+    }
+
+    private static String keys(List<Book> books) {
+        return books
+                .stream()
+                .map(book -> book.name() + '-' + book.edition())
+                .collect(Collectors.toList())
+                .toString();
+    }
+
     private static class Page<E> {
 
         final List<E> entities;
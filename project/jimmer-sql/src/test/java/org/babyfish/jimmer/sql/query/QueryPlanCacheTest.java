@@ -0,0 +1,150 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.QueryPlanCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class QueryPlanCacheTest extends AbstractTest {
+
+    @Test
+    public void testSameShapeWithDifferentParameters() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryPlanCacheSize(2));
+        QueryPlanCache cache = ((JSqlClientImplementor) sqlClient).getQueryPlanCache();
+        Assertions.assertNotNull(cache);
+        List<Book> books = new ArrayList<>();
+        jdbc(con -> {
+            for (String name : new String[] { "Learning GraphQL", "GraphQL in Action", "Effective TypeScript" }) {
+                BookTable table = BookTable.$;
+                books.addAll(
+                        sqlClient
+                                .createQuery(table)
+                                .where(table.name().eq(name))
+                                .where(table.edition().eq(3))
+                                .select(
+                                        table.fetch(
+                                                BookFetcher.$.name().edition()
+                                        )
+                                )
+                                .execute(con)
+                );
+            }
+        });
+        Assertions.assertEquals(3, books.size());
+        Assertions.assertEquals("Effective TypeScript", books.get(2).name());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(2D / 3, cache.getHitRate(), 1E-9);
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testDifferentShapes() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryPlanCacheSize(2));
+        QueryPlanCache cache = ((JSqlClientImplementor) sqlClient).getQueryPlanCache();
+        Assertions.assertNotNull(cache);
+        List<Book> books = new ArrayList<>();
+        jdbc(con -> {
+            BookTable table = BookTable.$;
+            books.addAll(
+                    sqlClient
+                            .createQuery(table)
+                            .where(table.name().eq("Learning GraphQL"))
+                            .where(table.edition().eq(3))
+                            .select(table)
+                            .execute(con)
+            );
+            books.addAll(
+                    sqlClient
+                            .createQuery(table)
+                            .where(table.name().eq("Learning GraphQL"))
+                            .where(table.edition().ge(3))
+                            .select(table)
+                            .execute(con)
+            );
+        });
+        Assertions.assertEquals(2, books.size());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUncacheableShapesAreNotCounted() {
+        QueryPlanCache cache = new QueryPlanCache(1);
+        cache.put("shape-1", "select 1", null);
+        cache.putUncacheable("shape-2");
+        cache.putUncacheable("shape-3");
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(0, cache.getEvictionCount());
+        Assertions.assertTrue(cache.get("shape-1").isCacheable());
+        Assertions.assertFalse(cache.get("shape-3").isCacheable());
+        // Only the most recent uncacheable shape is remembered
+        Assertions.assertNull(cache.get("shape-2"));
+    }
+
+    @Test
+    public void testInListAndOrders() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryPlanCacheSize(2));
+        QueryPlanCache cache = ((JSqlClientImplementor) sqlClient).getQueryPlanCache();
+        Assertions.assertNotNull(cache);
+        List<List<Book>> results = new ArrayList<>();
+        jdbc(con -> {
+            List<List<String>> nameLists = Arrays.asList(
+                    Arrays.asList("GraphQL in Action", "Learning GraphQL"),
+                    Arrays.asList("Effective TypeScript", "Programming TypeScript")
+            );
+            for (List<String> names : nameLists) {
+                BookTable table = BookTable.$;
+                results.add(
+                        sqlClient
+                                .createQuery(table)
+                                .where(table.name().in(names))
+                                .orderBy(table.name(), table.edition().desc())
+                                .select(table)
+                                .execute(con)
+                );
+            }
+        });
+        Assertions.assertEquals(6, results.get(0).size());
+        Assertions.assertEquals("GraphQL in Action", results.get(0).get(0).name());
+        Assertions.assertEquals(3, results.get(0).get(0).edition());
+        Assertions.assertEquals(6, results.get(1).size());
+        Assertions.assertEquals("Effective TypeScript", results.get(1).get(0).name());
+        Assertions.assertEquals(3, results.get(1).get(0).edition());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testEviction() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryPlanCacheSize(2));
+        QueryPlanCache cache = ((JSqlClientImplementor) sqlClient).getQueryPlanCache();
+        Assertions.assertNotNull(cache);
+        jdbc(con -> {
+            BookTable table = BookTable.$;
+            sqlClient.createQuery(table).select(table.name()).execute(con);
+            sqlClient.createQuery(table).select(table.edition()).execute(con);
+            sqlClient.createQuery(table).select(table.name()).execute(con);
+            sqlClient.createQuery(table).select(table.price()).execute(con);
+            sqlClient.createQuery(table).select(table.name()).execute(con);
+            sqlClient.createQuery(table).select(table.edition()).execute(con);
+        });
+        Assertions.assertEquals(4, cache.getMissCount());
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(2, cache.getEvictionCount());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertNull(((JSqlClientImplementor) getSqlClient()).getQueryPlanCache());
+    }
+}
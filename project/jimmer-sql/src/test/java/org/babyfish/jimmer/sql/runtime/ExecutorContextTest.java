@@ -0,0 +1,89 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ExecutorContextTest {
+
+    @Test
+    public void testStackTrace() {
+        JSqlClient sqlClient = sqlClient(ExecutorContextCaptureMode.STACK_TRACE);
+        ExecutorContext ctx = capture(sqlClient);
+        Assertions.assertNotNull(ctx);
+        Assertions.assertEquals("capture", ctx.getPrimaryElement().getMethodName());
+        Assertions.assertTrue(ctx.getMatchedElements().size() > 1);
+        Assertions.assertTrue(ctx.getElements().size() > ctx.getMatchedElements().size());
+    }
+
+    @Test
+    public void testStackWalker() {
+        JSqlClient sqlClient = sqlClient(ExecutorContextCaptureMode.STACK_WALKER);
+        ExecutorContext ctx = null;
+        for (int i = 0; i < 2; i++) {
+            ExecutorContext currentCtx = capture(sqlClient);
+            Assertions.assertNotNull(currentCtx);
+            Assertions.assertEquals("capture", currentCtx.getPrimaryElement().getMethodName());
+            Assertions.assertEquals(
+                    Collections.singletonList(currentCtx.getPrimaryElement()),
+                    currentCtx.getMatchedElements()
+            );
+            if (ctx != null) {
+                Assertions.assertSame(ctx, currentCtx);
+            }
+            ctx = currentCtx;
+        }
+    }
+
+    @Test
+    public void testUnmatched() {
+        JSqlClient sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singletonList("com.unknown."))
+                .setExecutorContextCaptureMode(ExecutorContextCaptureMode.STACK_WALKER)
+                .build();
+        Assertions.assertNull(capture(sqlClient));
+    }
+
+    @Test
+    public void testStackWalkerUnderDeepFrames() {
+        JSqlClient sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singletonList(Caller.class.getName()))
+                .setExecutorContextCaptureMode(ExecutorContextCaptureMode.STACK_WALKER)
+                .build();
+        ExecutorContext ctx = Caller.call(sqlClient, 200);
+        Assertions.assertNotNull(ctx);
+        Assertions.assertEquals(Caller.class.getName(), ctx.getPrimaryElement().getClassName());
+        Assertions.assertEquals("call", ctx.getPrimaryElement().getMethodName());
+    }
+
+    private static JSqlClient sqlClient(ExecutorContextCaptureMode mode) {
+        return JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singletonList(ExecutorContextTest.class.getName()))
+                .setExecutorContextCaptureMode(mode)
+                .build();
+    }
+
+    private static ExecutorContext capture(JSqlClient sqlClient) {
+        return ExecutorContext.create(sqlClient);
+    }
+
+    // Simulates the infrastructure frames between the business code and jimmer
+    private static ExecutorContext captureUnder(JSqlClient sqlClient, int depth) {
+        if (depth == 0) {
+            return ExecutorContext.create(sqlClient);
+        }
+        return captureUnder(sqlClient, depth - 1);
+    }
+
+    private static class Caller {
+
+        static ExecutorContext call(JSqlClient sqlClient, int depth) {
+            return captureUnder(sqlClient, depth);
+        }
+    }
+}
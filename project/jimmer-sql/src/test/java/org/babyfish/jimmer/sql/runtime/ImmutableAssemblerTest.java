@@ -0,0 +1,54 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.ImmutableAssembler;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.TreeNode;
+import org.babyfish.jimmer.sql.model.TreeNodeDraft;
+import org.babyfish.jimmer.sql.model.TreeNodeProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ImmutableAssemblerTest {
+
+    @Test
+    public void testValidatedType() {
+        Assertions.assertNull(ImmutableType.get(Book.class).getAssembler());
+    }
+
+    @Test
+    public void testAssemble() {
+        ImmutableAssembler assembler = ImmutableType.get(TreeNode.class).getAssembler();
+        Assertions.assertNotNull(assembler);
+        Object immutable = assembler.create();
+        assembler.setLong(immutable, TreeNodeProps.ID.unwrap().getId().asIndex(), 1L);
+        assembler.set(immutable, TreeNodeProps.NAME.unwrap().getId().asIndex(), "Home");
+        assembler.set(immutable, TreeNodeProps.PARENT.unwrap().getId().asIndex(), null);
+        assembler.set(immutable, TreeNodeProps.CHILD_NODES.unwrap().getId().asIndex(), Collections.emptyList());
+        TreeNode treeNode = (TreeNode) immutable;
+        Assertions.assertEquals(
+                TreeNodeDraft.$.produce(draft -> {
+                    draft.setId(1L);
+                    draft.setName("Home");
+                    draft.setParent(null);
+                    draft.setChildNodes(Collections.emptyList());
+                }),
+                treeNode
+        );
+        assembler.show(immutable, TreeNodeProps.CHILD_NODES.unwrap().getId().asIndex(), false);
+        Assertions.assertFalse(treeNode.toString().contains("childNodes"));
+    }
+
+    @Test
+    public void testNonNull() {
+        ImmutableAssembler assembler = ImmutableType.get(TreeNode.class).getAssembler();
+        Assertions.assertNotNull(assembler);
+        Object immutable = assembler.create();
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> assembler.set(immutable, TreeNodeProps.NAME.unwrap().getId().asIndex(), null)
+        );
+    }
+}
@@ -1,16 +1,26 @@
 package org.babyfish.jimmer.sql.sqlite;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.JoinType;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.mutation.BatchSaveResult;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
 import org.babyfish.jimmer.sql.dialect.SQLiteDialect;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.model.AuthorTableEx;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreDraft;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
 import org.babyfish.jimmer.sql.model.BookTable;
 import org.babyfish.jimmer.sql.model.BookTableEx;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.UUID;
+
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 public class SQLiteDMLTest extends AbstractMutationTest {
@@ -147,4 +157,40 @@ public class SQLiteDMLTest extends AbstractMutationTest {
                 }
         );
     }
+
+    @Test
+    public void testOptimisticUpsertOfMissingRow() {
+        UUID newStoreId = UUID.fromString("4f43a3c4-9ad8-4cbb-a3cd-a76a5a7c2c6a");
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new SQLiteDialect()));
+        BookStoreTable table = BookStoreTable.$;
+        jdbc(NativeDatabases.SQLITE_DATA_SOURCE, true, con -> {
+            BatchSaveResult<BookStore> result = sqlClient
+                    .saveEntitiesCommand(
+                            Arrays.asList(
+                                    BookStoreDraft.$.produce(draft -> {
+                                        draft.setId(oreillyId);
+                                        draft.setName("O'REILLY+");
+                                        draft.setVersion(0);
+                                    }),
+                                    BookStoreDraft.$.produce(draft -> {
+                                        draft.setId(newStoreId);
+                                        draft.setName("TURING");
+                                        draft.setVersion(0);
+                                    })
+                            )
+                    )
+                    .setOptimisticUpsertEnabled()
+                    .execute(con);
+            Assertions.assertEquals(2, result.getTotalAffectedRowCount());
+            Assertions.assertEquals(
+                    1L,
+                    sqlClient
+                            .createQuery(table)
+                            .where(table.id().eq(newStoreId))
+                            .select(Expression.rowCount())
+                            .execute(con)
+                            .get(0)
+            );
+        });
+    }
 }
@@ -0,0 +1,173 @@
+package org.babyfish.jimmer.sql.trigger;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.event.AssociationEvent;
+import org.babyfish.jimmer.sql.event.AssociationListener;
+import org.babyfish.jimmer.sql.event.EntityEvent;
+import org.babyfish.jimmer.sql.event.EntityListener;
+import org.babyfish.jimmer.sql.event.TriggerDispatcher;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class BatchTriggerTest extends AbstractMutationTest {
+
+    @Test
+    public void testBatchOfTransactionTrigger() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setTriggerType(TriggerType.TRANSACTION_ONLY));
+        List<Integer> batchSizes = new ArrayList<>();
+        sqlClient.getTriggers(true).addEntityListener(Book.class, new EntityListener<Book>() {
+            @Override
+            public void onChange(EntityEvent<Book> e) {
+                Assertions.fail("Batch events must be delivered by `onBatchChange`");
+            }
+            @Override
+            public void onBatchChange(List<EntityEvent<Book>> events) {
+                batchSizes.add(events.size());
+            }
+        });
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            sqlClient
+                    .createUpdate(table)
+                    .set(table.price(), table.price().plus(BigDecimal.ONE))
+                    .where(table.name().eq("GraphQL in Action"))
+                    .execute(con);
+        });
+        Assertions.assertEquals(Collections.singletonList(3), batchSizes);
+    }
+
+    @Test
+    public void testDispatcher() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        try (TriggerDispatcher dispatcher = new TriggerDispatcher(2, 4, 16)) {
+            JSqlClient sqlClient = getSqlClient(it -> it.setTriggerDispatcher(dispatcher));
+            sqlClient.getTriggers().addAssociationListener(BookProps.AUTHORS, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    events.add(e.getSourceId() + ":" + e.getAttachedTargetId() + ":" + e.getDetachedTargetId());
+                }
+            });
+            for (int i = 0; i < 20; i++) {
+                if (i % 2 == 0) {
+                    sqlClient.getTriggers().fireMiddleTableInsert(
+                            BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+                    );
+                } else {
+                    sqlClient.getTriggers().fireMiddleTableDelete(
+                            BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+                    );
+                }
+            }
+        }
+        Assertions.assertEquals(20, events.size());
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertEquals(
+                    i % 2 == 0 ?
+                            learningGraphQLId1 + ":" + alexId + ":null" :
+                            learningGraphQLId1 + ":null:" + alexId,
+                    events.get(i)
+            );
+        }
+    }
+
+    @Test
+    public void testDispatcherKeepsOrderOfEntityAndItsAssociation() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        try (TriggerDispatcher dispatcher = new TriggerDispatcher(8, 4, 16)) {
+            JSqlClient sqlClient = getSqlClient(it -> it.setTriggerDispatcher(dispatcher));
+            sqlClient.getTriggers().addEntityListener(Book.class, new EntityListener<Book>() {
+                @Override
+                public void onChange(EntityEvent<Book> e) {
+                    events.add("entity:" + e.getNewEntity().edition());
+                }
+            });
+            sqlClient.getTriggers().addAssociationListener(BookProps.AUTHORS, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    events.add("association:" + (e.getAttachedTargetId() != null ? "insert" : "delete"));
+                }
+            });
+            for (int i = 0; i < 10; i++) {
+                int edition = i;
+                sqlClient.getTriggers().fireEntityTableChange(
+                        BookDraft.$.produce(draft -> draft.setId(learningGraphQLId1).setEdition(edition)),
+                        BookDraft.$.produce(draft -> draft.setId(learningGraphQLId1).setEdition(edition + 1)),
+                        null
+                );
+                if (i % 2 == 0) {
+                    sqlClient.getTriggers().fireMiddleTableInsert(
+                            BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+                    );
+                } else {
+                    sqlClient.getTriggers().fireMiddleTableDelete(
+                            BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+                    );
+                }
+            }
+        }
+        Assertions.assertEquals(20, events.size());
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("entity:" + (i + 1), events.get(i * 2));
+            Assertions.assertEquals(
+                    "association:" + (i % 2 == 0 ? "insert" : "delete"),
+                    events.get(i * 2 + 1)
+            );
+        }
+    }
+
+    @Test
+    public void testDispatcherRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Object> sourceIds = Collections.synchronizedList(new ArrayList<>());
+        try (TriggerDispatcher dispatcher = new TriggerDispatcher(1, 4, 16, 3, 1L, null)) {
+            JSqlClient sqlClient = getSqlClient(it -> it.setTriggerDispatcher(dispatcher));
+            sqlClient.getTriggers().addAssociationListener(BookProps.AUTHORS, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    if (attempts.incrementAndGet() <= 2) {
+                        throw new IllegalStateException("Temporary failure");
+                    }
+                    sourceIds.add(e.getSourceId());
+                }
+            });
+            sqlClient.getTriggers().fireMiddleTableInsert(
+                    BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+            );
+        }
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(Collections.singletonList(learningGraphQLId1), sourceIds);
+    }
+
+    @Test
+    public void testDispatcherDiscardsAfterRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (TriggerDispatcher dispatcher = new TriggerDispatcher(1, 4, 16, 2, 1L, null)) {
+            JSqlClient sqlClient = getSqlClient(it -> it.setTriggerDispatcher(dispatcher));
+            sqlClient.getTriggers().addAssociationListener(BookProps.AUTHORS, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException("Permanent failure");
+                }
+            });
+            sqlClient.getTriggers().fireMiddleTableInsert(
+                    BookProps.AUTHORS.unwrap(), learningGraphQLId1, alexId, null
+            );
+        }
+        Assertions.assertEquals(3, attempts.get());
+    }
+}
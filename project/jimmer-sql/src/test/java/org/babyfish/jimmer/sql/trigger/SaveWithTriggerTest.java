@@ -1101,6 +1101,100 @@ public class SaveWithTriggerTest extends AbstractTriggerTest {
         );
     }
 
+    @Test
+    public void testUpsertMatchedWithManyToManyDiff() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveCommand(
+                        BookDraft.$.produce(book -> {
+                            book.setName("Learning GraphQL");
+                            book.setEdition(3);
+                            book.addIntoAuthors(author -> author.setId(alexId));
+                            book.addIntoAuthors(author -> author.setId(danId));
+                        })
+                ).setMiddleTableDiffEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                "from BOOK tb_1_ " +
+                                "where (tb_1_.NAME, tb_1_.EDITION) = (?, ?)");
+                        it.variables("Learning GraphQL", 3);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("select AUTHOR_ID from BOOK_AUTHOR_MAPPING " +
+                                "where BOOK_ID = ? and AUTHOR_ID not in (?, ?)");
+                        it.variables(learningGraphQLId3, alexId, danId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_AUTHOR_MAPPING where BOOK_ID = ? and AUTHOR_ID = ?");
+                        it.variables(learningGraphQLId3, eveId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) " +
+                                        "select ?, ? " +
+                                        "where not exists(" +
+                                        "--->select * from BOOK_AUTHOR_MAPPING " +
+                                        "--->where BOOK_ID = ? and AUTHOR_ID = ?" +
+                                        ")"
+                        );
+                        it.batchVariables(0, learningGraphQLId3, alexId, learningGraphQLId3, alexId);
+                        it.batchVariables(1, learningGraphQLId3, danId, learningGraphQLId3, danId);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{" +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"1e93da94-af84-44f4-82d1-d8a9fd52ea94\"}," +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}" +
+                                "]" +
+                                "}");
+                        it.modified("{" +
+                                "\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                "\"name\":\"Learning GraphQL\"," +
+                                "\"edition\":3," +
+                                "\"authors\":[" +
+                                "{\"id\":\"1e93da94-af84-44f4-82d1-d8a9fd52ea94\"}," +
+                                "{\"id\":\"c14665c8-c689-4ac7-b8cc-6f065b8d835d\"}" +
+                                "]" +
+                                "}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookProps.AUTHORS), 2);
+                }
+        );
+        assertEvents(
+                "AssociationEvent{" +
+                        "--->prop=org.babyfish.jimmer.sql.model.Book.authors, " +
+                        "--->sourceId=" + learningGraphQLId3 + ", " +
+                        "--->detachedTargetId=null, " +
+                        "--->attachedTargetId=" + danId + ", " +
+                        "--->reason=null" +
+                        "}",
+                "AssociationEvent{" +
+                        "--->prop=org.babyfish.jimmer.sql.model.Author.books, " +
+                        "--->sourceId=" + danId + ", " +
+                        "--->detachedTargetId=null, " +
+                        "--->attachedTargetId=" + learningGraphQLId3 + ", " +
+                        "--->reason=null" +
+                        "}",
+                "AssociationEvent{" +
+                        "--->prop=org.babyfish.jimmer.sql.model.Book.authors, " +
+                        "--->sourceId=" + learningGraphQLId3 + ", " +
+                        "--->detachedTargetId=" + eveId + ", " +
+                        "--->attachedTargetId=null, " +
+                        "--->reason=null" +
+                        "}",
+                "AssociationEvent{" +
+                        "--->prop=org.babyfish.jimmer.sql.model.Author.books, " +
+                        "--->sourceId=" + eveId + ", " +
+                        "--->detachedTargetId=" + learningGraphQLId3 + ", " +
+                        "--->attachedTargetId=null, " +
+                        "--->reason=null" +
+                        "}"
+        );
+    }
+
     @Test
     public void testUpsertNotMatchedWithInverseManyToMany() {
 
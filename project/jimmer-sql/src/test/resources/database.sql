@@ -87,6 +87,7 @@ drop table person if exists;
 drop sequence file_user_id_seq if exists;
 drop sequence file_id_seq if exists;
 drop sequence tree_node_id_seq if exists;
+drop sequence tree_node_pooled_id_seq if exists;
 drop table D.TABLE_D if exists;
 drop table C.TABLE_C if exists;
 drop table B.TABLE_B if exists;
@@ -420,6 +421,7 @@ alter table tree_node
         foreign key(parent_id)
             references tree_node(node_id);
 create sequence tree_node_id_seq as bigint start with 100;
+create sequence tree_node_pooled_id_seq as bigint start with 1000 increment by 10;
 
 insert into tree_node(node_id, name, parent_id) values
     (1, 'Home', null),